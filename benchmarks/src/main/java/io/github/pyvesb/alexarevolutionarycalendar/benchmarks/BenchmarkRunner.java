@@ -0,0 +1,33 @@
+package io.github.pyvesb.alexarevolutionarycalendar.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar. Accepts the usual JMH command line options, and always enables the GC profiler
+ * so that allocation rates (gc.alloc.rate.norm, in bytes per operation) are reported next to timings. Typical usage:
+ * java -jar target/benchmarks.jar -rf json -rff baseline.json
+ * 
+ * @author Pyves
+ *
+ */
+public class BenchmarkRunner {
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		Options options = new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(options).run();
+	}
+
+	private BenchmarkRunner() {
+		// Not used.
+	}
+
+}
@@ -0,0 +1,86 @@
+package io.github.pyvesb.alexarevolutionarycalendar.benchmarks;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ca.rmen.lfrc.FrenchRevolutionaryCalendarDate;
+import io.github.pyvesb.alexarevolutionarycalendar.date.BulkDateConverter;
+import io.github.pyvesb.alexarevolutionarycalendar.date.RevolutionaryDateProvider;
+
+/**
+ * Measures the time taken to convert ten million random days spread across the whole calendar, single-threaded and in
+ * parallel with each of the bulk converter's inputs. Divide the number of days by the reported time to get the
+ * throughput.
+ *
+ * @author Pyves
+ *
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 2, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class BulkConversionBenchmark {
+
+	private static final long FIRST_DAY = LocalDate.of(1792, 9, 22).toEpochDay();
+	private static final long LAST_DAY = LocalDate.of(3000, 12, 31).toEpochDay();
+
+	@Param({ "10000000" })
+	private int dayCount;
+
+	private RevolutionaryDateProvider provider;
+	private BulkDateConverter converter;
+	private long[] epochDays;
+
+	@Setup
+	public void setUp() {
+		provider = new RevolutionaryDateProvider(null);
+		converter = new BulkDateConverter(provider);
+		epochDays = new SplittableRandom(42).longs(dayCount, FIRST_DAY, LAST_DAY + 1).toArray();
+	}
+
+	@Benchmark
+	public void singleThreadedLoop(Blackhole blackhole) {
+		for (long epochDay : epochDays) {
+			blackhole.consume(provider.getDate(epochDay, Locale.FRENCH));
+		}
+	}
+
+	@Benchmark
+	public void sequentialStream(Blackhole blackhole) {
+		converter.convert(LongStream.of(epochDays), Locale.FRENCH).forEach(blackhole::consume);
+	}
+
+	@Benchmark
+	public void parallelStream(Blackhole blackhole) {
+		converter.convert(LongStream.of(epochDays).parallel(), Locale.FRENCH).forEach(blackhole::consume);
+	}
+
+	@Benchmark
+	public void parallelIterator(Blackhole blackhole) {
+		converter.convert(LongStream.of(epochDays).iterator(), Locale.FRENCH, blackhole::consume);
+	}
+
+	@Benchmark
+	public FrenchRevolutionaryCalendarDate[] parallelArray() {
+		return converter.convert(epochDays, Locale.FRENCH);
+	}
+
+}
@@ -0,0 +1,61 @@
+package io.github.pyvesb.alexarevolutionarycalendar.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.pyvesb.alexarevolutionarycalendar.RevolutionaryStreamHandler;
+
+/**
+ * Measures the latency of the very first request served by a fresh JVM, with and without priming during
+ * initialisation. Each fork constructs the stream handler outside of the measurement, like AWS Lambda does during its
+ * init phase, and then times a single request. Run with e.g. java -jar target/benchmarks.jar ColdStart
+ *
+ * @author Pyves
+ *
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 20, jvmArgsAppend = "-Dlog4j.configurationFile=log4j2-benchmarks.xml")
+@State(Scope.Benchmark)
+public class ColdStartBenchmark {
+
+	@Param({ "false", "true" })
+	private String priming;
+
+	@Param({ "launch-en-GB", "date-with-slot-en-US" })
+	private String envelope;
+
+	private RevolutionaryStreamHandler streamHandler;
+	private byte[] request;
+
+	@Setup
+	public void setUp() {
+		System.setProperty("prime.on.init", priming);
+		request = Envelopes.load(envelope);
+		streamHandler = new RevolutionaryStreamHandler();
+	}
+
+	@Benchmark
+	public byte[] firstRequest() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream(1024);
+		streamHandler.handleRequest(new ByteArrayInputStream(request), output, null);
+		return output.toByteArray();
+	}
+
+}
@@ -0,0 +1,71 @@
+package io.github.pyvesb.alexarevolutionarycalendar.benchmarks;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazon.ask.dispatcher.request.handler.HandlerInput;
+import com.amazon.ask.model.Intent;
+import com.amazon.ask.model.IntentRequest;
+import com.amazon.ask.model.RequestEnvelope;
+import com.amazon.ask.model.Response;
+import com.amazon.ask.model.Session;
+import com.amazon.ask.model.Slot;
+
+import io.github.pyvesb.alexarevolutionarycalendar.handlers.DateIntentHandler;
+
+/**
+ * Measures DateIntentHandler for each supported locale, including the creation of the HandlerInput which the SDK
+ * performs for every request.
+ * 
+ * @author Pyves
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Dlog4j.configurationFile=log4j2-benchmarks.xml")
+@State(Scope.Benchmark)
+public class DateIntentHandlerBenchmark {
+
+	@Param({ "en-GB", "en-US", "en-CA", "fr-FR", "fr-CA" })
+	private String locale;
+
+	@Param({ "RevolutionaryDateOfTheDay", "RevolutionaryDateWithSlot" })
+	private String intentName;
+
+	private DateIntentHandler handler;
+	private RequestEnvelope envelope;
+
+	@Setup
+	public void setUp() {
+		handler = new DateIntentHandler(Clock.system(ZoneId.of("Europe/Paris")));
+		Slot slot = Slot.builder().withName("date").withValue("2018-03-05").build();
+		Intent intent = Intent.builder().withName(intentName).withSlots(Collections.singletonMap("date", slot)).build();
+		envelope = RequestEnvelope.builder()
+				.withRequest(IntentRequest.builder().withIntent(intent).withLocale(locale).build())
+				.withSession(Session.builder().withSessionId("amzn1.echo-api.session.benchmark").build())
+				.build();
+	}
+
+	@Benchmark
+	public Optional<Response> handle() {
+		return handler.handle(HandlerInput.builder().withRequestEnvelope(envelope).build());
+	}
+
+}
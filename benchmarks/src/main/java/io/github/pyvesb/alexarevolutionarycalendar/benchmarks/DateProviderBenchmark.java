@@ -0,0 +1,113 @@
+package io.github.pyvesb.alexarevolutionarycalendar.benchmarks;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ca.rmen.lfrc.FrenchRevolutionaryCalendarDate;
+import io.github.pyvesb.alexarevolutionarycalendar.date.DateRange;
+import io.github.pyvesb.alexarevolutionarycalendar.date.EquinoxSource;
+import io.github.pyvesb.alexarevolutionarycalendar.date.RevolutionaryDateProvider;
+import io.github.pyvesb.alexarevolutionarycalendar.date.RevolutionaryNameTable;
+
+/**
+ * Measures date conversions performed by RevolutionaryDateProvider. The current date is memoised until midnight, the
+ * provideCurrentDate benchmarks therefore measure the cost of a cache hit, including under contention. The packed date
+ * benchmarks measure the same conversions without allocating FrenchRevolutionaryCalendarDate instances.
+ * 
+ * @author Pyves
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class DateProviderBenchmark {
+
+	private static final ZoneId TOKYO = ZoneId.of("Asia/Tokyo");
+
+	@Param({ "1792-09-22", "2018-03-29", "2999-12-31" })
+	private String date;
+
+	@Param({ "en-GB", "fr-FR" })
+	private String languageTag;
+
+	@Param({ "CALCULATOR", "LIBRARY" })
+	private EquinoxSource equinoxSource;
+
+	private RevolutionaryDateProvider provider;
+	private Locale locale;
+	private long epochDay;
+
+	@Setup
+	public void setUp() {
+		provider = new RevolutionaryDateProvider(Clock.system(ZoneId.of("Europe/Paris")), equinoxSource);
+		locale = Locale.forLanguageTag(languageTag);
+		epochDay = LocalDate.parse(date).toEpochDay();
+	}
+
+	@Benchmark
+	public Optional<FrenchRevolutionaryCalendarDate> parseISO8601CalendarDate() {
+		return provider.parseISO8601CalendarDate(date, locale);
+	}
+
+	@Benchmark
+	public Optional<DateRange> parseDateSlot() {
+		return provider.parseDateSlot(date);
+	}
+
+	@Benchmark
+	public FrenchRevolutionaryCalendarDate provideCurrentDate() {
+		return provider.provideCurrentDate(locale);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public FrenchRevolutionaryCalendarDate provideCurrentDateContended() {
+		return provider.provideCurrentDate(locale);
+	}
+
+	@Benchmark
+	public FrenchRevolutionaryCalendarDate provideCurrentDateInOtherZone() {
+		return provider.provideCurrentDate(TOKYO, locale);
+	}
+
+	@Benchmark
+	public FrenchRevolutionaryCalendarDate getDate() {
+		return provider.getDate(epochDay, locale);
+	}
+
+	@Benchmark
+	public int getPackedDate() {
+		return provider.getPackedDate(epochDay);
+	}
+
+	@Benchmark
+	public String getPackedDateObjectOfTheDay() {
+		return RevolutionaryNameTable.getObjectOfTheDay(locale, provider.getPackedDate(epochDay));
+	}
+
+	@Benchmark
+	public int getCurrentPackedDate() {
+		return provider.getCurrentPackedDate(TOKYO);
+	}
+
+}
@@ -0,0 +1,109 @@
+package io.github.pyvesb.alexarevolutionarycalendar.benchmarks;
+
+import static com.amazon.ask.request.Predicates.intentName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazon.ask.dispatcher.request.handler.HandlerInput;
+import com.amazon.ask.dispatcher.request.handler.RequestHandler;
+import com.amazon.ask.model.Intent;
+import com.amazon.ask.model.IntentRequest;
+import com.amazon.ask.model.RequestEnvelope;
+import com.amazon.ask.model.Response;
+
+import io.github.pyvesb.alexarevolutionarycalendar.handlers.RoutingRequestHandler;
+
+/**
+ * Compares the cost of selecting a handler by evaluating the canHandle predicates of each handler in turn, like the SDK
+ * dispatcher does, with a single lookup in the routing handler, for increasing numbers of registered intents. The
+ * request targets the last registered intent, which is the worst case for the linear chain.
+ *
+ * @author Pyves
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class DispatchBenchmark {
+
+	@Param({ "5", "20", "80" })
+	private int handlerCount;
+
+	private List<RequestHandler> handlerChain;
+	private RoutingRequestHandler router;
+	private HandlerInput input;
+
+	@Setup
+	public void setUp() {
+		handlerChain = new ArrayList<>(handlerCount);
+		RoutingRequestHandler.Builder builder = RoutingRequestHandler.builder();
+		for (int i = 0; i < handlerCount; ++i) {
+			RequestHandler handler = new NoOpIntentHandler("Intent" + i);
+			handlerChain.add(handler);
+			builder.withIntents(handler, "Intent" + i);
+		}
+		router = builder.build();
+		Intent intent = Intent.builder().withName("Intent" + (handlerCount - 1)).build();
+		RequestEnvelope envelope = RequestEnvelope.builder()
+				.withRequest(IntentRequest.builder().withIntent(intent).withLocale("en-GB").build())
+				.build();
+		input = HandlerInput.builder().withRequestEnvelope(envelope).build();
+	}
+
+	@Benchmark
+	public Optional<Response> linearChain() {
+		for (RequestHandler handler : handlerChain) {
+			if (handler.canHandle(input)) {
+				return handler.handle(input);
+			}
+		}
+		throw new IllegalStateException("No handler found.");
+	}
+
+	@Benchmark
+	public Optional<Response> routingHandler() {
+		if (router.canHandle(input)) {
+			return router.handle(input);
+		}
+		throw new IllegalStateException("No handler found.");
+	}
+
+	private static class NoOpIntentHandler implements RequestHandler {
+
+		private final String intentName;
+
+		NoOpIntentHandler(String intentName) {
+			this.intentName = intentName;
+		}
+
+		@Override
+		public boolean canHandle(HandlerInput input) {
+			return input.matches(intentName(intentName));
+		}
+
+		@Override
+		public Optional<Response> handle(HandlerInput input) {
+			return Optional.empty();
+		}
+
+	}
+
+}
@@ -0,0 +1,82 @@
+package io.github.pyvesb.alexarevolutionarycalendar.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads recorded request envelopes from the classpath, and corpora of envelopes from the classpath or the file system.
+ * 
+ * @author Pyves
+ *
+ */
+public class Envelopes {
+
+	/**
+	 * Reads a recorded request envelope.
+	 * 
+	 * @param name the name of the envelope, e.g. "launch-en-GB".
+	 * @return the raw JSON bytes of the envelope.
+	 */
+	public static byte[] load(String name) {
+		try (InputStream input = Envelopes.class.getResourceAsStream("/envelopes/" + name + ".json")) {
+			if (input == null) {
+				throw new IllegalArgumentException("Unknown envelope " + name + ".");
+			}
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			byte[] buffer = new byte[4096];
+			int read;
+			while ((read = input.read(buffer)) != -1) {
+				output.write(buffer, 0, read);
+			}
+			return output.toByteArray();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Reads a corpus of request envelopes, one JSON document per line, such as the logs of the skill's request capture.
+	 * Anything preceding the JSON document on a line (e.g. a timestamp added by a log export) is ignored, as are lines
+	 * without any document.
+	 * 
+	 * @param location either "synthetic" for the corpus bundled with the benchmarks, or the path of a file.
+	 * @return the raw JSON bytes of the envelopes, in the order of the corpus.
+	 */
+	public static List<byte[]> loadCorpus(String location) {
+		try (BufferedReader reader = openCorpus(location)) {
+			List<byte[]> envelopes = new ArrayList<>();
+			String line;
+			while ((line = reader.readLine()) != null) {
+				int start = line.indexOf('{');
+				if (start >= 0) {
+					envelopes.add(line.substring(start).getBytes(StandardCharsets.UTF_8));
+				}
+			}
+			return envelopes;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static BufferedReader openCorpus(String location) throws IOException {
+		if ("synthetic".equals(location)) {
+			InputStream input = Envelopes.class.getResourceAsStream("/corpus/synthetic.jsonl");
+			return new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+		}
+		return Files.newBufferedReader(Paths.get(location), StandardCharsets.UTF_8);
+	}
+
+	private Envelopes() {
+		// Not used.
+	}
+
+}
@@ -0,0 +1,56 @@
+package io.github.pyvesb.alexarevolutionarycalendar.benchmarks;
+
+import static ca.rmen.lfrc.FrenchRevolutionaryCalendar.CalculationMethod.EQUINOX;
+
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ca.rmen.lfrc.FrenchRevolutionaryCalendar;
+import ca.rmen.lfrc.FrenchRevolutionaryCalendarDate;
+import io.github.pyvesb.alexarevolutionarycalendar.date.EquinoxCalculator;
+
+/**
+ * Compares the cost of computing the start of a revolutionary year with EquinoxCalculator and with the EQUINOX method
+ * of the FrenchRevolutionaryCalendar library, i.e. the cost of populating a century of RevolutionaryDateTable.
+ *
+ * @author Pyves
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class EquinoxBenchmark {
+
+	private final FrenchRevolutionaryCalendar revolutionaryCalendar = new FrenchRevolutionaryCalendar(Locale.FRENCH,
+			EQUINOX);
+
+	@Param({ "1", "227", "1209" })
+	private int year;
+
+	@Benchmark
+	public long calculatorYearStart() {
+		return EquinoxCalculator.getYearStart(year);
+	}
+
+	@Benchmark
+	public GregorianCalendar libraryYearStart() {
+		return revolutionaryCalendar.getGregorianDate(new FrenchRevolutionaryCalendarDate(Locale.FRENCH, year, 1, 1, 0,
+				0, 0));
+	}
+
+}
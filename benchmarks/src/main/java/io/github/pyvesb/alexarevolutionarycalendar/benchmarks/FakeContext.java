@@ -0,0 +1,100 @@
+package io.github.pyvesb.alexarevolutionarycalendar.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+
+import com.amazonaws.services.lambda.runtime.ClientContext;
+import com.amazonaws.services.lambda.runtime.CognitoIdentity;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+
+/**
+ * Minimal AWS Lambda context, allowing the skill's stream handler to be invoked outside of AWS. Values mimic a
+ * function configured with 512 MB of memory and a timeout that is never reached; the logger writes to the standard
+ * output, like the Lambda runtime.
+ * 
+ * @author Pyves
+ *
+ */
+public class FakeContext implements Context {
+
+	private static final LambdaLogger LOGGER = new LambdaLogger() {
+
+		@Override
+		public void log(String message) {
+			System.out.print(message);
+		}
+
+		@Override
+		public void log(byte[] message) {
+			System.out.print(new String(message, StandardCharsets.UTF_8));
+		}
+
+	};
+
+	private final String awsRequestId;
+
+	/**
+	 * Creates a context.
+	 * 
+	 * @param awsRequestId the identifier of the invocation.
+	 */
+	public FakeContext(String awsRequestId) {
+		this.awsRequestId = awsRequestId;
+	}
+
+	@Override
+	public String getAwsRequestId() {
+		return awsRequestId;
+	}
+
+	@Override
+	public String getLogGroupName() {
+		return "/aws/lambda/revolutionary-calendar";
+	}
+
+	@Override
+	public String getLogStreamName() {
+		return "local";
+	}
+
+	@Override
+	public String getFunctionName() {
+		return "revolutionary-calendar";
+	}
+
+	@Override
+	public String getFunctionVersion() {
+		return "$LATEST";
+	}
+
+	@Override
+	public String getInvokedFunctionArn() {
+		return "arn:aws:lambda:eu-west-1:000000000000:function:revolutionary-calendar";
+	}
+
+	@Override
+	public CognitoIdentity getIdentity() {
+		return null;
+	}
+
+	@Override
+	public ClientContext getClientContext() {
+		return null;
+	}
+
+	@Override
+	public int getRemainingTimeInMillis() {
+		return Integer.MAX_VALUE;
+	}
+
+	@Override
+	public int getMemoryLimitInMB() {
+		return 512;
+	}
+
+	@Override
+	public LambdaLogger getLogger() {
+		return LOGGER;
+	}
+
+}
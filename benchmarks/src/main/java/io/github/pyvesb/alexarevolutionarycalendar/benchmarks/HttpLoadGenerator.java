@@ -0,0 +1,169 @@
+package io.github.pyvesb.alexarevolutionarycalendar.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop load generator for the self-hosted HTTP endpoint: each client thread sends a recorded envelope, waits for
+ * the response and immediately sends the next one. Throughput and latency percentiles are reported once the run is
+ * over. The recorded envelopes are not signed, so the server must be started with HTTP_SKIP_REQUEST_VERIFICATION=true.
+ * Typical usage, with the server running locally:
+ * java -cp target/benchmarks.jar io.github.pyvesb.alexarevolutionarycalendar.benchmarks.HttpLoadGenerator
+ * http://localhost:8080/ 2000 30 date-with-slot-en-US
+ *
+ * @author Pyves
+ *
+ */
+public class HttpLoadGenerator {
+
+	private static final int WARMUP_SECONDS = 5;
+	private static final int MAX_SAMPLES_PER_CLIENT = 1 << 20;
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 2) {
+			System.err.println("Usage: HttpLoadGenerator <url> <clients> [seconds] [envelope]");
+			System.exit(1);
+		}
+		URL url = new URL(args[0]);
+		int clients = Integer.parseInt(args[1]);
+		int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+		byte[] request = Envelopes.load(args.length > 3 ? args[3] : "date-with-slot-en-US");
+		// Lifts the default limit of 5 idle keep-alive connections per destination.
+		System.setProperty("http.maxConnections", Integer.toString(clients));
+
+		System.out.printf("Warming up for %d s with %d clients...%n", WARMUP_SECONDS, clients);
+		run(url, request, clients, TimeUnit.SECONDS.toNanos(WARMUP_SECONDS));
+		System.out.printf("Measuring for %d s with %d clients...%n", seconds, clients);
+		Client[] results = run(url, request, clients, TimeUnit.SECONDS.toNanos(seconds));
+		report(results, seconds);
+	}
+
+	private static Client[] run(URL url, byte[] request, int clients, long durationNanos) throws InterruptedException {
+		long deadline = System.nanoTime() + durationNanos;
+		CountDownLatch done = new CountDownLatch(clients);
+		Client[] results = new Client[clients];
+		for (int i = 0; i < clients; ++i) {
+			results[i] = new Client(url, request, deadline, done);
+			Thread thread = new Thread(results[i], "load-client-" + i);
+			thread.setDaemon(true);
+			thread.start();
+		}
+		done.await();
+		return results;
+	}
+
+	private static void report(Client[] results, int seconds) {
+		int count = 0;
+		long requests = 0;
+		long errors = 0;
+		for (Client client : results) {
+			count += client.count;
+			requests += client.requests;
+			errors += client.errors;
+		}
+		long[] latencies = new long[count];
+		int offset = 0;
+		for (Client client : results) {
+			System.arraycopy(client.latencies, 0, latencies, offset, client.count);
+			offset += client.count;
+		}
+		Arrays.sort(latencies);
+		System.out.printf("Requests: %d, errors: %d, throughput: %.1f req/s%n", requests, errors,
+				(double) requests / seconds);
+		if (count > 0) {
+			System.out.printf("Latency (ms): p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+					percentile(latencies, 0.5), percentile(latencies, 0.9), percentile(latencies, 0.99),
+					percentile(latencies, 0.999), latencies[count - 1] / 1e6);
+		}
+	}
+
+	private static double percentile(long[] sortedLatencies, double percentile) {
+		int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+		return sortedLatencies[Math.max(index, 0)] / 1e6;
+	}
+
+	/**
+	 * Sends requests sequentially until the deadline, recording the latency of successful ones in nanoseconds.
+	 */
+	private static class Client implements Runnable {
+
+		private final URL url;
+		private final byte[] request;
+		private final long deadline;
+		private final CountDownLatch done;
+		private final byte[] buffer = new byte[4096];
+		private long[] latencies = new long[1024];
+		private int count;
+		private long requests;
+		private long errors;
+
+		Client(URL url, byte[] request, long deadline, CountDownLatch done) {
+			this.url = url;
+			this.request = request;
+			this.deadline = deadline;
+			this.done = done;
+		}
+
+		@Override
+		public void run() {
+			try {
+				long start;
+				while ((start = System.nanoTime()) < deadline) {
+					if (send()) {
+						++requests;
+						record(System.nanoTime() - start);
+					} else {
+						++errors;
+					}
+				}
+			} finally {
+				done.countDown();
+			}
+		}
+
+		private boolean send() {
+			try {
+				HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+				connection.setRequestMethod("POST");
+				connection.setDoOutput(true);
+				connection.setFixedLengthStreamingMode(request.length);
+				connection.setRequestProperty("Content-Type", "application/json");
+				try (OutputStream output = connection.getOutputStream()) {
+					output.write(request);
+				}
+				int status = connection.getResponseCode();
+				// Fully reading the body allows the connection to be reused.
+				try (InputStream input = status == 200 ? connection.getInputStream() : connection.getErrorStream()) {
+					while (input != null && input.read(buffer) != -1) {
+						// Discard.
+					}
+				}
+				return status == 200;
+			} catch (IOException e) {
+				return false;
+			}
+		}
+
+		private void record(long latency) {
+			if (count == latencies.length) {
+				if (count == MAX_SAMPLES_PER_CLIENT) {
+					return;
+				}
+				latencies = Arrays.copyOf(latencies, count * 2);
+			}
+			latencies[count++] = latency;
+		}
+
+	}
+
+	private HttpLoadGenerator() {
+		// Not used.
+	}
+
+}
@@ -0,0 +1,58 @@
+package io.github.pyvesb.alexarevolutionarycalendar.benchmarks;
+
+import java.util.GregorianCalendar;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.pyvesb.alexarevolutionarycalendar.date.ISO8601DateParser;
+
+/**
+ * Compares the hand-written ISO8601 parser with the regular expression based approach it replaced.
+ *
+ * @author Pyves
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ISO8601ParsingBenchmark {
+
+	private static final Pattern ISO8601_CALENDAR_PATTERN = Pattern
+			.compile("^(?<year>[1-9][0-9]*)-(?<month>0[1-9]|1[0-2])-(?<day>0[1-9]|[12][0-9]|3[01])$");
+
+	@Param({ "2018-03-29", "2018-W12-WE" })
+	private String date;
+
+	@Benchmark
+	public long handWrittenParser() {
+		return ISO8601DateParser.parseCalendarDate(date);
+	}
+
+	@Benchmark
+	public Object regularExpression() {
+		Matcher matcher = ISO8601_CALENDAR_PATTERN.matcher(date);
+		if (matcher.matches()) {
+			int year = Integer.parseInt(matcher.group("year"));
+			int month = Integer.parseInt(matcher.group("month")) - 1;
+			int day = Integer.parseInt(matcher.group("day"));
+			return new GregorianCalendar(year, month, day);
+		}
+		return null;
+	}
+
+}
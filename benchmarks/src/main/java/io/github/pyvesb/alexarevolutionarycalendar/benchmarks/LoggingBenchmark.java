@@ -0,0 +1,81 @@
+package io.github.pyvesb.alexarevolutionarycalendar.benchmarks;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazon.ask.dispatcher.request.handler.HandlerInput;
+import com.amazon.ask.model.Intent;
+import com.amazon.ask.model.IntentRequest;
+import com.amazon.ask.model.RequestEnvelope;
+import com.amazon.ask.model.Response;
+import com.amazon.ask.model.Session;
+import com.amazon.ask.model.Slot;
+
+import io.github.pyvesb.alexarevolutionarycalendar.handlers.DateIntentHandler;
+
+/**
+ * Measures DateIntentHandler latency with events actually formatted and written: "current" mirrors log4j2.xml
+ * (synchronous, pattern layout with location), "structured" mirrors log4j2-structured.xml without sampling
+ * (asynchronous, garbage-free JSON layout) and "sampled" is the same with 1% of routine events kept. Unparsable dates
+ * are never sampled out. Run with -prof gc to compare allocation rates.
+ * 
+ * The background thread of the asynchronous modes competes with the benchmark thread for CPU, results are only
+ * meaningful on machines with several cores. If it cannot keep up, the ring buffer fills up and the handler waits.
+ * 
+ * @author Pyves
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+	@Param({ "current", "structured", "sampled" })
+	private String logging;
+
+	@Param({ "2018-03-05", "not-a-date" })
+	private String date;
+
+	private DateIntentHandler handler;
+	private RequestEnvelope envelope;
+
+	@Setup
+	public void setUp() {
+		// Each trial runs in a fresh JVM, Log4j is initialised on the first use of a logger below.
+		System.setProperty("log4j.configurationFile", "current".equals(logging) ? "log4j2-benchmarks-current.xml"
+				: "log4j2-benchmarks-structured.xml");
+		System.setProperty("benchmark.sampling.rate", "sampled".equals(logging) ? "0.01" : "1");
+		handler = new DateIntentHandler(Clock.system(ZoneId.of("Europe/Paris")));
+		Slot slot = Slot.builder().withName("date").withValue(date).build();
+		Intent intent = Intent.builder().withName("RevolutionaryDateWithSlot")
+				.withSlots(Collections.singletonMap("date", slot)).build();
+		envelope = RequestEnvelope.builder()
+				.withRequest(IntentRequest.builder().withIntent(intent).withLocale("en-GB").build())
+				.withSession(Session.builder().withSessionId("amzn1.echo-api.session.benchmark").build())
+				.build();
+	}
+
+	@Benchmark
+	public Optional<Response> handle() {
+		return handler.handle(HandlerInput.builder().withRequestEnvelope(envelope).build());
+	}
+
+}
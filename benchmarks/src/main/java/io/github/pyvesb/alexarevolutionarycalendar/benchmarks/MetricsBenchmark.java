@@ -0,0 +1,104 @@
+package io.github.pyvesb.alexarevolutionarycalendar.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazon.ask.dispatcher.request.handler.HandlerInput;
+import com.amazon.ask.dispatcher.request.handler.RequestHandler;
+import com.amazon.ask.model.Intent;
+import com.amazon.ask.model.IntentRequest;
+import com.amazon.ask.model.RequestEnvelope;
+import com.amazon.ask.model.Response;
+
+import io.github.pyvesb.alexarevolutionarycalendar.metrics.SkillMetrics;
+import io.github.pyvesb.alexarevolutionarycalendar.metrics.TimedRequestHandler;
+
+/**
+ * Measures the overhead of recording metrics: a single latency, uncontended and contended by four threads, and the
+ * complete instrumentation of a request handler compared with the bare handler. Run with -prof gc to check that
+ * recording does not allocate.
+ *
+ * @author Pyves
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+	private SkillMetrics metrics;
+	private RequestHandler handler;
+	private RequestHandler timedHandler;
+	private HandlerInput input;
+	private long latency;
+
+	@Setup
+	public void setUp() {
+		metrics = new SkillMetrics();
+		handler = new NoOpHandler();
+		timedHandler = new TimedRequestHandler("NoOpHandler", handler, metrics);
+		IntentRequest request = IntentRequest.builder()
+				.withIntent(Intent.builder().withName("RevolutionaryDateOfTheDay").build())
+				.withLocale("en-GB")
+				.build();
+		input = HandlerInput.builder().withRequestEnvelope(RequestEnvelope.builder().withRequest(request).build())
+				.build();
+		latency = TimeUnit.MILLISECONDS.toNanos(3);
+	}
+
+	@Benchmark
+	public void recordLatency() {
+		metrics.recordLatency("NoOpHandler", latency);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void recordLatencyContended() {
+		metrics.recordLatency("NoOpHandler", latency);
+	}
+
+	@Benchmark
+	public Optional<Response> bareHandler() {
+		return handler.handle(input);
+	}
+
+	@Benchmark
+	public Optional<Response> timedHandler() {
+		return timedHandler.handle(input);
+	}
+
+	/**
+	 * Handler returning a constant response, so that only the instrumentation is measured.
+	 */
+	private static class NoOpHandler implements RequestHandler {
+
+		private final Optional<Response> response = Optional.of(Response.builder().build());
+
+		@Override
+		public boolean canHandle(HandlerInput input) {
+			return true;
+		}
+
+		@Override
+		public Optional<Response> handle(HandlerInput input) {
+			return response;
+		}
+
+	}
+
+}
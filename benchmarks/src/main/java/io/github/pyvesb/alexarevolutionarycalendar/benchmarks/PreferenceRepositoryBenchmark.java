@@ -0,0 +1,139 @@
+package io.github.pyvesb.alexarevolutionarycalendar.benchmarks;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.CachingPreferenceRepository;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.LocalPreferenceStore;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.PreferenceStore;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.UserPreferences;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.Verbosity;
+
+/**
+ * Measures the latency distribution of user preference reads under concurrent load, against an in-memory store that
+ * simulates the round-trip time of a remote database. Requests are spread uniformly over a population of users, which
+ * may be larger than the cache; a fraction of them also update their preferences, exercising the write-behind queue.
+ * The hit ratio, the number of loads, fallbacks and writes are printed at the end of each fork.
+ *
+ * @author Pyves
+ *
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class PreferenceRepositoryBenchmark {
+
+	private static final UserPreferences PREFERENCES = UserPreferences.NONE.withTimeZone(ZoneId.of("Asia/Tokyo"))
+			.withVerbosity(Verbosity.BRIEF);
+
+	@Param({ "1000", "100000" })
+	public int users;
+
+	@Param({ "10000" })
+	public int cacheSize;
+
+	@Param({ "10" })
+	public long latencyMillis;
+
+	@Param({ "0.01" })
+	public double writeRatio;
+
+	private CachingPreferenceRepository repository;
+	private String[] userIds;
+
+	@Setup
+	public void setUp() throws IOException {
+		userIds = new String[users];
+		Map<String, UserPreferences> preferences = new HashMap<>();
+		for (int i = 0; i < users; ++i) {
+			userIds[i] = "amzn1.ask.account." + i;
+			preferences.put(userIds[i], PREFERENCES);
+		}
+		LocalPreferenceStore store = LocalPreferenceStore.inMemory();
+		store.saveAll(preferences);
+		repository = CachingPreferenceRepository.builder()
+				.withStore(new SlowPreferenceStore(store, latencyMillis))
+				.withMaximumSize(cacheSize)
+				.withTimeout(Duration.ofMillis(250))
+				.withLoadThreads(8)
+				.build();
+	}
+
+	@TearDown
+	public void tearDown() {
+		repository.flush();
+		long hits = repository.getHitCount();
+		long misses = repository.getMissCount();
+		System.out.printf("%nHit ratio: %.3f, loads: %d, fallbacks: %d, writes: %d, write failures: %d%n",
+				(double) hits / Math.max(hits + misses, 1L), repository.getLoadCount(), repository.getFallbackCount(),
+				repository.getWriteCount(), repository.getWriteFailureCount());
+	}
+
+	@Benchmark
+	public UserPreferences get() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		String userId = userIds[random.nextInt(userIds.length)];
+		if (random.nextDouble() < writeRatio) {
+			repository.put(userId, PREFERENCES);
+			return PREFERENCES;
+		}
+		return repository.get(userId);
+	}
+
+	private static final class SlowPreferenceStore implements PreferenceStore {
+
+		private final PreferenceStore delegate;
+		private final long latencyMillis;
+
+		SlowPreferenceStore(PreferenceStore delegate, long latencyMillis) {
+			this.delegate = delegate;
+			this.latencyMillis = latencyMillis;
+		}
+
+		@Override
+		public Optional<UserPreferences> load(String userId) throws IOException {
+			sleep();
+			return delegate.load(userId);
+		}
+
+		@Override
+		public void saveAll(Map<String, UserPreferences> preferencesByUserId) throws IOException {
+			sleep();
+			delegate.saveAll(preferencesByUserId);
+		}
+
+		private void sleep() throws IOException {
+			try {
+				Thread.sleep(latencyMillis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException(e);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,232 @@
+package io.github.pyvesb.alexarevolutionarycalendar.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.amazonaws.services.lambda.runtime.Context;
+
+import io.github.pyvesb.alexarevolutionarycalendar.RevolutionaryStreamHandler;
+
+/**
+ * Replays a corpus of request envelopes directly into the skill's stream handler, with a fake Lambda context and
+ * without any network involved. Envelopes are sent in the order of the corpus, which is cycled through as many times
+ * as needed. Throughput, latency percentiles and the number of bytes allocated per request are reported once the run
+ * is over. Typical usage, replaying the bundled synthetic corpus with 4 threads at 2000 requests per second:
+ * java -cp target/benchmarks.jar io.github.pyvesb.alexarevolutionarycalendar.benchmarks.ReplayLoadGenerator
+ * synthetic 4 2000 30
+ *
+ * With a rate of 0, each thread sends the next envelope as soon as the previous one was handled. Otherwise, envelopes
+ * are scheduled at a fixed rate and latencies are measured from their scheduled time, so that a stalled handler is
+ * penalised for all the requests it delayed. Logs are discarded unless another configuration is specified with
+ * -Dlog4j.configurationFile, and the skill's features can be toggled with the usual system properties, e.g.
+ * -Dstreaming.codec=true.
+ *
+ * @author Pyves
+ *
+ */
+public class ReplayLoadGenerator {
+
+	private static final int WARMUP_SECONDS = 5;
+	private static final int MAX_SAMPLES_PER_WORKER = 1 << 20;
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 2) {
+			System.err.println("Usage: ReplayLoadGenerator <corpus file|synthetic> <threads> [rate] [seconds]");
+			System.exit(1);
+		}
+		if (System.getProperty("log4j.configurationFile") == null) {
+			System.setProperty("log4j.configurationFile", "log4j2-benchmarks.xml");
+		}
+		List<byte[]> corpus = Envelopes.loadCorpus(args[0]);
+		int threads = Integer.parseInt(args[1]);
+		double rate = args.length > 2 ? Double.parseDouble(args[2]) : 0.0;
+		int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+		if (corpus.isEmpty()) {
+			System.err.println("No envelopes found in " + args[0] + ".");
+			System.exit(1);
+		}
+		RevolutionaryStreamHandler streamHandler = new RevolutionaryStreamHandler();
+
+		System.out.printf("Warming up for %d s with %d threads and %d envelopes...%n", WARMUP_SECONDS, threads,
+				corpus.size());
+		run(streamHandler, corpus, threads, rate, TimeUnit.SECONDS.toNanos(WARMUP_SECONDS));
+		System.out.printf("Measuring for %d s with %d threads at %s...%n", seconds, threads,
+				rate > 0.0 ? rate + " req/s" : "maximum rate");
+		long start = System.nanoTime();
+		Worker[] results = run(streamHandler, corpus, threads, rate, TimeUnit.SECONDS.toNanos(seconds));
+		report(results, (System.nanoTime() - start) / 1e9);
+	}
+
+	private static Worker[] run(RevolutionaryStreamHandler streamHandler, List<byte[]> corpus, int threads,
+			double rate, long durationNanos) throws InterruptedException {
+		long start = System.nanoTime();
+		Schedule schedule = new Schedule(start, rate);
+		CountDownLatch done = new CountDownLatch(threads);
+		Worker[] results = new Worker[threads];
+		for (int i = 0; i < threads; ++i) {
+			results[i] = new Worker(streamHandler, corpus, schedule, start + durationNanos, done);
+			Thread thread = new Thread(results[i], "replay-worker-" + i);
+			thread.setDaemon(true);
+			thread.start();
+		}
+		done.await();
+		return results;
+	}
+
+	private static void report(Worker[] results, double seconds) {
+		int count = 0;
+		long requests = 0;
+		long errors = 0;
+		long allocatedBytes = 0;
+		boolean allocationTracked = true;
+		for (Worker worker : results) {
+			count += worker.count;
+			requests += worker.requests;
+			errors += worker.errors;
+			allocatedBytes += worker.allocatedBytes;
+			allocationTracked &= worker.allocatedBytes >= 0;
+		}
+		long[] latencies = new long[count];
+		int offset = 0;
+		for (Worker worker : results) {
+			System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+			offset += worker.count;
+		}
+		Arrays.sort(latencies);
+		System.out.printf("Requests: %d, errors: %d, throughput: %.1f req/s%n", requests, errors, requests / seconds);
+		if (count > 0) {
+			System.out.printf("Latency (us): p50=%.1f p95=%.1f p99=%.1f p99.9=%.1f max=%.1f%n",
+					percentile(latencies, 0.5), percentile(latencies, 0.95), percentile(latencies, 0.99),
+					percentile(latencies, 0.999), latencies[count - 1] / 1e3);
+		}
+		if (allocationTracked && requests + errors > 0) {
+			System.out.printf("Allocation: %.0f bytes/request%n", (double) allocatedBytes / (requests + errors));
+		} else {
+			System.out.println("Allocation: not supported by this JVM");
+		}
+	}
+
+	private static double percentile(long[] sortedLatencies, double percentile) {
+		int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+		return sortedLatencies[Math.max(index, 0)] / 1e3;
+	}
+
+	/**
+	 * Returns the number of bytes allocated so far by the current thread.
+	 *
+	 * @return the number of bytes, or -1 if the JVM does not track allocations per thread.
+	 */
+	private static long getAllocatedBytes() {
+		java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (threads instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return -1L;
+	}
+
+	/**
+	 * Hands out envelope indexes to the workers, along with the time at which each envelope is due.
+	 */
+	private static class Schedule {
+
+		private final AtomicLong next = new AtomicLong();
+		private final long start;
+		private final long intervalNanos;
+
+		Schedule(long start, double rate) {
+			this.start = start;
+			this.intervalNanos = rate > 0.0 ? (long) (TimeUnit.SECONDS.toNanos(1) / rate) : 0L;
+		}
+
+		long nextIndex() {
+			return next.getAndIncrement();
+		}
+
+		long getDueTime(long index) {
+			return intervalNanos == 0L ? System.nanoTime() : start + index * intervalNanos;
+		}
+
+	}
+
+	/**
+	 * Sends envelopes until the deadline, recording the latency of successful ones in nanoseconds.
+	 */
+	private static class Worker implements Runnable {
+
+		private final RevolutionaryStreamHandler streamHandler;
+		private final List<byte[]> corpus;
+		private final Schedule schedule;
+		private final long deadline;
+		private final CountDownLatch done;
+		private final ByteArrayOutputStream output = new ByteArrayOutputStream(4096);
+		private long[] latencies = new long[1024];
+		private int count;
+		private long requests;
+		private long errors;
+		private long allocatedBytes;
+
+		Worker(RevolutionaryStreamHandler streamHandler, List<byte[]> corpus, Schedule schedule, long deadline,
+				CountDownLatch done) {
+			this.streamHandler = streamHandler;
+			this.corpus = corpus;
+			this.schedule = schedule;
+			this.deadline = deadline;
+			this.done = done;
+		}
+
+		@Override
+		public void run() {
+			Context context = new FakeContext(Thread.currentThread().getName());
+			long allocatedBefore = getAllocatedBytes();
+			try {
+				while (System.nanoTime() < deadline) {
+					long index = schedule.nextIndex();
+					long due = schedule.getDueTime(index);
+					if (due >= deadline) {
+						break;
+					}
+					long now;
+					while ((now = System.nanoTime()) < due) {
+						LockSupport.parkNanos(due - now);
+					}
+					byte[] envelope = corpus.get((int) (index % corpus.size()));
+					output.reset();
+					try {
+						streamHandler.handleRequest(new ByteArrayInputStream(envelope), output, context);
+						++requests;
+						record(System.nanoTime() - due);
+					} catch (IOException | RuntimeException e) {
+						++errors;
+					}
+				}
+			} finally {
+				allocatedBytes = allocatedBefore < 0 ? -1L : getAllocatedBytes() - allocatedBefore;
+				done.countDown();
+			}
+		}
+
+		private void record(long latency) {
+			if (count == latencies.length) {
+				if (count == MAX_SAMPLES_PER_WORKER) {
+					return;
+				}
+				latencies = Arrays.copyOf(latencies, count * 2);
+			}
+			latencies[count++] = latency;
+		}
+
+	}
+
+	private ReplayLoadGenerator() {
+		// Not used.
+	}
+
+}
@@ -0,0 +1,129 @@
+package io.github.pyvesb.alexarevolutionarycalendar.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local stand-in for the time zone endpoint of the Alexa Settings API, so that device time zone resolution can be
+ * load tested without any network. Each device is deterministically assigned one of a few time zones, responses are
+ * delayed by a fixed latency and a given fraction of them fail with a 503 status. Typical usage, serving on port 8081
+ * with a latency of 50 ms and 1% of failures:
+ * java -cp target/benchmarks.jar io.github.pyvesb.alexarevolutionarycalendar.benchmarks.SettingsApiStandIn 8081 50 0.01
+ *
+ * The skill can then be pointed at it with -Ddevice.time.zones=true -Dsettings.api.endpoint=http://localhost:8081.
+ *
+ * @author Pyves
+ *
+ */
+public class SettingsApiStandIn {
+
+	private static final String PATH_PREFIX = "/v2/devices/";
+	private static final String PATH_SUFFIX = "/settings/System.timeZone";
+	private static final String[] ZONES = { "Europe/Paris", "Europe/London", "America/New_York", "America/Los_Angeles",
+			"America/Toronto", "Australia/Sydney", "Asia/Kolkata", "Pacific/Auckland" };
+
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final long latencyMillis;
+	private final double failureRate;
+	private final LongAdder requests = new LongAdder();
+
+	/**
+	 * Creates a stand-in listening on the loopback interface.
+	 *
+	 * @param port the port to listen on, 0 picking an ephemeral one.
+	 * @param threads the number of threads serving requests.
+	 * @param latencyMillis the time taken by each response, in milliseconds.
+	 * @param failureRate the fraction of requests failing, between 0 and 1.
+	 * @throws IOException if the server could not be created.
+	 */
+	public SettingsApiStandIn(int port, int threads, long latencyMillis, double failureRate) throws IOException {
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		this.executor = Executors.newFixedThreadPool(threads);
+		this.latencyMillis = latencyMillis;
+		this.failureRate = failureRate;
+		server.createContext(PATH_PREFIX, this::handle);
+		server.setExecutor(executor);
+	}
+
+	public static void main(String[] args) throws IOException {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : 8081;
+		long latencyMillis = args.length > 1 ? Long.parseLong(args[1]) : 50L;
+		double failureRate = args.length > 2 ? Double.parseDouble(args[2]) : 0.0;
+		SettingsApiStandIn standIn = new SettingsApiStandIn(port, 16, latencyMillis, failureRate);
+		standIn.start();
+		System.out.printf("Settings API stand-in listening on %s (latency: %d ms, failure rate: %s)%n",
+				standIn.getEndpoint(), latencyMillis, failureRate);
+	}
+
+	public void start() {
+		server.start();
+	}
+
+	public void stop() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	public String getEndpoint() {
+		return "http://localhost:" + server.getAddress().getPort();
+	}
+
+	public long getRequestCount() {
+		return requests.sum();
+	}
+
+	/**
+	 * Returns the time zone the stand-in assigns to a device.
+	 *
+	 * @param deviceId the identifier of the device.
+	 * @return the time zone identifier.
+	 */
+	public static String getZone(String deviceId) {
+		return ZONES[Math.floorMod(deviceId.hashCode(), ZONES.length)];
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		requests.increment();
+		try {
+			String path = exchange.getRequestURI().getPath();
+			if (!"GET".equals(exchange.getRequestMethod()) || !path.endsWith(PATH_SUFFIX)) {
+				exchange.sendResponseHeaders(404, -1);
+				return;
+			}
+			if (exchange.getRequestHeaders().getFirst("Authorization") == null) {
+				exchange.sendResponseHeaders(403, -1);
+				return;
+			}
+			TimeUnit.MILLISECONDS.sleep(latencyMillis);
+			if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+				exchange.sendResponseHeaders(503, -1);
+				return;
+			}
+			String deviceId = path.substring(PATH_PREFIX.length(), path.length() - PATH_SUFFIX.length());
+			byte[] body = ("\"" + getZone(deviceId) + "\"").getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream output = exchange.getResponseBody()) {
+				output.write(body);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			exchange.sendResponseHeaders(503, -1);
+		} finally {
+			exchange.close();
+		}
+	}
+
+}
@@ -0,0 +1,64 @@
+package io.github.pyvesb.alexarevolutionarycalendar.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.pyvesb.alexarevolutionarycalendar.RevolutionaryStreamHandler;
+
+/**
+ * Measures a full JSON in, JSON out round trip through the Lambda entry point, using recorded request envelopes,
+ * with the SDK's serializer and with the streaming codecs, with and without Embedded Metric Format metrics.
+ * 
+ * @author Pyves
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Dlog4j.configurationFile=log4j2-benchmarks.xml")
+@State(Scope.Benchmark)
+public class StreamHandlerBenchmark {
+
+	@Param({ "launch-en-GB", "date-of-the-day-fr-FR", "date-with-slot-en-US", "date-with-range-en-CA" })
+	private String envelope;
+
+	@Param({ "false", "true" })
+	private String streamingCodec;
+
+	@Param({ "false", "true" })
+	private String emfMetrics;
+
+	private RevolutionaryStreamHandler streamHandler;
+	private byte[] request;
+
+	@Setup
+	public void setUp() {
+		System.setProperty("streaming.codec", streamingCodec);
+		System.setProperty("emf.metrics", emfMetrics);
+		streamHandler = new RevolutionaryStreamHandler();
+		request = Envelopes.load(envelope);
+	}
+
+	@Benchmark
+	public byte[] handleRequest() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream(1024);
+		streamHandler.handleRequest(new ByteArrayInputStream(request), output, null);
+		return output.toByteArray();
+	}
+
+}
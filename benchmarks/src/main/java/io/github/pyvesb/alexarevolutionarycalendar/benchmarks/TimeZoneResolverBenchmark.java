@@ -0,0 +1,95 @@
+package io.github.pyvesb.alexarevolutionarycalendar.benchmarks;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.pyvesb.alexarevolutionarycalendar.timezone.DeviceTimeZoneResolver;
+import io.github.pyvesb.alexarevolutionarycalendar.timezone.SettingsApiClient;
+
+/**
+ * Measures the latency distribution of device time zone resolution under concurrent load, against the local Settings
+ * API stand-in. Requests are spread uniformly over a population of devices, which may be larger than the cache. The hit
+ * ratio, the number of calls made to the stand-in and the number of fallbacks are printed at the end of each fork.
+ *
+ * @author Pyves
+ *
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class TimeZoneResolverBenchmark {
+
+	private static final String API_ACCESS_TOKEN = "token";
+
+	@Param({ "1000", "100000" })
+	public int devices;
+
+	@Param({ "10000" })
+	public int cacheSize;
+
+	@Param({ "20" })
+	public long latencyMillis;
+
+	private SettingsApiStandIn standIn;
+	private DeviceTimeZoneResolver resolver;
+	private String endpoint;
+	private String[] deviceIds;
+
+	@Setup
+	public void setUp() throws IOException {
+		standIn = new SettingsApiStandIn(0, 32, latencyMillis, 0.0);
+		standIn.start();
+		endpoint = standIn.getEndpoint();
+		resolver = DeviceTimeZoneResolver.builder()
+				.withLookup(new SettingsApiClient(null, 1000))
+				.withFallback(ZoneId.of("Europe/Paris"))
+				.withMaximumSize(cacheSize)
+				.withTimeout(Duration.ofMillis(250))
+				.withLookupThreads(8)
+				.build();
+		deviceIds = new String[devices];
+		for (int i = 0; i < devices; ++i) {
+			deviceIds[i] = "amzn1.ask.device." + i;
+		}
+		// Lifts the default limit of 5 idle keep-alive connections per destination.
+		System.setProperty("http.maxConnections", "8");
+	}
+
+	@TearDown
+	public void tearDown() {
+		long hits = resolver.getHitCount();
+		long misses = resolver.getMissCount();
+		System.out.printf("%nHit ratio: %.3f, lookups: %d, stand-in calls: %d, fallbacks: %d%n",
+				(double) hits / Math.max(hits + misses, 1L), resolver.getLookupCount(), standIn.getRequestCount(),
+				resolver.getFallbackCount());
+		standIn.stop();
+	}
+
+	@Benchmark
+	public ZoneId resolve() {
+		String deviceId = deviceIds[ThreadLocalRandom.current().nextInt(deviceIds.length)];
+		return resolver.resolve(deviceId, endpoint, API_ACCESS_TOKEN);
+	}
+
+}
@@ -0,0 +1,288 @@
+package io.github.pyvesb.alexarevolutionarycalendar;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.Signature;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.CertificateParsingException;
+import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509TrustManager;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.sun.net.httpserver.Headers;
+
+/**
+ * Verifies that requests were sent by Alexa, performing the same checks as the SDK's SkillRequestSignatureVerifier and
+ * SkillRequestTimestampVerifier, which are tied to servlets:
+ * <ul>
+ * <li>the certificate chain URL must point to https://s3.amazonaws.com/echo.api/, possibly on port 443, without query
+ * or fragment;</li>
+ * <li>the downloaded chain must be trusted by the JVM, its signing certificate must currently be valid and issued to
+ * echo-api.amazon.com;</li>
+ * <li>the signature of the raw body must match the signing certificate;</li>
+ * <li>the timestamp of the request must be within 150 seconds of the current time.</li>
+ * </ul>
+ * Trusted chains are cached by path, as Alexa only uses a handful of them. The cache is bounded, so that requests
+ * pointing at many different chains cannot grow it indefinitely.
+ *
+ * @author Pyves
+ *
+ */
+class AlexaRequestVerifier implements RequestVerifier {
+
+	static final String CERT_CHAIN_URL_HEADER = "SignatureCertChainUrl";
+	static final String SIGNATURE_256_HEADER = "Signature-256";
+	static final String SIGNATURE_HEADER = "Signature";
+	static final Duration DEFAULT_TOLERANCE = Duration.ofSeconds(150);
+	static final int MAX_CACHED_CERTIFICATES = 8;
+
+	private static final String CERT_CHAIN_HOST = "s3.amazonaws.com";
+	private static final String CERT_CHAIN_PATH = "/echo.api/";
+	private static final int HTTPS_PORT = 443;
+	private static final String SIGNING_DOMAIN = "echo-api.amazon.com";
+	private static final Integer DNS_NAME = 2;
+	private static final int DOWNLOAD_TIMEOUT_MILLIS = 2000;
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	private final Clock clock;
+	private final Duration tolerance;
+	private final CertificateChainLoader chainLoader;
+	private final X509TrustManager trustManager;
+	private final ConcurrentMap<String, X509Certificate> signingCertificatesByPath = new ConcurrentHashMap<>();
+
+	/**
+	 * Retrieves the certificate chain pointed at by a request, signing certificate first.
+	 */
+	@FunctionalInterface
+	interface CertificateChainLoader {
+
+		List<X509Certificate> load(URL url) throws IOException, CertificateException;
+
+	}
+
+	/**
+	 * Creates a verifier.
+	 *
+	 * @param clock the clock giving the current time.
+	 * @param tolerance the maximum difference between the timestamp of a request and the current time.
+	 * @param chainLoader retrieves the certificate chains.
+	 * @param trustManager decides whether certificate chains are trusted.
+	 */
+	AlexaRequestVerifier(Clock clock, Duration tolerance, CertificateChainLoader chainLoader,
+			X509TrustManager trustManager) {
+		this.clock = clock;
+		this.tolerance = tolerance;
+		this.chainLoader = chainLoader;
+		this.trustManager = trustManager;
+	}
+
+	/**
+	 * Creates a verifier downloading certificate chains from Amazon and trusting the default certificate authorities of
+	 * the JVM.
+	 *
+	 * @return the verifier.
+	 * @throws GeneralSecurityException if the default trust store could not be loaded.
+	 */
+	static AlexaRequestVerifier create() throws GeneralSecurityException {
+		TrustManagerFactory trustManagerFactory = TrustManagerFactory
+				.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+		trustManagerFactory.init((KeyStore) null);
+		for (TrustManager trustManager : trustManagerFactory.getTrustManagers()) {
+			if (trustManager instanceof X509TrustManager) {
+				return new AlexaRequestVerifier(Clock.systemUTC(), DEFAULT_TOLERANCE,
+						AlexaRequestVerifier::download, (X509TrustManager) trustManager);
+			}
+		}
+		throw new GeneralSecurityException("No X.509 trust manager available");
+	}
+
+	@Override
+	public void verify(Headers headers, byte[] body) {
+		verifyTimestamp(body);
+		verifySignature(headers, body);
+	}
+
+	private void verifyTimestamp(byte[] body) {
+		Instant timestamp = getTimestamp(body);
+		if (Duration.between(timestamp, clock.instant()).abs().compareTo(tolerance) > 0) {
+			throw new SecurityException("Request timestamp " + timestamp + " outside of tolerance");
+		}
+	}
+
+	private void verifySignature(Headers headers, byte[] body) {
+		String signature256 = headers.getFirst(SIGNATURE_256_HEADER);
+		String signature = signature256 == null ? headers.getFirst(SIGNATURE_HEADER) : signature256;
+		if (signature == null) {
+			throw new SecurityException("Missing request signature");
+		}
+		X509Certificate signingCertificate = getSigningCertificate(headers.getFirst(CERT_CHAIN_URL_HEADER));
+		try {
+			signingCertificate.checkValidity(Date.from(clock.instant()));
+			Signature verifier = Signature.getInstance(signature256 == null ? "SHA1withRSA" : "SHA256withRSA");
+			verifier.initVerify(signingCertificate.getPublicKey());
+			verifier.update(body);
+			if (!verifier.verify(Base64.getDecoder().decode(signature))) {
+				throw new SecurityException("Invalid request signature");
+			}
+		} catch (GeneralSecurityException | IllegalArgumentException e) {
+			throw new SecurityException("Unverifiable request signature", e);
+		}
+	}
+
+	private X509Certificate getSigningCertificate(String certChainUrl) {
+		URL url = parseCertChainUrl(certChainUrl);
+		// Scheme, host and port are fixed by parseCertChainUrl, the normalised path identifies the chain.
+		String path = url.getPath();
+		X509Certificate signingCertificate = signingCertificatesByPath.get(path);
+		if (signingCertificate == null) {
+			signingCertificate = loadSigningCertificate(url);
+			if (signingCertificatesByPath.size() < MAX_CACHED_CERTIFICATES) {
+				// Concurrent loads of the same chain are harmless, keep whichever was cached first.
+				X509Certificate cached = signingCertificatesByPath.putIfAbsent(path, signingCertificate);
+				return cached == null ? signingCertificate : cached;
+			}
+		}
+		return signingCertificate;
+	}
+
+	private X509Certificate loadSigningCertificate(URL url) {
+		try {
+			List<X509Certificate> chain = chainLoader.load(url);
+			if (chain.isEmpty()) {
+				throw new SecurityException("Empty certificate chain at " + url);
+			}
+			X509Certificate signingCertificate = chain.get(0);
+			trustManager.checkServerTrusted(chain.toArray(new X509Certificate[chain.size()]),
+					signingCertificate.getPublicKey().getAlgorithm());
+			if (!isIssuedToSigningDomain(signingCertificate)) {
+				throw new SecurityException("Certificate at " + url + " not issued to " + SIGNING_DOMAIN);
+			}
+			return signingCertificate;
+		} catch (IOException | CertificateException e) {
+			throw new SecurityException("Untrusted certificate chain at " + url, e);
+		}
+	}
+
+	private static boolean isIssuedToSigningDomain(X509Certificate certificate) throws CertificateParsingException {
+		Collection<List<?>> alternativeNames = certificate.getSubjectAlternativeNames();
+		if (alternativeNames != null) {
+			for (List<?> alternativeName : alternativeNames) {
+				if (DNS_NAME.equals(alternativeName.get(0)) && SIGNING_DOMAIN.equals(alternativeName.get(1))) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Parses and validates the certificate chain URL of a request. Its path is normalised first, so that for instance
+	 * https://s3.amazonaws.com/echo.api/../invalid.pem is rejected. URLs with a query or a fragment are rejected, as
+	 * they could otherwise point to the same chain in countless ways.
+	 *
+	 * @param certChainUrl the value of the SignatureCertChainUrl header.
+	 * @return the URL of the certificate chain.
+	 * @throws SecurityException if the URL is missing or does not point to Amazon's certificates.
+	 */
+	static URL parseCertChainUrl(String certChainUrl) {
+		if (certChainUrl == null) {
+			throw new SecurityException("Missing certificate chain URL");
+		}
+		try {
+			URI uri = new URI(certChainUrl).normalize();
+			String path = uri.getPath();
+			if (!"https".equalsIgnoreCase(uri.getScheme()) || !CERT_CHAIN_HOST.equalsIgnoreCase(uri.getHost())
+					|| uri.getPort() != -1 && uri.getPort() != HTTPS_PORT || path == null
+					|| !path.startsWith(CERT_CHAIN_PATH) || uri.getRawQuery() != null || uri.getRawFragment() != null) {
+				throw new SecurityException("Invalid certificate chain URL " + certChainUrl);
+			}
+			return uri.toURL();
+		} catch (URISyntaxException | IOException | IllegalArgumentException e) {
+			throw new SecurityException("Invalid certificate chain URL " + certChainUrl, e);
+		}
+	}
+
+	/**
+	 * Extracts the request.timestamp field of an envelope, either an ISO-8601 date-time or a number of milliseconds.
+	 *
+	 * @param body the raw request envelope.
+	 * @return the timestamp of the request.
+	 * @throws SecurityException if the envelope does not contain a valid timestamp.
+	 */
+	private static Instant getTimestamp(byte[] body) {
+		try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+			if (parser.nextToken() == JsonToken.START_OBJECT) {
+				while (parser.nextToken() == JsonToken.FIELD_NAME) {
+					String field = parser.getCurrentName();
+					if (parser.nextToken() == JsonToken.START_OBJECT && "request".equals(field)) {
+						return getRequestTimestamp(parser);
+					}
+					parser.skipChildren();
+				}
+			}
+		} catch (IOException | DateTimeException e) {
+			throw new SecurityException("Invalid request timestamp", e);
+		}
+		throw new SecurityException("Missing request timestamp");
+	}
+
+	private static Instant getRequestTimestamp(JsonParser parser) throws IOException {
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+			if ("timestamp".equals(field)) {
+				if (token == JsonToken.VALUE_STRING) {
+					return OffsetDateTime.parse(parser.getText()).toInstant();
+				} else if (token == JsonToken.VALUE_NUMBER_INT) {
+					return Instant.ofEpochMilli(parser.getLongValue());
+				}
+				break;
+			}
+			parser.skipChildren();
+		}
+		throw new SecurityException("Missing request timestamp");
+	}
+
+	private static List<X509Certificate> download(URL url) throws IOException, CertificateException {
+		HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+		connection.setConnectTimeout(DOWNLOAD_TIMEOUT_MILLIS);
+		connection.setReadTimeout(DOWNLOAD_TIMEOUT_MILLIS);
+		int status = connection.getResponseCode();
+		if (status != HttpURLConnection.HTTP_OK) {
+			throw new IOException("Certificate chain download responded with status " + status);
+		}
+		List<X509Certificate> chain = new ArrayList<>();
+		try (InputStream body = connection.getInputStream()) {
+			for (Certificate certificate : CertificateFactory.getInstance("X.509").generateCertificates(body)) {
+				chain.add((X509Certificate) certificate);
+			}
+		}
+		return chain;
+	}
+
+}
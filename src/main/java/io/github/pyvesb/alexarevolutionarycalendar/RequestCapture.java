@@ -0,0 +1,59 @@
+package io.github.pyvesb.alexarevolutionarycalendar;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.github.pyvesb.alexarevolutionarycalendar.json.EnvelopeAnonymiser;
+import io.github.pyvesb.alexarevolutionarycalendar.util.Streams;
+
+/**
+ * Logs anonymised copies of the request envelopes received by the skill, one JSON document per line, through the
+ * {@value #LOGGER_NAME} logger. The resulting logs can be replayed by the load generator of the benchmarks module to
+ * reproduce production traffic locally. Capture is opt-in: it is enabled by setting the CAPTURE_REQUESTS environment
+ * variable or the capture.requests system property to true.
+ *
+ * @author Pyves
+ *
+ */
+class RequestCapture {
+
+	static final String LOGGER_NAME = "RequestCapture";
+
+	private static final Logger LOGGER = LogManager.getLogger(LOGGER_NAME);
+	private static final String ENVIRONMENT_VARIABLE = "CAPTURE_REQUESTS";
+	private static final String SYSTEM_PROPERTY = "capture.requests";
+
+	private final EnvelopeAnonymiser anonymiser = new EnvelopeAnonymiser();
+
+	/**
+	 * Checks whether capture was requested for this JVM.
+	 *
+	 * @return true if the environment variable or system property is set to true.
+	 */
+	static boolean isEnabled() {
+		return RevolutionaryStreamHandler.isEnabled(ENVIRONMENT_VARIABLE, SYSTEM_PROPERTY);
+	}
+
+	/**
+	 * Reads and logs a request envelope. Envelopes that are not well-formed JSON are not logged, as they cannot be
+	 * reliably anonymised.
+	 *
+	 * @param input the raw request, consumed by this method.
+	 * @return a stream containing the same bytes as the original request.
+	 * @throws IOException if the request could not be read.
+	 */
+	InputStream capture(InputStream input) throws IOException {
+		byte[] request = Streams.readFully(input);
+		Optional<String> anonymised = anonymiser.anonymise(request);
+		if (anonymised.isPresent()) {
+			LOGGER.info(anonymised.get());
+		}
+		return new ByteArrayInputStream(request);
+	}
+
+}
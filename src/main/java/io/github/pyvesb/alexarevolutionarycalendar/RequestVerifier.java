@@ -0,0 +1,35 @@
+package io.github.pyvesb.alexarevolutionarycalendar;
+
+import com.sun.net.httpserver.Headers;
+
+/**
+ * Checks that a request received by the self-hosted endpoint was genuinely sent by Alexa before it is processed.
+ *
+ * @author Pyves
+ *
+ */
+@FunctionalInterface
+interface RequestVerifier {
+
+	/**
+	 * Verifies a request.
+	 *
+	 * @param headers the HTTP headers of the request.
+	 * @param body the raw request envelope, exactly as received.
+	 * @throws SecurityException if the request must be rejected.
+	 */
+	void verify(Headers headers, byte[] body);
+
+	/**
+	 * Returns a verifier accepting all requests. Anyone could then send forged requests to the endpoint, so it must
+	 * only be used for load testing with recorded, unsigned envelopes.
+	 *
+	 * @return the verifier.
+	 */
+	static RequestVerifier none() {
+		return (headers, body) -> {
+			// Accept everything.
+		};
+	}
+
+}
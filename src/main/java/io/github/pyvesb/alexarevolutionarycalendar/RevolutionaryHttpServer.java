@@ -0,0 +1,265 @@
+package io.github.pyvesb.alexarevolutionarycalendar;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+
+import io.github.pyvesb.alexarevolutionarycalendar.util.Streams;
+
+/**
+ * Embedded HTTP(S) server exposing the skill as a self-hosted endpoint, as an alternative to AWS Lambda. Requests are
+ * processed by the same stream handler as in Lambda, each on its own virtual thread when the JVM supports them, or on
+ * a bounded pool of platform threads otherwise. Run with e.g.:
+ * java -cp alexa-revolutionary-calendar-1.0.4.jar io.github.pyvesb.alexarevolutionarycalendar.RevolutionaryHttpServer
+ *
+ * The following environment variables (or the equivalent lower case system properties with dots, e.g. http.port) are
+ * supported:
+ * <ul>
+ * <li>HTTP_PORT: listening port, 8080 by default.</li>
+ * <li>HTTP_BACKLOG: maximum number of pending connections, 1024 by default.</li>
+ * <li>HTTP_MAX_CONCURRENT_REQUESTS: requests processed simultaneously, others being rejected with a 503 status, 4096
+ * by default.</li>
+ * <li>HTTP_VIRTUAL_THREADS: whether to use virtual threads when available, true by default.</li>
+ * <li>HTTP_PLATFORM_THREADS: size of the thread pool used when virtual threads are not, 256 by default.</li>
+ * <li>HTTP_MAX_REQUEST_BYTES: maximum size of a request body, larger ones being rejected with a 413 status before
+ * being fully read, 32768 by default. Alexa request envelopes are a few kilobytes.</li>
+ * <li>HTTPS_KEYSTORE and HTTPS_KEYSTORE_PASSWORD: PKCS12 keystore enabling HTTPS, which Alexa requires. Plain HTTP is
+ * used if unset, for instance behind a TLS terminating proxy.</li>
+ * <li>HTTP_SKIP_REQUEST_VERIFICATION: accepts requests without checking that they were sent by Alexa, false by
+ * default. Only meant for load testing with recorded envelopes, as anyone could otherwise invoke the skill.</li>
+ * </ul>
+ *
+ * The signature and timestamp of each request are verified before it is processed, see {@link AlexaRequestVerifier},
+ * and rejected requests get a 400 status.
+ *
+ * @author Pyves
+ *
+ */
+public class RevolutionaryHttpServer {
+
+	private static final Logger LOGGER = LogManager.getLogger(RevolutionaryHttpServer.class);
+	private static final byte[] NO_BODY = new byte[0];
+	private static final int PLATFORM_QUEUE_SIZE_PER_THREAD = 4;
+
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final Semaphore permits;
+	private final int maxRequestBytes;
+	private final RequestVerifier requestVerifier;
+	private final RequestStreamHandler streamHandler;
+
+	/**
+	 * Creates a server, which is not started.
+	 *
+	 * @param server the unstarted and unbound HTTP or HTTPS server to use.
+	 * @param address the address to listen on, a port of 0 selecting an ephemeral port.
+	 * @param backlog the maximum number of pending connections.
+	 * @param maxConcurrentRequests the number of requests that can be processed simultaneously.
+	 * @param maxRequestBytes the maximum size of a request body.
+	 * @param executor the executor processing the requests.
+	 * @param requestVerifier checks that requests were sent by Alexa before they are processed.
+	 * @param streamHandler the handler processing the Alexa request envelopes.
+	 * @throws IOException if the server could not be bound.
+	 */
+	RevolutionaryHttpServer(HttpServer server, InetSocketAddress address, int backlog, int maxConcurrentRequests,
+			int maxRequestBytes, ExecutorService executor, RequestVerifier requestVerifier,
+			RequestStreamHandler streamHandler) throws IOException {
+		this.server = server;
+		this.executor = executor;
+		this.permits = new Semaphore(maxConcurrentRequests);
+		this.maxRequestBytes = maxRequestBytes;
+		this.requestVerifier = requestVerifier;
+		this.streamHandler = streamHandler;
+		server.bind(address, backlog);
+		server.createContext("/", this::handle);
+		server.setExecutor(executor);
+	}
+
+	public static void main(String[] args) throws IOException, GeneralSecurityException {
+		int port = getIntSetting("HTTP_PORT", 8080);
+		int backlog = getIntSetting("HTTP_BACKLOG", 1024);
+		int maxConcurrentRequests = getIntSetting("HTTP_MAX_CONCURRENT_REQUESTS", 4096);
+		boolean virtualThreads = Boolean.parseBoolean(getSetting("HTTP_VIRTUAL_THREADS", "true"));
+		int platformThreads = getIntSetting("HTTP_PLATFORM_THREADS", 256);
+		int maxRequestBytes = getIntSetting("HTTP_MAX_REQUEST_BYTES", 32768);
+		String keystore = getSetting("HTTPS_KEYSTORE", null);
+		boolean skipRequestVerification = Boolean.parseBoolean(getSetting("HTTP_SKIP_REQUEST_VERIFICATION", "false"));
+
+		if (skipRequestVerification) {
+			LOGGER.warn("Request verification disabled, the endpoint must only be used for load testing");
+		}
+		RequestVerifier requestVerifier = skipRequestVerification ? RequestVerifier.none()
+				: AlexaRequestVerifier.create();
+		HttpServer server = keystore == null ? HttpServer.create()
+				: createHttpsServer(keystore, getSetting("HTTPS_KEYSTORE_PASSWORD", ""));
+		RevolutionaryHttpServer httpServer = new RevolutionaryHttpServer(server, new InetSocketAddress(port), backlog,
+				maxConcurrentRequests, maxRequestBytes, newExecutor(virtualThreads, platformThreads), requestVerifier,
+				new RevolutionaryStreamHandler());
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> httpServer.stop(1)));
+		httpServer.start();
+		LOGGER.info("Listening on port {} ({})", httpServer.getPort(), keystore == null ? "HTTP" : "HTTPS");
+	}
+
+	public void start() {
+		server.start();
+	}
+
+	/**
+	 * Stops the server, waiting for in-flight requests to complete.
+	 *
+	 * @param delaySeconds the maximum time to wait for in-flight requests.
+	 */
+	public void stop(int delaySeconds) {
+		server.stop(delaySeconds);
+		executor.shutdown();
+	}
+
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Creates a virtual thread per task executor if requested and supported by the JVM, otherwise a bounded pool of
+	 * platform threads. When the pool's queue is full, the server's dispatcher thread runs the request itself, which
+	 * stops it from accepting new connections until capacity is available again.
+	 *
+	 * @param virtualThreads whether to use virtual threads if available.
+	 * @param platformThreads the maximum number of platform threads.
+	 * @return the executor.
+	 */
+	static ExecutorService newExecutor(boolean virtualThreads, int platformThreads) {
+		if (virtualThreads) {
+			try {
+				// Looked up reflectively as the project targets Java 8.
+				return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+			} catch (ReflectiveOperationException e) {
+				LOGGER.info("Virtual threads not available, using {} platform threads", platformThreads);
+			}
+		}
+		AtomicInteger threadCount = new AtomicInteger();
+		ThreadFactory threadFactory = runnable -> {
+			Thread thread = new Thread(runnable, "http-worker-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(platformThreads, platformThreads, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(platformThreads * PLATFORM_QUEUE_SIZE_PER_THREAD), threadFactory,
+				new ThreadPoolExecutor.CallerRunsPolicy());
+		pool.allowCoreThreadTimeOut(true);
+		return pool;
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try {
+			if (!"POST".equals(exchange.getRequestMethod())) {
+				send(exchange, 405, NO_BODY);
+			} else if (!permits.tryAcquire()) {
+				send(exchange, 503, NO_BODY);
+			} else {
+				try {
+					handlePost(exchange);
+				} finally {
+					permits.release();
+				}
+			}
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private void handlePost(HttpExchange exchange) throws IOException {
+		String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+		if (contentLength != null && Long.parseLong(contentLength) > maxRequestBytes) {
+			send(exchange, 413, NO_BODY);
+			return;
+		}
+		// Chunked bodies have no length, reading stops as soon as they exceed the limit.
+		Optional<byte[]> body;
+		try (InputStream input = exchange.getRequestBody()) {
+			body = Streams.readFully(input, maxRequestBytes);
+		}
+		if (!body.isPresent()) {
+			send(exchange, 413, NO_BODY);
+			return;
+		}
+		try {
+			requestVerifier.verify(exchange.getRequestHeaders(), body.get());
+		} catch (SecurityException e) {
+			LOGGER.warn("Rejected unverified request: {}", e.getMessage());
+			send(exchange, 400, NO_BODY);
+			return;
+		}
+		ByteArrayOutputStream output = new ByteArrayOutputStream(1024);
+		try {
+			streamHandler.handleRequest(new ByteArrayInputStream(body.get()), output, null);
+		} catch (IOException | RuntimeException e) {
+			LOGGER.error("Failed to handle request", e);
+			send(exchange, 500, NO_BODY);
+			return;
+		}
+		exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+		send(exchange, 200, output.toByteArray());
+	}
+
+	private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+		exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+		if (body.length > 0) {
+			try (OutputStream responseBody = exchange.getResponseBody()) {
+				responseBody.write(body);
+			}
+		}
+	}
+
+	private static HttpsServer createHttpsServer(String keystore, String password)
+			throws IOException, GeneralSecurityException {
+		KeyStore keyStore = KeyStore.getInstance("PKCS12");
+		try (InputStream input = new FileInputStream(keystore)) {
+			keyStore.load(input, password.toCharArray());
+		}
+		KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+		keyManagerFactory.init(keyStore, password.toCharArray());
+		SSLContext sslContext = SSLContext.getInstance("TLS");
+		sslContext.init(keyManagerFactory.getKeyManagers(), null, null);
+		HttpsServer server = HttpsServer.create();
+		server.setHttpsConfigurator(new HttpsConfigurator(sslContext));
+		return server;
+	}
+
+	private static String getSetting(String environmentVariable, String defaultValue) {
+		String systemProperty = environmentVariable.toLowerCase().replace('_', '.');
+		String value = System.getProperty(systemProperty, System.getenv(environmentVariable));
+		return value == null ? defaultValue : value;
+	}
+
+	private static int getIntSetting(String environmentVariable, int defaultValue) {
+		return Integer.parseInt(getSetting(environmentVariable, Integer.toString(defaultValue)));
+	}
+
+}
@@ -1,47 +1,290 @@
 package io.github.pyvesb.alexarevolutionarycalendar;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
 import java.time.Clock;
 import java.time.ZoneId;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
 
 import com.amazon.ask.Skill;
 import com.amazon.ask.SkillStreamHandler;
 import com.amazon.ask.builder.CustomSkillBuilder;
+import com.amazon.ask.dispatcher.request.handler.RequestHandler;
+import com.amazon.ask.model.LaunchRequest;
+import com.amazon.ask.model.RequestEnvelope;
+import com.amazon.ask.model.ResponseEnvelope;
+import com.amazon.ask.model.SessionEndedRequest;
+import com.amazon.ask.model.services.Serializer;
+import com.amazon.ask.util.JacksonSerializer;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
 
+import io.github.pyvesb.alexarevolutionarycalendar.date.EquinoxSource;
+import io.github.pyvesb.alexarevolutionarycalendar.date.RevolutionaryDateProvider;
 import io.github.pyvesb.alexarevolutionarycalendar.handlers.CancelStopIntentHandler;
 import io.github.pyvesb.alexarevolutionarycalendar.handlers.DateIntentHandler;
+import io.github.pyvesb.alexarevolutionarycalendar.handlers.DateNavigationIntentHandler;
+import io.github.pyvesb.alexarevolutionarycalendar.handlers.GregorianDateIntentHandler;
 import io.github.pyvesb.alexarevolutionarycalendar.handlers.HelpIntentHandler;
 import io.github.pyvesb.alexarevolutionarycalendar.handlers.LaunchRequestHandler;
+import io.github.pyvesb.alexarevolutionarycalendar.handlers.PreferencesIntentHandler;
+import io.github.pyvesb.alexarevolutionarycalendar.handlers.RoutingRequestHandler;
 import io.github.pyvesb.alexarevolutionarycalendar.handlers.SessionEndedRequestHandler;
+import io.github.pyvesb.alexarevolutionarycalendar.json.RequestEnvelopeReader;
+import io.github.pyvesb.alexarevolutionarycalendar.json.ResponseEnvelopeWriter;
+import io.github.pyvesb.alexarevolutionarycalendar.metrics.SkillMetrics;
+import io.github.pyvesb.alexarevolutionarycalendar.metrics.TimedRequestHandler;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.CachingPreferenceRepository;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.DynamoDbPreferenceStore;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.LocalPreferenceStore;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.PreferenceRepository;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.PreferenceStore;
+import io.github.pyvesb.alexarevolutionarycalendar.timezone.DeviceTimeZoneResolver;
+import io.github.pyvesb.alexarevolutionarycalendar.timezone.SettingsApiClient;
+import io.github.pyvesb.alexarevolutionarycalendar.timezone.TimeZoneResolver;
+import io.github.pyvesb.alexarevolutionarycalendar.util.Streams;
 
 /**
  * Class used as a handler for AWS Lambda function calls. Delegates all processing to one of the request handler
  * instances. The handler field in the AWS Lambda console needs to be set to the following:
  * io.github.pyvesb.alexarevolutionarycalendar.RevolutionaryStreamHandler
  * 
+ * The following environment variables (or the equivalent lower case system properties with dots, e.g.
+ * prime.on.init) are supported:
+ * <ul>
+ * <li>PRIME_ON_INIT: moves most of the cold start cost into the init phase, see {@link SkillPrimer}.</li>
+ * <li>STREAMING_CODEC: reads and writes envelopes with streaming JSON codecs, see {@link RequestEnvelopeReader}.</li>
+ * <li>EMF_METRICS: logs latency histograms and request counts every minute, see {@link SkillMetrics}.</li>
+ * <li>LOG4J_CONFIGURATION_FILE: read by log4j2 itself, log4j2-structured.xml writes sampled JSON logs.</li>
+ * <li>CAPTURE_REQUESTS: logs anonymised request envelopes for later replay, see {@link RequestCapture}.</li>
+ * <li>DEVICE_TIME_ZONES: uses the time zone of each device, see {@link DeviceTimeZoneResolver}.</li>
+ * <li>SETTINGS_API_ENDPOINT: overrides the endpoint of the Alexa Settings API, see {@link SettingsApiClient}.</li>
+ * <li>EQUINOX_SOURCE: LIBRARY, CALCULATOR or COMBINED (default), see {@link EquinoxSource}.</li>
+ * <li>PREFERENCES_TABLE: DynamoDB table remembering user preferences, see {@link CachingPreferenceRepository}.</li>
+ * <li>DYNAMODB_ENDPOINT: overrides the endpoint of DynamoDB, see {@link DynamoDbPreferenceStore}.</li>
+ * <li>PREFERENCES_FILE: local file keeping preferences instead of a table, see {@link LocalPreferenceStore}.</li>
+ * <li>PROFILE_STARTUP: logs the duration of each startup phase, see {@link StartupProfiler}.</li>
+ * </ul>
+ * 
  * @author Pyves
  *
  */
-public class RevolutionaryStreamHandler extends SkillStreamHandler {
+public class RevolutionaryStreamHandler implements RequestStreamHandler {
+
+	// First field, so that the phases it profiles include the initialisation of the other ones.
+	private static final StartupProfiler PROFILER = StartupProfiler.start();
+
+	static {
+		if (PROFILER.isRecording()) {
+			// Configures log4j2 eagerly, otherwise its cost would be attributed to the first class using a logger.
+			LogManager.getContext(false);
+			PROFILER.endPhase("log4j2");
+		}
+	}
 
-	private static final String SKILL_ID = "amzn1.ask.skill.d3dcc36a-fd4f-4367-95b2-f734f961d827";
+	private static final Serializer SERIALIZER = new JacksonSerializer();
+
+	static {
+		PROFILER.endPhase("jackson");
+	}
+
+	static final String SKILL_ID = "amzn1.ask.skill.d3dcc36a-fd4f-4367-95b2-f734f961d827";
 	// When users ask for a specific date, Alexa will provide an ISO8601 date computed with the right timezone. When
-	// they just ask for the date of the day (e.g. "give me the date"), there is no simple way to infer their
-	// timezone. Default to Paris. See https://forums.developer.amazon.com/questions/8857/get-timezone.html
+	// they just ask for the date of the day (e.g. "give me the date"), the timezone of their device can only be
+	// retrieved through the Settings API, see DEVICE_TIME_ZONES. Default to Paris.
 	private static final Clock CLOCK = Clock.system(ZoneId.of("Europe/Paris"));
+	// Thread-safe, shared by all handlers and requests served by this JVM.
+	private static final RevolutionaryDateProvider DATE_PROVIDER = new RevolutionaryDateProvider(CLOCK,
+			getEquinoxSource());
+	private static final TimeZoneResolver TIME_ZONE_RESOLVER = getTimeZoneResolver();
+	private static final int SETTINGS_API_TIMEOUT_MILLIS = 1000;
+	private static final PreferenceRepository PREFERENCE_REPOSITORY = getPreferenceRepository();
+	private static final long METRICS_FLUSH_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+	// Latency of the whole request, from the raw input to the serialized output.
+	private static final String SKILL_METRIC = "Skill";
+
+	static {
+		PROFILER.endPhase("static-init");
+	}
+
+	private final SkillMetrics metrics;
+	private final boolean emfMetrics;
+	private final Skill skill;
+	private final RequestStreamHandler sdkStreamHandler;
+	private final boolean streamingCodec;
+	private final RequestCapture requestCapture;
 
 	public RevolutionaryStreamHandler() {
-		super(getSkill());
+		this(isEnabled("STREAMING_CODEC", "streaming.codec"), isEnabled("EMF_METRICS", "emf.metrics"),
+				RequestCapture.isEnabled());
+		if (SkillPrimer.isEnabled()) {
+			SkillPrimer.prime(this, SKILL_ID);
+			// Synthetic requests must not show up in the metrics.
+			metrics.drain(System.currentTimeMillis());
+			PROFILER.endPhase("priming");
+		}
+	}
+
+	RevolutionaryStreamHandler(boolean streamingCodec) {
+		this(streamingCodec, false);
+	}
+
+	RevolutionaryStreamHandler(boolean streamingCodec, boolean emfMetrics) {
+		this(streamingCodec, emfMetrics, false);
+	}
+
+	RevolutionaryStreamHandler(boolean streamingCodec, boolean emfMetrics, boolean captureRequests) {
+		this.metrics = emfMetrics ? new SkillMetrics(METRICS_FLUSH_INTERVAL_NANOS, System.nanoTime())
+				: new SkillMetrics();
+		this.emfMetrics = emfMetrics;
+		this.skill = getSkill(metrics, emfMetrics);
+		// SkillStreamHandler.handleRequest is final, the SDK path is therefore delegated to rather than overridden.
+		this.sdkStreamHandler = new SkillStreamHandler(skill) {};
+		this.streamingCodec = streamingCodec;
+		this.requestCapture = captureRequests ? new RequestCapture() : null;
+		PROFILER.endPhase("constructor");
+	}
+
+	@Override
+	public void handleRequest(InputStream input, OutputStream output, Context context) throws IOException {
+		try {
+			if (!PROFILER.isRecording() || SkillPrimer.isPriming()) {
+				handleAndRecord(input, output, context);
+				return;
+			}
+			PROFILER.endPhase("awaiting-first-request");
+			try {
+				handleAndRecord(input, output, context);
+			} finally {
+				PROFILER.report("first-request");
+			}
+		} finally {
+			// Only AWS Lambda provides a context. It freezes the background thread saving preferences once the
+			// invocation returns, whereas the HTTP server keeps batching them. Free when no preferences were updated.
+			if (context != null) {
+				PREFERENCE_REPOSITORY.flush();
+			}
+		}
 	}
 
-	private static Skill getSkill() {
-		return new CustomSkillBuilder()
-				.addRequestHandlers(new LaunchRequestHandler(),
-						new HelpIntentHandler(),
-						new CancelStopIntentHandler(),
-						new DateIntentHandler(CLOCK),
-						new SessionEndedRequestHandler())
+	SkillMetrics getMetrics() {
+		return metrics;
+	}
+
+	private void handleAndRecord(InputStream input, OutputStream output, Context context) throws IOException {
+		if (!emfMetrics) {
+			dispatch(input, output, context);
+			return;
+		}
+		long start = System.nanoTime();
+		try {
+			dispatch(input, output, context);
+		} finally {
+			long end = System.nanoTime();
+			metrics.recordLatency(SKILL_METRIC, end - start);
+			metrics.flushIfDue(end);
+		}
+	}
+
+	private void dispatch(InputStream input, OutputStream output, Context context) throws IOException {
+		InputStream envelope = requestCapture == null ? input : requestCapture.capture(input);
+		if (!streamingCodec) {
+			sdkStreamHandler.handleRequest(envelope, output, context);
+			return;
+		}
+		byte[] request = Streams.readFully(envelope);
+		Optional<RequestEnvelope> requestEnvelope = RequestEnvelopeReader.read(request);
+		if (!requestEnvelope.isPresent()) {
+			sdkStreamHandler.handleRequest(new ByteArrayInputStream(request), output, context);
+			return;
+		}
+		ResponseEnvelope responseEnvelope = skill.invoke(requestEnvelope.get());
+		if (ResponseEnvelopeWriter.canWrite(responseEnvelope)) {
+			ResponseEnvelopeWriter.write(responseEnvelope, output);
+		} else {
+			SERIALIZER.serialize(responseEnvelope, output);
+		}
+	}
+
+	static boolean isEnabled(String environmentVariable, String systemProperty) {
+		return Boolean.parseBoolean(System.getProperty(systemProperty, System.getenv(environmentVariable)));
+	}
+
+	private static Skill getSkill(SkillMetrics metrics, boolean timed) {
+		RequestHandler router = RoutingRequestHandler.builder()
+				.withRequestType(LaunchRequest.class,
+						time(new LaunchRequestHandler(PREFERENCE_REPOSITORY), metrics, timed))
+				.withIntents(time(new HelpIntentHandler(), metrics, timed), HelpIntentHandler.HELP_INTENT)
+				.withIntents(time(new CancelStopIntentHandler(), metrics, timed), CancelStopIntentHandler.CANCEL_INTENT,
+						CancelStopIntentHandler.STOP_INTENT)
+				.withIntents(time(new DateIntentHandler(DATE_PROVIDER, metrics, TIME_ZONE_RESOLVER,
+						PREFERENCE_REPOSITORY), metrics, timed), DateIntentHandler.DATE_OF_THE_DAY,
+						DateIntentHandler.DATE_WITH_SLOT)
+				.withIntents(time(new DateNavigationIntentHandler(DATE_PROVIDER, metrics, PREFERENCE_REPOSITORY),
+						metrics, timed), DateNavigationIntentHandler.NEXT_DATE,
+						DateNavigationIntentHandler.PREVIOUS_DATE)
+				.withIntents(time(new GregorianDateIntentHandler(DATE_PROVIDER, metrics), metrics, timed),
+						GregorianDateIntentHandler.GREGORIAN_DATE)
+				.withIntents(time(new PreferencesIntentHandler(PREFERENCE_REPOSITORY), metrics, timed),
+						PreferencesIntentHandler.SET_PREFERENCES)
+				.withRequestType(SessionEndedRequest.class, time(new SessionEndedRequestHandler(), metrics, timed))
+				.build();
+		PROFILER.endPhase("handlers");
+		Skill skill = new CustomSkillBuilder()
+				.addRequestHandlers(router)
 				.withSkillId(SKILL_ID)
 				.build();
+		PROFILER.endPhase("skill-build");
+		return skill;
+	}
+
+	private static EquinoxSource getEquinoxSource() {
+		String equinoxSource = System.getProperty("equinox.source", System.getenv("EQUINOX_SOURCE"));
+		return equinoxSource == null ? EquinoxSource.COMBINED : EquinoxSource.valueOf(equinoxSource.toUpperCase());
+	}
+
+	private static TimeZoneResolver getTimeZoneResolver() {
+		if (!isEnabled("DEVICE_TIME_ZONES", "device.time.zones")) {
+			return TimeZoneResolver.fixed(CLOCK.getZone());
+		}
+		String endpoint = System.getProperty("settings.api.endpoint", System.getenv("SETTINGS_API_ENDPOINT"));
+		return DeviceTimeZoneResolver.builder()
+				.withLookup(new SettingsApiClient(endpoint, SETTINGS_API_TIMEOUT_MILLIS))
+				.withFallback(CLOCK.getZone())
+				.build();
+	}
+
+	private static PreferenceRepository getPreferenceRepository() {
+		String table = System.getProperty("preferences.table", System.getenv("PREFERENCES_TABLE"));
+		String file = System.getProperty("preferences.file", System.getenv("PREFERENCES_FILE"));
+		if (table == null && file == null) {
+			return PreferenceRepository.disabled();
+		}
+		PreferenceStore store;
+		try {
+			if (table != null) {
+				store = DynamoDbPreferenceStore.builder()
+						.withTableName(table)
+						.withEndpoint(System.getProperty("dynamodb.endpoint", System.getenv("DYNAMODB_ENDPOINT")))
+						.build();
+			} else {
+				store = LocalPreferenceStore.file(Paths.get(file));
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return CachingPreferenceRepository.builder().withStore(store).build();
+	}
+
+	private static RequestHandler time(RequestHandler handler, SkillMetrics metrics, boolean timed) {
+		return timed ? new TimedRequestHandler(handler.getClass().getSimpleName(), handler, metrics) : handler;
 	}
 
 }
@@ -0,0 +1,137 @@
+package io.github.pyvesb.alexarevolutionarycalendar;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+
+import io.github.pyvesb.alexarevolutionarycalendar.date.PackedRevolutionaryDate;
+import io.github.pyvesb.alexarevolutionarycalendar.i18n.LocalisedMessages;
+
+/**
+ * Sends synthetic requests through a stream handler when the Lambda function is initialised, so that class loading,
+ * deserialisation, handler dispatch and response rendering are paid for during the init phase rather than by the first
+ * user of a new container. Priming is opt-in: it is enabled by setting the PRIME_ON_INIT environment variable or the
+ * prime.on.init system property to true.
+ *
+ * The envelopes do not specify a user, so that priming neither loads preferences from their store nor caches them for
+ * a made up user.
+ *
+ * Logs emitted while priming are discarded by the configuration, which denies events whose thread context contains the
+ * {@value #PRIMING_KEY} key.
+ *
+ * @author Pyves
+ *
+ */
+class SkillPrimer {
+
+	static final String PRIMING_KEY = "priming";
+
+	private static final Logger LOGGER = LogManager.getLogger(SkillPrimer.class);
+	private static final String ENVIRONMENT_VARIABLE = "PRIME_ON_INIT";
+	private static final String SYSTEM_PROPERTY = "prime.on.init";
+	private static final String ENVELOPE = "{\"version\":\"1.0\",\"session\":{\"new\":true,"
+			+ "\"sessionId\":\"amzn1.echo-api.session.priming\",\"application\":{\"applicationId\":\"%1$s\"},"
+			+ "\"attributes\":{%4$s}},\"context\":{\"System\":{\"application\":{\"applicationId\":\"%1$s\"},"
+			+ "\"device\":{\"deviceId\":\"amzn1.ask.device.priming\",\"supportedInterfaces\":{}}}},"
+			+ "\"request\":{%2$s,\"requestId\":\"amzn1.echo-api.request.priming\","
+			+ "\"timestamp\":\"2018-03-29T21:19:29Z\",\"locale\":\"%3$s\"}}";
+	private static final String INTENT_REQUEST = "\"type\":\"IntentRequest\",\"dialogState\":\"COMPLETED\","
+			+ "\"intent\":{\"name\":\"%s\",\"confirmationStatus\":\"NONE\",\"slots\":{%s}}";
+	private static final String SLOT = "\"%1$s\":{\"name\":\"%1$s\",\"value\":\"%2$s\","
+			+ "\"confirmationStatus\":\"NONE\"}";
+	private static final String DATE_SLOT = String.format(SLOT, "date", "%s");
+	private static final String REVOLUTIONARY_SLOTS = String.format(SLOT, "day", "18") + ","
+			+ String.format(SLOT, "month", "Brumaire") + "," + String.format(SLOT, "year", "8");
+	// Covers the launch, help and all date intent paths, including single days and ranges of days. Navigation requests
+	// are sent separately, as they need a cursor in the session attributes.
+	private static final String[] REQUESTS = {
+			"\"type\":\"LaunchRequest\"",
+			String.format(INTENT_REQUEST, "AMAZON.HelpIntent", ""),
+			String.format(INTENT_REQUEST, "RevolutionaryDateOfTheDay", ""),
+			String.format(INTENT_REQUEST, "RevolutionaryDateWithSlot", String.format(DATE_SLOT, "2018-03-05")),
+			String.format(INTENT_REQUEST, "RevolutionaryDateWithSlot", String.format(DATE_SLOT, "2018-W26")),
+			String.format(INTENT_REQUEST, "GregorianDateWithSlots", REVOLUTIONARY_SLOTS) };
+	private static final String NAVIGATION_REQUEST = String.format(INTENT_REQUEST, "NextRevolutionaryDate", "");
+	// Cursor pointing at 9 Germinal 226, with the first calculation method.
+	private static final String NAVIGATION_ATTRIBUTES = "\"cursor\":" + PackedRevolutionaryDate.of(226, 7, 9);
+
+	/**
+	 * Checks whether priming was requested for this JVM.
+	 *
+	 * @return true if the environment variable or system property is set to true.
+	 */
+	static boolean isEnabled() {
+		return RevolutionaryStreamHandler.isEnabled(ENVIRONMENT_VARIABLE, SYSTEM_PROPERTY);
+	}
+
+	/**
+	 * Checks whether the current thread is handling synthetic requests.
+	 *
+	 * @return true if priming is in progress on this thread.
+	 */
+	static boolean isPriming() {
+		return "true".equals(ThreadContext.get(PRIMING_KEY));
+	}
+
+	/**
+	 * Builds the synthetic request envelopes, one per request type for each supported locale.
+	 *
+	 * @param skillId the identifier of the skill the envelopes are addressed to.
+	 * @return the raw JSON of the envelopes.
+	 */
+	static List<byte[]> getEnvelopes(String skillId) {
+		List<byte[]> envelopes = new ArrayList<>();
+		for (String languageTag : LocalisedMessages.getSupportedLanguageTags()) {
+			for (String request : REQUESTS) {
+				envelopes.add(String.format(ENVELOPE, skillId, request, languageTag, "")
+						.getBytes(StandardCharsets.UTF_8));
+			}
+			envelopes.add(String.format(ENVELOPE, skillId, NAVIGATION_REQUEST, languageTag, NAVIGATION_ATTRIBUTES)
+					.getBytes(StandardCharsets.UTF_8));
+		}
+		return envelopes;
+	}
+
+	/**
+	 * Runs the synthetic envelopes through a stream handler. Failures are not fatal, the function can still serve
+	 * requests without having been primed.
+	 *
+	 * @param streamHandler the handler to prime.
+	 * @param skillId the identifier of the skill served by the handler.
+	 * @return the number of envelopes that were successfully handled.
+	 */
+	static int prime(RequestStreamHandler streamHandler, String skillId) {
+		long start = System.nanoTime();
+		int primed = 0;
+		List<byte[]> envelopes = getEnvelopes(skillId);
+		ThreadContext.put(PRIMING_KEY, "true");
+		try {
+			for (byte[] envelope : envelopes) {
+				ByteArrayOutputStream output = new ByteArrayOutputStream(1024);
+				streamHandler.handleRequest(new ByteArrayInputStream(envelope), output, null);
+				++primed;
+			}
+		} catch (IOException | RuntimeException e) {
+			ThreadContext.remove(PRIMING_KEY);
+			LOGGER.warn("Priming interrupted after {} requests", primed, e);
+		} finally {
+			ThreadContext.remove(PRIMING_KEY);
+		}
+		LOGGER.info("Primed {}/{} requests in {} ms", primed, envelopes.size(), (System.nanoTime() - start) / 1_000_000);
+		return primed;
+	}
+
+	private SkillPrimer() {
+		// Not used.
+	}
+
+}
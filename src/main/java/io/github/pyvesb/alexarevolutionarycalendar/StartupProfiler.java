@@ -0,0 +1,167 @@
+package io.github.pyvesb.alexarevolutionarycalendar;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.apache.logging.log4j.LogManager;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Profiles the cold start of the skill. The handler marks the end of each startup phase (log4j2 configuration, Jackson
+ * initialisation, construction of the handlers, CustomSkillBuilder.build(), etc.); the profiler timestamps it and
+ * counts the classes loaded during it through the JVM's ClassLoadingMXBean. A single JSON report is logged through the
+ * {@value #LOGGER_NAME} logger once the first request has been handled, providing a regression signal whenever the
+ * shaded jar or its initialisation grows.
+ *
+ * Profiling is opt-in: it is enabled by setting the PROFILE_STARTUP environment variable or the profile.startup system
+ * property to true. Otherwise, the profiler does not record anything and the management beans are never loaded.
+ *
+ * @author Pyves
+ *
+ */
+class StartupProfiler {
+
+	static final String LOGGER_NAME = "StartupProfile";
+
+	private static final String ENVIRONMENT_VARIABLE = "PROFILE_STARTUP";
+	private static final String SYSTEM_PROPERTY = "profile.startup";
+	private static final StartupProfiler DISABLED = new StartupProfiler();
+
+	private final LongSupplier nanoTime;
+	private final LongSupplier loadedClassCount;
+	private final List<Phase> phases = new ArrayList<>();
+	private volatile boolean recording;
+	private long phaseStartNanos;
+	private long phaseStartClassCount;
+
+	private StartupProfiler() {
+		this.nanoTime = null;
+		this.loadedClassCount = null;
+		this.recording = false;
+	}
+
+	/**
+	 * Creates a recording profiler.
+	 *
+	 * @param nanoTime the source of the timestamps of the phases.
+	 * @param loadedClassCount the source of the total number of classes loaded since the JVM started.
+	 * @param uptimeMillis the time elapsed since the JVM started, reported as the first phase.
+	 */
+	StartupProfiler(LongSupplier nanoTime, LongSupplier loadedClassCount, long uptimeMillis) {
+		this.nanoTime = nanoTime;
+		this.loadedClassCount = loadedClassCount;
+		this.recording = true;
+		this.phaseStartNanos = nanoTime.getAsLong();
+		this.phaseStartClassCount = loadedClassCount.getAsLong();
+		// Covers everything that happened before the profiler was created, e.g. starting the JVM and the Lambda runtime.
+		phases.add(new Phase("jvm", TimeUnit.MILLISECONDS.toNanos(uptimeMillis), phaseStartClassCount));
+	}
+
+	/**
+	 * Starts profiling if it was requested for this JVM.
+	 *
+	 * @return a recording profiler or a profiler doing nothing.
+	 */
+	static StartupProfiler start() {
+		if (!RevolutionaryStreamHandler.isEnabled(ENVIRONMENT_VARIABLE, SYSTEM_PROPERTY)) {
+			return DISABLED;
+		}
+		ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+		return new StartupProfiler(System::nanoTime, classLoading::getTotalLoadedClassCount,
+				ManagementFactory.getRuntimeMXBean().getUptime());
+	}
+
+	/**
+	 * Checks whether the profiler is still recording phases, i.e. whether it is enabled and has not reported yet.
+	 *
+	 * @return true if the profiler is recording.
+	 */
+	boolean isRecording() {
+		return recording;
+	}
+
+	/**
+	 * Ends the current phase, the next one starting immediately. Ignored if the profiler is not recording.
+	 *
+	 * @param name the name of the phase that just ended.
+	 */
+	synchronized void endPhase(String name) {
+		if (!recording) {
+			return;
+		}
+		long nanos = nanoTime.getAsLong();
+		long classCount = loadedClassCount.getAsLong();
+		phases.add(new Phase(name, nanos - phaseStartNanos, classCount - phaseStartClassCount));
+		phaseStartNanos = nanos;
+		phaseStartClassCount = classCount;
+	}
+
+	/**
+	 * Ends the last phase, logs the report and stops recording. Only the first call has an effect.
+	 *
+	 * @param lastPhase the name of the phase that just ended.
+	 * @return the JSON report wrapped in an optional or an empty optional if the profiler was not recording.
+	 */
+	synchronized Optional<String> report(String lastPhase) {
+		if (!recording) {
+			return Optional.empty();
+		}
+		endPhase(lastPhase);
+		recording = false;
+		String report = writeReport();
+		// Retrieved lazily, the configuration of log4j2 being one of the profiled phases.
+		LogManager.getLogger(LOGGER_NAME).info(report);
+		return Optional.of(report);
+	}
+
+	private String writeReport() {
+		StringWriter writer = new StringWriter(1024);
+		try (JsonGenerator generator = new JsonFactory().createGenerator(writer)) {
+			long totalNanos = 0;
+			long totalClassCount = 0;
+			generator.writeStartObject();
+			generator.writeStringField("type", LOGGER_NAME);
+			generator.writeArrayFieldStart("phases");
+			for (Phase phase : phases) {
+				generator.writeStartObject();
+				generator.writeStringField("name", phase.name);
+				generator.writeNumberField("micros", TimeUnit.NANOSECONDS.toMicros(phase.nanos));
+				generator.writeNumberField("loadedClasses", phase.classCount);
+				generator.writeEndObject();
+				totalNanos += phase.nanos;
+				totalClassCount += phase.classCount;
+			}
+			generator.writeEndArray();
+			generator.writeNumberField("totalMicros", TimeUnit.NANOSECONDS.toMicros(totalNanos));
+			generator.writeNumberField("totalLoadedClasses", totalClassCount);
+			generator.writeEndObject();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return writer.toString();
+	}
+
+	private static final class Phase {
+
+		private final String name;
+		private final long nanos;
+		private final long classCount;
+
+		private Phase(String name, long nanos, long classCount) {
+			this.name = name;
+			this.nanos = nanos;
+			this.classCount = classCount;
+		}
+	}
+
+}
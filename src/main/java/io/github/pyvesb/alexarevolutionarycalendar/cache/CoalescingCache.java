@@ -0,0 +1,332 @@
+package io.github.pyvesb.alexarevolutionarycalendar.cache;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Bounded least recently used cache, entries expiring after a fixed time to live. Concurrent misses for the same key
+ * are coalesced into a single load, performed on a dedicated thread pool. Callers wait for the load at most for a given
+ * timeout, after which the fallback value is returned; the load carries on and still populates the cache for
+ * subsequent requests. Failed loads cache the fallback value for a shorter time, so that an unavailable backend does
+ * not delay every request.
+ *
+ * A loaded value never replaces one that was put or successfully loaded in the meantime, as it may be older.
+ *
+ * @author Pyves
+ *
+ * @param <V> the type of the cached values.
+ */
+public class CoalescingCache<V> {
+
+	private static final Logger LOGGER = LogManager.getLogger(CoalescingCache.class);
+
+	private final String name;
+	private final V fallback;
+	private final long timeToLiveNanos;
+	private final long failureTimeToLiveNanos;
+	private final long timeoutNanos;
+	private final Executor executor;
+	private final LongSupplier nanoTime;
+	private final Map<String, Entry<V>> entries;
+	private final ConcurrentMap<String, CompletableFuture<V>> pendingLoads = new ConcurrentHashMap<>();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder loads = new LongAdder();
+	private final LongAdder fallbacks = new LongAdder();
+
+	/**
+	 * Loads the value of a key, typically through a remote call.
+	 *
+	 * @param <V> the type of the loaded value.
+	 */
+	@FunctionalInterface
+	public interface Loader<V> {
+
+		/**
+		 * Loads a value. Implementations may block, but must time out on their own.
+		 *
+		 * @return the loaded value.
+		 * @throws IOException if the value could not be loaded.
+		 */
+		V load() throws IOException;
+	}
+
+	private CoalescingCache(Builder<V> builder) {
+		this.name = builder.name;
+		this.fallback = builder.fallback;
+		this.timeToLiveNanos = builder.timeToLive.toNanos();
+		this.failureTimeToLiveNanos = builder.failureTimeToLive.toNanos();
+		this.timeoutNanos = builder.timeout.toNanos();
+		this.executor = builder.executor == null ? createExecutor(builder.name, builder.loadThreads) : builder.executor;
+		this.nanoTime = builder.nanoTime;
+		int maximumSize = builder.maximumSize;
+		this.entries = new LinkedHashMap<String, Entry<V>>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+				return size() > maximumSize;
+			}
+		};
+	}
+
+	public static <V> Builder<V> builder() {
+		return new Builder<>();
+	}
+
+	/**
+	 * Gets the value of a key, waiting for it to be loaded if it is not cached.
+	 *
+	 * @param key the key.
+	 * @param loader loads the value of the key, on the cache's thread pool.
+	 * @return the value, or the fallback value if it could not be loaded in time.
+	 */
+	public V get(String key, Loader<V> loader) {
+		Entry<V> cached = getEntry(key);
+		if (cached != null) {
+			hits.increment();
+			return cached.value;
+		}
+		CompletableFuture<V> created = new CompletableFuture<>();
+		CompletableFuture<V> pending = pendingLoads.putIfAbsent(key, created);
+		if (pending == null) {
+			pending = created;
+			loads.increment();
+			executor.execute(() -> load(key, loader, created));
+		}
+		// Counted once the request waits on the load, concurrent misses for the key are then all coalesced.
+		misses.increment();
+		try {
+			return pending.get(timeoutNanos, TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			LOGGER.warn("Timed out loading {} (key={})", name, key);
+		} catch (ExecutionException e) {
+			LOGGER.warn("Failed to load {} (key={})", name, key, e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		fallbacks.increment();
+		return fallback;
+	}
+
+	/**
+	 * Gets the value of a key without ever falling back, for instance because it is about to be updated. A fallback
+	 * value cached after a failed load is ignored, and the value is then loaded again on the calling thread, without
+	 * timeout.
+	 *
+	 * @param key the key.
+	 * @param loader loads the value of the key, on the calling thread.
+	 * @return the value.
+	 * @throws IOException if the value could not be loaded.
+	 */
+	public V getWithoutFallback(String key, Loader<V> loader) throws IOException {
+		Entry<V> cached = getEntry(key);
+		if (cached != null && !cached.failed) {
+			hits.increment();
+			return cached.value;
+		}
+		misses.increment();
+		loads.increment();
+		return cacheLoaded(key, loader.load(), false);
+	}
+
+	/**
+	 * Caches the value of a key, replacing any previously cached or currently loading one.
+	 *
+	 * @param key the key.
+	 * @param value the value.
+	 */
+	public void put(String key, V value) {
+		synchronized (entries) {
+			entries.put(key, new Entry<>(value, nanoTime.getAsLong() + timeToLiveNanos, false));
+		}
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * Returns the number of loads performed, which is lower than the number of misses when some were coalesced.
+	 *
+	 * @return the number of loads.
+	 */
+	public long getLoadCount() {
+		return loads.sum();
+	}
+
+	public long getFallbackCount() {
+		return fallbacks.sum();
+	}
+
+	private void load(String key, Loader<V> loader, CompletableFuture<V> pending) {
+		V value;
+		try {
+			value = cacheLoaded(key, loader.load(), false);
+		} catch (IOException | RuntimeException e) {
+			LOGGER.warn("Load of {} failed (key={})", name, key, e);
+			value = cacheLoaded(key, fallback, true);
+		}
+		// Removed before completing, so that requests arriving afterwards find the cached entry.
+		pendingLoads.remove(key, pending);
+		pending.complete(value);
+	}
+
+	private V cacheLoaded(String key, V loaded, boolean failed) {
+		long now = nanoTime.getAsLong();
+		synchronized (entries) {
+			Entry<V> entry = entries.get(key);
+			if (entry != null && !entry.failed && now - entry.expiry < 0) {
+				// Put or successfully loaded by another caller in the meantime.
+				return entry.value;
+			}
+			entries.put(key, new Entry<>(loaded, now + (failed ? failureTimeToLiveNanos : timeToLiveNanos), failed));
+			return loaded;
+		}
+	}
+
+	private Entry<V> getEntry(String key) {
+		long now = nanoTime.getAsLong();
+		synchronized (entries) {
+			Entry<V> entry = entries.get(key);
+			if (entry == null) {
+				return null;
+			}
+			if (now - entry.expiry >= 0) {
+				entries.remove(key);
+				return null;
+			}
+			return entry;
+		}
+	}
+
+	private static Executor createExecutor(String name, int threads) {
+		AtomicInteger threadCount = new AtomicInteger();
+		String threadName = name.replace(' ', '-') + "-load-";
+		return Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, threadName + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	private static final class Entry<V> {
+
+		private final V value;
+		private final long expiry;
+		// Fallback cached after a failed load.
+		private final boolean failed;
+
+		private Entry(V value, long expiry, boolean failed) {
+			this.value = value;
+			this.expiry = expiry;
+			this.failed = failed;
+		}
+	}
+
+	public static class Builder<V> {
+
+		private String name = "value";
+		private V fallback;
+		private int maximumSize = 10_000;
+		private Duration timeToLive = Duration.ofHours(1);
+		private Duration failureTimeToLive = Duration.ofMinutes(1);
+		private Duration timeout = Duration.ofMillis(250);
+		private int loadThreads = 4;
+		private Executor executor;
+		private LongSupplier nanoTime = System::nanoTime;
+
+		private Builder() {
+			// Use CoalescingCache.builder().
+		}
+
+		/**
+		 * Names the cached values in logs and load thread names.
+		 *
+		 * @param name the name, e.g. "time zone".
+		 * @return this builder.
+		 */
+		public Builder<V> withName(String name) {
+			this.name = name;
+			return this;
+		}
+
+		public Builder<V> withFallback(V fallback) {
+			this.fallback = fallback;
+			return this;
+		}
+
+		public Builder<V> withMaximumSize(int maximumSize) {
+			this.maximumSize = maximumSize;
+			return this;
+		}
+
+		public Builder<V> withTimeToLive(Duration timeToLive) {
+			this.timeToLive = timeToLive;
+			return this;
+		}
+
+		public Builder<V> withFailureTimeToLive(Duration failureTimeToLive) {
+			this.failureTimeToLive = failureTimeToLive;
+			return this;
+		}
+
+		public Builder<V> withTimeout(Duration timeout) {
+			this.timeout = timeout;
+			return this;
+		}
+
+		public Builder<V> withLoadThreads(int loadThreads) {
+			this.loadThreads = loadThreads;
+			return this;
+		}
+
+		/**
+		 * Overrides the thread pool performing the loads, for instance to run them on the calling thread.
+		 *
+		 * @param executor the executor.
+		 * @return this builder.
+		 */
+		public Builder<V> withExecutor(Executor executor) {
+			this.executor = executor;
+			return this;
+		}
+
+		public Builder<V> withNanoTime(LongSupplier nanoTime) {
+			this.nanoTime = nanoTime;
+			return this;
+		}
+
+		public CoalescingCache<V> build() {
+			if (fallback == null) {
+				throw new IllegalStateException("A fallback value is required");
+			}
+			if (maximumSize < 1 || loadThreads < 1) {
+				throw new IllegalStateException("The maximum size and the number of load threads must be positive");
+			}
+			return new CoalescingCache<>(this);
+		}
+	}
+
+}
@@ -0,0 +1,161 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import ca.rmen.lfrc.FrenchRevolutionaryCalendarDate;
+
+/**
+ * Converts large numbers of days to FrenchRevolutionaryCalendarDate instances, using the same logic as
+ * {@link RevolutionaryDateProvider#getDate(long, Locale)}. Conversions are spread across the threads of a fork/join
+ * pool, in chunks of consecutive input days. Instances are thread-safe.
+ *
+ * @author Pyves
+ *
+ */
+public class BulkDateConverter {
+
+	static final int DEFAULT_CHUNK_SIZE = 8192;
+	// Chunks being converted or waiting to be consumed, per thread of the pool.
+	private static final int IN_FLIGHT_CHUNKS_PER_THREAD = 2;
+
+	private final RevolutionaryDateProvider revolutionaryDateProvider;
+	private final ForkJoinPool pool;
+	private final int chunkSize;
+
+	public BulkDateConverter(RevolutionaryDateProvider revolutionaryDateProvider) {
+		this(revolutionaryDateProvider, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Creates a converter.
+	 *
+	 * @param revolutionaryDateProvider the provider performing the individual conversions.
+	 * @param pool the pool running the conversions.
+	 * @param chunkSize the number of consecutive input days converted by a single task.
+	 */
+	public BulkDateConverter(RevolutionaryDateProvider revolutionaryDateProvider, ForkJoinPool pool, int chunkSize) {
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("Chunk size must be positive.");
+		}
+		this.revolutionaryDateProvider = revolutionaryDateProvider;
+		this.pool = pool;
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Lazily converts a stream of days. The conversions are performed in parallel if the input stream is parallel.
+	 *
+	 * @param epochDays the numbers of days since 1970-01-01.
+	 * @param locale the locale to be used to compute the FrenchRevolutionaryCalendarDate instances.
+	 * @return the stream of converted dates, in the same order as the input.
+	 * @throws IllegalArgumentException when consuming a day that is not supported by the revolutionary calendar.
+	 */
+	public Stream<FrenchRevolutionaryCalendarDate> convert(LongStream epochDays, Locale locale) {
+		return epochDays.mapToObj(epochDay -> revolutionaryDateProvider.getDate(epochDay, locale));
+	}
+
+	/**
+	 * Converts days read from an iterator of unknown length in parallel, handing over the results to a consumer in the
+	 * order of the input. The iterator is read and the consumer called by the current thread only. At most a couple of
+	 * chunks per thread of the pool are held in memory at any given time, regardless of the length of the input.
+	 *
+	 * @param epochDays the numbers of days since 1970-01-01.
+	 * @param locale the locale to be used to compute the FrenchRevolutionaryCalendarDate instances.
+	 * @param consumer the consumer of the converted dates.
+	 * @throws IllegalArgumentException if a day is not supported by the revolutionary calendar, in which case the
+	 *             dates of the chunk containing it and of subsequent chunks are not consumed.
+	 */
+	public void convert(PrimitiveIterator.OfLong epochDays, Locale locale,
+			Consumer<? super FrenchRevolutionaryCalendarDate> consumer) {
+		int maxInFlightChunks = pool.getParallelism() * IN_FLIGHT_CHUNKS_PER_THREAD;
+		Deque<ChunkConversion> inFlight = new ArrayDeque<>(maxInFlightChunks);
+		try {
+			while (epochDays.hasNext()) {
+				long[] chunk = new long[chunkSize];
+				int length = 0;
+				while (length < chunkSize && epochDays.hasNext()) {
+					chunk[length++] = epochDays.nextLong();
+				}
+				if (inFlight.size() == maxInFlightChunks) {
+					inFlight.removeFirst().consume(consumer);
+				}
+				ChunkConversion conversion = new ChunkConversion(chunk, new FrenchRevolutionaryCalendarDate[length], locale,
+						0, length);
+				pool.execute(conversion);
+				inFlight.addLast(conversion);
+			}
+			while (!inFlight.isEmpty()) {
+				inFlight.removeFirst().consume(consumer);
+			}
+		} finally {
+			inFlight.forEach(conversion -> conversion.cancel(false));
+		}
+	}
+
+	/**
+	 * Converts an array of days in parallel.
+	 *
+	 * @param epochDays the numbers of days since 1970-01-01.
+	 * @param locale the locale to be used to compute the FrenchRevolutionaryCalendarDate instances.
+	 * @return the converted dates, at the same indexes as the input days.
+	 * @throws IllegalArgumentException if a day is not supported by the revolutionary calendar.
+	 */
+	public FrenchRevolutionaryCalendarDate[] convert(long[] epochDays, Locale locale) {
+		FrenchRevolutionaryCalendarDate[] dates = new FrenchRevolutionaryCalendarDate[epochDays.length];
+		pool.invoke(new ChunkConversion(epochDays, dates, locale, 0, epochDays.length));
+		return dates;
+	}
+
+	/**
+	 * Converts a range of an array of days, recursively splitting it into halves until they are no larger than a chunk.
+	 */
+	private class ChunkConversion extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final long[] epochDays;
+		private final FrenchRevolutionaryCalendarDate[] dates;
+		private final Locale locale;
+		private final int from;
+		private final int to;
+
+		ChunkConversion(long[] epochDays, FrenchRevolutionaryCalendarDate[] dates, Locale locale, int from, int to) {
+			this.epochDays = epochDays;
+			this.dates = dates;
+			this.locale = locale;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > chunkSize) {
+				int middle = (from + to) >>> 1;
+				ForkJoinTask.invokeAll(new ChunkConversion(epochDays, dates, locale, from, middle),
+						new ChunkConversion(epochDays, dates, locale, middle, to));
+			} else {
+				for (int i = from; i < to; ++i) {
+					dates[i] = revolutionaryDateProvider.getDate(epochDays[i], locale);
+				}
+			}
+		}
+
+		void consume(Consumer<? super FrenchRevolutionaryCalendarDate> consumer) {
+			join();
+			for (int i = from; i < to; ++i) {
+				consumer.accept(dates[i]);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,61 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+import static ca.rmen.lfrc.FrenchRevolutionaryCalendar.CalculationMethod.CONTINUOUS;
+import static ca.rmen.lfrc.FrenchRevolutionaryCalendar.CalculationMethod.EQUINOX;
+import static ca.rmen.lfrc.FrenchRevolutionaryCalendar.CalculationMethod.ROMME;
+import static ca.rmen.lfrc.FrenchRevolutionaryCalendar.CalculationMethod.VON_MADLER;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import ca.rmen.lfrc.FrenchRevolutionaryCalendar.CalculationMethod;
+
+/**
+ * Parser for the names of the methods used to determine the start of each revolutionary year, as transcribed by Alexa
+ * in English or French, e.g. "Romme" or "équinoxe". Matching ignores case, accents, spaces, hyphens and apostrophes.
+ *
+ * @author Pyves
+ *
+ */
+public class CalculationMethodParser {
+
+	private static final Map<String, CalculationMethod> METHODS_BY_NAME = new HashMap<>();
+
+	static {
+		put(EQUINOX, "equinox", "equinoxes", "équinoxe", "équinoxes", "astronomical", "astronomique");
+		put(ROMME, "Romme", "Romme's", "Gilbert Romme");
+		put(CONTINUOUS, "continuous", "continu", "continue", "four years", "quatre ans");
+		put(VON_MADLER, "von Mädler", "Mädler", "Madler", "128 years", "128 ans", "hundred and twenty eight years",
+				"cent vingt-huit ans");
+	}
+
+	/**
+	 * Parses a calculation method name.
+	 *
+	 * @param value the string to parse.
+	 * @return the calculation method wrapped in an optional or an empty optional if the string could not be parsed.
+	 */
+	public static Optional<CalculationMethod> parse(String value) {
+		return value == null ? Optional.empty() : Optional.ofNullable(METHODS_BY_NAME.get(normalise(value)));
+	}
+
+	private static void put(CalculationMethod method, String... names) {
+		METHODS_BY_NAME.put(normalise(method.name()), method);
+		for (String name : names) {
+			METHODS_BY_NAME.put(normalise(name), method);
+		}
+	}
+
+	private static String normalise(String name) {
+		String withoutAccents = Normalizer.normalize(name, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+		return withoutAccents.replaceAll("[\\s_'-]", "").toLowerCase(Locale.ROOT);
+	}
+
+	private CalculationMethodParser() {
+		// Not used.
+	}
+
+}
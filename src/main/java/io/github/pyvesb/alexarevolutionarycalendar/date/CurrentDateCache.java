@@ -0,0 +1,118 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import ca.rmen.lfrc.FrenchRevolutionaryCalendarDate;
+
+/**
+ * Memoises the current day and its revolutionary dates per time zone and locale. The current day of a time zone only
+ * changes at its next local midnight: until then, the day and the dates already converted for it are returned as is,
+ * which only costs a read of the clock and a comparison. Midnight is computed with the rules of the time zone, so days
+ * lasting 23 or 25 hours because of daylight saving time transitions, or starting at 1 AM because midnight was
+ * skipped, are handled.
+ *
+ * On rollover, the state of the new day is published atomically and replaces the previous one as a whole, dates being
+ * converted at most once per locale for a given day. The clock moving backwards, e.g. after a correction, is treated
+ * as a rollover.
+ *
+ * @author Pyves
+ *
+ */
+class CurrentDateCache {
+
+	private final Clock clock;
+	private final DayConverter converter;
+	private final ConcurrentMap<ZoneId, AtomicReference<Day>> days = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates an empty cache.
+	 *
+	 * @param clock the clock providing the current instant, its time zone being ignored.
+	 * @param converter converts days to revolutionary dates.
+	 */
+	CurrentDateCache(Clock clock, DayConverter converter) {
+		this.clock = clock;
+		this.converter = converter;
+	}
+
+	/**
+	 * Returns the current day in a time zone.
+	 *
+	 * @param zone the time zone.
+	 * @return the number of days since 1970-01-01.
+	 */
+	long getEpochDay(ZoneId zone) {
+		return getDay(zone).epochDay;
+	}
+
+	/**
+	 * Returns the revolutionary date of the current day in a time zone.
+	 *
+	 * @param zone the time zone.
+	 * @param locale the locale to be used to compute the FrenchRevolutionaryCalendarDate instance.
+	 * @return the FrenchRevolutionaryCalendarDate instance, shared by all callers until the next midnight.
+	 */
+	FrenchRevolutionaryCalendarDate getDate(ZoneId zone, Locale locale) {
+		Day day = getDay(zone);
+		FrenchRevolutionaryCalendarDate date = day.dates.get(locale);
+		// ConcurrentHashMap.computeIfAbsent may lock even if the key is present, try a plain lookup first.
+		return date != null ? date : day.dates.computeIfAbsent(locale, l -> converter.getDate(day.epochDay, l));
+	}
+
+	private Day getDay(ZoneId zone) {
+		long now = clock.millis();
+		AtomicReference<Day> current = days.get(zone);
+		if (current == null) {
+			current = days.computeIfAbsent(zone, z -> new AtomicReference<>());
+		}
+		Day day = current.get();
+		while (day == null || !day.contains(now)) {
+			Day next = new Day(zone, now);
+			if (current.compareAndSet(day, next)) {
+				return next;
+			}
+			// Another thread rolled over first, use its day if it is the right one so that dates are shared.
+			day = current.get();
+		}
+		return day;
+	}
+
+	/**
+	 * Converts days to revolutionary dates.
+	 */
+	@FunctionalInterface
+	interface DayConverter {
+
+		FrenchRevolutionaryCalendarDate getDate(long epochDay, Locale locale);
+	}
+
+	/**
+	 * A day in a given time zone, along with the instants it starts and ends at and the dates converted for it so far.
+	 */
+	private static final class Day {
+
+		private final long epochDay;
+		private final long startMillis;
+		private final long endMillis;
+		private final ConcurrentMap<Locale, FrenchRevolutionaryCalendarDate> dates = new ConcurrentHashMap<>();
+
+		private Day(ZoneId zone, long nowMillis) {
+			LocalDate date = Instant.ofEpochMilli(nowMillis).atZone(zone).toLocalDate();
+			this.epochDay = date.toEpochDay();
+			this.startMillis = date.atStartOfDay(zone).toInstant().toEpochMilli();
+			this.endMillis = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+		}
+
+		private boolean contains(long nowMillis) {
+			return nowMillis >= startMillis && nowMillis < endMillis;
+		}
+	}
+
+}
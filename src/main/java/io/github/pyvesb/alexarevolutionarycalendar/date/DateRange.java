@@ -0,0 +1,72 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+import java.util.Optional;
+
+/**
+ * Immutable range of consecutive Gregorian days, both ends included, represented by their number of days since
+ * 1970-01-01.
+ *
+ * @author Pyves
+ *
+ */
+public class DateRange {
+
+	private final long firstEpochDay;
+	private final long lastEpochDay;
+
+	public DateRange(long firstEpochDay, long lastEpochDay) {
+		this.firstEpochDay = firstEpochDay;
+		this.lastEpochDay = lastEpochDay;
+	}
+
+	public long getFirstEpochDay() {
+		return firstEpochDay;
+	}
+
+	public long getLastEpochDay() {
+		return lastEpochDay;
+	}
+
+	public boolean isSingleDay() {
+		return firstEpochDay == lastEpochDay;
+	}
+
+	/**
+	 * Restricts this range to the days it has in common with another range.
+	 *
+	 * @param otherFirstEpochDay the first day of the other range.
+	 * @param otherLastEpochDay the last day of the other range.
+	 * @return the intersection wrapped in an optional or an empty optional if the ranges do not overlap.
+	 */
+	public Optional<DateRange> intersect(long otherFirstEpochDay, long otherLastEpochDay) {
+		long first = Math.max(firstEpochDay, otherFirstEpochDay);
+		long last = Math.min(lastEpochDay, otherLastEpochDay);
+		if (first > last) {
+			return Optional.empty();
+		}
+		return Optional.of(first == firstEpochDay && last == lastEpochDay ? this : new DateRange(first, last));
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof DateRange)) {
+			return false;
+		}
+		DateRange other = (DateRange) obj;
+		return firstEpochDay == other.firstEpochDay && lastEpochDay == other.lastEpochDay;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Long.hashCode(firstEpochDay) + Long.hashCode(lastEpochDay);
+	}
+
+	@Override
+	public String toString() {
+		return "DateRange [firstEpochDay=" + firstEpochDay + ", lastEpochDay=" + lastEpochDay + "]";
+	}
+
+}
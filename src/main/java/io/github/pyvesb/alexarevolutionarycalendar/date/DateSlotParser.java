@@ -0,0 +1,157 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+import static java.time.Month.DECEMBER;
+import static java.time.Month.JANUARY;
+import static java.time.Month.JUNE;
+import static java.time.Month.MARCH;
+import static java.time.Month.SEPTEMBER;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parser for the values sent by Alexa for AMAZON.DATE slots. Precise days are handled by {@link ISO8601DateParser};
+ * weeks (e.g. "2018-W12"), weekends ("2018-W12-WE"), months ("2018-03"), years ("2018"), decades ("201X"), seasons
+ * ("2018-SP") and days of unspecified years ("XXXX-03-05") are converted to the range of days they span. See
+ * https://developer.amazon.com/docs/custom-skills/slot-type-reference.html#date for the slot grammar.
+ *
+ * @author Pyves
+ *
+ */
+public class DateSlotParser {
+
+	private static final String PRESENT_REFERENCE = "PRESENT_REF";
+	private static final String UNSPECIFIED_YEAR = "XXXX";
+	private static final int DAYS_PER_WEEK = 7;
+	private static final Pattern UNSPECIFIED_YEAR_DAY_PATTERN = Pattern
+			.compile("^XXXX-(?<month>0[1-9]|1[0-2])-(?<day>0[1-9]|[12][0-9]|3[01])$");
+	private static final Pattern WEEK_PATTERN = Pattern
+			.compile("^(?<year>[1-9][0-9]{0,3})-W(?<week>0[1-9]|[1-4][0-9]|5[0-3])(?<weekend>-WE)?$");
+	private static final Pattern MONTH_PATTERN = Pattern
+			.compile("^(?<year>[1-9][0-9]{0,3}|XXXX)-(?<month>0[1-9]|1[0-2])$");
+	private static final Pattern YEARS_PATTERN = Pattern.compile("^(?<digits>[1-9][0-9]{0,3})(?<wildcards>X{0,3})$");
+	private static final Pattern SEASON_PATTERN = Pattern
+			.compile("^(?<year>[1-9][0-9]{0,3})-(?<season>SP|SU|FA|WI)$");
+
+	/**
+	 * Parses a date slot value into the range of days it spans. Seasons are those of the northern hemisphere and start
+	 * on fixed days: spring on the 20th of March, summer on the 21st of June, fall on the 23rd of September and winter
+	 * on the 21st of December, winter ending in the following year.
+	 *
+	 * @param value the slot value to parse.
+	 * @param clock used to resolve the current year when the value does not specify it.
+	 * @return the range of days wrapped in an optional or an empty optional if the value could not be parsed.
+	 */
+	public static Optional<DateRange> parse(String value, Clock clock) {
+		if (value == null) {
+			return Optional.empty();
+		}
+		long epochDay = ISO8601DateParser.parseCalendarDate(value);
+		if (epochDay != ISO8601DateParser.INVALID_DATE) {
+			return Optional.of(new DateRange(epochDay, epochDay));
+		}
+		if (PRESENT_REFERENCE.equals(value)) {
+			long today = LocalDate.now(clock).toEpochDay();
+			return Optional.of(new DateRange(today, today));
+		}
+		Matcher matcher = UNSPECIFIED_YEAR_DAY_PATTERN.matcher(value);
+		if (matcher.matches()) {
+			return parseUnspecifiedYearDay(matcher, LocalDate.now(clock).getYear());
+		}
+		matcher = WEEK_PATTERN.matcher(value);
+		if (matcher.matches()) {
+			return parseWeek(Integer.parseInt(matcher.group("year")), Integer.parseInt(matcher.group("week")),
+					matcher.group("weekend") != null);
+		}
+		matcher = MONTH_PATTERN.matcher(value);
+		if (matcher.matches()) {
+			String year = matcher.group("year");
+			int month = Integer.parseInt(matcher.group("month"));
+			LocalDate firstDay = LocalDate.of(UNSPECIFIED_YEAR.equals(year) ? LocalDate.now(clock).getYear()
+					: Integer.parseInt(year), month, 1);
+			long firstEpochDay = firstDay.toEpochDay();
+			return Optional.of(new DateRange(firstEpochDay, firstEpochDay + firstDay.lengthOfMonth() - 1));
+		}
+		matcher = YEARS_PATTERN.matcher(value);
+		if (matcher.matches()) {
+			int digits = Integer.parseInt(matcher.group("digits"));
+			return Optional.of(parseYears(digits, matcher.group("wildcards").length()));
+		}
+		matcher = SEASON_PATTERN.matcher(value);
+		if (matcher.matches()) {
+			return Optional.of(parseSeason(Integer.parseInt(matcher.group("year")), matcher.group("season")));
+		}
+		return Optional.empty();
+	}
+
+	private static Optional<DateRange> parseUnspecifiedYearDay(Matcher matcher, int currentYear) {
+		int month = Integer.parseInt(matcher.group("month"));
+		int day = Integer.parseInt(matcher.group("day"));
+		if (day > ISO8601DateParser.lengthOfMonth(currentYear, month)) {
+			return Optional.empty();
+		}
+		long epochDay = ISO8601DateParser.toEpochDay(currentYear, month, day);
+		return Optional.of(new DateRange(epochDay, epochDay));
+	}
+
+	/**
+	 * Computes the days of an ISO8601 week, the first week of a year being the one containing the 4th of January.
+	 */
+	private static Optional<DateRange> parseWeek(int year, int week, boolean weekend) {
+		long firstMonday = getFirstMondayOfWeekBasedYear(year);
+		long weeksInYear = (getFirstMondayOfWeekBasedYear(year + 1) - firstMonday) / DAYS_PER_WEEK;
+		if (week > weeksInYear) {
+			return Optional.empty();
+		}
+		long monday = firstMonday + (week - 1) * DAYS_PER_WEEK;
+		long sunday = monday + DAYS_PER_WEEK - 1;
+		return Optional.of(new DateRange(weekend ? sunday - 1 : monday, sunday));
+	}
+
+	private static long getFirstMondayOfWeekBasedYear(int year) {
+		LocalDate fourthOfJanuary = LocalDate.of(year, JANUARY, 4);
+		return fourthOfJanuary.toEpochDay() - fourthOfJanuary.getDayOfWeek().getValue() + 1;
+	}
+
+	/**
+	 * Computes the days of a year or group of years, each wildcard representing a power of ten (e.g. "201X" spans
+	 * 2010-2019 and "20XX" spans 2000-2099).
+	 */
+	private static DateRange parseYears(int digits, int wildcards) {
+		int span = 1;
+		for (int i = 0; i < wildcards; ++i) {
+			span *= 10;
+		}
+		int firstYear = digits * span;
+		return new DateRange(ISO8601DateParser.toEpochDay(firstYear, 1, 1),
+				ISO8601DateParser.toEpochDay(firstYear + span - 1, 12, 31));
+	}
+
+	private static DateRange parseSeason(int year, String season) {
+		switch (season) {
+			case "SP":
+				return getRange(year, MARCH, 20, year, JUNE, 20);
+			case "SU":
+				return getRange(year, JUNE, 21, year, SEPTEMBER, 22);
+			case "FA":
+				return getRange(year, SEPTEMBER, 23, year, DECEMBER, 20);
+			default:
+				return getRange(year, DECEMBER, 21, year + 1, MARCH, 19);
+		}
+	}
+
+	private static DateRange getRange(int firstYear, Month firstMonth, int firstDay, int lastYear, Month lastMonth,
+			int lastDay) {
+		return new DateRange(LocalDate.of(firstYear, firstMonth, firstDay).toEpochDay(),
+				LocalDate.of(lastYear, lastMonth, lastDay).toEpochDay());
+	}
+
+	private DateSlotParser() {
+		// Not used.
+	}
+
+}
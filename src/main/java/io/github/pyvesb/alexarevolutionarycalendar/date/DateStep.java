@@ -0,0 +1,105 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Steps by which users can move from one revolutionary date to another, e.g. "the day after" or "the previous décadi".
+ * Moving by a day, a décade or a month is done with pure arithmetic on packed dates, without converting them back and
+ * forth; a décade is ten days, whereas a month keeps the day of month, see
+ * {@link RevolutionaryDateProvider#plusMonths(int, long)}. Moving to a named day of the décade goes to its nearest
+ * occurrence in the requested direction, skipping the complementary days which are not part of any décade.
+ *
+ * Step names only denote units: the direction comes from the intent, hence words such as "lendemain" are not accepted,
+ * and neither are Gregorian weeks, which do not match the ten-day décade.
+ *
+ * @author Pyves
+ *
+ */
+public enum DateStep {
+
+	DAY("day", "jour", "journée"),
+	DECADE("décade", "décades", "ten days", "dix jours"),
+	MONTH("month", "mois"),
+	PRIMIDI("primidi"),
+	DUODI("duodi"),
+	TRIDI("tridi"),
+	QUARTIDI("quartidi"),
+	QUINTIDI("quintidi"),
+	SEXTIDI("sextidi"),
+	SEPTIDI("septidi"),
+	OCTIDI("octidi"),
+	NONIDI("nonidi"),
+	DECADI("décadi");
+
+	private static final int DAYS_PER_DECADE = 10;
+	private static final int COMPLEMENTARY_DAYS_MONTH = 13;
+	// Ten days of the last décade of Fructidor and up to six complementary days.
+	private static final int MAX_DAYS_TO_DAY_OF_DECADE = 16;
+	private static final Map<String, DateStep> STEPS_BY_NAME = new HashMap<>();
+
+	static {
+		for (DateStep step : values()) {
+			STEPS_BY_NAME.put(normalise(step.name()), step);
+			for (String name : step.names) {
+				STEPS_BY_NAME.put(normalise(name), step);
+			}
+		}
+	}
+
+	private final String[] names;
+
+	DateStep(String... names) {
+		this.names = names;
+	}
+
+	/**
+	 * Parses a step name, as transcribed by Alexa in English or French. Matching ignores case, accents and spaces.
+	 *
+	 * @param value the string to parse.
+	 * @return the step wrapped in an optional or an empty optional if the string could not be parsed.
+	 */
+	public static Optional<DateStep> parse(String value) {
+		return value == null ? Optional.empty() : Optional.ofNullable(STEPS_BY_NAME.get(normalise(value)));
+	}
+
+	/**
+	 * Moves a packed date by this step.
+	 *
+	 * @param provider the provider of the calculation method of the date.
+	 * @param date the packed date.
+	 * @param forward true to move to a later date, false to move to an earlier one.
+	 * @return the resulting packed date or {@link PackedRevolutionaryDate#INVALID} if either date is not supported.
+	 */
+	public int move(RevolutionaryDateProvider provider, int date, boolean forward) {
+		int direction = forward ? 1 : -1;
+		switch (this) {
+			case DAY:
+				return provider.plusDays(date, direction);
+			case DECADE:
+				return provider.plusDays(date, DAYS_PER_DECADE * direction);
+			case MONTH:
+				return provider.plusMonths(date, direction);
+			default:
+				int dayOfDecade = ordinal() - PRIMIDI.ordinal() + 1;
+				for (int days = 1; days <= MAX_DAYS_TO_DAY_OF_DECADE; ++days) {
+					int candidate = provider.plusDays(date, days * direction);
+					if (candidate == PackedRevolutionaryDate.INVALID
+							|| PackedRevolutionaryDate.getMonth(candidate) != COMPLEMENTARY_DAYS_MONTH
+									&& PackedRevolutionaryDate.getDayOfDecade(candidate) == dayOfDecade) {
+						return candidate;
+					}
+				}
+				return PackedRevolutionaryDate.INVALID;
+		}
+	}
+
+	private static String normalise(String name) {
+		String withoutAccents = Normalizer.normalize(name, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+		return withoutAccents.replaceAll("\\s", "").toLowerCase(Locale.ROOT);
+	}
+
+}
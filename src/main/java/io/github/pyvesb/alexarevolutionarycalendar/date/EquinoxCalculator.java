@@ -0,0 +1,160 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+import java.time.Instant;
+
+/**
+ * Computes autumn equinoxes and the resulting start of each revolutionary year, without relying on the
+ * FrenchRevolutionaryCalendar library. The instant of the equinox is approximated with the mean equinox polynomial and
+ * the periodic terms of Jean Meeus' Astronomical Algorithms (chapter 27), then corrected by an estimate of ΔT, the
+ * difference between dynamical and universal time. A revolutionary year starts at midnight, in true solar time at the
+ * Paris Observatory, of the day on which the equinox falls.
+ *
+ * A computation only takes a few dozen floating-point operations and does not allocate; {@link RevolutionaryDateTable}
+ * caches the results. Accuracy degrades slowly after the year 3000 as both the polynomial and ΔT are extrapolated,
+ * which only matters for the rare equinoxes falling minutes away from midnight.
+ *
+ * @author Pyves
+ *
+ */
+public class EquinoxCalculator {
+
+	// The first revolutionary year started in 1792.
+	private static final int GREGORIAN_YEAR_OFFSET = 1791;
+	private static final double J2000 = 2451545.0;
+	private static final double EPOCH_JULIAN_DAY = 2440587.5;
+	private static final double DAYS_PER_JULIAN_CENTURY = 36525.0;
+	private static final double SECONDS_PER_DAY = 86400.0;
+	private static final double MILLIS_PER_DAY = 86400000.0;
+	// The equinox happens in late September, i.e. at about 72% of the year.
+	private static final double EQUINOX_FRACTION_OF_YEAR = 0.72;
+	// Longitude of the Paris Observatory, 2°20'14" east, as a fraction of a day.
+	private static final double PARIS_LONGITUDE = (2 + 20 / 60.0 + 14 / 3600.0) / 360;
+	// Periodic terms of the equinox (table 27.C): amplitude in 0.00001 day, phase and speed in degrees.
+	private static final double[][] PERIODIC_TERMS = {
+			{ 485, 324.96, 1934.136 }, { 203, 337.23, 32964.467 }, { 199, 342.08, 20.186 },
+			{ 182, 27.85, 445267.112 }, { 156, 73.14, 45036.886 }, { 136, 171.52, 22518.443 },
+			{ 77, 222.54, 65928.934 }, { 74, 296.72, 3034.906 }, { 70, 243.58, 9037.513 },
+			{ 58, 119.81, 33718.147 }, { 52, 297.17, 150.678 }, { 50, 21.02, 2281.226 },
+			{ 45, 247.54, 29929.562 }, { 44, 325.15, 31555.956 }, { 29, 60.93, 4443.417 },
+			{ 18, 155.12, 67555.328 }, { 17, 288.79, 4562.452 }, { 16, 198.04, 62894.029 },
+			{ 14, 199.76, 31436.921 }, { 12, 95.39, 14577.848 }, { 12, 287.11, 31931.756 },
+			{ 12, 320.81, 34777.259 }, { 9, 227.73, 1222.114 }, { 8, 15.45, 16859.074 } };
+
+	/**
+	 * Computes the instant of the autumn equinox of the northern hemisphere.
+	 *
+	 * @param gregorianYear the Gregorian year, after 1000.
+	 * @return the instant of the equinox, accurate to about a minute for the current millennium.
+	 */
+	public static Instant getAutumnEquinox(int gregorianYear) {
+		double julianDay = getJulianEphemerisDay(gregorianYear) - getDeltaT(gregorianYear) / SECONDS_PER_DAY;
+		return Instant.ofEpochMilli(Math.round((julianDay - EPOCH_JULIAN_DAY) * MILLIS_PER_DAY));
+	}
+
+	/**
+	 * Computes the day on which a revolutionary year starts, i.e. the day of the autumn equinox in Paris.
+	 *
+	 * @param year the revolutionary year, 1 being the year starting in 1792.
+	 * @return the number of days since 1970-01-01.
+	 */
+	public static long getYearStart(int year) {
+		int gregorianYear = year + GREGORIAN_YEAR_OFFSET;
+		double julianEphemerisDay = getJulianEphemerisDay(gregorianYear);
+		double julianDay = julianEphemerisDay - getDeltaT(gregorianYear) / SECONDS_PER_DAY;
+		double parisJulianDay = julianDay + PARIS_LONGITUDE + getEquationOfTime(julianEphemerisDay);
+		return (long) Math.floor(parisJulianDay - EPOCH_JULIAN_DAY);
+	}
+
+	/**
+	 * Computes the autumn equinox in dynamical time, see chapter 27 of Astronomical Algorithms.
+	 *
+	 * @param gregorianYear the Gregorian year.
+	 * @return the Julian Ephemeris Day of the equinox.
+	 */
+	static double getJulianEphemerisDay(int gregorianYear) {
+		double y = (gregorianYear - 2000) / 1000.0;
+		double meanEquinox = 2451810.21715 + y * (365242.01767 + y * (-0.11575 + y * (0.00337 + y * 0.00078)));
+		double t = (meanEquinox - J2000) / DAYS_PER_JULIAN_CENTURY;
+		double w = Math.toRadians(35999.373 * t - 2.47);
+		double lambdaVariation = 1 + 0.0334 * Math.cos(w) + 0.0007 * Math.cos(2 * w);
+		double periodicSum = 0;
+		for (double[] term : PERIODIC_TERMS) {
+			periodicSum += term[0] * Math.cos(Math.toRadians(term[1] + term[2] * t));
+		}
+		return meanEquinox + 0.00001 * periodicSum / lambdaVariation;
+	}
+
+	/**
+	 * Estimates ΔT with the polynomial expressions of Espenak and Meeus, falling back to the long-term parabola of
+	 * Morrison and Stephenson after 2150.
+	 *
+	 * @param gregorianYear the Gregorian year of the autumn equinox.
+	 * @return ΔT in seconds.
+	 */
+	static double getDeltaT(int gregorianYear) {
+		double y = gregorianYear + EQUINOX_FRACTION_OF_YEAR;
+		double t;
+		if (y < 1800) {
+			t = y - 1700;
+			return 8.83 + t * (0.1603 + t * (-0.0059285 + t * (0.00013336 - t / 1174000)));
+		} else if (y < 1860) {
+			t = y - 1800;
+			return 13.72 + t * (-0.332447 + t * (0.0068612 + t * (0.0041116 + t * (-0.00037436
+					+ t * (0.0000121272 + t * (-0.0000001699 + t * 0.000000000875))))));
+		} else if (y < 1900) {
+			t = y - 1860;
+			return 7.62 + t * (0.5737 + t * (-0.251754 + t * (0.01680668 + t * (-0.0004473624 + t / 233174))));
+		} else if (y < 1920) {
+			t = y - 1900;
+			return -2.79 + t * (1.494119 + t * (-0.0598939 + t * (0.0061966 - t * 0.000197)));
+		} else if (y < 1941) {
+			t = y - 1920;
+			return 21.20 + t * (0.84493 + t * (-0.076100 + t * 0.0020936));
+		} else if (y < 1961) {
+			t = y - 1950;
+			return 29.07 + t * (0.407 + t * (-1 / 233.0 + t / 2547));
+		} else if (y < 1986) {
+			t = y - 1975;
+			return 45.45 + t * (1.067 + t * (-1 / 260.0 - t / 718));
+		} else if (y < 2005) {
+			t = y - 2000;
+			return 63.86 + t * (0.3345 + t * (-0.060374 + t * (0.0017275 + t * (0.000651814 + t * 0.00002373599))));
+		} else if (y < 2050) {
+			t = y - 2000;
+			return 62.92 + t * (0.32217 + t * 0.005589);
+		}
+		double u = (y - 1820) / 100;
+		double deltaT = -20 + 32 * u * u;
+		return y < 2150 ? deltaT - 0.5628 * (2150 - y) : deltaT;
+	}
+
+	/**
+	 * Computes the equation of time at the instant of the autumn equinox, see chapter 28 of Astronomical Algorithms.
+	 * The apparent right ascension of the Sun is 180° at that instant, only its mean longitude and the nutation in
+	 * longitude are therefore needed.
+	 *
+	 * @param julianEphemerisDay the instant of the equinox.
+	 * @return the difference between true and mean solar time, as a fraction of a day.
+	 */
+	static double getEquationOfTime(double julianEphemerisDay) {
+		double t = (julianEphemerisDay - J2000) / DAYS_PER_JULIAN_CENTURY;
+		double tau = t / 10;
+		double meanLongitude = 280.4664567 + tau * (360007.6982779 + tau * (0.03032028 + tau * (1 / 49931.0
+				+ tau * (-1 / 15300.0 - tau / 2000000))));
+		double moonNode = Math.toRadians(125.04452 - 1934.136261 * t);
+		double sunLongitude = Math.toRadians(280.4665 + 36000.7698 * t);
+		double moonLongitude = Math.toRadians(218.3165 + 481267.8813 * t);
+		double nutationInLongitude = (-17.20 * Math.sin(moonNode) - 1.32 * Math.sin(2 * sunLongitude)
+				- 0.23 * Math.sin(2 * moonLongitude) + 0.21 * Math.sin(2 * moonNode)) / 3600;
+		double obliquity = Math.toRadians(23.4392911 - 0.0130042 * t);
+		double equation = meanLongitude - 0.0057183 - 180 + nutationInLongitude * Math.cos(obliquity);
+		// Bring the angle back within [-180°, 180°).
+		equation -= 360 * Math.floor((equation + 180) / 360);
+		return equation / 360;
+	}
+
+	private EquinoxCalculator() {
+		// Not used.
+	}
+
+}
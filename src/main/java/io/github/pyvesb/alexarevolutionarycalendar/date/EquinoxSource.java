@@ -0,0 +1,29 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+/**
+ * Sources of the autumn equinoxes on which revolutionary years start, selectable in {@link RevolutionaryDateProvider}
+ * so that they can be compared.
+ *
+ * @author Pyves
+ *
+ */
+public enum EquinoxSource {
+
+	/**
+	 * Equinoxes computed by the EQUINOX method of the FrenchRevolutionaryCalendar library, which does not support
+	 * dates after 3000.
+	 */
+	LIBRARY,
+
+	/**
+	 * Equinoxes computed by {@link EquinoxCalculator}, supporting dates up to 5000.
+	 */
+	CALCULATOR,
+
+	/**
+	 * Equinoxes computed by the library up to the year 3000 and by {@link EquinoxCalculator} afterwards, supporting
+	 * dates up to 5000.
+	 */
+	COMBINED
+
+}
@@ -0,0 +1,103 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+/**
+ * Single pass parser for ISO8601 calendar dates (e.g. "2018-03-29"). Dates are decoded straight into a number of days
+ * since 1970-01-01, without allocating any intermediate objects.
+ *
+ * @author Pyves
+ *
+ */
+public class ISO8601DateParser {
+
+	/**
+	 * Value returned when a string is not a valid calendar date.
+	 */
+	public static final long INVALID_DATE = Long.MIN_VALUE;
+
+	// Years are capped to nine digits so that they always fit in an int.
+	private static final int MAX_YEAR_DIGITS = 9;
+	private static final int DAYS_0000_TO_1970 = 719528;
+
+	/**
+	 * Parses a calendar date in the YYYY-MM-DD format. The year must be strictly positive and must not start with a
+	 * zero, the month and the day must be written with two digits and the day must exist in the given month.
+	 *
+	 * @param date the string to parse.
+	 * @return the number of days since 1970-01-01 or {@link #INVALID_DATE} if the string could not be parsed.
+	 */
+	public static long parseCalendarDate(CharSequence date) {
+		if (date == null) {
+			return INVALID_DATE;
+		}
+		int length = date.length();
+		int index = 0;
+		int year = 0;
+		while (index < length && index < MAX_YEAR_DIGITS && isDigit(date.charAt(index))) {
+			year = year * 10 + date.charAt(index++) - '0';
+		}
+		// Year must have at least one digit and no leading zero; month and day must be followed by exactly 6 characters.
+		if (index == 0 || date.charAt(0) == '0' || length - index != 6 || date.charAt(index) != '-'
+				|| date.charAt(index + 3) != '-') {
+			return INVALID_DATE;
+		}
+		int month = parseTwoDigits(date, index + 1);
+		int day = parseTwoDigits(date, index + 4);
+		if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+			return INVALID_DATE;
+		}
+		return toEpochDay(year, month, day);
+	}
+
+	/**
+	 * Computes the number of days since 1970-01-01 of a valid Gregorian date, identically to LocalDate.toEpochDay.
+	 *
+	 * @param year the year, strictly positive.
+	 * @param month the month, between 1 and 12.
+	 * @param day the day of month.
+	 * @return the number of days since 1970-01-01.
+	 */
+	public static long toEpochDay(int year, int month, int day) {
+		long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+		total += (367 * month - 362) / 12 + day - 1;
+		if (month > 2) {
+			total -= isLeapYear(year) ? 1 : 2;
+		}
+		return total - DAYS_0000_TO_1970;
+	}
+
+	public static boolean isLeapYear(int year) {
+		return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+	}
+
+	public static int lengthOfMonth(int year, int month) {
+		switch (month) {
+			case 2:
+				return isLeapYear(year) ? 29 : 28;
+			case 4:
+			case 6:
+			case 9:
+			case 11:
+				return 30;
+			default:
+				return 31;
+		}
+	}
+
+	private static int parseTwoDigits(CharSequence date, int index) {
+		char tens = date.charAt(index);
+		char units = date.charAt(index + 1);
+		if (!isDigit(tens) || !isDigit(units)) {
+			return -1;
+		}
+		return (tens - '0') * 10 + units - '0';
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private ISO8601DateParser() {
+		// Not used.
+	}
+
+}
@@ -0,0 +1,69 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+import java.util.Locale;
+
+import ca.rmen.lfrc.FrenchRevolutionaryCalendarDate;
+
+/**
+ * Precomputed readable names of the objects of the day, i.e. names preceded by the article needed to naturally read
+ * them out in a sentence, such as "le Raisin" or "the Grape". Tables are built once for each supported language and
+ * cover the 366 days of a sextile year, the complementary days being counted as a thirteenth month.
+ *
+ * @author Pyves
+ *
+ */
+public class ObjectOfTheDayTable {
+
+	private static final int DAYS_PER_YEAR = 366;
+	private static final int DAYS_PER_MONTH = 30;
+	// The complementary days celebrate abstract notions (virtue, genius, labour, opinion and rewards), which read
+	// better without an article in English, except for the Revolution, celebrated on the leap day.
+	private static final int FIRST_COMPLEMENTARY_DAY = 361;
+	private static final String[] FRENCH = buildFrenchTable();
+	private static final String[] ENGLISH = buildEnglishTable();
+
+	/**
+	 * Returns the readable name of the object of a given day.
+	 *
+	 * @param locale the locale of the name, French or English otherwise.
+	 * @param dayInYear the day in the revolutionary year, between 1 and 366.
+	 * @return the name of the object of that day, preceded by its article.
+	 */
+	public static String getReadableName(Locale locale, int dayInYear) {
+		if (dayInYear < 1 || dayInYear > DAYS_PER_YEAR) {
+			throw new IllegalArgumentException("Day in year must be between 1 and " + DAYS_PER_YEAR + ": " + dayInYear);
+		}
+		String[] table = Locale.FRENCH.getLanguage().equals(locale.getLanguage()) ? FRENCH : ENGLISH;
+		return table[dayInYear - 1];
+	}
+
+	private static String[] buildFrenchTable() {
+		FrenchObjectOfTheDay[] objects = FrenchObjectOfTheDay.values();
+		String[] table = new String[DAYS_PER_YEAR];
+		for (int day = 1; day <= DAYS_PER_YEAR; ++day) {
+			table[day - 1] = objects[day - 1].getArticle() + getObjectOfTheDay(Locale.FRENCH, day);
+		}
+		return table;
+	}
+
+	private static String[] buildEnglishTable() {
+		String[] table = new String[DAYS_PER_YEAR];
+		for (int day = 1; day <= DAYS_PER_YEAR; ++day) {
+			// Plural objects take the same definite article as singular ones.
+			String article = day >= FIRST_COMPLEMENTARY_DAY && day < DAYS_PER_YEAR ? "" : "the ";
+			table[day - 1] = article + getObjectOfTheDay(Locale.ENGLISH, day);
+		}
+		return table;
+	}
+
+	private static String getObjectOfTheDay(Locale locale, int dayInYear) {
+		int month = (dayInYear - 1) / DAYS_PER_MONTH + 1;
+		int dayOfMonth = (dayInYear - 1) % DAYS_PER_MONTH + 1;
+		return new FrenchRevolutionaryCalendarDate(locale, 1, month, dayOfMonth, 0, 0, 0).getObjectOfTheDay();
+	}
+
+	private ObjectOfTheDayTable() {
+		// Not used.
+	}
+
+}
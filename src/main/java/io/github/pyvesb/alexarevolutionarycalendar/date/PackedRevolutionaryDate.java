@@ -0,0 +1,145 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+import java.util.Locale;
+
+import ca.rmen.lfrc.FrenchRevolutionaryCalendarDate;
+
+/**
+ * Revolutionary dates packed into a single int, so that they can be passed around, compared and stored without
+ * allocating. The day of month takes the lowest {@value #DAY_BITS} bits, the month the next {@value #MONTH_BITS} bits
+ * and the year the remaining ones, which makes the natural order of the ints the chronological order of the dates. The
+ * complementary days are considered to be a thirteenth month.
+ *
+ * Arithmetic spanning several years depends on the length of each year and is provided by
+ * {@link RevolutionaryDateTable} and {@link RevolutionaryDateProvider}. Conversions to the FrenchRevolutionaryCalendar
+ * library should only happen at the edges, for instance when a date must be handed over to third-party code.
+ *
+ * @author Pyves
+ *
+ */
+public class PackedRevolutionaryDate {
+
+	/**
+	 * Value representing a date that does not exist or is not supported.
+	 */
+	public static final int INVALID = 0;
+
+	static final int MAX_YEAR = (1 << 22) - 1;
+	private static final int DAY_BITS = 5;
+	private static final int MONTH_BITS = 4;
+	private static final int MONTH_SHIFT = DAY_BITS;
+	private static final int YEAR_SHIFT = DAY_BITS + MONTH_BITS;
+	private static final int DAY_MASK = (1 << DAY_BITS) - 1;
+	private static final int MONTH_MASK = (1 << MONTH_BITS) - 1;
+	private static final int DAYS_PER_MONTH = 30;
+	private static final int DAYS_PER_DECADE = 10;
+	private static final int MONTHS_PER_YEAR = 13;
+
+	/**
+	 * Packs a date. Dates are not checked against the length of their year, e.g. a sixth complementary day is accepted
+	 * whether or not the year is sextile.
+	 *
+	 * @param year the revolutionary year, between 1 and {@value #MAX_YEAR}.
+	 * @param month the month, between 1 and 13.
+	 * @param dayOfMonth the day of month, between 1 and 30.
+	 * @return the packed date.
+	 */
+	public static int of(int year, int month, int dayOfMonth) {
+		if (year < 1 || year > MAX_YEAR || month < 1 || month > MONTHS_PER_YEAR || dayOfMonth < 1
+				|| dayOfMonth > DAYS_PER_MONTH) {
+			throw new IllegalArgumentException("Invalid revolutionary date: " + year + "-" + month + "-" + dayOfMonth);
+		}
+		return year << YEAR_SHIFT | month << MONTH_SHIFT | dayOfMonth;
+	}
+
+	/**
+	 * Packs a date given by its position in its year.
+	 *
+	 * @param year the revolutionary year, between 1 and {@value #MAX_YEAR}.
+	 * @param dayInYear the day in the year, between 1 and 366.
+	 * @return the packed date.
+	 */
+	public static int ofDayInYear(int year, int dayInYear) {
+		return of(year, (dayInYear - 1) / DAYS_PER_MONTH + 1, (dayInYear - 1) % DAYS_PER_MONTH + 1);
+	}
+
+	/**
+	 * Packs the date of a FrenchRevolutionaryCalendarDate instance, ignoring its time fields.
+	 *
+	 * @param date the date to pack.
+	 * @return the packed date.
+	 */
+	public static int of(FrenchRevolutionaryCalendarDate date) {
+		return of(date.year, date.month, date.dayOfMonth);
+	}
+
+	public static int getYear(int date) {
+		return date >>> YEAR_SHIFT;
+	}
+
+	public static int getMonth(int date) {
+		return date >>> MONTH_SHIFT & MONTH_MASK;
+	}
+
+	public static int getDayOfMonth(int date) {
+		return date & DAY_MASK;
+	}
+
+	/**
+	 * Returns the position of a date in its year.
+	 *
+	 * @param date the packed date.
+	 * @return the day in the year, between 1 and 366.
+	 */
+	public static int getDayInYear(int date) {
+		return (getMonth(date) - 1) * DAYS_PER_MONTH + getDayOfMonth(date);
+	}
+
+	/**
+	 * Returns the position of a date in its décade, the ten-day week of the revolutionary calendar.
+	 *
+	 * @param date the packed date.
+	 * @return the day of the décade, between 1 (Primidi) and 10 (Décadi).
+	 */
+	public static int getDayOfDecade(int date) {
+		return (getDayOfMonth(date) - 1) % DAYS_PER_DECADE + 1;
+	}
+
+	/**
+	 * Compares two dates chronologically.
+	 *
+	 * @param first the first packed date.
+	 * @param second the second packed date.
+	 * @return a negative value, zero or a positive value if the first date is respectively before, the same as or after
+	 *         the second one.
+	 */
+	public static int compare(int first, int second) {
+		return Integer.compare(first, second);
+	}
+
+	/**
+	 * Converts a date to a FrenchRevolutionaryCalendarDate instance, with its time fields set to midnight.
+	 *
+	 * @param date the packed date.
+	 * @param locale the locale to be used to compute the FrenchRevolutionaryCalendarDate instance.
+	 * @return the resulting FrenchRevolutionaryCalendarDate instance.
+	 */
+	public static FrenchRevolutionaryCalendarDate toLibraryDate(int date, Locale locale) {
+		return new FrenchRevolutionaryCalendarDate(locale, getYear(date), getMonth(date), getDayOfMonth(date), 0, 0, 0);
+	}
+
+	/**
+	 * Formats a date for logs and debugging, e.g. "226-07-09".
+	 *
+	 * @param date the packed date.
+	 * @return the formatted date.
+	 */
+	public static String toString(int date) {
+		return String.format("%d-%02d-%02d", getYear(date), getMonth(date), getDayOfMonth(date));
+	}
+
+	private PackedRevolutionaryDate() {
+		// Not used.
+	}
+
+}
@@ -1,43 +1,114 @@
 package io.github.pyvesb.alexarevolutionarycalendar.date;
 
 import static ca.rmen.lfrc.FrenchRevolutionaryCalendar.CalculationMethod.EQUINOX;
-import static java.util.Calendar.DECEMBER;
-import static java.util.Calendar.SEPTEMBER;
+import static java.time.Month.DECEMBER;
+import static java.time.Month.SEPTEMBER;
 
 import java.time.Clock;
-import java.time.ZonedDateTime;
-import java.util.GregorianCalendar;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Locale;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
-import ca.rmen.lfrc.FrenchRevolutionaryCalendar;
+import ca.rmen.lfrc.FrenchRevolutionaryCalendar.CalculationMethod;
 import ca.rmen.lfrc.FrenchRevolutionaryCalendarDate;
 
 /**
- * Class used to provide FrenchRevolutionaryCalendarDate instances.
+ * Class used to provide FrenchRevolutionaryCalendarDate instances. The underlying date table is shared by the whole JVM
+ * and the current dates are memoised in a thread-safe cache, so a single provider can safely serve concurrent requests
+ * for any locale. By default, years start on the autumn equinoxes computed by the FrenchRevolutionaryCalendar library
+ * up to the year 3000, which it does not support beyond, and by {@link EquinoxCalculator} afterwards. Either source
+ * can also be used on its own, see {@link EquinoxSource}.
+ * 
+ * The other calculation methods of the library (Romme's rule, continuous and von Mädler's 128-year variants) are
+ * available through {@link #withCalculationMethod(CalculationMethod)}. Each method has its own table, shared by the
+ * whole JVM but only created when the method is first used, so that workloads sticking to the EQUINOX method pay no
+ * extra memory or startup. Once created, a table takes about 100 bytes and grows by 416 bytes for each century
+ * converted, i.e. up to about 5 kB for the 1792-3000 range supported by the library and about 14 kB for the 1792-5000
+ * range of the calculator.
  * 
  * @author Pyves
  *
  */
 public class RevolutionaryDateProvider {
 
-	private static final GregorianCalendar CALENDAR_START = new GregorianCalendar(1792, SEPTEMBER, 22);
-	// There's actually no calendar end, but the FrenchRevolutionaryCalendar library does not support dates after 3000.
-	private static final GregorianCalendar CALENDAR_END = new GregorianCalendar(3000, DECEMBER, 31);
-	private static final Pattern ISO8601_CALENDAR_PATTERN = Pattern
-			.compile("^(?<year>[1-9][0-9]*)-(?<month>0[1-9]|1[0-2])-(?<day>0[1-9]|[12][0-9]|3[01])$");
+	private static final LocalDate CALENDAR_START = LocalDate.of(1792, SEPTEMBER, 22);
+	// There's actually no calendar end, but equinoxes are only computed up to 5000.
+	private static final LocalDate CALCULATOR_END = LocalDate.of(5000, DECEMBER, 31);
+	// The FrenchRevolutionaryCalendar library does not support dates after 3000.
+	private static final LocalDate LIBRARY_END = LocalDate.of(3000, DECEMBER, 31);
+	private static final int METHOD_COUNT = CalculationMethod.values().length;
+	// Tables relying on the library, indexed by calculation method and lazily created.
+	private static final AtomicReferenceArray<RevolutionaryDateTable> LIBRARY_TABLES = new AtomicReferenceArray<>(
+			METHOD_COUNT);
+	private static final RevolutionaryDateTable CALCULATOR_TABLE = new RevolutionaryDateTable(
+			EquinoxCalculator::getYearStart, CALENDAR_START, CALCULATOR_END);
+	private static final RevolutionaryDateTable COMBINED_TABLE = new RevolutionaryDateTable(
+			RevolutionaryDateProvider::getCombinedYearStart, CALENDAR_START, CALCULATOR_END);
 
 	private final Clock clock;
+	private final EquinoxSource equinoxSource;
+	private final CalculationMethod calculationMethod;
+	private final RevolutionaryDateTable dateTable;
+	private final CurrentDateCache currentDates;
+	// Providers sharing the clock and equinox source, indexed by calculation method and lazily created.
+	private final AtomicReferenceArray<RevolutionaryDateProvider> providersByMethod;
 
 	public RevolutionaryDateProvider(Clock clock) {
+		this(clock, EquinoxSource.COMBINED);
+	}
+
+	/**
+	 * Creates a provider.
+	 * 
+	 * @param clock the clock used to compute the current date.
+	 * @param equinoxSource the source of the equinoxes on which revolutionary years start.
+	 */
+	public RevolutionaryDateProvider(Clock clock, EquinoxSource equinoxSource) {
+		this(clock, equinoxSource, EQUINOX, new AtomicReferenceArray<>(METHOD_COUNT));
+		providersByMethod.set(EQUINOX.ordinal(), this);
+	}
+
+	private RevolutionaryDateProvider(Clock clock, EquinoxSource equinoxSource, CalculationMethod calculationMethod,
+			AtomicReferenceArray<RevolutionaryDateProvider> providersByMethod) {
 		this.clock = clock;
+		this.equinoxSource = equinoxSource;
+		this.calculationMethod = calculationMethod;
+		this.dateTable = calculationMethod == EQUINOX ? getEquinoxTable(equinoxSource)
+				: getLibraryTable(calculationMethod);
+		this.currentDates = new CurrentDateCache(clock, dateTable::getDate);
+		this.providersByMethod = providersByMethod;
+	}
+
+	/**
+	 * Returns a provider using the same clock and equinox source, but another method to determine the start of each
+	 * revolutionary year. Providers are created the first time a method is requested and then reused.
+	 * 
+	 * @param method the calculation method.
+	 * @return the provider of the calculation method, which may be this provider.
+	 */
+	public RevolutionaryDateProvider withCalculationMethod(CalculationMethod method) {
+		if (method == calculationMethod) {
+			return this;
+		}
+		RevolutionaryDateProvider provider = providersByMethod.get(method.ordinal());
+		if (provider == null) {
+			// Concurrently created providers are equivalent, keep whichever was published first.
+			providersByMethod.compareAndSet(method.ordinal(), null,
+					new RevolutionaryDateProvider(clock, equinoxSource, method, providersByMethod));
+			provider = providersByMethod.get(method.ordinal());
+		}
+		return provider;
+	}
+
+	public CalculationMethod getCalculationMethod() {
+		return calculationMethod;
 	}
 
 	/**
 	 * Parses an ISO8601 string and return a FrenchRevolutionaryCalendarDate. Only supports precise calendar dates (e.g.
-	 * "2018-03-29").
+	 * "2018-03-29") that actually exist.
 	 * 
 	 * @param date the string to parse.
 	 * @param locale the locale to be used to compute the FrenchRevolutionaryCalendarDate instance.
@@ -45,31 +116,240 @@ public class RevolutionaryDateProvider {
 	 *         not be parsed.
 	 */
 	public Optional<FrenchRevolutionaryCalendarDate> parseISO8601CalendarDate(String date, Locale locale) {
-		if (date != null) {
-			Matcher matcher = ISO8601_CALENDAR_PATTERN.matcher(date);
-			if (matcher.matches()) {
-				int year = Integer.parseInt(matcher.group("year"));
-				int month = Integer.parseInt(matcher.group("month")) - 1; // Month is 0 based.
-				int day = Integer.parseInt(matcher.group("day"));
-				GregorianCalendar gregorianCalendar = new GregorianCalendar(year, month, day);
-				if (gregorianCalendar.compareTo(CALENDAR_START) >= 0 && gregorianCalendar.compareTo(CALENDAR_END) <= 0) {
-					FrenchRevolutionaryCalendar revolutionaryCalendar = new FrenchRevolutionaryCalendar(locale, EQUINOX);
-					return Optional.of(revolutionaryCalendar.getDate(gregorianCalendar));
-				}
-			}
+		long epochDay = ISO8601DateParser.parseCalendarDate(date);
+		if (epochDay != ISO8601DateParser.INVALID_DATE && dateTable.contains(epochDay)) {
+			return Optional.of(dateTable.getDate(epochDay, locale));
 		}
 		return Optional.empty();
 	}
 
 	/**
-	 * Creates a FrenchRevolutionaryCalendarDate instance based on the current date.
+	 * Parses an AMAZON.DATE slot value into the range of days it spans, restricted to the days supported by the
+	 * revolutionary calendar. See {@link DateSlotParser} for the supported formats.
+	 * 
+	 * @param value the slot value to parse.
+	 * @return a DateRange instance wrapped in an optional or an empty optional if the value could not be parsed or if
+	 *         none of its days are supported.
+	 */
+	public Optional<DateRange> parseDateSlot(String value) {
+		return DateSlotParser.parse(value, clock)
+				.flatMap(range -> range.intersect(dateTable.getFirstEpochDay(), dateTable.getLastEpochDay()));
+	}
+
+	/**
+	 * Checks whether a day can be converted by {@link #getDate(long, Locale)}.
+	 * 
+	 * @param epochDay the number of days since 1970-01-01.
+	 * @return true if the day is supported by the revolutionary calendar.
+	 */
+	public boolean isSupported(long epochDay) {
+		return dateTable.contains(epochDay);
+	}
+
+	/**
+	 * Converts a day to a FrenchRevolutionaryCalendarDate.
+	 * 
+	 * @param epochDay the number of days since 1970-01-01, for instance one of the ends of a range returned by
+	 *            {@link #parseDateSlot(String)}.
+	 * @param locale the locale to be used to compute the FrenchRevolutionaryCalendarDate instance.
+	 * @return the resulting FrenchRevolutionaryCalendarDate instance.
+	 * @throws IllegalArgumentException if the day is not supported by the revolutionary calendar.
+	 */
+	public FrenchRevolutionaryCalendarDate getDate(long epochDay, Locale locale) {
+		return dateTable.getDate(epochDay, locale);
+	}
+
+	/**
+	 * Converts a revolutionary date to its Gregorian equivalent. The lookup is performed in constant time using the
+	 * precomputed start of each revolutionary year.
+	 * 
+	 * @param year the revolutionary year.
+	 * @param month the month, 13 representing the complementary days (Sansculottides).
+	 * @param dayOfMonth the day of month.
+	 * @return a LocalDate instance wrapped in an optional or an empty optional if the revolutionary date does not exist
+	 *         or is not supported.
+	 */
+	public Optional<LocalDate> getGregorianDate(int year, int month, int dayOfMonth) {
+		long epochDay = dateTable.getEpochDay(year, month, dayOfMonth);
+		if (epochDay == RevolutionaryDateTable.NOT_COVERED) {
+			return Optional.empty();
+		}
+		return Optional.of(LocalDate.ofEpochDay(epochDay));
+	}
+
+	/**
+	 * Returns the last revolutionary year supported by the provider.
+	 * 
+	 * @return the last year, which may only be partly supported.
+	 */
+	public int getLastYear() {
+		return dateTable.getLastYear();
+	}
+
+	/**
+	 * Returns the last revolutionary year entirely supported by the provider. The last day covered by the tables falls
+	 * in the middle of a year, so only the years before it are supported in full.
+	 * 
+	 * @return the last full year.
+	 */
+	public int getLastFullYear() {
+		return dateTable.getLastYear() - 1;
+	}
+
+	/**
+	 * Returns the current day according to the provider's clock.
+	 * 
+	 * @return the number of days since 1970-01-01.
+	 */
+	public long getCurrentEpochDay() {
+		return currentDates.getEpochDay(clock.getZone());
+	}
+
+	/**
+	 * Returns the current day in a given time zone, according to the instant of the provider's clock.
+	 * 
+	 * @param zone the time zone, for instance the one of the device making a request.
+	 * @return the number of days since 1970-01-01.
+	 */
+	public long getCurrentEpochDay(ZoneId zone) {
+		return currentDates.getEpochDay(zone);
+	}
+
+	/**
+	 * Returns the time zone of the provider's clock, used when the one of a device is unknown.
+	 * 
+	 * @return the time zone.
+	 */
+	public ZoneId getZone() {
+		return clock.getZone();
+	}
+
+	/**
+	 * Returns the packed revolutionary date of the current day in a given time zone, without allocating.
+	 * 
+	 * @param zone the time zone, for instance the one of the device making a request.
+	 * @return the packed date, see {@link PackedRevolutionaryDate}.
+	 */
+	public int getCurrentPackedDate(ZoneId zone) {
+		return dateTable.getPackedDate(currentDates.getEpochDay(zone));
+	}
+
+	/**
+	 * Converts a day to a packed revolutionary date, without allocating.
+	 * 
+	 * @param epochDay the number of days since 1970-01-01.
+	 * @return the packed date, see {@link PackedRevolutionaryDate}.
+	 * @throws IllegalArgumentException if the day is not supported by the revolutionary calendar.
+	 */
+	public int getPackedDate(long epochDay) {
+		return dateTable.getPackedDate(epochDay);
+	}
+
+	/**
+	 * Converts a Gregorian date to a packed revolutionary date.
+	 * 
+	 * @param date the Gregorian date.
+	 * @return the packed date or {@link PackedRevolutionaryDate#INVALID} if the date is not supported.
+	 */
+	public int getPackedDate(LocalDate date) {
+		long epochDay = date.toEpochDay();
+		return dateTable.contains(epochDay) ? dateTable.getPackedDate(epochDay) : PackedRevolutionaryDate.INVALID;
+	}
+
+	/**
+	 * Converts a packed revolutionary date to the Gregorian calendar.
+	 * 
+	 * @param date the packed date.
+	 * @return a LocalDate wrapped in an optional or an empty optional if the date does not exist or is not supported.
+	 */
+	public Optional<LocalDate> toLocalDate(int date) {
+		return getGregorianDate(PackedRevolutionaryDate.getYear(date), PackedRevolutionaryDate.getMonth(date),
+				PackedRevolutionaryDate.getDayOfMonth(date));
+	}
+
+	/**
+	 * Adds a number of days to a packed revolutionary date.
+	 * 
+	 * @param date the packed date.
+	 * @param days the number of days to add.
+	 * @return the resulting packed date or {@link PackedRevolutionaryDate#INVALID} if either date is not supported.
+	 */
+	public int plusDays(int date, long days) {
+		return dateTable.plusDays(date, days);
+	}
+
+	/**
+	 * Subtracts a number of days from a packed revolutionary date.
+	 * 
+	 * @param date the packed date.
+	 * @param days the number of days to subtract.
+	 * @return the resulting packed date or {@link PackedRevolutionaryDate#INVALID} if either date is not supported.
+	 */
+	public int minusDays(int date, long days) {
+		return dateTable.plusDays(date, -days);
+	}
+
+	/**
+	 * Adds a number of months to a packed revolutionary date, see {@link RevolutionaryDateTable#plusMonths(int, long)}.
+	 * 
+	 * @param date the packed date.
+	 * @param months the number of months to add, which may be negative.
+	 * @return the resulting packed date or {@link PackedRevolutionaryDate#INVALID} if either date is not supported.
+	 */
+	public int plusMonths(int date, long months) {
+		return dateTable.plusMonths(date, months);
+	}
+
+	/**
+	 * Creates a FrenchRevolutionaryCalendarDate instance based on the current date. The time fields of the returned
+	 * date are set to midnight.
 	 * 
 	 * @param locale the locale to be used to compute the FrenchRevolutionaryCalendarDate instance.
 	 * @return the resulting a FrenchRevolutionaryCalendarDate instance.
 	 */
 	public FrenchRevolutionaryCalendarDate provideCurrentDate(Locale locale) {
-		FrenchRevolutionaryCalendar revolutionaryCalendar = new FrenchRevolutionaryCalendar(locale, EQUINOX);
-		return revolutionaryCalendar.getDate(GregorianCalendar.from(ZonedDateTime.now(clock)));
+		return provideCurrentDate(clock.getZone(), locale);
+	}
+
+	/**
+	 * Provides the FrenchRevolutionaryCalendarDate instance of the current date in a given time zone. The instance is
+	 * memoised until the next midnight of the time zone. The time fields of the returned date are set to midnight.
+	 * 
+	 * @param zone the time zone, for instance the one of the device making a request.
+	 * @param locale the locale to be used to compute the FrenchRevolutionaryCalendarDate instance.
+	 * @return the resulting a FrenchRevolutionaryCalendarDate instance.
+	 */
+	public FrenchRevolutionaryCalendarDate provideCurrentDate(ZoneId zone, Locale locale) {
+		return currentDates.getDate(zone, locale);
+	}
+
+	private static RevolutionaryDateTable getEquinoxTable(EquinoxSource equinoxSource) {
+		switch (equinoxSource) {
+			case CALCULATOR:
+				return CALCULATOR_TABLE;
+			case COMBINED:
+				return COMBINED_TABLE;
+			default:
+				return getLibraryTable(EQUINOX);
+		}
+	}
+
+	private static long getCombinedYearStart(int year) {
+		// Years starting before the end of the library's range keep its year starts, which are cached per century.
+		RevolutionaryDateTable libraryTable = getLibraryTable(EQUINOX);
+		return year <= libraryTable.getLastYear() ? libraryTable.getYearStart(year)
+				: EquinoxCalculator.getYearStart(year);
+	}
+
+	private static RevolutionaryDateTable getLibraryTable(CalculationMethod method) {
+		RevolutionaryDateTable table = LIBRARY_TABLES.get(method.ordinal());
+		if (table == null) {
+			// Concurrently created tables are equivalent, keep whichever was published first.
+			LIBRARY_TABLES.compareAndSet(method.ordinal(), null,
+					new RevolutionaryDateTable(method, CALENDAR_START, LIBRARY_END));
+			table = LIBRARY_TABLES.get(method.ordinal());
+		}
+		return table;
 	}
 
 }
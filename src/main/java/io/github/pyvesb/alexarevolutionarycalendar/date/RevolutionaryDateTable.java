@@ -0,0 +1,304 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+import java.time.LocalDate;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import ca.rmen.lfrc.FrenchRevolutionaryCalendar;
+import ca.rmen.lfrc.FrenchRevolutionaryCalendar.CalculationMethod;
+import ca.rmen.lfrc.FrenchRevolutionaryCalendarDate;
+
+/**
+ * Precomputed table used to convert days to revolutionary dates. Only the epoch day on which each revolutionary year
+ * starts is stored: these are computed with the FrenchRevolutionaryCalendar library or {@link EquinoxCalculator} the
+ * first time a century is needed, after which a conversion boils down to a couple of array reads. A fully loaded table
+ * takes 4 bytes per year, i.e. less than 5 kB for the 1792-3000 range and less than 14 kB for the 1792-5000 one.
+ *
+ * @author Pyves
+ *
+ */
+public class RevolutionaryDateTable {
+
+	/**
+	 * Value returned when a revolutionary date does not exist or is not covered by the table.
+	 */
+	public static final long NOT_COVERED = Long.MIN_VALUE;
+
+	private static final int YEARS_PER_CENTURY = 100;
+	private static final double MEAN_YEAR_LENGTH = 365.2422;
+	private static final int DAYS_PER_MONTH = 30;
+	private static final int MONTHS_PER_YEAR = 13;
+	private static final int MAX_COMPLEMENTARY_DAYS = 6;
+
+	private final YearStartCalculator yearStartCalculator;
+	private final long firstEpochDay;
+	private final long lastEpochDay;
+	private final int lastYear;
+	// Epoch days of the first day of each revolutionary year, grouped by century and lazily populated.
+	private final AtomicReferenceArray<int[]> yearStartsByCentury;
+
+	/**
+	 * Computes the day on which a revolutionary year starts.
+	 */
+	@FunctionalInterface
+	public interface YearStartCalculator {
+
+		/**
+		 * Computes the day on which a revolutionary year starts.
+		 *
+		 * @param year the revolutionary year.
+		 * @return the number of days since 1970-01-01.
+		 */
+		long getYearStart(int year);
+	}
+
+	/**
+	 * Creates a table covering all days between two Gregorian dates, relying on the FrenchRevolutionaryCalendar
+	 * library. The first day must be the start of a revolutionary year.
+	 *
+	 * @param calculationMethod the method used by the library to compute the start of each year.
+	 * @param first the first day covered by the table.
+	 * @param last the last day covered by the table, which must be supported by the library.
+	 */
+	public RevolutionaryDateTable(CalculationMethod calculationMethod, LocalDate first, LocalDate last) {
+		this(year -> getLibraryYearStart(calculationMethod, year), first, last,
+				new FrenchRevolutionaryCalendar(Locale.FRENCH, calculationMethod).getDate(
+						new GregorianCalendar(last.getYear(), last.getMonthValue() - 1, last.getDayOfMonth())).year);
+	}
+
+	/**
+	 * Creates a table covering all days between two Gregorian dates. The first day must be the start of a
+	 * revolutionary year.
+	 *
+	 * @param yearStartCalculator computes the start of each year, for instance {@link EquinoxCalculator#getYearStart}.
+	 *            It may also be called for the year following the last day.
+	 * @param first the first day covered by the table.
+	 * @param last the last day covered by the table.
+	 */
+	public RevolutionaryDateTable(YearStartCalculator yearStartCalculator, LocalDate first, LocalDate last) {
+		this(yearStartCalculator, first, last, findYear(yearStartCalculator, first.toEpochDay(), last.toEpochDay()));
+	}
+
+	private RevolutionaryDateTable(YearStartCalculator yearStartCalculator, LocalDate first, LocalDate last,
+			int lastYear) {
+		this.yearStartCalculator = yearStartCalculator;
+		this.firstEpochDay = first.toEpochDay();
+		this.lastEpochDay = last.toEpochDay();
+		this.lastYear = lastYear;
+		this.yearStartsByCentury = new AtomicReferenceArray<>((lastYear - 1) / YEARS_PER_CENTURY + 1);
+	}
+
+	/**
+	 * Checks whether a day is covered by the table.
+	 *
+	 * @param epochDay the number of days since 1970-01-01.
+	 * @return true if the day can be converted.
+	 */
+	public boolean contains(long epochDay) {
+		return epochDay >= firstEpochDay && epochDay <= lastEpochDay;
+	}
+
+	/**
+	 * Converts a day to a FrenchRevolutionaryCalendarDate. The time fields of the returned date are set to midnight.
+	 *
+	 * @param epochDay the number of days since 1970-01-01, which must be covered by the table.
+	 * @param locale the locale to be used to compute the FrenchRevolutionaryCalendarDate instance.
+	 * @return the corresponding FrenchRevolutionaryCalendarDate instance.
+	 */
+	public FrenchRevolutionaryCalendarDate getDate(long epochDay, Locale locale) {
+		return PackedRevolutionaryDate.toLibraryDate(getPackedDate(epochDay), locale);
+	}
+
+	/**
+	 * Converts a day to a packed revolutionary date, without allocating.
+	 *
+	 * @param epochDay the number of days since 1970-01-01, which must be covered by the table.
+	 * @return the packed date, see {@link PackedRevolutionaryDate}.
+	 */
+	public int getPackedDate(long epochDay) {
+		int year = getYear(epochDay);
+		return PackedRevolutionaryDate.ofDayInYear(year, (int) (epochDay - getYearStart(year)) + 1);
+	}
+
+	/**
+	 * Converts a packed revolutionary date to a day, the reverse of {@link #getPackedDate(long)}.
+	 *
+	 * @param date the packed date.
+	 * @return the number of days since 1970-01-01 or {@link #NOT_COVERED} if the date does not exist or is not covered
+	 *         by the table.
+	 */
+	public long getEpochDay(int date) {
+		return getEpochDay(PackedRevolutionaryDate.getYear(date), PackedRevolutionaryDate.getMonth(date),
+				PackedRevolutionaryDate.getDayOfMonth(date));
+	}
+
+	/**
+	 * Adds a number of days to a packed revolutionary date, taking the length of each year into account.
+	 *
+	 * @param date the packed date.
+	 * @param days the number of days to add, which may be negative.
+	 * @return the resulting packed date or {@link PackedRevolutionaryDate#INVALID} if either date does not exist or is
+	 *         not covered by the table.
+	 */
+	public int plusDays(int date, long days) {
+		long epochDay = getEpochDay(date);
+		if (epochDay == NOT_COVERED || !contains(epochDay + days)) {
+			return PackedRevolutionaryDate.INVALID;
+		}
+		return getPackedDate(epochDay + days);
+	}
+
+	/**
+	 * Adds a number of months to a packed revolutionary date, keeping its day of month. The complementary days are
+	 * considered to be a thirteenth month; when moving to them, the day of month is capped to the last complementary
+	 * day of the year.
+	 *
+	 * @param date the packed date.
+	 * @param months the number of months to add, which may be negative.
+	 * @return the resulting packed date or {@link PackedRevolutionaryDate#INVALID} if either date does not exist or is
+	 *         not covered by the table.
+	 */
+	public int plusMonths(int date, long months) {
+		if (getEpochDay(date) == NOT_COVERED) {
+			return PackedRevolutionaryDate.INVALID;
+		}
+		long monthIndex = (PackedRevolutionaryDate.getYear(date) - 1L) * MONTHS_PER_YEAR
+				+ PackedRevolutionaryDate.getMonth(date) - 1 + months;
+		if (monthIndex < 0 || monthIndex / MONTHS_PER_YEAR >= lastYear) {
+			return PackedRevolutionaryDate.INVALID;
+		}
+		int year = (int) (monthIndex / MONTHS_PER_YEAR) + 1;
+		int month = (int) (monthIndex % MONTHS_PER_YEAR) + 1;
+		int dayOfMonth = PackedRevolutionaryDate.getDayOfMonth(date);
+		if (month == MONTHS_PER_YEAR && dayOfMonth > MAX_COMPLEMENTARY_DAYS) {
+			dayOfMonth = MAX_COMPLEMENTARY_DAYS;
+		}
+		// Only the sixth complementary day of a common year or days past the end of the table need to be stepped back.
+		while (dayOfMonth > 0 && getEpochDay(year, month, dayOfMonth) == NOT_COVERED) {
+			--dayOfMonth;
+		}
+		return dayOfMonth == 0 ? PackedRevolutionaryDate.INVALID : PackedRevolutionaryDate.of(year, month, dayOfMonth);
+	}
+
+	/**
+	 * Converts a revolutionary date to a day by offsetting the start of its year, the reverse of
+	 * {@link #getDate(long, Locale)}. The complementary days are considered to be a thirteenth month, which only has
+	 * five or six days depending on the year.
+	 *
+	 * @param year the revolutionary year.
+	 * @param month the month, between 1 and 13.
+	 * @param dayOfMonth the day of month, between 1 and 30.
+	 * @return the number of days since 1970-01-01 or {@link #NOT_COVERED} if the date does not exist or is not covered
+	 *         by the table.
+	 */
+	public long getEpochDay(int year, int month, int dayOfMonth) {
+		if (year < 1 || year > lastYear || month < 1 || month > MONTHS_PER_YEAR || dayOfMonth < 1
+				|| dayOfMonth > DAYS_PER_MONTH) {
+			return NOT_COVERED;
+		}
+		long epochDay = getYearStart(year) + (month - 1) * DAYS_PER_MONTH + dayOfMonth - 1;
+		// Complementary days past the end of the year spill over into the next one.
+		if (!contains(epochDay) || getYear(epochDay) != year) {
+			return NOT_COVERED;
+		}
+		return epochDay;
+	}
+
+	/**
+	 * Finds the revolutionary year a day belongs to. The year is first estimated using the mean length of a year and
+	 * then corrected by looking at neighbouring year starts, which is never more than one step away.
+	 *
+	 * @param epochDay the number of days since 1970-01-01, which must be covered by the table.
+	 * @return the revolutionary year.
+	 */
+	public int getYear(long epochDay) {
+		if (!contains(epochDay)) {
+			throw new IllegalArgumentException("Day " + epochDay + " is not covered by the table.");
+		}
+		int year = Math.min((int) ((epochDay - firstEpochDay) / MEAN_YEAR_LENGTH) + 1, lastYear);
+		while (year > 1 && epochDay < getYearStart(year)) {
+			--year;
+		}
+		while (year < lastYear && epochDay >= getYearStart(year + 1)) {
+			++year;
+		}
+		return year;
+	}
+
+	/**
+	 * Returns the day on which a revolutionary year starts, i.e. its first of Vendémiaire.
+	 *
+	 * @param year the revolutionary year, between 1 and the last year covered by the table.
+	 * @return the number of days since 1970-01-01.
+	 */
+	public long getYearStart(int year) {
+		int century = (year - 1) / YEARS_PER_CENTURY;
+		int[] yearStarts = yearStartsByCentury.get(century);
+		if (yearStarts == null) {
+			// Concurrent computations of the same century yield identical arrays, keep whichever was published first.
+			yearStartsByCentury.compareAndSet(century, null, computeYearStarts(century));
+			yearStarts = yearStartsByCentury.get(century);
+		}
+		return yearStarts[(year - 1) % YEARS_PER_CENTURY];
+	}
+
+	public int getLastYear() {
+		return lastYear;
+	}
+
+	public long getFirstEpochDay() {
+		return firstEpochDay;
+	}
+
+	public long getLastEpochDay() {
+		return lastEpochDay;
+	}
+
+	/**
+	 * Estimates the memory currently used by the loaded centuries of the table.
+	 *
+	 * @return the footprint in bytes, including array headers.
+	 */
+	public long getFootprintInBytes() {
+		long footprint = 16L + 4L * yearStartsByCentury.length();
+		for (int century = 0; century < yearStartsByCentury.length(); ++century) {
+			int[] yearStarts = yearStartsByCentury.get(century);
+			if (yearStarts != null) {
+				footprint += 16L + 4L * yearStarts.length;
+			}
+		}
+		return footprint;
+	}
+
+	private int[] computeYearStarts(int century) {
+		int firstYear = century * YEARS_PER_CENTURY + 1;
+		int[] yearStarts = new int[Math.min(YEARS_PER_CENTURY, lastYear - firstYear + 1)];
+		for (int i = 0; i < yearStarts.length; ++i) {
+			yearStarts[i] = (int) yearStartCalculator.getYearStart(firstYear + i);
+		}
+		return yearStarts;
+	}
+
+	// Same logic as getYear, used to find the last year before the table can be populated.
+	private static int findYear(YearStartCalculator yearStartCalculator, long firstEpochDay, long epochDay) {
+		int year = (int) ((epochDay - firstEpochDay) / MEAN_YEAR_LENGTH) + 1;
+		while (year > 1 && epochDay < yearStartCalculator.getYearStart(year)) {
+			--year;
+		}
+		while (epochDay >= yearStartCalculator.getYearStart(year + 1)) {
+			++year;
+		}
+		return year;
+	}
+
+	private static long getLibraryYearStart(CalculationMethod calculationMethod, int year) {
+		FrenchRevolutionaryCalendarDate firstDay = new FrenchRevolutionaryCalendarDate(Locale.FRENCH, year, 1, 1, 0, 0,
+				0);
+		GregorianCalendar gregorianDate = new FrenchRevolutionaryCalendar(Locale.FRENCH, calculationMethod)
+				.getGregorianDate(firstDay);
+		return LocalDate.of(gregorianDate.get(GregorianCalendar.YEAR), gregorianDate.get(GregorianCalendar.MONTH) + 1,
+				gregorianDate.get(GregorianCalendar.DAY_OF_MONTH)).toEpochDay();
+	}
+
+}
@@ -0,0 +1,78 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import ca.rmen.lfrc.FrenchRevolutionaryCalendarDate;
+
+/**
+ * Parser for revolutionary month names as transcribed by Alexa, e.g. "Brumaire" or "nivose". Matching ignores case,
+ * accents, spaces and hyphens. The complementary days at the end of each year are treated as a thirteenth month.
+ *
+ * @author Pyves
+ *
+ */
+public class RevolutionaryMonthParser {
+
+	/**
+	 * Value returned when a string is not a revolutionary month.
+	 */
+	public static final int INVALID_MONTH = 0;
+
+	private static final int MONTHS_PER_YEAR = 13;
+	private static final String[] FRENCH_NAMES = { "Vendémiaire", "Brumaire", "Frimaire", "Nivôse", "Pluviôse",
+			"Ventôse", "Germinal", "Floréal", "Prairial", "Messidor", "Thermidor", "Fructidor" };
+	private static final String[] COMPLEMENTARY_DAYS_NAMES = { "Sansculottides", "Sansculottide",
+			"Jours complémentaires", "Jour complémentaire", "Complementary days", "Complementary day" };
+	private static final Map<String, Integer> MONTHS_BY_NAME = new HashMap<>();
+
+	static {
+		for (int month = 1; month <= FRENCH_NAMES.length; ++month) {
+			MONTHS_BY_NAME.put(normalise(FRENCH_NAMES[month - 1]), month);
+		}
+		for (String name : COMPLEMENTARY_DAYS_NAMES) {
+			MONTHS_BY_NAME.put(normalise(name), MONTHS_PER_YEAR);
+		}
+		// Names rendered in responses are accepted as well, so users can repeat what they heard or read on a card.
+		for (Locale locale : new Locale[] { Locale.FRENCH, Locale.ENGLISH }) {
+			for (int month = 1; month <= MONTHS_PER_YEAR; ++month) {
+				String name = new FrenchRevolutionaryCalendarDate(locale, 1, month, 1, 0, 0, 0).getMonthName();
+				MONTHS_BY_NAME.putIfAbsent(normalise(name), month);
+			}
+		}
+	}
+
+	/**
+	 * Parses a month name or number.
+	 *
+	 * @param value the string to parse.
+	 * @return the month, between 1 and 13, or {@link #INVALID_MONTH} if the string could not be parsed.
+	 */
+	public static int parse(String value) {
+		if (value == null) {
+			return INVALID_MONTH;
+		}
+		Integer month = MONTHS_BY_NAME.get(normalise(value));
+		if (month != null) {
+			return month;
+		}
+		try {
+			int number = Integer.parseInt(value.trim());
+			return number >= 1 && number <= MONTHS_PER_YEAR ? number : INVALID_MONTH;
+		} catch (NumberFormatException e) {
+			return INVALID_MONTH;
+		}
+	}
+
+	private static String normalise(String name) {
+		String withoutAccents = Normalizer.normalize(name, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+		return withoutAccents.replaceAll("[\\s-]", "").toLowerCase(Locale.ROOT);
+	}
+
+	private RevolutionaryMonthParser() {
+		// Not used.
+	}
+
+}
@@ -0,0 +1,93 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+import java.util.Locale;
+
+import ca.rmen.lfrc.FrenchRevolutionaryCalendarDate;
+
+/**
+ * Precomputed names of the weekdays, months and objects of the day, as rendered by the FrenchRevolutionaryCalendar
+ * library for packed dates. Names only depend on the position of a date in its year, tables are therefore built once
+ * for each supported language and cover the 366 days of a sextile year, after which retrieving a name does not
+ * allocate. Locales other than French use the English tables, like the rest of the skill.
+ *
+ * @author Pyves
+ *
+ */
+public class RevolutionaryNameTable {
+
+	private static final int DAYS_PER_YEAR = 366;
+	private static final Names FRENCH = new Names(Locale.FRENCH);
+	private static final Names ENGLISH = new Names(Locale.ENGLISH);
+
+	/**
+	 * Returns the name of the weekday of a date, e.g. "Décadi".
+	 *
+	 * @param locale the locale of the name.
+	 * @param date the packed date.
+	 * @return the name of the weekday.
+	 */
+	public static String getWeekdayName(Locale locale, int date) {
+		return getNames(locale).weekdays[PackedRevolutionaryDate.getDayInYear(date) - 1];
+	}
+
+	/**
+	 * Returns the name of the month of a date, e.g. "Germinal".
+	 *
+	 * @param locale the locale of the name.
+	 * @param date the packed date.
+	 * @return the name of the month, the complementary days being a thirteenth month.
+	 */
+	public static String getMonthName(Locale locale, int date) {
+		return getNames(locale).months[PackedRevolutionaryDate.getMonth(date) - 1];
+	}
+
+	/**
+	 * Returns the name of the type of the object of the day of a date, e.g. "plant".
+	 *
+	 * @param locale the locale of the name.
+	 * @param date the packed date.
+	 * @return the name of the type of the object.
+	 */
+	public static String getObjectTypeName(Locale locale, int date) {
+		return getNames(locale).objectTypes[PackedRevolutionaryDate.getDayInYear(date) - 1];
+	}
+
+	/**
+	 * Returns the name of the object of the day of a date, e.g. "Primevère".
+	 *
+	 * @param locale the locale of the name.
+	 * @param date the packed date.
+	 * @return the name of the object, without any article.
+	 */
+	public static String getObjectOfTheDay(Locale locale, int date) {
+		return getNames(locale).objects[PackedRevolutionaryDate.getDayInYear(date) - 1];
+	}
+
+	private static Names getNames(Locale locale) {
+		return Locale.FRENCH.getLanguage().equals(locale.getLanguage()) ? FRENCH : ENGLISH;
+	}
+
+	private static final class Names {
+
+		private final String[] weekdays = new String[DAYS_PER_YEAR];
+		private final String[] months = new String[13];
+		private final String[] objectTypes = new String[DAYS_PER_YEAR];
+		private final String[] objects = new String[DAYS_PER_YEAR];
+
+		private Names(Locale locale) {
+			for (int day = 1; day <= DAYS_PER_YEAR; ++day) {
+				FrenchRevolutionaryCalendarDate date = PackedRevolutionaryDate
+						.toLibraryDate(PackedRevolutionaryDate.ofDayInYear(1, day), locale);
+				weekdays[day - 1] = date.getWeekdayName();
+				months[date.month - 1] = date.getMonthName();
+				objectTypes[day - 1] = date.getObjectTypeName();
+				objects[day - 1] = date.getObjectOfTheDay();
+			}
+		}
+	}
+
+	private RevolutionaryNameTable() {
+		// Not used.
+	}
+
+}
@@ -2,9 +2,7 @@ package io.github.pyvesb.alexarevolutionarycalendar.handlers;
 
 import static com.amazon.ask.request.Predicates.intentName;
 
-import java.util.Locale;
 import java.util.Optional;
-import java.util.ResourceBundle;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -14,21 +12,28 @@ import com.amazon.ask.dispatcher.request.handler.RequestHandler;
 import com.amazon.ask.model.RequestEnvelope;
 import com.amazon.ask.model.Response;
 
+import io.github.pyvesb.alexarevolutionarycalendar.i18n.LocalisedMessages;
+import io.github.pyvesb.alexarevolutionarycalendar.logging.LogMarkers;
+
 public class CancelStopIntentHandler implements RequestHandler {
 
+	public static final String CANCEL_INTENT = "AMAZON.CancelIntent";
+	public static final String STOP_INTENT = "AMAZON.StopIntent";
+
 	private static final Logger LOGGER = LogManager.getLogger(CancelStopIntentHandler.class);
 
 	@Override
 	public boolean canHandle(HandlerInput input) {
-		return input.matches(intentName("AMAZON.CancelIntent")) || input.matches(intentName("AMAZON.StopIntent"));
+		return input.matches(intentName(CANCEL_INTENT)) || input.matches(intentName(STOP_INTENT));
 	}
 
 	@Override
 	public Optional<Response> handle(HandlerInput input) {
 		RequestEnvelope envelope = input.getRequestEnvelope();
 		String locale = envelope.getRequest().getLocale();
-		LOGGER.info("Cancel/stop intent (session={}, locale={})", envelope.getSession().getSessionId(), locale);
-		String speechText = ResourceBundle.getBundle("messages", Locale.forLanguageTag(locale)).getString("cancel-stop");
+		LOGGER.info(LogMarkers.REQUEST, "Cancel/stop intent (session={}, locale={})",
+				envelope.getSession().getSessionId(), locale);
+		String speechText = LocalisedMessages.forLanguageTag(locale).getString("cancel-stop");
 		return input.getResponseBuilder()
 				.withSpeech(speechText)
 				.withShouldEndSession(true)
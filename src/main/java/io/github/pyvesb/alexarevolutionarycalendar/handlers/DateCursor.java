@@ -0,0 +1,93 @@
+package io.github.pyvesb.alexarevolutionarycalendar.handlers;
+
+import java.util.Map;
+
+import com.amazon.ask.dispatcher.request.handler.HandlerInput;
+
+import ca.rmen.lfrc.FrenchRevolutionaryCalendar.CalculationMethod;
+import io.github.pyvesb.alexarevolutionarycalendar.date.PackedRevolutionaryDate;
+
+/**
+ * Cursor pointing at the last single date answered in a session, from which users can navigate to neighbouring dates,
+ * see {@link DateNavigationIntentHandler}. The cursor is kept in the session attributes, which Alexa sends back with
+ * each request of the session, as a single number: the packed revolutionary date takes the lowest 32 bits and the
+ * ordinal of its calculation method the upper ones.
+ *
+ * @author Pyves
+ *
+ */
+class DateCursor {
+
+	static final String ATTRIBUTE = "cursor";
+
+	/**
+	 * Value returned when a session does not hold a valid cursor.
+	 */
+	static final long NONE = -1L;
+
+	private static final int METHOD_SHIFT = Integer.SIZE;
+	private static final long DATE_MASK = (1L << METHOD_SHIFT) - 1;
+	private static final CalculationMethod[] METHODS = CalculationMethod.values();
+
+	/**
+	 * Packs a cursor.
+	 *
+	 * @param date the packed revolutionary date.
+	 * @param method the calculation method of the date.
+	 * @return the cursor.
+	 */
+	static long of(int date, CalculationMethod method) {
+		return (long) method.ordinal() << METHOD_SHIFT | date;
+	}
+
+	static int getDate(long cursor) {
+		return (int) (cursor & DATE_MASK);
+	}
+
+	static CalculationMethod getMethod(long cursor) {
+		return METHODS[(int) (cursor >>> METHOD_SHIFT)];
+	}
+
+	/**
+	 * Stores a cursor in the session attributes of a request, which are then included in its response. Requests sent
+	 * outside of a session cannot hold any attributes and are left untouched.
+	 *
+	 * @param input the input of the request.
+	 * @param date the packed revolutionary date to point at.
+	 * @param method the calculation method of the date.
+	 */
+	static void save(HandlerInput input, int date, CalculationMethod method) {
+		if (input.getRequestEnvelope().getSession() != null) {
+			input.getAttributesManager().getSessionAttributes().put(ATTRIBUTE, of(date, method));
+		}
+	}
+
+	/**
+	 * Retrieves the cursor stored in the session attributes of a request.
+	 *
+	 * @param input the input of the request.
+	 * @return the cursor or {@link #NONE} if the session does not hold a valid one.
+	 */
+	static long load(HandlerInput input) {
+		if (input.getRequestEnvelope().getSession() == null) {
+			return NONE;
+		}
+		Map<String, Object> attributes = input.getAttributesManager().getSessionAttributes();
+		Object value = attributes == null ? null : attributes.get(ATTRIBUTE);
+		// Small numbers are deserialised as integers, larger ones as longs.
+		if (!(value instanceof Integer || value instanceof Long)) {
+			return NONE;
+		}
+		long cursor = ((Number) value).longValue();
+		if (cursor < 0 || cursor >>> METHOD_SHIFT >= METHODS.length
+				|| getDate(cursor) <= PackedRevolutionaryDate.INVALID) {
+			return NONE;
+		}
+		return cursor;
+	}
+
+	private DateCursor() {
+		// Not used.
+	}
+
+}
@@ -3,9 +3,10 @@ package io.github.pyvesb.alexarevolutionarycalendar.handlers;
 import static com.amazon.ask.request.Predicates.intentName;
 
 import java.time.Clock;
+import java.time.ZoneId;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
-import java.util.ResourceBundle;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -20,22 +21,81 @@ import com.amazon.ask.model.Slot;
 import com.amazon.ask.model.ui.Image;
 import com.amazon.ask.response.ResponseBuilder;
 
-import ca.rmen.lfrc.FrenchRevolutionaryCalendarDate;
-import io.github.pyvesb.alexarevolutionarycalendar.date.FrenchObjectOfTheDay;
+import io.github.pyvesb.alexarevolutionarycalendar.date.CalculationMethodParser;
+import io.github.pyvesb.alexarevolutionarycalendar.date.DateRange;
+import io.github.pyvesb.alexarevolutionarycalendar.date.ObjectOfTheDayTable;
+import io.github.pyvesb.alexarevolutionarycalendar.date.PackedRevolutionaryDate;
 import io.github.pyvesb.alexarevolutionarycalendar.date.RevolutionaryDateProvider;
+import io.github.pyvesb.alexarevolutionarycalendar.date.RevolutionaryNameTable;
+import io.github.pyvesb.alexarevolutionarycalendar.i18n.LocalisedMessages;
+import io.github.pyvesb.alexarevolutionarycalendar.logging.LogMarkers;
+import io.github.pyvesb.alexarevolutionarycalendar.metrics.SkillMetrics;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.PreferenceRepository;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.UserPreferences;
+import io.github.pyvesb.alexarevolutionarycalendar.timezone.TimeZoneResolver;
 
 public class DateIntentHandler implements RequestHandler {
 
 	private static final Logger LOGGER = LogManager.getLogger(DateIntentHandler.class);
 	private static final String IMAGE_URL = "https://s3-eu-west-1.amazonaws.com/alexa-revolutionary-calendar/calendar.jpg";
-	private static final Image IMAGE = Image.builder().withLargeImageUrl(IMAGE_URL).build();
-	private static final String DATE_OF_THE_DAY = "RevolutionaryDateOfTheDay";
-	private static final String DATE_WITH_SLOT = "RevolutionaryDateWithSlot";
+	static final Image IMAGE = Image.builder().withLargeImageUrl(IMAGE_URL).build();
+	public static final String DATE_OF_THE_DAY = "RevolutionaryDateOfTheDay";
+	public static final String DATE_WITH_SLOT = "RevolutionaryDateWithSlot";
+	static final String METHOD_SLOT = "method";
+	private static final int MONTHS_PER_YEAR = 13;
 
 	private final RevolutionaryDateProvider revolutionaryDateProvider;
+	private final SkillMetrics metrics;
+	private final TimeZoneResolver timeZoneResolver;
+	private final PreferenceRepository preferenceRepository;
+	private final DateOfTheDayCache dateOfTheDayCache = new DateOfTheDayCache();
+	private final DateOfTheDayCache briefDateOfTheDayCache = new DateOfTheDayCache();
 
 	public DateIntentHandler(Clock clock) {
-		revolutionaryDateProvider = new RevolutionaryDateProvider(clock);
+		this(new RevolutionaryDateProvider(clock));
+	}
+
+	public DateIntentHandler(RevolutionaryDateProvider revolutionaryDateProvider) {
+		this(revolutionaryDateProvider, new SkillMetrics());
+	}
+
+	/**
+	 * Creates a handler.
+	 * 
+	 * @param revolutionaryDateProvider the provider used to convert dates.
+	 * @param metrics the metrics recording the slot values that could not be parsed.
+	 */
+	public DateIntentHandler(RevolutionaryDateProvider revolutionaryDateProvider, SkillMetrics metrics) {
+		this(revolutionaryDateProvider, metrics, envelope -> revolutionaryDateProvider.getZone());
+	}
+
+	/**
+	 * Creates a handler.
+	 * 
+	 * @param revolutionaryDateProvider the provider used to convert dates.
+	 * @param metrics the metrics recording the slot values that could not be parsed.
+	 * @param timeZoneResolver resolves the time zone in which the date of the day is computed.
+	 */
+	public DateIntentHandler(RevolutionaryDateProvider revolutionaryDateProvider, SkillMetrics metrics,
+			TimeZoneResolver timeZoneResolver) {
+		this(revolutionaryDateProvider, metrics, timeZoneResolver, PreferenceRepository.disabled());
+	}
+
+	/**
+	 * Creates a handler.
+	 * 
+	 * @param revolutionaryDateProvider the provider used to convert dates.
+	 * @param metrics the metrics recording the slot values that could not be parsed.
+	 * @param timeZoneResolver resolves the time zone in which the date of the day is computed, unless the user set a
+	 *            preferred one.
+	 * @param preferenceRepository gives access to the preferred time zone, calculation method and verbosity of users.
+	 */
+	public DateIntentHandler(RevolutionaryDateProvider revolutionaryDateProvider, SkillMetrics metrics,
+			TimeZoneResolver timeZoneResolver, PreferenceRepository preferenceRepository) {
+		this.revolutionaryDateProvider = revolutionaryDateProvider;
+		this.metrics = metrics;
+		this.timeZoneResolver = timeZoneResolver;
+		this.preferenceRepository = preferenceRepository;
 	}
 
 	@Override
@@ -46,40 +106,75 @@ public class DateIntentHandler implements RequestHandler {
 	@Override
 	public Optional<Response> handle(HandlerInput input) {
 		RequestEnvelope envelope = input.getRequestEnvelope();
-		Locale locale = Locale.forLanguageTag(envelope.getRequest().getLocale());
+		String locale = envelope.getRequest().getLocale();
 		Intent intent = ((IntentRequest) envelope.getRequest()).getIntent();
 		String intentName = intent.getName();
-		LOGGER.info("Date intent (session={}, type={}, locale={})", envelope.getSession().getSessionId(), intentName,
-				locale);
-		ResourceBundle messages = ResourceBundle.getBundle("messages", locale);
+		LOGGER.info(LogMarkers.REQUEST, "Date intent (session={}, type={}, locale={})",
+				envelope.getSession().getSessionId(), intentName, locale);
+		LocalisedMessages messages = LocalisedMessages.forLanguageTag(locale);
+		UserPreferences preferences = preferenceRepository.get(envelope);
+		// A method stated in the request takes precedence over the preferred one.
+		RevolutionaryDateProvider preferredProvider = preferences.getCalculationMethod()
+				.map(revolutionaryDateProvider::withCalculationMethod)
+				.orElse(revolutionaryDateProvider);
+		RevolutionaryDateProvider provider = getProvider(preferredProvider, intent.getSlots());
+		boolean brief = preferences.isBrief();
 		if (DATE_WITH_SLOT.equals(intentName)) {
-			return handleIntent(input.getResponseBuilder(), intent, messages);
+			return handleIntent(input, intent, provider, brief, messages);
+		}
+		ZoneId zone = preferences.getTimeZone().orElseGet(() -> timeZoneResolver.resolve(envelope));
+		long today = provider.getCurrentEpochDay(zone);
+		String responseKey = brief ? "date-of-the-day-brief" : "date-of-the-day";
+		if (provider != revolutionaryDateProvider) {
+			// Only the dates of the default calculation method are cached, the other ones are seldom requested.
+			RenderedDate dateOfTheDay = renderDate(responseKey, provider.getPackedDate(today), messages);
+			return getDateResponse(input, dateOfTheDay, provider, messages);
 		}
-		return getDateResponse(input.getResponseBuilder(), "date-of-the-day",
-				revolutionaryDateProvider.provideCurrentDate(locale), messages);
+		DateOfTheDayCache cache = brief ? briefDateOfTheDayCache : dateOfTheDayCache;
+		RenderedDate dateOfTheDay = cache.get(messages.getLocale(), today,
+				day -> renderDate(responseKey, provider.getPackedDate(day), messages));
+		return getDateResponse(input, dateOfTheDay, provider, messages);
+	}
+
+	public DateOfTheDayCache getDateOfTheDayCache() {
+		return dateOfTheDayCache;
 	}
 
 	/**
-	 * Handles an intent which may contain a date slot.
+	 * Handles an intent which may contain a date slot. The slot can either represent a single day or a range of days
+	 * (e.g. a week or a year), in which case only both ends of the range are converted.
 	 * 
-	 * @param responseBuilder used to build the response.
+	 * @param input the input of the request.
 	 * @param intent the request intent
-	 * @param messages the resource bundle to be used to construct the response.
+	 * @param provider the provider of the requested calculation method.
+	 * @param brief true if the object of the day should be left out of single day responses.
+	 * @param messages the localised messages to be used to construct the response.
 	 * @return either a date response if the handling was successful or else an error response.
 	 */
-	private Optional<Response> handleIntent(ResponseBuilder responseBuilder, Intent intent, ResourceBundle messages) {
+	private Optional<Response> handleIntent(HandlerInput input, Intent intent, RevolutionaryDateProvider provider,
+			boolean brief, LocalisedMessages messages) {
+		ResponseBuilder responseBuilder = input.getResponseBuilder();
 		Slot dateSlot = intent.getSlots().get("date");
 		String dateValue = null;
 		if (dateSlot != null) {
 			dateValue = dateSlot.getValue();
-			Optional<FrenchRevolutionaryCalendarDate> parsedDate = revolutionaryDateProvider
-					.parseISO8601CalendarDate(dateValue, messages.getLocale());
-			if (parsedDate.isPresent()) {
-				LOGGER.info("Parsed date (date={}, locale={})", dateValue, messages.getLocale());
-				return getDateResponse(responseBuilder, "date-with-slot", parsedDate.get(), messages);
+			Optional<DateRange> parsedRange = provider.parseDateSlot(dateValue);
+			if (parsedRange.isPresent()) {
+				LOGGER.info(LogMarkers.PARSED_DATE, "Parsed date (date={}, locale={})", dateValue,
+						messages.getLocale());
+				DateRange range = parsedRange.get();
+				int first = provider.getPackedDate(range.getFirstEpochDay());
+				if (range.isSingleDay()) {
+					String responseKey = brief ? "date-with-slot-brief" : "date-with-slot";
+					return getDateResponse(input, renderDate(responseKey, first, messages), provider, messages);
+				}
+				int last = provider.getPackedDate(range.getLastEpochDay());
+				return getRangeResponse(responseBuilder, first, last, messages);
 			}
 		}
-		LOGGER.warn("Unparsable date (date={}, locale={})", dateValue, messages.getLocale());
+		LOGGER.warn(LogMarkers.UNPARSABLE_DATE, "Unparsable date (date={}, locale={})", dateValue,
+				messages.getLocale());
+		metrics.recordParseFailure(DateIntentHandler.class.getSimpleName());
 		return getErrorResponse(responseBuilder, messages);
 	}
 
@@ -87,10 +182,10 @@ public class DateIntentHandler implements RequestHandler {
 	 * Creates a response containing a simple card and an error message.
 	 * 
 	 * @param responseBuilder used to build the response.
-	 * @param messages the resource bundle to be used to construct the response.
+	 * @param messages the localised messages to be used to construct the response.
 	 * @return the resulting response.
 	 */
-	private Optional<Response> getErrorResponse(ResponseBuilder responseBuilder, ResourceBundle messages) {
+	private Optional<Response> getErrorResponse(ResponseBuilder responseBuilder, LocalisedMessages messages) {
 		String errorText = messages.getString("error");
 		return responseBuilder
 				.withSpeech(errorText)
@@ -100,22 +195,70 @@ public class DateIntentHandler implements RequestHandler {
 	}
 
 	/**
-	 * Creates a response containing a standard card and date information.
+	 * Creates a response containing a standard card and date information. The date is remembered in the session,
+	 * which is kept open so that users can then ask for neighbouring dates, see {@link DateNavigationIntentHandler}.
+	 * 
+	 * @param input the input of the request.
+	 * @param renderedDate the speech and card text of the date.
+	 * @param provider the provider of the calculation method of the date.
+	 * @param messages the localised messages to be used to construct the response.
+	 * @return the resulting response.
+	 */
+	static Optional<Response> getDateResponse(HandlerInput input, RenderedDate renderedDate,
+			RevolutionaryDateProvider provider, LocalisedMessages messages) {
+		DateCursor.save(input, renderedDate.getDate(), provider.getCalculationMethod());
+		return input.getResponseBuilder()
+				.withSpeech(renderedDate.getSpeech())
+				.withStandardCard(messages.getString("card-title"), renderedDate.getCardText(), IMAGE)
+				.withReprompt(messages.getString("navigation-reprompt"))
+				.withShouldEndSession(false)
+				.build();
+	}
+
+	/**
+	 * Renders the speech and card text of a date response.
 	 * 
-	 * @param responseBuilder used to build the response
 	 * @param responseKey the key to get a localised message containing date placeholders.
-	 * @param date the revolutionary date to include in the response.
-	 * @param messages the resource bundle to be used to construct the response.
+	 * @param date the packed revolutionary date to include in the response.
+	 * @param messages the localised messages to be used to construct the response.
+	 * @return the rendered date.
+	 */
+	static RenderedDate renderDate(String responseKey, int date, LocalisedMessages messages) {
+		Locale locale = messages.getLocale();
+		String dayOfMonth = getDayOfMonthOrdinal(PackedRevolutionaryDate.getDayOfMonth(date), messages.isFrench());
+		String speech = messages.format(responseKey, RevolutionaryNameTable.getWeekdayName(locale, date), dayOfMonth,
+				RevolutionaryNameTable.getMonthName(locale, date), PackedRevolutionaryDate.getYear(date),
+				RevolutionaryNameTable.getObjectTypeName(locale, date),
+				ObjectOfTheDayTable.getReadableName(locale, PackedRevolutionaryDate.getDayInYear(date)));
+		String cardText = getCardDate(date, locale) + "\n" + RevolutionaryNameTable.getObjectOfTheDay(locale, date);
+		return new RenderedDate(date, speech, cardText);
+	}
+
+	/**
+	 * Creates a response containing a standard card and a summary of a range of dates.
+	 * 
+	 * @param responseBuilder used to build the response
+	 * @param first the first packed revolutionary date of the range.
+	 * @param last the last packed revolutionary date of the range.
+	 * @param messages the localised messages to be used to construct the response.
 	 * @return the resulting response.
 	 */
-	private Optional<Response> getDateResponse(ResponseBuilder responseBuilder, String responseKey,
-			FrenchRevolutionaryCalendarDate date, ResourceBundle messages) {
-		boolean isFrench = Locale.FRENCH.getLanguage().equals(messages.getLocale().getLanguage());
-		String speech = String.format(messages.getString(responseKey), date.getWeekdayName(),
-				getDayOfMonthOrdinal(date, isFrench), date.getMonthName(), date.year, date.getObjectTypeName(),
-				getReadableObjectOfTheDay(date, isFrench));
-		String cardText = date.getWeekdayName() + ", " + date.dayOfMonth + " " + date.getMonthName() + " " + date.year + "\n"
-				+ date.getObjectOfTheDay();
+	private Optional<Response> getRangeResponse(ResponseBuilder responseBuilder, int first, int last,
+			LocalisedMessages messages) {
+		Locale locale = messages.getLocale();
+		boolean isFrench = messages.isFrench();
+		int firstYear = PackedRevolutionaryDate.getYear(first);
+		int lastYear = PackedRevolutionaryDate.getYear(last);
+		// The complementary days are counted as a thirteenth month.
+		int monthsCovered = (lastYear - firstYear) * MONTHS_PER_YEAR + PackedRevolutionaryDate.getMonth(last)
+				- PackedRevolutionaryDate.getMonth(first) + 1;
+		String responseKey = monthsCovered == 1 ? "date-range" : "date-range-months";
+		String speech = messages.format(responseKey,
+				getDayOfMonthOrdinal(PackedRevolutionaryDate.getDayOfMonth(first), isFrench),
+				RevolutionaryNameTable.getMonthName(locale, first), firstYear,
+				getDayOfMonthOrdinal(PackedRevolutionaryDate.getDayOfMonth(last), isFrench),
+				RevolutionaryNameTable.getMonthName(locale, last), lastYear, monthsCovered);
+		String cardText = getCardDate(first, locale) + " - " + getCardDate(last, locale);
 		return responseBuilder
 				.withSpeech(speech)
 				.withStandardCard(messages.getString("card-title"), cardText, IMAGE)
@@ -124,32 +267,48 @@ public class DateIntentHandler implements RequestHandler {
 	}
 
 	/**
-	 * Creates an ordinal string representing the day of month for a given date. The returned string is not necessarily
-	 * linguistically correct but should be the minimal form needed to be correctly interpreted by Alexa.
+	 * Selects the provider of the calculation method requested through the optional method slot of an intent, e.g.
+	 * "Romme". Missing or unrecognised methods fall back to the default provider.
 	 * 
-	 * @param date the date to get the day of month from.
-	 * @param isFrench true if the language to use is French.
-	 * @return a string representing a number that can be interpreted as an ordinal by Alexa.
+	 * @param defaultProvider the provider of the default calculation method.
+	 * @param slots the slots of the intent, possibly null.
+	 * @return the provider of the requested calculation method.
 	 */
-	private String getDayOfMonthOrdinal(FrenchRevolutionaryCalendarDate date, boolean isFrench) {
-		if (isFrench) {
-			return date.dayOfMonth == 1 ? "premier" : Integer.toString(date.dayOfMonth);
+	static RevolutionaryDateProvider getProvider(RevolutionaryDateProvider defaultProvider, Map<String, Slot> slots) {
+		Slot methodSlot = slots == null ? null : slots.get(METHOD_SLOT);
+		if (methodSlot == null) {
+			return defaultProvider;
 		}
-		// Alexa is clever enough to correctly process ordinals such as "2th".
-		return date.dayOfMonth + "th";
+		return CalculationMethodParser.parse(methodSlot.getValue())
+				.map(defaultProvider::withCalculationMethod)
+				.orElse(defaultProvider);
+	}
+
+	/**
+	 * Creates a string representing a date in a card, e.g. "Décadi, 10 Germinal 226".
+	 * 
+	 * @param date the packed date to represent.
+	 * @param locale the locale of the weekday and month names.
+	 * @return a string containing the weekday, day of month, month and year of the date.
+	 */
+	static String getCardDate(int date, Locale locale) {
+		return RevolutionaryNameTable.getWeekdayName(locale, date) + ", " + PackedRevolutionaryDate.getDayOfMonth(date)
+				+ " " + RevolutionaryNameTable.getMonthName(locale, date) + " " + PackedRevolutionaryDate.getYear(date);
 	}
 
 	/**
-	 * Creates a string representing the object of the day for a given date. The returned string contains an article so
-	 * that it can naturally be read out by Alexa.
+	 * Creates an ordinal string representing a day of month, in any calendar.
 	 * 
-	 * @param date the date to get the object of the day from.
-	 * @param french true if the language to use is French.
-	 * @return a string containing the object of that day and an article, e.g. "the Apple".
+	 * @param dayOfMonth the day of month.
+	 * @param isFrench true if the language to use is French.
+	 * @return a string representing a number that can be interpreted as an ordinal by Alexa.
 	 */
-	private String getReadableObjectOfTheDay(FrenchRevolutionaryCalendarDate date, boolean french) {
-		return french ? FrenchObjectOfTheDay.values()[date.getDayInYear() - 1].getArticle() + date.getObjectOfTheDay()
-				: "the " + date.getObjectOfTheDay();
+	static String getDayOfMonthOrdinal(int dayOfMonth, boolean isFrench) {
+		if (isFrench) {
+			return dayOfMonth == 1 ? "premier" : Integer.toString(dayOfMonth);
+		}
+		// Alexa is clever enough to correctly process ordinals such as "2th".
+		return dayOfMonth + "th";
 	}
 
 }
@@ -0,0 +1,124 @@
+package io.github.pyvesb.alexarevolutionarycalendar.handlers;
+
+import static com.amazon.ask.request.Predicates.intentName;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.amazon.ask.dispatcher.request.handler.HandlerInput;
+import com.amazon.ask.dispatcher.request.handler.RequestHandler;
+import com.amazon.ask.model.Intent;
+import com.amazon.ask.model.IntentRequest;
+import com.amazon.ask.model.RequestEnvelope;
+import com.amazon.ask.model.Response;
+import com.amazon.ask.model.Slot;
+
+import io.github.pyvesb.alexarevolutionarycalendar.date.DateStep;
+import io.github.pyvesb.alexarevolutionarycalendar.date.PackedRevolutionaryDate;
+import io.github.pyvesb.alexarevolutionarycalendar.date.RevolutionaryDateProvider;
+import io.github.pyvesb.alexarevolutionarycalendar.i18n.LocalisedMessages;
+import io.github.pyvesb.alexarevolutionarycalendar.logging.LogMarkers;
+import io.github.pyvesb.alexarevolutionarycalendar.metrics.SkillMetrics;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.PreferenceRepository;
+
+/**
+ * Handles follow-up requests moving from the last date answered in the session to a neighbouring one, e.g. "and the
+ * day after?" or "what about the previous décadi?". The last date is read from the session cursor written by
+ * {@link DateIntentHandler}, see {@link DateCursor}, and moved with pure arithmetic instead of converting a Gregorian
+ * date again. The optional step slot is parsed by {@link DateStep} and defaults to a day.
+ *
+ * @author Pyves
+ *
+ */
+public class DateNavigationIntentHandler implements RequestHandler {
+
+	public static final String NEXT_DATE = "NextRevolutionaryDate";
+	public static final String PREVIOUS_DATE = "PreviousRevolutionaryDate";
+	static final String STEP_SLOT = "step";
+
+	private static final Logger LOGGER = LogManager.getLogger(DateNavigationIntentHandler.class);
+
+	private final RevolutionaryDateProvider revolutionaryDateProvider;
+	private final SkillMetrics metrics;
+	private final PreferenceRepository preferenceRepository;
+
+	public DateNavigationIntentHandler(RevolutionaryDateProvider revolutionaryDateProvider) {
+		this(revolutionaryDateProvider, new SkillMetrics(), PreferenceRepository.disabled());
+	}
+
+	/**
+	 * Creates a handler.
+	 *
+	 * @param revolutionaryDateProvider the provider used to move dates, whatever their calculation method.
+	 * @param metrics the metrics recording the requests that could not be answered.
+	 * @param preferenceRepository gives access to the preferred verbosity of users.
+	 */
+	public DateNavigationIntentHandler(RevolutionaryDateProvider revolutionaryDateProvider, SkillMetrics metrics,
+			PreferenceRepository preferenceRepository) {
+		this.revolutionaryDateProvider = revolutionaryDateProvider;
+		this.metrics = metrics;
+		this.preferenceRepository = preferenceRepository;
+	}
+
+	@Override
+	public boolean canHandle(HandlerInput input) {
+		return input.matches(intentName(NEXT_DATE)) || input.matches(intentName(PREVIOUS_DATE));
+	}
+
+	@Override
+	public Optional<Response> handle(HandlerInput input) {
+		RequestEnvelope envelope = input.getRequestEnvelope();
+		String locale = envelope.getRequest().getLocale();
+		Intent intent = ((IntentRequest) envelope.getRequest()).getIntent();
+		String stepValue = getSlotValue(intent.getSlots(), STEP_SLOT);
+		LOGGER.info(LogMarkers.REQUEST, "Date navigation intent (session={}, type={}, step={}, locale={})",
+				envelope.getSession().getSessionId(), intent.getName(), stepValue, locale);
+		LocalisedMessages messages = LocalisedMessages.forLanguageTag(locale);
+		long cursor = DateCursor.load(input);
+		Optional<DateStep> step = stepValue == null ? Optional.of(DateStep.DAY) : DateStep.parse(stepValue);
+		if (cursor == DateCursor.NONE || !step.isPresent()) {
+			LOGGER.warn(LogMarkers.UNPARSABLE_DATE, "Unnavigable date (cursor={}, step={}, locale={})",
+					cursor != DateCursor.NONE, stepValue, messages.getLocale());
+			metrics.recordParseFailure(DateNavigationIntentHandler.class.getSimpleName());
+			return getErrorResponse(input, messages);
+		}
+		RevolutionaryDateProvider provider = revolutionaryDateProvider
+				.withCalculationMethod(DateCursor.getMethod(cursor));
+		int date = step.get().move(provider, DateCursor.getDate(cursor), NEXT_DATE.equals(intent.getName()));
+		if (date == PackedRevolutionaryDate.INVALID) {
+			LOGGER.warn(LogMarkers.UNPARSABLE_DATE, "Unsupported date (date={}, step={}, locale={})",
+					PackedRevolutionaryDate.toString(DateCursor.getDate(cursor)), step.get(), messages.getLocale());
+			metrics.recordParseFailure(DateNavigationIntentHandler.class.getSimpleName());
+			return getErrorResponse(input, messages);
+		}
+		String responseKey = preferenceRepository.get(envelope).isBrief() ? "date-with-slot-brief" : "date-with-slot";
+		RenderedDate renderedDate = DateIntentHandler.renderDate(responseKey, date, messages);
+		return DateIntentHandler.getDateResponse(input, renderedDate, provider, messages);
+	}
+
+	/**
+	 * Creates a response containing a simple card and an error message. The session is kept open, along with its
+	 * cursor if any.
+	 *
+	 * @param input the input of the request.
+	 * @param messages the localised messages to be used to construct the response.
+	 * @return the resulting response.
+	 */
+	private Optional<Response> getErrorResponse(HandlerInput input, LocalisedMessages messages) {
+		String errorText = messages.getString("navigation-error");
+		return input.getResponseBuilder()
+				.withSpeech(errorText)
+				.withSimpleCard(messages.getString("card-title"), messages.getString("card-examples"))
+				.withReprompt(errorText)
+				.build();
+	}
+
+	private static String getSlotValue(Map<String, Slot> slots, String name) {
+		Slot slot = slots == null ? null : slots.get(name);
+		return slot == null ? null : slot.getValue();
+	}
+
+}
@@ -0,0 +1,80 @@
+package io.github.pyvesb.alexarevolutionarycalendar.handlers;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+/**
+ * Cache of rendered date of the day responses. Every request for the date of the day in a given locale yields the same
+ * text until the next midnight, so entries are kept per locale along with the day they were rendered for. As devices
+ * may be in different time zones, up to {@value #DAYS_PER_LOCALE} consecutive days can be current at the same time:
+ * each locale has one slot per day modulo {@value #DAYS_PER_LOCALE}, replaced by the first request made on a more
+ * recent day mapping to the same slot. This keeps the cache size bounded by the number of locales.
+ * 
+ * @author Pyves
+ *
+ */
+public class DateOfTheDayCache {
+
+	// Time zones range from UTC-12:00 to UTC+14:00, so at most three dates are current at any given instant.
+	private static final int DAYS_PER_LOCALE = 3;
+
+	private final ConcurrentMap<Locale, AtomicReferenceArray<Entry>> entries = new ConcurrentHashMap<>();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Returns the rendered date of the day for a locale, rendering it if it was not cached for that day.
+	 * 
+	 * @param locale the locale of the request.
+	 * @param epochDay the current day, expressed as a number of days since 1970-01-01.
+	 * @param renderer renders the date of the day in the given locale for the day it is passed.
+	 * @return the rendered date of the day.
+	 */
+	RenderedDate get(Locale locale, long epochDay, LongFunction<RenderedDate> renderer) {
+		AtomicReferenceArray<Entry> slots = entries.get(locale);
+		if (slots == null) {
+			slots = entries.computeIfAbsent(locale, l -> new AtomicReferenceArray<>(DAYS_PER_LOCALE));
+		}
+		int slot = (int) Math.floorMod(epochDay, (long) DAYS_PER_LOCALE);
+		Entry entry = slots.get(slot);
+		if (entry != null && entry.epochDay == epochDay) {
+			hits.increment();
+			return entry.renderedDate;
+		}
+		misses.increment();
+		RenderedDate renderedDate = renderer.apply(epochDay);
+		Entry rendered = new Entry(epochDay, renderedDate);
+		// Concurrent misses may each render the same day; only an entry for a less recent day should be overwritten.
+		while (entry == null || entry.epochDay < epochDay) {
+			if (slots.compareAndSet(slot, entry, rendered)) {
+				break;
+			}
+			entry = slots.get(slot);
+		}
+		return renderedDate;
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	private static final class Entry {
+
+		private final long epochDay;
+		private final RenderedDate renderedDate;
+
+		private Entry(long epochDay, RenderedDate renderedDate) {
+			this.epochDay = epochDay;
+			this.renderedDate = renderedDate;
+		}
+	}
+
+}
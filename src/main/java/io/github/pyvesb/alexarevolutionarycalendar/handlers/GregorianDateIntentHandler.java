@@ -0,0 +1,164 @@
+package io.github.pyvesb.alexarevolutionarycalendar.handlers;
+
+import static com.amazon.ask.request.Predicates.intentName;
+
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.amazon.ask.dispatcher.request.handler.HandlerInput;
+import com.amazon.ask.dispatcher.request.handler.RequestHandler;
+import com.amazon.ask.model.Intent;
+import com.amazon.ask.model.IntentRequest;
+import com.amazon.ask.model.RequestEnvelope;
+import com.amazon.ask.model.Response;
+import com.amazon.ask.model.Slot;
+import com.amazon.ask.response.ResponseBuilder;
+
+import io.github.pyvesb.alexarevolutionarycalendar.date.CalculationMethodParser;
+import io.github.pyvesb.alexarevolutionarycalendar.date.PackedRevolutionaryDate;
+import io.github.pyvesb.alexarevolutionarycalendar.date.RevolutionaryDateProvider;
+import io.github.pyvesb.alexarevolutionarycalendar.date.RevolutionaryMonthParser;
+import io.github.pyvesb.alexarevolutionarycalendar.date.RevolutionaryNameTable;
+import io.github.pyvesb.alexarevolutionarycalendar.i18n.LocalisedMessages;
+import io.github.pyvesb.alexarevolutionarycalendar.logging.LogMarkers;
+import io.github.pyvesb.alexarevolutionarycalendar.metrics.SkillMetrics;
+
+/**
+ * Handles requests converting a revolutionary date to the Gregorian calendar, e.g. "what is 18 Brumaire year 8?". The
+ * intent has three slots: the day of month and the year are AMAZON.NUMBER values, the month is a revolutionary month
+ * name parsed by {@link RevolutionaryMonthParser}. An optional method slot selects the calculation method, see
+ * {@link CalculationMethodParser}.
+ *
+ * @author Pyves
+ *
+ */
+public class GregorianDateIntentHandler implements RequestHandler {
+
+	public static final String GREGORIAN_DATE = "GregorianDateWithSlots";
+
+	private static final Logger LOGGER = LogManager.getLogger(GregorianDateIntentHandler.class);
+	private static final int INVALID_NUMBER = -1;
+
+	private final RevolutionaryDateProvider revolutionaryDateProvider;
+	private final SkillMetrics metrics;
+
+	public GregorianDateIntentHandler(RevolutionaryDateProvider revolutionaryDateProvider) {
+		this(revolutionaryDateProvider, new SkillMetrics());
+	}
+
+	/**
+	 * Creates a handler.
+	 *
+	 * @param revolutionaryDateProvider the provider used to convert dates.
+	 * @param metrics the metrics recording the slot values that could not be parsed.
+	 */
+	public GregorianDateIntentHandler(RevolutionaryDateProvider revolutionaryDateProvider, SkillMetrics metrics) {
+		this.revolutionaryDateProvider = revolutionaryDateProvider;
+		this.metrics = metrics;
+	}
+
+	@Override
+	public boolean canHandle(HandlerInput input) {
+		return input.matches(intentName(GREGORIAN_DATE));
+	}
+
+	@Override
+	public Optional<Response> handle(HandlerInput input) {
+		RequestEnvelope envelope = input.getRequestEnvelope();
+		String locale = envelope.getRequest().getLocale();
+		LOGGER.info(LogMarkers.REQUEST, "Gregorian date intent (session={}, locale={})",
+				envelope.getSession().getSessionId(), locale);
+		LocalisedMessages messages = LocalisedMessages.forLanguageTag(locale);
+		Intent intent = ((IntentRequest) envelope.getRequest()).getIntent();
+		Map<String, Slot> slots = intent.getSlots() == null ? Collections.emptyMap() : intent.getSlots();
+		String day = getSlotValue(slots, "day");
+		String month = getSlotValue(slots, "month");
+		String year = getSlotValue(slots, "year");
+		RevolutionaryDateProvider provider = DateIntentHandler.getProvider(revolutionaryDateProvider, slots);
+		Optional<LocalDate> gregorianDate = provider.getGregorianDate(parseNumber(year),
+				RevolutionaryMonthParser.parse(month), parseNumber(day));
+		if (!gregorianDate.isPresent()) {
+			LOGGER.warn(LogMarkers.UNPARSABLE_DATE,
+					"Unparsable revolutionary date (day={}, month={}, year={}, locale={})", day, month, year,
+					messages.getLocale());
+			metrics.recordParseFailure(GregorianDateIntentHandler.class.getSimpleName());
+			return getErrorResponse(input.getResponseBuilder(), provider, messages);
+		}
+		LOGGER.info(LogMarkers.PARSED_DATE, "Parsed revolutionary date (day={}, month={}, year={}, locale={})", day,
+				month, year, messages.getLocale());
+		return getDateResponse(input.getResponseBuilder(), gregorianDate.get(), provider, messages);
+	}
+
+	/**
+	 * Creates a response containing a standard card with both the revolutionary and the Gregorian dates.
+	 *
+	 * @param responseBuilder used to build the response.
+	 * @param gregorianDate the result of the conversion.
+	 * @param provider the provider of the requested calculation method.
+	 * @param messages the localised messages to be used to construct the response.
+	 * @return the resulting response.
+	 */
+	private Optional<Response> getDateResponse(ResponseBuilder responseBuilder, LocalDate gregorianDate,
+			RevolutionaryDateProvider provider, LocalisedMessages messages) {
+		Locale locale = messages.getLocale();
+		boolean isFrench = messages.isFrench();
+		// Converting back normalises the revolutionary date and provides its weekday for the card.
+		int date = provider.getPackedDate(gregorianDate.toEpochDay());
+		String weekday = gregorianDate.getDayOfWeek().getDisplayName(TextStyle.FULL, locale);
+		String month = gregorianDate.getMonth().getDisplayName(TextStyle.FULL, locale);
+		String speech = messages.format("gregorian-date",
+				DateIntentHandler.getDayOfMonthOrdinal(PackedRevolutionaryDate.getDayOfMonth(date), isFrench),
+				RevolutionaryNameTable.getMonthName(locale, date), PackedRevolutionaryDate.getYear(date), weekday,
+				DateIntentHandler.getDayOfMonthOrdinal(gregorianDate.getDayOfMonth(), isFrench), month,
+				gregorianDate.getYear());
+		String cardText = DateIntentHandler.getCardDate(date, locale) + "\n" + weekday + ", "
+				+ gregorianDate.getDayOfMonth() + " " + month + " " + gregorianDate.getYear();
+		return responseBuilder
+				.withSpeech(speech)
+				.withStandardCard(messages.getString("card-title"), cardText, DateIntentHandler.IMAGE)
+				.withShouldEndSession(true)
+				.build();
+	}
+
+	/**
+	 * Creates a response containing a simple card and an error message.
+	 *
+	 * @param responseBuilder used to build the response.
+	 * @param provider the provider of the requested calculation method.
+	 * @param messages the localised messages to be used to construct the response.
+	 * @return the resulting response.
+	 */
+	private Optional<Response> getErrorResponse(ResponseBuilder responseBuilder, RevolutionaryDateProvider provider,
+			LocalisedMessages messages) {
+		String errorText = messages.format("gregorian-error", provider.getLastFullYear());
+		return responseBuilder
+				.withSpeech(errorText)
+				.withSimpleCard(messages.getString("card-title"), messages.getString("card-examples"))
+				.withReprompt(errorText)
+				.build();
+	}
+
+	private static String getSlotValue(Map<String, Slot> slots, String name) {
+		Slot slot = slots.get(name);
+		return slot == null ? null : slot.getValue();
+	}
+
+	private static int parseNumber(String value) {
+		if (value == null) {
+			return INVALID_NUMBER;
+		}
+		try {
+			return Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			return INVALID_NUMBER;
+		}
+	}
+
+}
@@ -2,9 +2,7 @@ package io.github.pyvesb.alexarevolutionarycalendar.handlers;
 
 import static com.amazon.ask.request.Predicates.intentName;
 
-import java.util.Locale;
 import java.util.Optional;
-import java.util.ResourceBundle;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -14,21 +12,27 @@ import com.amazon.ask.dispatcher.request.handler.RequestHandler;
 import com.amazon.ask.model.RequestEnvelope;
 import com.amazon.ask.model.Response;
 
+import io.github.pyvesb.alexarevolutionarycalendar.i18n.LocalisedMessages;
+import io.github.pyvesb.alexarevolutionarycalendar.logging.LogMarkers;
+
 public class HelpIntentHandler implements RequestHandler {
 
+	public static final String HELP_INTENT = "AMAZON.HelpIntent";
+
 	private static final Logger LOGGER = LogManager.getLogger(HelpIntentHandler.class);
 
 	@Override
 	public boolean canHandle(HandlerInput input) {
-		return input.matches(intentName("AMAZON.HelpIntent"));
+		return input.matches(intentName(HELP_INTENT));
 	}
 
 	@Override
 	public Optional<Response> handle(HandlerInput input) {
 		RequestEnvelope envelope = input.getRequestEnvelope();
 		String locale = envelope.getRequest().getLocale();
-		LOGGER.info("Help intent (session={}, locale={})", envelope.getSession().getSessionId(), locale);
-		ResourceBundle messages = ResourceBundle.getBundle("messages", Locale.forLanguageTag(locale));
+		LOGGER.info(LogMarkers.REQUEST, "Help intent (session={}, locale={})",
+				envelope.getSession().getSessionId(), locale);
+		LocalisedMessages messages = LocalisedMessages.forLanguageTag(locale);
 		String speechText = messages.getString("help");
 		return input.getResponseBuilder()
 				.withSpeech(speechText)
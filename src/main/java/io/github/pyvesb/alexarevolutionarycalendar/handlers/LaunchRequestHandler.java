@@ -2,9 +2,7 @@ package io.github.pyvesb.alexarevolutionarycalendar.handlers;
 
 import static com.amazon.ask.request.Predicates.requestType;
 
-import java.util.Locale;
 import java.util.Optional;
-import java.util.ResourceBundle;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -15,10 +13,29 @@ import com.amazon.ask.model.LaunchRequest;
 import com.amazon.ask.model.RequestEnvelope;
 import com.amazon.ask.model.Response;
 
+import io.github.pyvesb.alexarevolutionarycalendar.i18n.LocalisedMessages;
+import io.github.pyvesb.alexarevolutionarycalendar.logging.LogMarkers;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.PreferenceRepository;
+
 public class LaunchRequestHandler implements RequestHandler {
 
 	private static final Logger LOGGER = LogManager.getLogger(LaunchRequestHandler.class);
 
+	private final PreferenceRepository preferenceRepository;
+
+	public LaunchRequestHandler() {
+		this(PreferenceRepository.disabled());
+	}
+
+	/**
+	 * Creates a handler.
+	 * 
+	 * @param preferenceRepository gives access to the preferred verbosity of users.
+	 */
+	public LaunchRequestHandler(PreferenceRepository preferenceRepository) {
+		this.preferenceRepository = preferenceRepository;
+	}
+
 	@Override
 	public boolean canHandle(HandlerInput input) {
 		return input.matches(requestType(LaunchRequest.class));
@@ -28,9 +45,12 @@ public class LaunchRequestHandler implements RequestHandler {
 	public Optional<Response> handle(HandlerInput input) {
 		RequestEnvelope envelope = input.getRequestEnvelope();
 		String locale = envelope.getRequest().getLocale();
-		LOGGER.info("Launch request (session={}, locale={})", envelope.getSession().getSessionId(), locale);
-		ResourceBundle messages = ResourceBundle.getBundle("messages", Locale.forLanguageTag(locale));
-		String speechText = messages.getString("launch");
+		LOGGER.info(LogMarkers.REQUEST, "Launch request (session={}, locale={})",
+				envelope.getSession().getSessionId(), locale);
+		LocalisedMessages messages = LocalisedMessages.forLanguageTag(locale);
+		// Users who made the skill less verbose already know what it does.
+		boolean brief = preferenceRepository.get(envelope).isBrief();
+		String speechText = messages.getString(brief ? "launch-brief" : "launch");
 		return input.getResponseBuilder()
 				.withSpeech(speechText)
 				.withSimpleCard(messages.getString("card-title"), messages.getString("card-history"))
@@ -0,0 +1,105 @@
+package io.github.pyvesb.alexarevolutionarycalendar.handlers;
+
+import static com.amazon.ask.request.Predicates.intentName;
+
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.amazon.ask.dispatcher.request.handler.HandlerInput;
+import com.amazon.ask.dispatcher.request.handler.RequestHandler;
+import com.amazon.ask.model.Intent;
+import com.amazon.ask.model.IntentRequest;
+import com.amazon.ask.model.RequestEnvelope;
+import com.amazon.ask.model.Response;
+import com.amazon.ask.model.Slot;
+
+import ca.rmen.lfrc.FrenchRevolutionaryCalendar.CalculationMethod;
+import io.github.pyvesb.alexarevolutionarycalendar.date.CalculationMethodParser;
+import io.github.pyvesb.alexarevolutionarycalendar.i18n.LocalisedMessages;
+import io.github.pyvesb.alexarevolutionarycalendar.logging.LogMarkers;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.PreferenceRepository;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.UserPreferences;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.Verbosity;
+import io.github.pyvesb.alexarevolutionarycalendar.timezone.TimeZoneNameParser;
+
+/**
+ * Handles the intent through which users set their preferred time zone, calculation method or verbosity, e.g. "use the
+ * Romme method" or "be brief". Preferences missing from the intent are left unchanged.
+ *
+ * @author Pyves
+ *
+ */
+public class PreferencesIntentHandler implements RequestHandler {
+
+	private static final Logger LOGGER = LogManager.getLogger(PreferencesIntentHandler.class);
+	public static final String SET_PREFERENCES = "SetPreferences";
+	static final String TIME_ZONE_SLOT = "timeZone";
+	static final String VERBOSITY_SLOT = "verbosity";
+
+	private final PreferenceRepository preferenceRepository;
+
+	public PreferencesIntentHandler(PreferenceRepository preferenceRepository) {
+		this.preferenceRepository = preferenceRepository;
+	}
+
+	@Override
+	public boolean canHandle(HandlerInput input) {
+		return input.matches(intentName(SET_PREFERENCES));
+	}
+
+	@Override
+	public Optional<Response> handle(HandlerInput input) {
+		RequestEnvelope envelope = input.getRequestEnvelope();
+		String locale = envelope.getRequest().getLocale();
+		LOGGER.info(LogMarkers.REQUEST, "Preferences intent (session={}, locale={})",
+				envelope.getSession().getSessionId(), locale);
+		LocalisedMessages messages = LocalisedMessages.forLanguageTag(locale);
+		Optional<String> userId = PreferenceRepository.getUserId(envelope);
+		if (!preferenceRepository.isEnabled() || !userId.isPresent()) {
+			return input.getResponseBuilder()
+					.withSpeech(messages.getString("preferences-unavailable"))
+					.withShouldEndSession(true)
+					.build();
+		}
+		Map<String, Slot> slots = ((IntentRequest) envelope.getRequest()).getIntent().getSlots();
+		Optional<ZoneId> timeZone = TimeZoneNameParser.parse(getSlotValue(slots, TIME_ZONE_SLOT));
+		Optional<CalculationMethod> method = CalculationMethodParser.parse(getSlotValue(slots,
+				DateIntentHandler.METHOD_SLOT));
+		Optional<Verbosity> verbosity = Verbosity.parse(getSlotValue(slots, VERBOSITY_SLOT));
+		if (!timeZone.isPresent() && !method.isPresent() && !verbosity.isPresent()) {
+			String errorText = messages.getString("preferences-error");
+			return input.getResponseBuilder()
+					.withSpeech(errorText)
+					.withReprompt(errorText)
+					.build();
+		}
+		Optional<UserPreferences> current = preferenceRepository.getForUpdate(userId.get());
+		if (!current.isPresent()) {
+			// Saving preferences based on a failed load would erase the ones the user previously set.
+			LOGGER.warn("Current preferences unavailable (session={})", envelope.getSession().getSessionId());
+			return input.getResponseBuilder()
+					.withSpeech(messages.getString("preferences-unavailable"))
+					.withShouldEndSession(true)
+					.build();
+		}
+		UserPreferences preferences = current.get();
+		preferences = timeZone.map(preferences::withTimeZone).orElse(preferences);
+		preferences = method.map(preferences::withCalculationMethod).orElse(preferences);
+		preferences = verbosity.map(preferences::withVerbosity).orElse(preferences);
+		preferenceRepository.put(userId.get(), preferences);
+		return input.getResponseBuilder()
+				.withSpeech(messages.getString("preferences-saved"))
+				.withShouldEndSession(true)
+				.build();
+	}
+
+	private static String getSlotValue(Map<String, Slot> slots, String name) {
+		Slot slot = slots == null ? null : slots.get(name);
+		return slot == null ? null : slot.getValue();
+	}
+
+}
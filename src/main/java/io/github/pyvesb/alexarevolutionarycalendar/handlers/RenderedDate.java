@@ -0,0 +1,33 @@
+package io.github.pyvesb.alexarevolutionarycalendar.handlers;
+
+/**
+ * Finished speech and card text of a date response, along with the packed date they were rendered from.
+ * 
+ * @author Pyves
+ *
+ */
+class RenderedDate {
+
+	private final int date;
+	private final String speech;
+	private final String cardText;
+
+	RenderedDate(int date, String speech, String cardText) {
+		this.date = date;
+		this.speech = speech;
+		this.cardText = cardText;
+	}
+
+	int getDate() {
+		return date;
+	}
+
+	String getSpeech() {
+		return speech;
+	}
+
+	String getCardText() {
+		return cardText;
+	}
+
+}
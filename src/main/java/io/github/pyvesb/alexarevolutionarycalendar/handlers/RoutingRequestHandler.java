@@ -0,0 +1,118 @@
+package io.github.pyvesb.alexarevolutionarycalendar.handlers;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.amazon.ask.dispatcher.request.handler.HandlerInput;
+import com.amazon.ask.dispatcher.request.handler.RequestHandler;
+import com.amazon.ask.model.Intent;
+import com.amazon.ask.model.IntentRequest;
+import com.amazon.ask.model.Request;
+import com.amazon.ask.model.Response;
+
+/**
+ * Request handler delegating to other handlers based on the type of the request and, for intent requests, on the name
+ * of the intent. Routes are indexed when the handler is built, so that dispatching a request costs a single hash
+ * lookup regardless of the number of registered handlers, instead of evaluating the predicates of each handler in turn.
+ * Delegates are invoked directly, their canHandle methods are not called.
+ *
+ * @author Pyves
+ *
+ */
+public class RoutingRequestHandler implements RequestHandler {
+
+	private final Map<Class<? extends Request>, RequestHandler> requestTypeRoutes;
+	private final Map<String, RequestHandler> intentRoutes;
+
+	private RoutingRequestHandler(Builder builder) {
+		this.requestTypeRoutes = Collections.unmodifiableMap(new HashMap<>(builder.requestTypeRoutes));
+		this.intentRoutes = Collections.unmodifiableMap(new HashMap<>(builder.intentRoutes));
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	@Override
+	public boolean canHandle(HandlerInput input) {
+		return route(input) != null;
+	}
+
+	@Override
+	public Optional<Response> handle(HandlerInput input) {
+		RequestHandler handler = route(input);
+		if (handler == null) {
+			throw new IllegalStateException("No route for request " + input.getRequestEnvelope().getRequest());
+		}
+		return handler.handle(input);
+	}
+
+	private RequestHandler route(HandlerInput input) {
+		Request request = input.getRequestEnvelope().getRequest();
+		if (request instanceof IntentRequest) {
+			Intent intent = ((IntentRequest) request).getIntent();
+			return intent == null ? null : intentRoutes.get(intent.getName());
+		}
+		return request == null ? null : requestTypeRoutes.get(request.getClass());
+	}
+
+	public static class Builder {
+
+		private final Map<Class<? extends Request>, RequestHandler> requestTypeRoutes = new HashMap<>();
+		private final Map<String, RequestHandler> intentRoutes = new HashMap<>();
+
+		private Builder() {
+			// Use RoutingRequestHandler.builder().
+		}
+
+		/**
+		 * Routes all requests of a given type to a handler. Intent requests must be routed by intent name instead.
+		 *
+		 * @param requestType the type of the requests, e.g. LaunchRequest.class.
+		 * @param handler the handler to delegate to.
+		 * @return this builder.
+		 * @throws IllegalArgumentException if the type is IntentRequest or already routed.
+		 */
+		public Builder withRequestType(Class<? extends Request> requestType, RequestHandler handler) {
+			if (IntentRequest.class.equals(requestType)) {
+				throw new IllegalArgumentException("Intent requests must be routed by intent name.");
+			}
+			if (requestTypeRoutes.putIfAbsent(requestType, handler) != null) {
+				throw new IllegalArgumentException("Request type " + requestType.getSimpleName() + " already routed.");
+			}
+			return this;
+		}
+
+		/**
+		 * Routes intent requests with the given intent names to a handler. No route is added if any of the names is
+		 * rejected.
+		 *
+		 * @param handler the handler to delegate to.
+		 * @param intentNames the names of the intents, e.g. "AMAZON.HelpIntent".
+		 * @return this builder.
+		 * @throws IllegalArgumentException if one of the intents is already routed or given more than once.
+		 */
+		public Builder withIntents(RequestHandler handler, String... intentNames) {
+			Set<String> newIntentNames = new HashSet<>();
+			for (String intentName : intentNames) {
+				if (intentRoutes.containsKey(intentName) || !newIntentNames.add(intentName)) {
+					throw new IllegalArgumentException("Intent " + intentName + " already routed.");
+				}
+			}
+			for (String intentName : newIntentNames) {
+				intentRoutes.put(intentName, handler);
+			}
+			return this;
+		}
+
+		public RoutingRequestHandler build() {
+			return new RoutingRequestHandler(this);
+		}
+
+	}
+
+}
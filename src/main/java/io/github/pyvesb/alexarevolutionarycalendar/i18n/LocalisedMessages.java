@@ -0,0 +1,180 @@
+package io.github.pyvesb.alexarevolutionarycalendar.i18n;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable set of messages for a given locale, loaded from the messages_*.properties resources. Contexts for the
+ * locales supported by the skill are loaded once when the class is initialised, other locales are resolved on first use
+ * and then cached, so that handlers only perform a single map lookup on the raw locale of each request.
+ * 
+ * Resolution mirrors ResourceBundle: the most specific messages file among the candidates of the requested locale is
+ * used (e.g. en_GB then en), with less specific files providing missing keys. If no file matches, the candidates of the
+ * default locale are tried, and English is used as a last resort.
+ * 
+ * @author Pyves
+ *
+ */
+public class LocalisedMessages {
+
+	private static final String BASE_NAME = "messages";
+	private static final ResourceBundle.Control CONTROL = ResourceBundle.Control
+			.getControl(ResourceBundle.Control.FORMAT_PROPERTIES);
+	private static final Locale LAST_RESORT_LOCALE = Locale.ENGLISH;
+	private static final List<String> SUPPORTED_LANGUAGE_TAGS = Arrays.asList("en-GB", "en-US", "en-CA", "en-AU",
+			"en-IN", "fr-FR", "fr-CA");
+
+	// Contents of the messages files, an empty optional meaning that there is no file for a given locale.
+	private static final ConcurrentMap<Locale, Optional<Map<String, String>>> FILES = new ConcurrentHashMap<>();
+	private static final ConcurrentMap<Locale, LocalisedMessages> BY_MESSAGES_LOCALE = new ConcurrentHashMap<>();
+	private static final ConcurrentMap<String, LocalisedMessages> BY_LANGUAGE_TAG = new ConcurrentHashMap<>();
+
+	static {
+		SUPPORTED_LANGUAGE_TAGS.forEach(LocalisedMessages::forLanguageTag);
+	}
+
+	private final Locale locale;
+	private final boolean french;
+	private final Map<String, String> strings;
+	private final Map<String, MessageTemplate> templates;
+
+	private LocalisedMessages(Locale locale, Map<String, String> strings) {
+		this.locale = locale;
+		this.french = Locale.FRENCH.getLanguage().equals(locale.getLanguage());
+		this.strings = Collections.unmodifiableMap(strings);
+		Map<String, MessageTemplate> compiledTemplates = new HashMap<>();
+		strings.forEach((key, value) -> {
+			if (value.indexOf('%') >= 0) {
+				compiledTemplates.put(key, MessageTemplate.compile(value));
+			}
+		});
+		this.templates = Collections.unmodifiableMap(compiledTemplates);
+	}
+
+	/**
+	 * Returns the messages to use for a request.
+	 * 
+	 * @param languageTag the raw locale of the request, e.g. "en-GB".
+	 * @return the messages, shared with all other requests resolving to the same messages file.
+	 */
+	public static LocalisedMessages forLanguageTag(String languageTag) {
+		String key = languageTag == null ? "" : languageTag;
+		LocalisedMessages messages = BY_LANGUAGE_TAG.get(key);
+		return messages != null ? messages : BY_LANGUAGE_TAG.computeIfAbsent(key, LocalisedMessages::resolve);
+	}
+
+	/**
+	 * Returns the locales the skill is published in, whose messages are loaded when the class is initialised.
+	 * 
+	 * @return the language tags of the supported locales, e.g. "en-GB".
+	 */
+	public static List<String> getSupportedLanguageTags() {
+		return Collections.unmodifiableList(SUPPORTED_LANGUAGE_TAGS);
+	}
+
+	/**
+	 * Returns the locale of the most specific messages file used by this instance, e.g. "en" for an "en-GB" request.
+	 * 
+	 * @return the canonical locale of these messages.
+	 */
+	public Locale getLocale() {
+		return locale;
+	}
+
+	public boolean isFrench() {
+		return french;
+	}
+
+	/**
+	 * Gets a message without placeholders.
+	 * 
+	 * @param key the key of the message.
+	 * @return the message.
+	 * @throws MissingResourceException if there is no message for the key.
+	 */
+	public String getString(String key) {
+		String value = strings.get(key);
+		if (value == null) {
+			throw new MissingResourceException("Missing message " + key + " for locale " + locale, BASE_NAME, key);
+		}
+		return value;
+	}
+
+	/**
+	 * Formats a message containing placeholders using its precompiled template.
+	 * 
+	 * @param key the key of the message.
+	 * @param arguments the arguments referenced by the placeholders.
+	 * @return the formatted message.
+	 * @throws MissingResourceException if there is no message with placeholders for the key.
+	 */
+	public String format(String key, Object... arguments) {
+		MessageTemplate template = templates.get(key);
+		if (template == null) {
+			throw new MissingResourceException("Missing template " + key + " for locale " + locale, BASE_NAME, key);
+		}
+		return template.format(arguments);
+	}
+
+	private static LocalisedMessages resolve(String languageTag) {
+		Optional<LocalisedMessages> messages = resolve(Locale.forLanguageTag(languageTag));
+		if (!messages.isPresent()) {
+			messages = resolve(Locale.getDefault());
+		}
+		return messages.orElseGet(() -> resolve(LAST_RESORT_LOCALE).orElseThrow(
+				() -> new MissingResourceException("No messages file found", BASE_NAME, "")));
+	}
+
+	private static Optional<LocalisedMessages> resolve(Locale requestedLocale) {
+		for (Locale candidate : CONTROL.getCandidateLocales(BASE_NAME, requestedLocale)) {
+			if (!Locale.ROOT.equals(candidate) && loadFile(candidate).isPresent()) {
+				return Optional.of(BY_MESSAGES_LOCALE.computeIfAbsent(candidate, LocalisedMessages::build));
+			}
+		}
+		return Optional.empty();
+	}
+
+	private static LocalisedMessages build(Locale messagesLocale) {
+		List<Locale> candidates = CONTROL.getCandidateLocales(BASE_NAME, messagesLocale);
+		Map<String, String> strings = new HashMap<>();
+		// Candidates go from the most to the least specific locale, more specific files take precedence.
+		for (int i = candidates.size() - 1; i >= 0; --i) {
+			loadFile(candidates.get(i)).ifPresent(strings::putAll);
+		}
+		return new LocalisedMessages(messagesLocale, strings);
+	}
+
+	private static Optional<Map<String, String>> loadFile(Locale locale) {
+		return FILES.computeIfAbsent(locale, l -> readProperties(CONTROL.toBundleName(BASE_NAME, l) + ".properties"));
+	}
+
+	private static Optional<Map<String, String>> readProperties(String resourceName) {
+		try (InputStream input = LocalisedMessages.class.getClassLoader().getResourceAsStream(resourceName)) {
+			if (input == null) {
+				return Optional.empty();
+			}
+			// Properties are read as ISO-8859-1, like the messages files are encoded.
+			Properties properties = new Properties();
+			properties.load(input);
+			Map<String, String> strings = new HashMap<>();
+			properties.stringPropertyNames().forEach(key -> strings.put(key, properties.getProperty(key)));
+			return Optional.of(strings);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+}
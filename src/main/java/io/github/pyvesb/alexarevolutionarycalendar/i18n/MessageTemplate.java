@@ -0,0 +1,94 @@
+package io.github.pyvesb.alexarevolutionarycalendar.i18n;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precompiled message containing placeholders. Supports the subset of the java.util.Formatter syntax used by the
+ * messages files: explicitly indexed (e.g. "%2$s") or sequential ("%s") string and integer placeholders, as well as
+ * "%%". Formatting merely concatenates literals and arguments, without parsing the pattern again.
+ * 
+ * @author Pyves
+ *
+ */
+public class MessageTemplate {
+
+	private final String[] literals;
+	private final int[] argumentIndexes;
+	private final int literalsLength;
+
+	private MessageTemplate(String[] literals, int[] argumentIndexes) {
+		this.literals = literals;
+		this.argumentIndexes = argumentIndexes;
+		int length = 0;
+		for (String literal : literals) {
+			length += literal.length();
+		}
+		this.literalsLength = length;
+	}
+
+	/**
+	 * Compiles a pattern.
+	 * 
+	 * @param pattern the pattern to compile, e.g. "Today is %1$s the %2$s of %3$s %4$d.".
+	 * @return the compiled template.
+	 * @throws IllegalArgumentException if the pattern contains an unsupported placeholder.
+	 */
+	public static MessageTemplate compile(String pattern) {
+		List<String> literals = new ArrayList<>();
+		List<Integer> argumentIndexes = new ArrayList<>();
+		StringBuilder literal = new StringBuilder();
+		int nextSequentialIndex = 0;
+		int i = 0;
+		while (i < pattern.length()) {
+			char c = pattern.charAt(i++);
+			if (c != '%') {
+				literal.append(c);
+				continue;
+			}
+			if (i < pattern.length() && pattern.charAt(i) == '%') {
+				literal.append('%');
+				++i;
+				continue;
+			}
+			int index = 0;
+			int digitsStart = i;
+			while (i < pattern.length() && Character.isDigit(pattern.charAt(i))) {
+				index = index * 10 + pattern.charAt(i++) - '0';
+			}
+			if (i > digitsStart) {
+				if (index == 0 || i >= pattern.length() || pattern.charAt(i++) != '$') {
+					throw new IllegalArgumentException("Unsupported placeholder in pattern: " + pattern);
+				}
+				--index; // Formatter indexes are 1 based.
+			} else {
+				index = nextSequentialIndex++;
+			}
+			if (i >= pattern.length() || (pattern.charAt(i) != 's' && pattern.charAt(i) != 'd')) {
+				throw new IllegalArgumentException("Unsupported placeholder in pattern: " + pattern);
+			}
+			++i;
+			literals.add(literal.toString());
+			literal.setLength(0);
+			argumentIndexes.add(index);
+		}
+		literals.add(literal.toString());
+		return new MessageTemplate(literals.toArray(new String[0]),
+				argumentIndexes.stream().mapToInt(Integer::intValue).toArray());
+	}
+
+	/**
+	 * Formats the template with the given arguments, similarly to String.format.
+	 * 
+	 * @param arguments the arguments referenced by the placeholders.
+	 * @return the formatted message.
+	 */
+	public String format(Object... arguments) {
+		StringBuilder message = new StringBuilder(literalsLength + 16 * argumentIndexes.length);
+		for (int i = 0; i < argumentIndexes.length; ++i) {
+			message.append(literals[i]).append(arguments[argumentIndexes[i]]);
+		}
+		return message.append(literals[argumentIndexes.length]).toString();
+	}
+
+}
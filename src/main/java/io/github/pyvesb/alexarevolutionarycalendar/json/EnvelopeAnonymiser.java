@@ -0,0 +1,130 @@
+package io.github.pyvesb.alexarevolutionarycalendar.json;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Rewrites request envelopes so that they can be stored and replayed without identifying users. Identifiers of users,
+ * persons, devices, units, sessions and requests are replaced by pseudonyms that keep their prefix, e.g.
+ * "amzn1.ask.account.", and are derived from the original value and a secret salt: envelopes of a same session or
+ * user can still be correlated, but not traced back to the original identifiers. Tokens granting access to Alexa APIs
+ * are removed altogether, and so is the geolocation of the device. Everything else, including slot values and locales,
+ * is kept as is.
+ *
+ * @author Pyves
+ *
+ */
+public class EnvelopeAnonymiser {
+
+	static final String REDACTED = "ANONYMISED";
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+	private static final Set<String> IDENTIFIERS = new HashSet<>(Arrays.asList("userId", "personId", "deviceId",
+			"unitId", "persistentUnitId", "sessionId", "requestId"));
+	private static final Set<String> TOKENS = new HashSet<>(Arrays.asList("apiAccessToken", "accessToken",
+			"consentToken"));
+	// Objects removed along with their field name.
+	private static final Set<String> REMOVED_OBJECTS = new HashSet<>(Arrays.asList("Geolocation"));
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+	private static final int PSEUDONYM_BYTES = 16;
+
+	private final byte[] salt;
+
+	/**
+	 * Creates an anonymiser with a random salt, pseudonyms are therefore only stable for the lifetime of the instance.
+	 */
+	public EnvelopeAnonymiser() {
+		this(randomSalt());
+	}
+
+	EnvelopeAnonymiser(byte[] salt) {
+		this.salt = salt.clone();
+	}
+
+	/**
+	 * Anonymises a request envelope.
+	 *
+	 * @param json the raw UTF-8 JSON of the envelope.
+	 * @return the anonymised envelope as compact JSON on a single line, or an empty optional if the envelope is not a
+	 *         well-formed JSON object.
+	 */
+	public Optional<String> anonymise(byte[] json) {
+		StringWriter writer = new StringWriter(json.length);
+		try (JsonParser parser = JSON_FACTORY.createParser(json);
+				JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				return Optional.empty();
+			}
+			generator.copyCurrentEvent(parser);
+			String field = null;
+			JsonToken token;
+			while ((token = parser.nextToken()) != null) {
+				if (token == JsonToken.FIELD_NAME && REMOVED_OBJECTS.contains(parser.getCurrentName())) {
+					parser.nextToken();
+					parser.skipChildren();
+				} else if (token == JsonToken.FIELD_NAME) {
+					field = parser.getCurrentName();
+					generator.copyCurrentEvent(parser);
+				} else if (token == JsonToken.VALUE_STRING && TOKENS.contains(field)) {
+					generator.writeString(REDACTED);
+				} else if (token == JsonToken.VALUE_STRING && IDENTIFIERS.contains(field)) {
+					generator.writeString(pseudonymise(parser.getText()));
+				} else {
+					generator.copyCurrentEvent(parser);
+				}
+				if (token != JsonToken.FIELD_NAME) {
+					field = null;
+				}
+			}
+		} catch (IOException e) {
+			return Optional.empty();
+		}
+		return Optional.of(writer.toString());
+	}
+
+	/**
+	 * Replaces the part of an identifier following its last dot by a salted hash.
+	 *
+	 * @param identifier the original identifier, e.g. "amzn1.ask.account.AF3G...".
+	 * @return the pseudonym, e.g. "amzn1.ask.account.5d41402abc4b2a76b9719d911017c592".
+	 */
+	private String pseudonymise(String identifier) {
+		MessageDigest digest = getDigest();
+		digest.update(salt);
+		byte[] hash = digest.digest(identifier.getBytes(StandardCharsets.UTF_8));
+		StringBuilder pseudonym = new StringBuilder(identifier.substring(0, identifier.lastIndexOf('.') + 1));
+		for (int i = 0; i < PSEUDONYM_BYTES; ++i) {
+			pseudonym.append(HEX_DIGITS[(hash[i] >> 4) & 0xF]).append(HEX_DIGITS[hash[i] & 0xF]);
+		}
+		return pseudonym.toString();
+	}
+
+	private static byte[] randomSalt() {
+		byte[] salt = new byte[PSEUDONYM_BYTES];
+		new SecureRandom().nextBytes(salt);
+		return salt;
+	}
+
+	private static MessageDigest getDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform is required to support SHA-256.
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
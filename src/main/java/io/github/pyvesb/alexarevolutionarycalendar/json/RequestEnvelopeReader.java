@@ -0,0 +1,388 @@
+package io.github.pyvesb.alexarevolutionarycalendar.json;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.amazon.ask.model.Application;
+import com.amazon.ask.model.Context;
+import com.amazon.ask.model.Device;
+import com.amazon.ask.model.Intent;
+import com.amazon.ask.model.IntentRequest;
+import com.amazon.ask.model.LaunchRequest;
+import com.amazon.ask.model.Request;
+import com.amazon.ask.model.RequestEnvelope;
+import com.amazon.ask.model.Session;
+import com.amazon.ask.model.SessionEndedRequest;
+import com.amazon.ask.model.Slot;
+import com.amazon.ask.model.User;
+import com.amazon.ask.model.interfaces.system.SystemState;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Reads request envelopes with a streaming tokenizer, without relying on Jackson's reflective databinding. Only the
+ * parts of the envelope used by the skill and by the SDK pipeline are extracted: session (identifier, new flag,
+ * application and user identifiers), system context (application, user and device identifiers, API endpoint and
+ * token), and request (type, identifier, locale, intent name and slot names and values). Everything else, such as
+ * timestamps, dialog states, confirmation statuses or entity resolutions, is skipped.
+ *
+ * Only launch, intent and session ended requests are supported, with flat session attributes. Other request types,
+ * envelopes carrying nested session attributes and malformed documents are rejected, and are expected to be handled by
+ * the SDK instead.
+ *
+ * @author Pyves
+ *
+ */
+public class RequestEnvelopeReader {
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	/**
+	 * Reads a request envelope.
+	 *
+	 * @param json the raw UTF-8 JSON of the envelope.
+	 * @return the envelope wrapped in an optional or an empty optional if the envelope is not supported.
+	 */
+	public static Optional<RequestEnvelope> read(byte[] json) {
+		try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+			parser.nextToken();
+			RequestEnvelope envelope = readEnvelope(parser);
+			if (parser.nextToken() != null) {
+				throw new UnsupportedEnvelopeException("trailing content");
+			}
+			return Optional.of(envelope);
+		} catch (IOException | UnsupportedEnvelopeException e) {
+			return Optional.empty();
+		}
+	}
+
+	private static RequestEnvelope readEnvelope(JsonParser parser) throws IOException, UnsupportedEnvelopeException {
+		expectObject(parser);
+		RequestEnvelope.Builder builder = RequestEnvelope.builder();
+		Request request = null;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			parser.nextToken();
+			switch (field) {
+				case "version":
+					builder.withVersion(readString(parser));
+					break;
+				case "session":
+					builder.withSession(readSession(parser));
+					break;
+				case "context":
+					builder.withContext(readContext(parser));
+					break;
+				case "request":
+					request = readRequest(parser);
+					break;
+				default:
+					parser.skipChildren();
+			}
+		}
+		if (request == null) {
+			throw new UnsupportedEnvelopeException("missing request");
+		}
+		return builder.withRequest(request).build();
+	}
+
+	private static Session readSession(JsonParser parser) throws IOException, UnsupportedEnvelopeException {
+		if (isNull(parser)) {
+			return null;
+		}
+		expectObject(parser);
+		Session.Builder builder = Session.builder();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			parser.nextToken();
+			switch (field) {
+				case "new":
+					builder.withNew(readBoolean(parser));
+					break;
+				case "sessionId":
+					builder.withSessionId(readString(parser));
+					break;
+				case "application":
+					builder.withApplication(readApplication(parser));
+					break;
+				case "user":
+					builder.withUser(readUser(parser));
+					break;
+				case "attributes":
+					builder.withAttributes(readAttributes(parser));
+					break;
+				default:
+					parser.skipChildren();
+			}
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Reads flat session attributes, e.g. {"cursor":115945}, into the same types as the SDK's deserializer. Nested
+	 * objects and arrays are not supported.
+	 */
+	private static Map<String, Object> readAttributes(JsonParser parser)
+			throws IOException, UnsupportedEnvelopeException {
+		if (isNull(parser)) {
+			return null;
+		}
+		expectObject(parser);
+		Map<String, Object> attributes = new LinkedHashMap<>();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String key = parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+			switch (token) {
+				case VALUE_STRING:
+					attributes.put(key, parser.getText());
+					break;
+				case VALUE_NUMBER_INT:
+					// Integer, Long or BigInteger depending on the magnitude of the number.
+					attributes.put(key, parser.getNumberValue());
+					break;
+				case VALUE_NUMBER_FLOAT:
+					attributes.put(key, parser.getDoubleValue());
+					break;
+				case VALUE_TRUE:
+				case VALUE_FALSE:
+					attributes.put(key, token == JsonToken.VALUE_TRUE);
+					break;
+				case VALUE_NULL:
+					attributes.put(key, null);
+					break;
+				default:
+					throw new UnsupportedEnvelopeException("nested session attributes");
+			}
+		}
+		return attributes;
+	}
+
+	private static Context readContext(JsonParser parser) throws IOException, UnsupportedEnvelopeException {
+		if (isNull(parser)) {
+			return null;
+		}
+		expectObject(parser);
+		Context.Builder builder = Context.builder();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			parser.nextToken();
+			if ("System".equals(field)) {
+				builder.withSystem(readSystemState(parser));
+			} else {
+				parser.skipChildren();
+			}
+		}
+		return builder.build();
+	}
+
+	private static SystemState readSystemState(JsonParser parser) throws IOException, UnsupportedEnvelopeException {
+		if (isNull(parser)) {
+			return null;
+		}
+		expectObject(parser);
+		SystemState.Builder builder = SystemState.builder();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			parser.nextToken();
+			switch (field) {
+				case "application":
+					builder.withApplication(readApplication(parser));
+					break;
+				case "user":
+					builder.withUser(readUser(parser));
+					break;
+				case "device":
+					builder.withDevice(readDevice(parser));
+					break;
+				case "apiEndpoint":
+					builder.withApiEndpoint(readString(parser));
+					break;
+				case "apiAccessToken":
+					builder.withApiAccessToken(readString(parser));
+					break;
+				default:
+					parser.skipChildren();
+			}
+		}
+		return builder.build();
+	}
+
+	private static Application readApplication(JsonParser parser) throws IOException, UnsupportedEnvelopeException {
+		if (isNull(parser)) {
+			return null;
+		}
+		return Application.builder().withApplicationId(readSingleStringField(parser, "applicationId")).build();
+	}
+
+	private static User readUser(JsonParser parser) throws IOException, UnsupportedEnvelopeException {
+		if (isNull(parser)) {
+			return null;
+		}
+		return User.builder().withUserId(readSingleStringField(parser, "userId")).build();
+	}
+
+	private static Device readDevice(JsonParser parser) throws IOException, UnsupportedEnvelopeException {
+		if (isNull(parser)) {
+			return null;
+		}
+		return Device.builder().withDeviceId(readSingleStringField(parser, "deviceId")).build();
+	}
+
+	private static Request readRequest(JsonParser parser) throws IOException, UnsupportedEnvelopeException {
+		expectObject(parser);
+		String type = null;
+		String requestId = null;
+		String locale = null;
+		Intent intent = null;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			parser.nextToken();
+			switch (field) {
+				case "type":
+					type = readString(parser);
+					break;
+				case "requestId":
+					requestId = readString(parser);
+					break;
+				case "locale":
+					locale = readString(parser);
+					break;
+				case "intent":
+					intent = readIntent(parser);
+					break;
+				default:
+					parser.skipChildren();
+			}
+		}
+		if ("LaunchRequest".equals(type)) {
+			return LaunchRequest.builder().withRequestId(requestId).withLocale(locale).build();
+		} else if ("IntentRequest".equals(type)) {
+			return IntentRequest.builder().withRequestId(requestId).withLocale(locale).withIntent(intent).build();
+		} else if ("SessionEndedRequest".equals(type)) {
+			return SessionEndedRequest.builder().withRequestId(requestId).withLocale(locale).build();
+		}
+		throw new UnsupportedEnvelopeException("request type " + type);
+	}
+
+	private static Intent readIntent(JsonParser parser) throws IOException, UnsupportedEnvelopeException {
+		if (isNull(parser)) {
+			return null;
+		}
+		expectObject(parser);
+		Intent.Builder builder = Intent.builder();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			parser.nextToken();
+			if ("name".equals(field)) {
+				builder.withName(readString(parser));
+			} else if ("slots".equals(field)) {
+				builder.withSlots(readSlots(parser));
+			} else {
+				parser.skipChildren();
+			}
+		}
+		return builder.build();
+	}
+
+	private static Map<String, Slot> readSlots(JsonParser parser) throws IOException, UnsupportedEnvelopeException {
+		if (isNull(parser)) {
+			return null;
+		}
+		expectObject(parser);
+		Map<String, Slot> slots = new HashMap<>();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String key = parser.getCurrentName();
+			parser.nextToken();
+			if (isNull(parser)) {
+				slots.put(key, null);
+				continue;
+			}
+			expectObject(parser);
+			Slot.Builder builder = Slot.builder();
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.getCurrentName();
+				parser.nextToken();
+				if ("name".equals(field)) {
+					builder.withName(readString(parser));
+				} else if ("value".equals(field)) {
+					builder.withValue(readString(parser));
+				} else {
+					parser.skipChildren();
+				}
+			}
+			slots.put(key, builder.build());
+		}
+		return slots;
+	}
+
+	/**
+	 * Reads an object of which a single string field is of interest, e.g. {"applicationId":"amzn1.ask.skill.xxx"}.
+	 */
+	private static String readSingleStringField(JsonParser parser, String name)
+			throws IOException, UnsupportedEnvelopeException {
+		expectObject(parser);
+		String value = null;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			parser.nextToken();
+			if (name.equals(field)) {
+				value = readString(parser);
+			} else {
+				parser.skipChildren();
+			}
+		}
+		return value;
+	}
+
+	private static String readString(JsonParser parser) throws IOException, UnsupportedEnvelopeException {
+		JsonToken token = parser.currentToken();
+		if (token == JsonToken.VALUE_NULL) {
+			return null;
+		} else if (token != JsonToken.VALUE_STRING) {
+			throw new UnsupportedEnvelopeException("expected string but got " + token);
+		}
+		return parser.getText();
+	}
+
+	private static Boolean readBoolean(JsonParser parser) throws UnsupportedEnvelopeException {
+		JsonToken token = parser.currentToken();
+		if (token == JsonToken.VALUE_NULL) {
+			return null;
+		} else if (!token.isBoolean()) {
+			throw new UnsupportedEnvelopeException("expected boolean but got " + token);
+		}
+		return token == JsonToken.VALUE_TRUE;
+	}
+
+	private static boolean isNull(JsonParser parser) {
+		return parser.currentToken() == JsonToken.VALUE_NULL;
+	}
+
+	private static void expectObject(JsonParser parser) throws UnsupportedEnvelopeException {
+		if (parser.currentToken() != JsonToken.START_OBJECT) {
+			throw new UnsupportedEnvelopeException("expected object but got " + parser.currentToken());
+		}
+	}
+
+	/**
+	 * Signals content that this reader does not handle identically to the SDK, no stack trace is needed.
+	 */
+	private static class UnsupportedEnvelopeException extends Exception {
+
+		private static final long serialVersionUID = 1L;
+
+		UnsupportedEnvelopeException(String message) {
+			super(message, null, false, false);
+		}
+
+	}
+
+	private RequestEnvelopeReader() {
+		// Not used.
+	}
+
+}
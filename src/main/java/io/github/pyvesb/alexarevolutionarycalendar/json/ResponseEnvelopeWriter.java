@@ -0,0 +1,186 @@
+package io.github.pyvesb.alexarevolutionarycalendar.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+import com.amazon.ask.model.Response;
+import com.amazon.ask.model.ResponseEnvelope;
+import com.amazon.ask.model.ui.Card;
+import com.amazon.ask.model.ui.Image;
+import com.amazon.ask.model.ui.OutputSpeech;
+import com.amazon.ask.model.ui.PlainTextOutputSpeech;
+import com.amazon.ask.model.ui.Reprompt;
+import com.amazon.ask.model.ui.SimpleCard;
+import com.amazon.ask.model.ui.SsmlOutputSpeech;
+import com.amazon.ask.model.ui.StandardCard;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Writes response envelopes with a streaming generator, without relying on Jackson's reflective databinding. The
+ * output is identical to the SDK's serializer: fields are written in the same order and null or empty values are
+ * omitted.
+ *
+ * Only the response elements produced by the skill are supported: SSML and plain text speech, simple and standard
+ * cards, reprompts, the end of session flag and session attributes holding strings, integers or booleans. Envelopes
+ * containing directives or other session attributes must be serialized by the SDK instead.
+ *
+ * @author Pyves
+ *
+ */
+public class ResponseEnvelopeWriter {
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	/**
+	 * Checks whether an envelope only contains elements supported by this writer.
+	 *
+	 * @param envelope the envelope to check.
+	 * @return true if the envelope can be written, false otherwise.
+	 */
+	public static boolean canWrite(ResponseEnvelope envelope) {
+		if (!isSupported(envelope.getSessionAttributes())) {
+			return false;
+		}
+		Response response = envelope.getResponse();
+		if (response == null) {
+			return true;
+		}
+		Reprompt reprompt = response.getReprompt();
+		return (response.getDirectives() == null || response.getDirectives().isEmpty())
+				&& isSupported(response.getOutputSpeech())
+				&& isSupported(response.getCard())
+				&& (reprompt == null || isSupported(reprompt.getOutputSpeech()));
+	}
+
+	/**
+	 * Writes an envelope as UTF-8 JSON. The output stream is not closed.
+	 *
+	 * @param envelope the envelope to write, for which {@link #canWrite(ResponseEnvelope)} must return true.
+	 * @param output the stream to write to.
+	 * @throws IOException if the output stream could not be written to.
+	 */
+	public static void write(ResponseEnvelope envelope, OutputStream output) throws IOException {
+		try (JsonGenerator generator = JSON_FACTORY.createGenerator(output, JsonEncoding.UTF8)) {
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			generator.writeStartObject();
+			writeString(generator, "version", envelope.getVersion());
+			writeSessionAttributes(generator, envelope.getSessionAttributes());
+			writeString(generator, "userAgent", envelope.getUserAgent());
+			Response response = envelope.getResponse();
+			if (response != null) {
+				generator.writeObjectFieldStart("response");
+				writeOutputSpeech(generator, response.getOutputSpeech());
+				writeCard(generator, response.getCard());
+				Reprompt reprompt = response.getReprompt();
+				if (reprompt != null) {
+					generator.writeObjectFieldStart("reprompt");
+					writeOutputSpeech(generator, reprompt.getOutputSpeech());
+					generator.writeEndObject();
+				}
+				if (response.getShouldEndSession() != null) {
+					generator.writeBooleanField("shouldEndSession", response.getShouldEndSession());
+				}
+				generator.writeEndObject();
+			}
+			generator.writeEndObject();
+		}
+	}
+
+	private static boolean isSupported(Map<String, Object> sessionAttributes) {
+		if (sessionAttributes == null) {
+			return true;
+		}
+		for (Object value : sessionAttributes.values()) {
+			// Null and empty values are omitted by the SDK's serializer, floating-point numbers may be formatted
+			// differently.
+			if (!(value instanceof Integer || value instanceof Long || value instanceof Boolean
+					|| value instanceof String && !((String) value).isEmpty())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isSupported(OutputSpeech outputSpeech) {
+		return outputSpeech == null || outputSpeech instanceof SsmlOutputSpeech
+				|| outputSpeech instanceof PlainTextOutputSpeech;
+	}
+
+	private static boolean isSupported(Card card) {
+		return card == null || card instanceof SimpleCard || card instanceof StandardCard;
+	}
+
+	private static void writeSessionAttributes(JsonGenerator generator, Map<String, Object> sessionAttributes)
+			throws IOException {
+		// The SDK's serializer omits empty maps.
+		if (sessionAttributes == null || sessionAttributes.isEmpty()) {
+			return;
+		}
+		generator.writeObjectFieldStart("sessionAttributes");
+		for (Map.Entry<String, Object> attribute : sessionAttributes.entrySet()) {
+			Object value = attribute.getValue();
+			if (value instanceof String) {
+				generator.writeStringField(attribute.getKey(), (String) value);
+			} else if (value instanceof Boolean) {
+				generator.writeBooleanField(attribute.getKey(), (Boolean) value);
+			} else {
+				generator.writeNumberField(attribute.getKey(), ((Number) value).longValue());
+			}
+		}
+		generator.writeEndObject();
+	}
+
+	private static void writeOutputSpeech(JsonGenerator generator, OutputSpeech outputSpeech) throws IOException {
+		if (outputSpeech == null) {
+			return;
+		}
+		generator.writeObjectFieldStart("outputSpeech");
+		writeString(generator, "type", outputSpeech.getType());
+		if (outputSpeech instanceof SsmlOutputSpeech) {
+			writeString(generator, "ssml", ((SsmlOutputSpeech) outputSpeech).getSsml());
+		} else {
+			writeString(generator, "text", ((PlainTextOutputSpeech) outputSpeech).getText());
+		}
+		generator.writeEndObject();
+	}
+
+	private static void writeCard(JsonGenerator generator, Card card) throws IOException {
+		if (card == null) {
+			return;
+		}
+		generator.writeObjectFieldStart("card");
+		writeString(generator, "type", card.getType());
+		if (card instanceof SimpleCard) {
+			SimpleCard simpleCard = (SimpleCard) card;
+			writeString(generator, "title", simpleCard.getTitle());
+			writeString(generator, "content", simpleCard.getContent());
+		} else {
+			StandardCard standardCard = (StandardCard) card;
+			writeString(generator, "title", standardCard.getTitle());
+			writeString(generator, "text", standardCard.getText());
+			Image image = standardCard.getImage();
+			if (image != null) {
+				generator.writeObjectFieldStart("image");
+				writeString(generator, "smallImageUrl", image.getSmallImageUrl());
+				writeString(generator, "largeImageUrl", image.getLargeImageUrl());
+				generator.writeEndObject();
+			}
+		}
+		generator.writeEndObject();
+	}
+
+	private static void writeString(JsonGenerator generator, String name, String value) throws IOException {
+		// The SDK's serializer omits empty values.
+		if (value != null && !value.isEmpty()) {
+			generator.writeStringField(name, value);
+		}
+	}
+
+	private ResponseEnvelopeWriter() {
+		// Not used.
+	}
+
+}
@@ -0,0 +1,34 @@
+package io.github.pyvesb.alexarevolutionarycalendar.logging;
+
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+
+/**
+ * Markers identifying the type of the events logged on the request path. They appear in structured logs and let
+ * {@link SamplingFilter} keep a different proportion of each type of event.
+ *
+ * @author Pyves
+ *
+ */
+public class LogMarkers {
+
+	/**
+	 * A request was received by a handler.
+	 */
+	public static final Marker REQUEST = MarkerManager.getMarker("REQUEST");
+
+	/**
+	 * A date provided by the user was successfully parsed.
+	 */
+	public static final Marker PARSED_DATE = MarkerManager.getMarker("PARSED_DATE");
+
+	/**
+	 * A date provided by the user could not be parsed.
+	 */
+	public static final Marker UNPARSABLE_DATE = MarkerManager.getMarker("UNPARSABLE_DATE");
+
+	private LogMarkers() {
+		// Not used.
+	}
+
+}
@@ -0,0 +1,180 @@
+package io.github.pyvesb.alexarevolutionarycalendar.logging;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.config.Node;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.filter.AbstractFilter;
+import org.apache.logging.log4j.core.util.KeyValuePair;
+import org.apache.logging.log4j.message.Message;
+
+/**
+ * Log4j filter keeping a random sample of events, with a rate depending on the event's marker, e.g.:
+ *
+ * <pre>
+ * &lt;SamplingFilter defaultRate="1"&gt;
+ *   &lt;KeyValuePair key="PARSED_DATE" value="0.01" /&gt;
+ * &lt;/SamplingFilter&gt;
+ * </pre>
+ *
+ * Events without a configured marker are kept with the default rate. Kept events are passed on to the next filter,
+ * others are denied. Used as a context-wide filter, events are dropped before their message is even created, and
+ * none of the filter methods allocate, as opposed to the defaults of {@link AbstractFilter} which box parameters into
+ * arrays.
+ *
+ * @author Pyves
+ *
+ */
+@Plugin(name = "SamplingFilter", category = Node.CATEGORY, elementType = Filter.ELEMENT_TYPE, printObject = true)
+public final class SamplingFilter extends AbstractFilter {
+
+	private final Map<String, Double> ratesByMarker;
+	private final double defaultRate;
+	private final DoubleSupplier random;
+
+	SamplingFilter(Map<String, Double> ratesByMarker, double defaultRate, DoubleSupplier random) {
+		super(Result.NEUTRAL, Result.DENY);
+		this.ratesByMarker = ratesByMarker;
+		this.defaultRate = defaultRate;
+		this.random = random;
+	}
+
+	/**
+	 * Creates a filter from its configuration.
+	 *
+	 * @param defaultRate the proportion of events to keep when their marker has no specific rate, 1 if unspecified.
+	 * @param rates pairs of marker names and proportions of events to keep, between 0 and 1.
+	 * @return the filter.
+	 */
+	@PluginFactory
+	public static SamplingFilter createFilter(
+			@PluginAttribute(value = "defaultRate", defaultDouble = 1.0) double defaultRate,
+			@PluginElement("Rates") KeyValuePair[] rates) {
+		Map<String, Double> ratesByMarker = new HashMap<>();
+		if (rates != null) {
+			for (KeyValuePair rate : rates) {
+				ratesByMarker.put(rate.getKey(), parseRate(rate.getValue()));
+			}
+		}
+		DoubleSupplier random = () -> ThreadLocalRandom.current().nextDouble();
+		return new SamplingFilter(ratesByMarker, checkRate(defaultRate), random);
+	}
+
+	@Override
+	public Result filter(LogEvent event) {
+		return sample(event.getMarker());
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, Message msg, Throwable t) {
+		return sample(marker);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, Object msg, Throwable t) {
+		return sample(marker);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object... params) {
+		return sample(marker);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0) {
+		return sample(marker);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1) {
+		return sample(marker);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2) {
+		return sample(marker);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+			Object p3) {
+		return sample(marker);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+			Object p3, Object p4) {
+		return sample(marker);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+			Object p3, Object p4, Object p5) {
+		return sample(marker);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+			Object p3, Object p4, Object p5, Object p6) {
+		return sample(marker);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+			Object p3, Object p4, Object p5, Object p6, Object p7) {
+		return sample(marker);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+			Object p3, Object p4, Object p5, Object p6, Object p7, Object p8) {
+		return sample(marker);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+			Object p3, Object p4, Object p5, Object p6, Object p7, Object p8, Object p9) {
+		return sample(marker);
+	}
+
+	@Override
+	public String toString() {
+		return "defaultRate=" + defaultRate + ", rates=" + ratesByMarker;
+	}
+
+	private Result sample(Marker marker) {
+		Double markerRate = marker == null ? null : ratesByMarker.get(marker.getName());
+		double rate = markerRate == null ? defaultRate : markerRate;
+		if (rate >= 1.0) {
+			return onMatch;
+		}
+		return rate > 0.0 && random.getAsDouble() < rate ? onMatch : onMismatch;
+	}
+
+	private static double parseRate(String rate) {
+		try {
+			return checkRate(Double.parseDouble(rate));
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Sampling rate is not a number: " + rate, e);
+		}
+	}
+
+	private static double checkRate(double rate) {
+		if (rate < 0.0 || rate > 1.0) {
+			throw new IllegalArgumentException("Sampling rate must be between 0 and 1: " + rate);
+		}
+		return rate;
+	}
+
+}
@@ -0,0 +1,173 @@
+package io.github.pyvesb.alexarevolutionarycalendar.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-linear histogram of latencies in microseconds. Latencies below {@value #LINEAR_BUCKETS} µs are counted exactly,
+ * larger ones are split into {@value #SUB_BUCKETS} buckets per power of two, which bounds the relative error to 12.5%
+ * with a fixed number of buckets. Recording only performs atomic updates on preallocated arrays: it is lock-free and
+ * does not allocate.
+ *
+ * @author Pyves
+ *
+ */
+public class LatencyHistogram {
+
+	private static final int LINEAR_BUCKETS = 16;
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int FIRST_EXPONENT = 4; // log2(LINEAR_BUCKETS)
+	// Latencies of 2^36 µs (about 19 hours) and above all fall into the last bucket.
+	private static final int MAX_EXPONENT = 36;
+	static final int BUCKET_COUNT = LINEAR_BUCKETS + (MAX_EXPONENT - FIRST_EXPONENT) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+	private final AtomicLong sum = new AtomicLong();
+	private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Records a latency.
+	 *
+	 * @param nanos the latency in nanoseconds, negative values being treated as zero.
+	 */
+	public void record(long nanos) {
+		long micros = Math.max(nanos, 0L) / 1000L;
+		counts.incrementAndGet(getBucket(micros));
+		sum.addAndGet(micros);
+		long currentMin;
+		while (micros < (currentMin = min.get()) && !min.compareAndSet(currentMin, micros)) {
+			// Retry, another thread updated the minimum concurrently.
+		}
+		long currentMax;
+		while (micros > (currentMax = max.get()) && !max.compareAndSet(currentMax, micros)) {
+			// Retry, another thread updated the maximum concurrently.
+		}
+	}
+
+	/**
+	 * Takes a snapshot of the recorded latencies and resets the histogram. Latencies recorded concurrently are either
+	 * included in this snapshot or in the next one, but statistics may be momentarily inconsistent with the counts.
+	 *
+	 * @return the latencies recorded since the previous call.
+	 */
+	public Snapshot drain() {
+		long[] drainedCounts = new long[BUCKET_COUNT];
+		long count = 0;
+		for (int bucket = 0; bucket < BUCKET_COUNT; ++bucket) {
+			drainedCounts[bucket] = counts.getAndSet(bucket, 0L);
+			count += drainedCounts[bucket];
+		}
+		return new Snapshot(drainedCounts, count, sum.getAndSet(0L), min.getAndSet(Long.MAX_VALUE),
+				max.getAndSet(0L));
+	}
+
+	static int getBucket(long micros) {
+		if (micros < LINEAR_BUCKETS) {
+			return (int) micros;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(micros);
+		if (exponent >= MAX_EXPONENT) {
+			return BUCKET_COUNT - 1;
+		}
+		int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return LINEAR_BUCKETS + (exponent - FIRST_EXPONENT) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * Computes a representative value of the latencies counted in a bucket, i.e. the middle of its range.
+	 *
+	 * @param bucket the bucket index.
+	 * @return the latency in microseconds.
+	 */
+	static double getBucketValue(int bucket) {
+		if (bucket < LINEAR_BUCKETS) {
+			return bucket;
+		}
+		int exponent = FIRST_EXPONENT + (bucket - LINEAR_BUCKETS) / SUB_BUCKETS;
+		int subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+		long width = 1L << (exponent - SUB_BUCKET_BITS);
+		return (1L << exponent) + subBucket * width + (width - 1) / 2.0;
+	}
+
+	/**
+	 * Immutable view of the latencies recorded over a period of time, in microseconds.
+	 */
+	public static class Snapshot {
+
+		private final long[] counts;
+		private final long count;
+		private final long sum;
+		private final long min;
+		private final long max;
+
+		Snapshot(long[] counts, long count, long sum, long min, long max) {
+			this.counts = counts;
+			this.count = count;
+			this.sum = sum;
+			this.min = count == 0 ? 0L : min;
+			this.max = max;
+		}
+
+		public long getCount() {
+			return count;
+		}
+
+		public long getSum() {
+			return sum;
+		}
+
+		public long getMin() {
+			return min;
+		}
+
+		public long getMax() {
+			return max;
+		}
+
+		/**
+		 * Returns the number of latencies counted in a bucket.
+		 *
+		 * @param bucket the bucket index, between 0 and {@link #getBucketCount()} excluded.
+		 * @return the number of latencies.
+		 */
+		public long getCount(int bucket) {
+			return counts[bucket];
+		}
+
+		public int getBucketCount() {
+			return counts.length;
+		}
+
+		/**
+		 * Returns a representative latency of a bucket.
+		 *
+		 * @param bucket the bucket index, between 0 and {@link #getBucketCount()} excluded.
+		 * @return the middle of the bucket's range, in microseconds.
+		 */
+		public double getValue(int bucket) {
+			return getBucketValue(bucket);
+		}
+
+		/**
+		 * Estimates a percentile from the bucket counts.
+		 *
+		 * @param percentile the percentile, between 0 and 1.
+		 * @return the representative value of the bucket containing the percentile, or 0 if the snapshot is empty.
+		 */
+		public double getPercentile(double percentile) {
+			long rank = Math.max(1L, (long) Math.ceil(percentile * count));
+			long seen = 0;
+			for (int bucket = 0; bucket < counts.length; ++bucket) {
+				seen += counts[bucket];
+				if (seen >= rank) {
+					return getBucketValue(bucket);
+				}
+			}
+			return 0.0;
+		}
+
+	}
+
+}
@@ -0,0 +1,251 @@
+package io.github.pyvesb.alexarevolutionarycalendar.metrics;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import io.github.pyvesb.alexarevolutionarycalendar.i18n.LocalisedMessages;
+
+/**
+ * In-process aggregation of the skill's metrics: latency histograms per handler, request counts per intent (or request
+ * type) and locale, and counts of slot values that could not be parsed. Recording is lock-free and, once a given
+ * handler, intent and locale have been seen, does not allocate.
+ *
+ * Metrics are periodically drained and logged as CloudWatch Embedded Metric Format documents, one JSON object per
+ * line, through the {@value #LOGGER_NAME} logger. As AWS Lambda freezes the environment between invocations, flushes
+ * are triggered by the requests themselves rather than by a background thread.
+ *
+ * @author Pyves
+ *
+ */
+public class SkillMetrics {
+
+	public static final String NAMESPACE = "RevolutionaryCalendar";
+	public static final String LOGGER_NAME = "EmbeddedMetrics";
+	static final String OTHER_LOCALE = "other";
+
+	private static final Logger LOGGER = LogManager.getLogger(LOGGER_NAME);
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	// Arbitrary locales are folded into a single value to bound the number of metrics.
+	private final Set<String> knownLocales = new HashSet<>(LocalisedMessages.getSupportedLanguageTags());
+	private final ConcurrentMap<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, AtomicLong> parseFailures = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, ConcurrentMap<String, AtomicLong>> requests = new ConcurrentHashMap<>();
+	private final long flushIntervalNanos;
+	private final AtomicLong nextFlush;
+
+	/**
+	 * Creates an empty set of metrics that is never flushed, values can only be retrieved with {@link #drain(long)}.
+	 */
+	public SkillMetrics() {
+		this(0L, 0L);
+	}
+
+	/**
+	 * Creates an empty set of metrics.
+	 *
+	 * @param flushIntervalNanos the minimum time between two flushes, 0 disabling flushes.
+	 * @param nanoTime the current value of System.nanoTime.
+	 */
+	public SkillMetrics(long flushIntervalNanos, long nanoTime) {
+		this.flushIntervalNanos = flushIntervalNanos;
+		this.nextFlush = new AtomicLong(nanoTime + flushIntervalNanos);
+	}
+
+	/**
+	 * Records the latency of a handler or of the whole skill dispatch.
+	 *
+	 * @param handler the name of the handler.
+	 * @param nanos the latency in nanoseconds.
+	 */
+	public void recordLatency(String handler, long nanos) {
+		getOrCreate(latencies, handler, h -> new LatencyHistogram()).record(nanos);
+	}
+
+	/**
+	 * Counts a request.
+	 *
+	 * @param request the intent name, or the request type for requests other than intents.
+	 * @param locale the raw locale of the request, e.g. "en-GB".
+	 */
+	public void recordRequest(String request, String locale) {
+		String localeDimension = locale != null && knownLocales.contains(locale) ? locale : OTHER_LOCALE;
+		ConcurrentMap<String, AtomicLong> requestsByLocale = getOrCreate(requests, String.valueOf(request),
+				r -> new ConcurrentHashMap<>());
+		getOrCreate(requestsByLocale, localeDimension, l -> new AtomicLong()).incrementAndGet();
+	}
+
+	/**
+	 * Counts a slot value that could not be parsed by a handler.
+	 *
+	 * @param handler the name of the handler.
+	 */
+	public void recordParseFailure(String handler) {
+		getOrCreate(parseFailures, handler, h -> new AtomicLong()).incrementAndGet();
+	}
+
+	/**
+	 * Flushes the metrics if the flush interval has elapsed since the previous flush. When called concurrently, only
+	 * one of the callers performs the flush.
+	 *
+	 * @param nanoTime the current value of System.nanoTime.
+	 * @return true if the metrics were flushed by this call.
+	 */
+	public boolean flushIfDue(long nanoTime) {
+		long due = nextFlush.get();
+		if (flushIntervalNanos == 0L || nanoTime - due < 0 || !nextFlush.compareAndSet(due, nanoTime + flushIntervalNanos)) {
+			return false;
+		}
+		drain(System.currentTimeMillis()).forEach(LOGGER::info);
+		return true;
+	}
+
+	/**
+	 * Resets all metrics, returning the values recorded since the previous call as Embedded Metric Format documents.
+	 * Metrics without any recorded values are omitted.
+	 *
+	 * @param timestamp the timestamp of the documents, in milliseconds since the epoch.
+	 * @return the JSON documents.
+	 */
+	public List<String> drain(long timestamp) {
+		List<String> documents = new ArrayList<>();
+		Set<String> handlers = new TreeSet<>(latencies.keySet());
+		handlers.addAll(parseFailures.keySet());
+		for (String handler : handlers) {
+			LatencyHistogram histogram = latencies.get(handler);
+			LatencyHistogram.Snapshot snapshot = histogram == null ? null : histogram.drain();
+			AtomicLong failures = parseFailures.get(handler);
+			long failureCount = failures == null ? 0L : failures.getAndSet(0L);
+			if (snapshot != null && snapshot.getCount() > 0 || failureCount > 0) {
+				documents.add(writeHandlerDocument(timestamp, handler, snapshot, failureCount));
+			}
+		}
+		for (Map.Entry<String, ConcurrentMap<String, AtomicLong>> request : new TreeMap<>(requests).entrySet()) {
+			for (Map.Entry<String, AtomicLong> locale : new TreeMap<>(request.getValue()).entrySet()) {
+				long count = locale.getValue().getAndSet(0L);
+				if (count > 0) {
+					documents.add(writeRequestDocument(timestamp, request.getKey(), locale.getKey(), count));
+				}
+			}
+		}
+		return documents;
+	}
+
+	private static <T> T getOrCreate(ConcurrentMap<String, T> map, String key, Function<String, T> factory) {
+		// ConcurrentHashMap.computeIfAbsent may lock even if the key is present, try a plain lookup first.
+		T value = map.get(key);
+		return value != null ? value : map.computeIfAbsent(key, factory);
+	}
+
+	private static String writeHandlerDocument(long timestamp, String handler, LatencyHistogram.Snapshot snapshot,
+			long failureCount) {
+		StringWriter writer = new StringWriter(512);
+		try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+			boolean hasLatency = snapshot != null && snapshot.getCount() > 0;
+			// Declared metrics must all be present in the document.
+			String[] metrics = hasLatency ? new String[] { "Latency", "Microseconds", "ParseFailures", "Count" }
+					: new String[] { "ParseFailures", "Count" };
+			generator.writeStartObject();
+			writeMetadata(generator, timestamp, new String[] { "Handler" }, metrics);
+			generator.writeStringField("Handler", handler);
+			if (hasLatency) {
+				generator.writeObjectFieldStart("Latency");
+				generator.writeArrayFieldStart("Values");
+				for (int bucket = 0; bucket < snapshot.getBucketCount(); ++bucket) {
+					if (snapshot.getCount(bucket) > 0) {
+						generator.writeNumber(snapshot.getValue(bucket));
+					}
+				}
+				generator.writeEndArray();
+				generator.writeArrayFieldStart("Counts");
+				for (int bucket = 0; bucket < snapshot.getBucketCount(); ++bucket) {
+					if (snapshot.getCount(bucket) > 0) {
+						generator.writeNumber(snapshot.getCount(bucket));
+					}
+				}
+				generator.writeEndArray();
+				generator.writeNumberField("Max", snapshot.getMax());
+				generator.writeNumberField("Min", snapshot.getMin());
+				generator.writeNumberField("Sum", snapshot.getSum());
+				generator.writeNumberField("Count", snapshot.getCount());
+				generator.writeEndObject();
+			}
+			generator.writeNumberField("ParseFailures", failureCount);
+			generator.writeEndObject();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return writer.toString();
+	}
+
+	private static String writeRequestDocument(long timestamp, String request, String locale, long count) {
+		StringWriter writer = new StringWriter(256);
+		try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+			generator.writeStartObject();
+			writeMetadata(generator, timestamp, new String[] { "Request", "Locale" },
+					new String[] { "Requests", "Count" });
+			generator.writeStringField("Request", request);
+			generator.writeStringField("Locale", locale);
+			generator.writeNumberField("Requests", count);
+			generator.writeEndObject();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return writer.toString();
+	}
+
+	/**
+	 * Writes the _aws member of a document, which tells CloudWatch which members are metrics and which are dimensions.
+	 *
+	 * @param generator the generator, positioned inside the root object.
+	 * @param timestamp the timestamp of the document, in milliseconds since the epoch.
+	 * @param dimensions the names of the dimensions, forming a single dimension set.
+	 * @param metrics alternating metric names and units.
+	 * @throws IOException if the document could not be written.
+	 */
+	private static void writeMetadata(JsonGenerator generator, long timestamp, String[] dimensions, String[] metrics)
+			throws IOException {
+		generator.writeObjectFieldStart("_aws");
+		generator.writeNumberField("Timestamp", timestamp);
+		generator.writeArrayFieldStart("CloudWatchMetrics");
+		generator.writeStartObject();
+		generator.writeStringField("Namespace", NAMESPACE);
+		generator.writeArrayFieldStart("Dimensions");
+		generator.writeStartArray();
+		for (String dimension : dimensions) {
+			generator.writeString(dimension);
+		}
+		generator.writeEndArray();
+		generator.writeEndArray();
+		generator.writeArrayFieldStart("Metrics");
+		for (int i = 0; i < metrics.length; i += 2) {
+			generator.writeStartObject();
+			generator.writeStringField("Name", metrics[i]);
+			generator.writeStringField("Unit", metrics[i + 1]);
+			generator.writeEndObject();
+		}
+		generator.writeEndArray();
+		generator.writeEndObject();
+		generator.writeEndArray();
+		generator.writeEndObject();
+	}
+
+}
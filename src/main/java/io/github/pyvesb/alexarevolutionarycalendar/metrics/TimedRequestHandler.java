@@ -0,0 +1,63 @@
+package io.github.pyvesb.alexarevolutionarycalendar.metrics;
+
+import java.util.Optional;
+
+import com.amazon.ask.dispatcher.request.handler.HandlerInput;
+import com.amazon.ask.dispatcher.request.handler.RequestHandler;
+import com.amazon.ask.model.Intent;
+import com.amazon.ask.model.IntentRequest;
+import com.amazon.ask.model.Request;
+import com.amazon.ask.model.Response;
+
+/**
+ * Request handler decorator recording the latency of another handler, as well as the intent (or request type) and
+ * locale of each request it handles.
+ *
+ * @author Pyves
+ *
+ */
+public class TimedRequestHandler implements RequestHandler {
+
+	private final String name;
+	private final RequestHandler delegate;
+	private final SkillMetrics metrics;
+
+	/**
+	 * Decorates a handler.
+	 *
+	 * @param name the name of the handler in the metrics, e.g. "DateIntentHandler".
+	 * @param delegate the handler to decorate.
+	 * @param metrics the metrics to record into.
+	 */
+	public TimedRequestHandler(String name, RequestHandler delegate, SkillMetrics metrics) {
+		this.name = name;
+		this.delegate = delegate;
+		this.metrics = metrics;
+	}
+
+	@Override
+	public boolean canHandle(HandlerInput input) {
+		return delegate.canHandle(input);
+	}
+
+	@Override
+	public Optional<Response> handle(HandlerInput input) {
+		long start = System.nanoTime();
+		try {
+			return delegate.handle(input);
+		} finally {
+			metrics.recordLatency(name, System.nanoTime() - start);
+			Request request = input.getRequestEnvelope().getRequest();
+			metrics.recordRequest(getRequestName(request), request.getLocale());
+		}
+	}
+
+	private static String getRequestName(Request request) {
+		if (request instanceof IntentRequest) {
+			Intent intent = ((IntentRequest) request).getIntent();
+			return intent == null ? request.getType() : intent.getName();
+		}
+		return request.getType();
+	}
+
+}
@@ -0,0 +1,299 @@
+package io.github.pyvesb.alexarevolutionarycalendar.preferences;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.github.pyvesb.alexarevolutionarycalendar.cache.CoalescingCache;
+
+/**
+ * Repository fronting a {@link PreferenceStore} with a per-user read cache and asynchronous write-behind batching, so
+ * that most requests do not wait on the store.
+ *
+ * Preferences are kept in a {@link CoalescingCache} keyed by user identifier; users without preferences are cached as
+ * well, as they make up most requests. Concurrent misses for the same user are coalesced into a single load, callers
+ * wait for it at most for a given timeout before getting no preferences, and failed loads are cached for a shorter
+ * time.
+ *
+ * Preferences about to be updated are retrieved with {@link #getForUpdate(String)}, which waits for the store instead
+ * of falling back, so that the preferences of a user are never overwritten with ones based on a failed load.
+ *
+ * Updated preferences are cached straight away and queued. Queued preferences are saved in batches by a background
+ * thread, at most after a given delay or as soon as a full batch is queued; successive updates of the same user before
+ * the batch is saved only result in one write. Batches that fail are queued again and retried after the same delay.
+ * On AWS Lambda, the background thread is frozen along with the function between invocations, {@link #flush()} must
+ * therefore be called before each invocation returns.
+ *
+ * @author Pyves
+ *
+ */
+public class CachingPreferenceRepository implements PreferenceRepository {
+
+	private static final Logger LOGGER = LogManager.getLogger(CachingPreferenceRepository.class);
+
+	private final PreferenceStore store;
+	private final int maximumSize;
+	private final long writeDelayNanos;
+	private final int maximumBatchSize;
+	private final ScheduledExecutorService writeScheduler;
+	private final CoalescingCache<UserPreferences> cache;
+	private final ConcurrentMap<String, UserPreferences> pendingWrites = new ConcurrentHashMap<>();
+	private final AtomicBoolean flushScheduled = new AtomicBoolean();
+	// Batches are saved one at a time, so that older preferences of a user cannot overwrite newer ones.
+	private final ReentrantLock flushLock = new ReentrantLock();
+	private final LongAdder writes = new LongAdder();
+	private final LongAdder writeFailures = new LongAdder();
+
+	private CachingPreferenceRepository(Builder builder) {
+		this.store = builder.store;
+		this.maximumSize = builder.maximumSize;
+		this.writeDelayNanos = builder.writeDelay.toNanos();
+		this.maximumBatchSize = builder.maximumBatchSize;
+		this.writeScheduler = builder.writeScheduler == null ? createWriteScheduler() : builder.writeScheduler;
+		this.cache = builder.cache.withMaximumSize(builder.maximumSize).build();
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return true;
+	}
+
+	@Override
+	public UserPreferences get(String userId) {
+		return cache.get(userId, () -> load(userId));
+	}
+
+	@Override
+	public Optional<UserPreferences> getForUpdate(String userId) {
+		try {
+			return Optional.of(cache.getWithoutFallback(userId, () -> load(userId)));
+		} catch (IOException | RuntimeException e) {
+			LOGGER.warn("Preference load for update failed (user={})", userId, e);
+			return Optional.empty();
+		}
+	}
+
+	@Override
+	public void put(String userId, UserPreferences preferences) {
+		cache.put(userId, preferences);
+		pendingWrites.put(userId, preferences);
+		if (pendingWrites.size() >= maximumBatchSize) {
+			writeScheduler.execute(this::flush);
+		} else if (flushScheduled.compareAndSet(false, true)) {
+			writeScheduler.schedule(this::flush, writeDelayNanos, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	/**
+	 * Saves all queued preferences straight away, on the calling thread, after waiting for any batch being saved by the
+	 * background thread. Returns immediately if no preferences are queued or being saved.
+	 *
+	 * @return the number of preferences saved.
+	 */
+	@Override
+	public int flush() {
+		if (pendingWrites.isEmpty() && !flushLock.isLocked()) {
+			return 0;
+		}
+		flushLock.lock();
+		try {
+			flushScheduled.set(false);
+			int saved = 0;
+			while (!pendingWrites.isEmpty()) {
+				Map<String, UserPreferences> batch = new HashMap<>();
+				for (Map.Entry<String, UserPreferences> entry : pendingWrites.entrySet()) {
+					if (batch.size() == maximumBatchSize) {
+						break;
+					}
+					// Only claimed if not updated in the meantime, newer preferences are then saved by a later batch.
+					if (pendingWrites.remove(entry.getKey(), entry.getValue())) {
+						batch.put(entry.getKey(), entry.getValue());
+					}
+				}
+				try {
+					store.saveAll(batch);
+				} catch (IOException | RuntimeException e) {
+					LOGGER.warn("Failed to save preferences of {} users", batch.size(), e);
+					writeFailures.increment();
+					requeue(batch);
+					break;
+				}
+				saved += batch.size();
+				writes.add(batch.size());
+			}
+			return saved;
+		} finally {
+			flushLock.unlock();
+		}
+	}
+
+	public long getHitCount() {
+		return cache.getHitCount();
+	}
+
+	public long getMissCount() {
+		return cache.getMissCount();
+	}
+
+	/**
+	 * Returns the number of loads performed, which is lower than the number of misses when some were coalesced.
+	 *
+	 * @return the number of loads.
+	 */
+	public long getLoadCount() {
+		return cache.getLoadCount();
+	}
+
+	public long getFallbackCount() {
+		return cache.getFallbackCount();
+	}
+
+	/**
+	 * Returns the number of preferences saved, which is lower than the number of updates when some were coalesced.
+	 *
+	 * @return the number of preferences saved.
+	 */
+	public long getWriteCount() {
+		return writes.sum();
+	}
+
+	public long getWriteFailureCount() {
+		return writeFailures.sum();
+	}
+
+	public int getPendingWriteCount() {
+		return pendingWrites.size();
+	}
+
+	private UserPreferences load(String userId) throws IOException {
+		UserPreferences queued = pendingWrites.get(userId);
+		if (queued != null) {
+			// Updated but evicted before being saved, the store does not know about it yet.
+			return queued;
+		}
+		UserPreferences loaded = store.load(userId).orElse(UserPreferences.NONE);
+		queued = pendingWrites.get(userId);
+		return queued == null ? loaded : queued;
+	}
+
+	private void requeue(Map<String, UserPreferences> batch) {
+		for (Map.Entry<String, UserPreferences> entry : batch.entrySet()) {
+			// Bounded like the cache, so that a store that is down for a long time does not exhaust the memory.
+			if (pendingWrites.size() < maximumSize) {
+				// Preferences updated since the batch was claimed are more recent and take precedence.
+				pendingWrites.putIfAbsent(entry.getKey(), entry.getValue());
+			}
+		}
+		if (flushScheduled.compareAndSet(false, true)) {
+			writeScheduler.schedule(this::flush, writeDelayNanos, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private static ScheduledExecutorService createWriteScheduler() {
+		return Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "preference-write");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	public static class Builder {
+
+		private final CoalescingCache.Builder<UserPreferences> cache = CoalescingCache.<UserPreferences> builder()
+				.withName("preferences").withFallback(UserPreferences.NONE).withTimeToLive(Duration.ofMinutes(15));
+		private PreferenceStore store;
+		private int maximumSize = 10_000;
+		private Duration writeDelay = Duration.ofMillis(500);
+		private int maximumBatchSize = DynamoDbPreferenceStore.MAXIMUM_BATCH_SIZE;
+		private ScheduledExecutorService writeScheduler;
+
+		private Builder() {
+			// Use CachingPreferenceRepository.builder().
+		}
+
+		public Builder withStore(PreferenceStore store) {
+			this.store = store;
+			return this;
+		}
+
+		public Builder withMaximumSize(int maximumSize) {
+			this.maximumSize = maximumSize;
+			return this;
+		}
+
+		public Builder withTimeToLive(Duration timeToLive) {
+			cache.withTimeToLive(timeToLive);
+			return this;
+		}
+
+		public Builder withFailureTimeToLive(Duration failureTimeToLive) {
+			cache.withFailureTimeToLive(failureTimeToLive);
+			return this;
+		}
+
+		public Builder withTimeout(Duration timeout) {
+			cache.withTimeout(timeout);
+			return this;
+		}
+
+		public Builder withWriteDelay(Duration writeDelay) {
+			this.writeDelay = writeDelay;
+			return this;
+		}
+
+		public Builder withMaximumBatchSize(int maximumBatchSize) {
+			this.maximumBatchSize = maximumBatchSize;
+			return this;
+		}
+
+		public Builder withLoadThreads(int loadThreads) {
+			cache.withLoadThreads(loadThreads);
+			return this;
+		}
+
+		Builder withExecutor(Executor executor) {
+			cache.withExecutor(executor);
+			return this;
+		}
+
+		Builder withWriteScheduler(ScheduledExecutorService writeScheduler) {
+			this.writeScheduler = writeScheduler;
+			return this;
+		}
+
+		Builder withNanoTime(LongSupplier nanoTime) {
+			cache.withNanoTime(nanoTime);
+			return this;
+		}
+
+		public CachingPreferenceRepository build() {
+			if (store == null) {
+				throw new IllegalStateException("A store is required");
+			}
+			if (maximumBatchSize < 1) {
+				throw new IllegalStateException("The maximum batch size must be positive");
+			}
+			return new CachingPreferenceRepository(this);
+		}
+	}
+
+}
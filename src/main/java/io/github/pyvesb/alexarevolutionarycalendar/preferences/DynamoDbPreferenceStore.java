@@ -0,0 +1,390 @@
+package io.github.pyvesb.alexarevolutionarycalendar.preferences;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.github.pyvesb.alexarevolutionarycalendar.util.Streams;
+
+/**
+ * Store keeping preferences in a DynamoDB table, or in any service implementing its JSON API such as DynamoDB Local.
+ * The table must have a string partition key named {@value #KEY}; each preference is stored as a string attribute.
+ * Preferences are loaded with eventually consistent GetItem calls and saved with BatchWriteItem calls of up to
+ * {@value #MAXIMUM_BATCH_SIZE} items.
+ *
+ * The API is called directly over HTTP with Signature Version 4 authentication, rather than through the AWS SDK, which
+ * would add several megabytes and hundreds of classes to the cold start of the skill. Credentials and region default to
+ * the ones AWS Lambda exposes through environment variables.
+ *
+ * @author Pyves
+ *
+ */
+public class DynamoDbPreferenceStore implements PreferenceStore {
+
+	static final String KEY = "userId";
+	// Limit of the BatchWriteItem API.
+	static final int MAXIMUM_BATCH_SIZE = 25;
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+	private static final String SERVICE = "dynamodb";
+	private static final String CONTENT_TYPE = "application/x-amz-json-1.0";
+	private static final String TARGET_PREFIX = "DynamoDB_20120810.";
+	private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+	private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+			.withZone(ZoneOffset.UTC);
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	private final URL url;
+	private final String host;
+	private final String region;
+	private final String tableName;
+	private final String accessKeyId;
+	private final String secretAccessKey;
+	private final String sessionToken;
+	private final int timeoutMillis;
+	private final Clock clock;
+
+	private DynamoDbPreferenceStore(Builder builder) throws IOException {
+		String endpoint = builder.endpoint == null ? "https://dynamodb." + builder.region + ".amazonaws.com"
+				: builder.endpoint;
+		this.url = new URL(endpoint + "/");
+		// Value of the Host header sent by HttpURLConnection, which must be signed.
+		this.host = url.getPort() == -1 || url.getPort() == url.getDefaultPort() ? url.getHost()
+				: url.getHost() + ":" + url.getPort();
+		this.region = builder.region;
+		this.tableName = builder.tableName;
+		this.accessKeyId = builder.accessKeyId;
+		this.secretAccessKey = builder.secretAccessKey;
+		this.sessionToken = builder.sessionToken;
+		this.timeoutMillis = (int) builder.timeout.toMillis();
+		this.clock = builder.clock;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	@Override
+	public Optional<UserPreferences> load(String userId) throws IOException {
+		ByteArrayOutputStream request = new ByteArrayOutputStream(128);
+		try (JsonGenerator generator = JSON_FACTORY.createGenerator(request, JsonEncoding.UTF8)) {
+			generator.writeStartObject();
+			generator.writeStringField("TableName", tableName);
+			generator.writeObjectFieldStart("Key");
+			writeStringAttribute(generator, KEY, userId);
+			generator.writeEndObject();
+			generator.writeEndObject();
+		}
+		byte[] response = post("GetItem", request.toByteArray());
+		try (JsonParser parser = JSON_FACTORY.createParser(response)) {
+			expect(parser.nextToken(), JsonToken.START_OBJECT);
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.getCurrentName();
+				parser.nextToken();
+				if ("Item".equals(field)) {
+					return Optional.of(UserPreferences.fromAttributes(readStringAttributes(parser)));
+				}
+				parser.skipChildren();
+			}
+		}
+		// No item for this user.
+		return Optional.empty();
+	}
+
+	@Override
+	public void saveAll(Map<String, UserPreferences> preferencesByUserId) throws IOException {
+		List<Map.Entry<String, UserPreferences>> entries = new ArrayList<>(preferencesByUserId.entrySet());
+		for (int start = 0; start < entries.size(); start += MAXIMUM_BATCH_SIZE) {
+			saveBatch(entries.subList(start, Math.min(start + MAXIMUM_BATCH_SIZE, entries.size())));
+		}
+	}
+
+	private void saveBatch(List<Map.Entry<String, UserPreferences>> entries) throws IOException {
+		ByteArrayOutputStream request = new ByteArrayOutputStream(128 * entries.size());
+		try (JsonGenerator generator = JSON_FACTORY.createGenerator(request, JsonEncoding.UTF8)) {
+			generator.writeStartObject();
+			generator.writeObjectFieldStart("RequestItems");
+			generator.writeArrayFieldStart(tableName);
+			for (Map.Entry<String, UserPreferences> entry : entries) {
+				generator.writeStartObject();
+				generator.writeObjectFieldStart("PutRequest");
+				generator.writeObjectFieldStart("Item");
+				writeStringAttribute(generator, KEY, entry.getKey());
+				for (Map.Entry<String, String> attribute : entry.getValue().toAttributes().entrySet()) {
+					writeStringAttribute(generator, attribute.getKey(), attribute.getValue());
+				}
+				generator.writeEndObject();
+				generator.writeEndObject();
+				generator.writeEndObject();
+			}
+			generator.writeEndArray();
+			generator.writeEndObject();
+			generator.writeEndObject();
+		}
+		byte[] response = post("BatchWriteItem", request.toByteArray());
+		try (JsonParser parser = JSON_FACTORY.createParser(response)) {
+			expect(parser.nextToken(), JsonToken.START_OBJECT);
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.getCurrentName();
+				JsonToken value = parser.nextToken();
+				// Throttled items are reported as unprocessed rather than failing the whole call.
+				if ("UnprocessedItems".equals(field) && value == JsonToken.START_OBJECT
+						&& parser.nextToken() == JsonToken.FIELD_NAME) {
+					throw new IOException("DynamoDB did not process all items of table " + tableName);
+				}
+				parser.skipChildren();
+			}
+		}
+	}
+
+	private byte[] post(String operation, byte[] body) throws IOException {
+		String target = TARGET_PREFIX + operation;
+		String timestamp = TIMESTAMP_FORMATTER.format(clock.instant());
+		HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+		connection.setConnectTimeout(timeoutMillis);
+		connection.setReadTimeout(timeoutMillis);
+		connection.setRequestMethod("POST");
+		connection.setDoOutput(true);
+		connection.setFixedLengthStreamingMode(body.length);
+		connection.setRequestProperty("Content-Type", CONTENT_TYPE);
+		connection.setRequestProperty("X-Amz-Date", timestamp);
+		connection.setRequestProperty("X-Amz-Target", target);
+		if (sessionToken != null) {
+			connection.setRequestProperty("X-Amz-Security-Token", sessionToken);
+		}
+		connection.setRequestProperty("Authorization", getAuthorization(target, timestamp, body));
+		try (OutputStream output = connection.getOutputStream()) {
+			output.write(body);
+		}
+		int status = connection.getResponseCode();
+		if (status != HttpURLConnection.HTTP_OK) {
+			// Reading the error body allows the underlying connection to be reused.
+			try (InputStream error = connection.getErrorStream()) {
+				throw new IOException("DynamoDB responded to " + operation + " with status " + status + ": "
+						+ (error == null ? "" : new String(Streams.readFully(error), StandardCharsets.UTF_8)));
+			}
+		}
+		try (InputStream input = connection.getInputStream()) {
+			return Streams.readFully(input);
+		}
+	}
+
+	/**
+	 * Computes the value of the Authorization header of a request, as specified by Signature Version 4.
+	 *
+	 * @param target the value of the X-Amz-Target header.
+	 * @param timestamp the value of the X-Amz-Date header.
+	 * @param body the body of the request.
+	 * @return the authorization header.
+	 */
+	String getAuthorization(String target, String timestamp, byte[] body) {
+		SortedMap<String, String> headers = new TreeMap<>();
+		headers.put("content-type", CONTENT_TYPE);
+		headers.put("host", host);
+		headers.put("x-amz-date", timestamp);
+		if (sessionToken != null) {
+			headers.put("x-amz-security-token", sessionToken);
+		}
+		headers.put("x-amz-target", target);
+		return getAuthorization(headers, body, timestamp, region, SERVICE, accessKeyId, secretAccessKey);
+	}
+
+	/**
+	 * Computes the value of the Authorization header of a POST request to the root path, as specified by Signature
+	 * Version 4.
+	 *
+	 * @param headers the signed headers, with lower case names and trimmed values.
+	 * @param body the body of the request.
+	 * @param timestamp the value of the X-Amz-Date header.
+	 * @param region the region of the service.
+	 * @param service the name of the service.
+	 * @param accessKeyId the access key ID of the credentials.
+	 * @param secretAccessKey the secret access key of the credentials.
+	 * @return the authorization header.
+	 */
+	static String getAuthorization(SortedMap<String, String> headers, byte[] body, String timestamp, String region,
+			String service, String accessKeyId, String secretAccessKey) {
+		String signedHeaders = String.join(";", headers.keySet());
+		StringBuilder canonicalRequest = new StringBuilder(512).append("POST\n/\n\n");
+		for (Map.Entry<String, String> header : headers.entrySet()) {
+			canonicalRequest.append(header.getKey()).append(':').append(header.getValue()).append('\n');
+		}
+		canonicalRequest.append('\n').append(signedHeaders).append('\n').append(toHex(sha256(body)));
+		String date = timestamp.substring(0, 8);
+		String scope = date + "/" + region + "/" + service + "/aws4_request";
+		String stringToSign = ALGORITHM + "\n" + timestamp + "\n" + scope + "\n"
+				+ toHex(sha256(canonicalRequest.toString().getBytes(StandardCharsets.UTF_8)));
+		byte[] signature = hmac(getSigningKey(secretAccessKey, date, region, service), stringToSign);
+		return ALGORITHM + " Credential=" + accessKeyId + "/" + scope + ", SignedHeaders=" + signedHeaders
+				+ ", Signature=" + toHex(signature);
+	}
+
+	/**
+	 * Derives the key used to sign requests made on a given day.
+	 *
+	 * @param secretAccessKey the secret access key of the credentials.
+	 * @param date the day of the request, formatted as yyyyMMdd.
+	 * @param region the region of the service.
+	 * @param service the name of the service.
+	 * @return the signing key.
+	 */
+	static byte[] getSigningKey(String secretAccessKey, String date, String region, String service) {
+		byte[] dateKey = hmac(("AWS4" + secretAccessKey).getBytes(StandardCharsets.UTF_8), date);
+		return hmac(hmac(hmac(dateKey, region), service), "aws4_request");
+	}
+
+	static String toHex(byte[] bytes) {
+		char[] hex = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; ++i) {
+			hex[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+			hex[2 * i + 1] = HEX_DIGITS[bytes[i] & 0xF];
+		}
+		return new String(hex);
+	}
+
+	private static byte[] hmac(byte[] key, String data) {
+		try {
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(new SecretKeySpec(key, "HmacSHA256"));
+			return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+		} catch (GeneralSecurityException e) {
+			// Every Java platform supports HmacSHA256.
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static byte[] sha256(byte[] data) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(data);
+		} catch (GeneralSecurityException e) {
+			// Every Java platform supports SHA-256.
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void writeStringAttribute(JsonGenerator generator, String name, String value) throws IOException {
+		generator.writeObjectFieldStart(name);
+		generator.writeStringField("S", value);
+		generator.writeEndObject();
+	}
+
+	private static Map<String, String> readStringAttributes(JsonParser parser) throws IOException {
+		expect(parser.getCurrentToken(), JsonToken.START_OBJECT);
+		Map<String, String> attributes = new HashMap<>();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String name = parser.getCurrentName();
+			// Attribute values are typed, e.g. {"S":"Europe/Paris"}; attributes of other types are ignored.
+			expect(parser.nextToken(), JsonToken.START_OBJECT);
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String type = parser.getCurrentName();
+				parser.nextToken();
+				if ("S".equals(type)) {
+					attributes.put(name, parser.getText());
+				} else {
+					parser.skipChildren();
+				}
+			}
+		}
+		return attributes;
+	}
+
+	private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+		if (actual != expected) {
+			throw new IOException("DynamoDB responded with an unexpected token " + actual);
+		}
+	}
+
+	public static class Builder {
+
+		private String tableName;
+		private String endpoint;
+		private String region = System.getenv("AWS_REGION");
+		private String accessKeyId = System.getenv("AWS_ACCESS_KEY_ID");
+		private String secretAccessKey = System.getenv("AWS_SECRET_ACCESS_KEY");
+		private String sessionToken = System.getenv("AWS_SESSION_TOKEN");
+		private Duration timeout = Duration.ofMillis(500);
+		private Clock clock = Clock.systemUTC();
+
+		private Builder() {
+			// Use DynamoDbPreferenceStore.builder().
+		}
+
+		public Builder withTableName(String tableName) {
+			this.tableName = tableName;
+			return this;
+		}
+
+		/**
+		 * Overrides the endpoint of the API, for instance to use DynamoDB Local.
+		 *
+		 * @param endpoint the base URL of the API, or null to use the endpoint of the region.
+		 * @return the builder.
+		 */
+		public Builder withEndpoint(String endpoint) {
+			this.endpoint = endpoint;
+			return this;
+		}
+
+		public Builder withRegion(String region) {
+			this.region = region;
+			return this;
+		}
+
+		public Builder withCredentials(String accessKeyId, String secretAccessKey, String sessionToken) {
+			this.accessKeyId = accessKeyId;
+			this.secretAccessKey = secretAccessKey;
+			this.sessionToken = sessionToken;
+			return this;
+		}
+
+		public Builder withTimeout(Duration timeout) {
+			this.timeout = timeout;
+			return this;
+		}
+
+		Builder withClock(Clock clock) {
+			this.clock = clock;
+			return this;
+		}
+
+		/**
+		 * Builds the store.
+		 *
+		 * @return the store.
+		 * @throws IOException if the endpoint is not a valid URL.
+		 */
+		public DynamoDbPreferenceStore build() throws IOException {
+			if (tableName == null || region == null || accessKeyId == null || secretAccessKey == null) {
+				throw new IllegalStateException("A table name, a region and credentials are required");
+			}
+			return new DynamoDbPreferenceStore(this);
+		}
+	}
+
+}
@@ -0,0 +1,119 @@
+package io.github.pyvesb.alexarevolutionarycalendar.preferences;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Stand-in for a remote preference store, used for local runs and tests. Preferences are held in memory and, if a file
+ * is specified, persisted to it as a JSON object keyed by user identifier, e.g.
+ * {"amzn1.ask.account.ABC":{"timeZone":"Europe/Paris","verbosity":"BRIEF"}}. The whole file is rewritten after each
+ * batch, which is only suitable for small numbers of users.
+ *
+ * @author Pyves
+ *
+ */
+public class LocalPreferenceStore implements PreferenceStore {
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	// Sorted, so that the file is stable across batches.
+	private final Map<String, UserPreferences> preferencesByUserId = new TreeMap<>();
+	private final Path file;
+
+	private LocalPreferenceStore(Path file) {
+		this.file = file;
+	}
+
+	/**
+	 * Creates a store keeping preferences in memory only.
+	 *
+	 * @return the store.
+	 */
+	public static LocalPreferenceStore inMemory() {
+		return new LocalPreferenceStore(null);
+	}
+
+	/**
+	 * Creates a store persisting preferences to a file, loading the preferences it already contains if it exists.
+	 *
+	 * @param file the file in which preferences are persisted.
+	 * @return the store.
+	 * @throws IOException if the file exists but could not be read.
+	 */
+	public static LocalPreferenceStore file(Path file) throws IOException {
+		LocalPreferenceStore store = new LocalPreferenceStore(file);
+		if (Files.exists(file)) {
+			store.read();
+		}
+		return store;
+	}
+
+	@Override
+	public synchronized Optional<UserPreferences> load(String userId) {
+		return Optional.ofNullable(preferencesByUserId.get(userId));
+	}
+
+	@Override
+	public synchronized void saveAll(Map<String, UserPreferences> preferences) throws IOException {
+		preferencesByUserId.putAll(preferences);
+		if (file != null) {
+			write();
+		}
+	}
+
+	private void read() throws IOException {
+		try (InputStream input = Files.newInputStream(file); JsonParser parser = JSON_FACTORY.createParser(input)) {
+			expect(parser.nextToken(), JsonToken.START_OBJECT);
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String userId = parser.getCurrentName();
+				expect(parser.nextToken(), JsonToken.START_OBJECT);
+				Map<String, String> attributes = new HashMap<>();
+				while (parser.nextToken() == JsonToken.FIELD_NAME) {
+					String attribute = parser.getCurrentName();
+					expect(parser.nextToken(), JsonToken.VALUE_STRING);
+					attributes.put(attribute, parser.getText());
+				}
+				preferencesByUserId.put(userId, UserPreferences.fromAttributes(attributes));
+			}
+		}
+	}
+
+	private void write() throws IOException {
+		// Written next to the file then moved over it, so that a failure does not leave a truncated file behind.
+		Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+		try (OutputStream output = Files.newOutputStream(temporaryFile);
+				JsonGenerator generator = JSON_FACTORY.createGenerator(output, JsonEncoding.UTF8)) {
+			generator.writeStartObject();
+			for (Map.Entry<String, UserPreferences> entry : preferencesByUserId.entrySet()) {
+				generator.writeObjectFieldStart(entry.getKey());
+				for (Map.Entry<String, String> attribute : entry.getValue().toAttributes().entrySet()) {
+					generator.writeStringField(attribute.getKey(), attribute.getValue());
+				}
+				generator.writeEndObject();
+			}
+			generator.writeEndObject();
+		}
+		Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private void expect(JsonToken actual, JsonToken expected) throws IOException {
+		if (actual != expected) {
+			throw new IOException("Unexpected token " + actual + " in preference file " + file);
+		}
+	}
+
+}
@@ -0,0 +1,121 @@
+package io.github.pyvesb.alexarevolutionarycalendar.preferences;
+
+import java.util.Optional;
+
+import com.amazon.ask.model.Context;
+import com.amazon.ask.model.RequestEnvelope;
+import com.amazon.ask.model.Session;
+import com.amazon.ask.model.User;
+import com.amazon.ask.model.interfaces.system.SystemState;
+
+/**
+ * Gives request handlers access to the preferences of users.
+ *
+ * @author Pyves
+ *
+ */
+public interface PreferenceRepository {
+
+	/**
+	 * Checks whether preferences are remembered. Handlers should not offer to set preferences otherwise.
+	 *
+	 * @return true if preferences can be set.
+	 */
+	boolean isEnabled();
+
+	/**
+	 * Gets the preferences of a user. Implementations must not throw and must return in a bounded amount of time,
+	 * falling back to {@link UserPreferences#NONE} if needed.
+	 *
+	 * @param userId the identifier of the user.
+	 * @return the preferences of the user.
+	 */
+	UserPreferences get(String userId);
+
+	/**
+	 * Gets the preferences of a user in order to update them. Unlike {@link #get(String)}, implementations must not
+	 * fall back to {@link UserPreferences#NONE} when the preferences cannot be retrieved, as the updated preferences
+	 * would otherwise replace the saved ones. They may block until their store responds or times out.
+	 *
+	 * @param userId the identifier of the user.
+	 * @return the preferences of the user wrapped in an optional or an empty optional if they could not be retrieved.
+	 */
+	Optional<UserPreferences> getForUpdate(String userId);
+
+	/**
+	 * Sets the preferences of a user. Implementations must not throw and must return in a bounded amount of time.
+	 *
+	 * @param userId the identifier of the user.
+	 * @param preferences the new preferences of the user.
+	 */
+	void put(String userId, UserPreferences preferences);
+
+	/**
+	 * Saves updated preferences that are still pending, for runtimes that freeze background threads once a request has
+	 * been handled, such as AWS Lambda.
+	 *
+	 * @return the number of preferences saved.
+	 */
+	default int flush() {
+		return 0;
+	}
+
+	/**
+	 * Gets the preferences of the user making a request.
+	 *
+	 * @param envelope the envelope of the request.
+	 * @return the preferences of the user, or {@link UserPreferences#NONE} if the request does not specify a user.
+	 */
+	default UserPreferences get(RequestEnvelope envelope) {
+		return getUserId(envelope).map(this::get).orElse(UserPreferences.NONE);
+	}
+
+	/**
+	 * Extracts the identifier of the user making a request, found in the context of the request or, for older
+	 * requests, in its session.
+	 *
+	 * @param envelope the envelope of the request.
+	 * @return the identifier wrapped in an optional or an empty optional if the request does not specify a user.
+	 */
+	static Optional<String> getUserId(RequestEnvelope envelope) {
+		Context context = envelope.getContext();
+		SystemState system = context == null ? null : context.getSystem();
+		User user = system == null ? null : system.getUser();
+		if (user == null) {
+			Session session = envelope.getSession();
+			user = session == null ? null : session.getUser();
+		}
+		return user == null ? Optional.empty() : Optional.ofNullable(user.getUserId());
+	}
+
+	/**
+	 * Creates a repository that does not remember preferences, used when no store is configured.
+	 *
+	 * @return the repository.
+	 */
+	static PreferenceRepository disabled() {
+		return new PreferenceRepository() {
+
+			@Override
+			public boolean isEnabled() {
+				return false;
+			}
+
+			@Override
+			public UserPreferences get(String userId) {
+				return UserPreferences.NONE;
+			}
+
+			@Override
+			public Optional<UserPreferences> getForUpdate(String userId) {
+				return Optional.empty();
+			}
+
+			@Override
+			public void put(String userId, UserPreferences preferences) {
+				// Not remembered.
+			}
+		};
+	}
+
+}
@@ -0,0 +1,34 @@
+package io.github.pyvesb.alexarevolutionarycalendar.preferences;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Durable storage of user preferences, typically remote. Implementations are called from background threads of
+ * {@link CachingPreferenceRepository} and must therefore be thread-safe.
+ *
+ * @author Pyves
+ *
+ */
+public interface PreferenceStore {
+
+	/**
+	 * Loads the preferences of a user. Implementations may block, but must time out on their own.
+	 *
+	 * @param userId the identifier of the user.
+	 * @return the preferences wrapped in an optional or an empty optional if the user never set any.
+	 * @throws IOException if the preferences could not be retrieved.
+	 */
+	Optional<UserPreferences> load(String userId) throws IOException;
+
+	/**
+	 * Saves the preferences of several users at once, replacing the ones previously saved. Saves are idempotent: when
+	 * an exception is thrown, some of the preferences may have been saved and the whole batch can be saved again.
+	 *
+	 * @param preferencesByUserId the preferences to save, keyed by user identifier.
+	 * @throws IOException if some of the preferences could not be saved.
+	 */
+	void saveAll(Map<String, UserPreferences> preferencesByUserId) throws IOException;
+
+}
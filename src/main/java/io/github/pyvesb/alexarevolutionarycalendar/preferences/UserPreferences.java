@@ -0,0 +1,141 @@
+package io.github.pyvesb.alexarevolutionarycalendar.preferences;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import ca.rmen.lfrc.FrenchRevolutionaryCalendar.CalculationMethod;
+
+/**
+ * Immutable preferences of a user. Each preference is optional, the skill's defaults applying to the ones that were
+ * never set.
+ *
+ * @author Pyves
+ *
+ */
+public class UserPreferences {
+
+	public static final UserPreferences NONE = new UserPreferences(null, null, null);
+
+	// Names of the attributes under which the preferences are persisted.
+	static final String TIME_ZONE = "timeZone";
+	static final String CALCULATION_METHOD = "calculationMethod";
+	static final String VERBOSITY = "verbosity";
+
+	private final ZoneId timeZone;
+	private final CalculationMethod calculationMethod;
+	private final Verbosity verbosity;
+
+	private UserPreferences(ZoneId timeZone, CalculationMethod calculationMethod, Verbosity verbosity) {
+		this.timeZone = timeZone;
+		this.calculationMethod = calculationMethod;
+		this.verbosity = verbosity;
+	}
+
+	public Optional<ZoneId> getTimeZone() {
+		return Optional.ofNullable(timeZone);
+	}
+
+	public Optional<CalculationMethod> getCalculationMethod() {
+		return Optional.ofNullable(calculationMethod);
+	}
+
+	public Optional<Verbosity> getVerbosity() {
+		return Optional.ofNullable(verbosity);
+	}
+
+	public boolean isBrief() {
+		return verbosity == Verbosity.BRIEF;
+	}
+
+	public UserPreferences withTimeZone(ZoneId timeZone) {
+		return new UserPreferences(timeZone, calculationMethod, verbosity);
+	}
+
+	public UserPreferences withCalculationMethod(CalculationMethod calculationMethod) {
+		return new UserPreferences(timeZone, calculationMethod, verbosity);
+	}
+
+	public UserPreferences withVerbosity(Verbosity verbosity) {
+		return new UserPreferences(timeZone, calculationMethod, verbosity);
+	}
+
+	/**
+	 * Converts the preferences to the string attributes under which they are persisted. Preferences that were never set
+	 * have no attribute.
+	 *
+	 * @return the attributes, in a stable order.
+	 */
+	Map<String, String> toAttributes() {
+		Map<String, String> attributes = new LinkedHashMap<>();
+		if (timeZone != null) {
+			attributes.put(TIME_ZONE, timeZone.getId());
+		}
+		if (calculationMethod != null) {
+			attributes.put(CALCULATION_METHOD, calculationMethod.name());
+		}
+		if (verbosity != null) {
+			attributes.put(VERBOSITY, verbosity.name());
+		}
+		return attributes;
+	}
+
+	/**
+	 * Converts persisted string attributes back to preferences. Unknown attributes and invalid values are ignored, so
+	 * that preferences written by another version of the skill can still be read.
+	 *
+	 * @param attributes the persisted attributes.
+	 * @return the preferences.
+	 */
+	static UserPreferences fromAttributes(Map<String, String> attributes) {
+		UserPreferences preferences = NONE;
+		String timeZone = attributes.get(TIME_ZONE);
+		if (timeZone != null) {
+			try {
+				preferences = preferences.withTimeZone(ZoneId.of(timeZone));
+			} catch (DateTimeException e) {
+				// Ignored, see method documentation.
+			}
+		}
+		String calculationMethod = attributes.get(CALCULATION_METHOD);
+		for (CalculationMethod method : CalculationMethod.values()) {
+			if (method.name().equals(calculationMethod)) {
+				preferences = preferences.withCalculationMethod(method);
+			}
+		}
+		String verbosity = attributes.get(VERBOSITY);
+		for (Verbosity value : Verbosity.values()) {
+			if (value.name().equals(verbosity)) {
+				preferences = preferences.withVerbosity(value);
+			}
+		}
+		return preferences;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof UserPreferences)) {
+			return false;
+		}
+		UserPreferences other = (UserPreferences) obj;
+		return Objects.equals(timeZone, other.timeZone) && calculationMethod == other.calculationMethod
+				&& verbosity == other.verbosity;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(timeZone, calculationMethod, verbosity);
+	}
+
+	@Override
+	public String toString() {
+		return "UserPreferences" + toAttributes();
+	}
+
+}
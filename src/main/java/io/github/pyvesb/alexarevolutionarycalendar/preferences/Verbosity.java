@@ -0,0 +1,60 @@
+package io.github.pyvesb.alexarevolutionarycalendar.preferences;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Level of detail of the responses given to a user.
+ *
+ * @author Pyves
+ *
+ */
+public enum Verbosity {
+
+	/**
+	 * Dates are given along with their object of the day and the launch response introduces the skill.
+	 */
+	FULL("full", "detailed", "long", "complet", "complete", "detaille", "detaillee"),
+
+	/**
+	 * Dates are given on their own and the launch response is reduced to a prompt.
+	 */
+	BRIEF("brief", "short", "concise", "bref", "breve", "court", "courte", "concis");
+
+	private static final Map<String, Verbosity> VERBOSITIES_BY_NAME = new HashMap<>();
+
+	static {
+		for (Verbosity verbosity : values()) {
+			VERBOSITIES_BY_NAME.put(normalise(verbosity.name()), verbosity);
+			for (String name : verbosity.names) {
+				VERBOSITIES_BY_NAME.put(name, verbosity);
+			}
+		}
+	}
+
+	private final String[] names;
+
+	Verbosity(String... names) {
+		this.names = names;
+	}
+
+	/**
+	 * Parses a verbosity name, as transcribed by Alexa in English or French, e.g. "brief" or "détaillé". Matching
+	 * ignores case and accents.
+	 *
+	 * @param value the string to parse.
+	 * @return the verbosity wrapped in an optional or an empty optional if the string could not be parsed.
+	 */
+	public static Optional<Verbosity> parse(String value) {
+		return value == null ? Optional.empty() : Optional.ofNullable(VERBOSITIES_BY_NAME.get(normalise(value)));
+	}
+
+	private static String normalise(String name) {
+		String withoutAccents = Normalizer.normalize(name, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+		return withoutAccents.trim().toLowerCase(Locale.ROOT);
+	}
+
+}
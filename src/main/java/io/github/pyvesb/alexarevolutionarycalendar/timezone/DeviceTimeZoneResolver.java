@@ -0,0 +1,154 @@
+package io.github.pyvesb.alexarevolutionarycalendar.timezone;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import com.amazon.ask.model.Context;
+import com.amazon.ask.model.RequestEnvelope;
+import com.amazon.ask.model.interfaces.system.SystemState;
+
+import io.github.pyvesb.alexarevolutionarycalendar.cache.CoalescingCache;
+
+/**
+ * Resolves the time zone of the device making a request, as configured by its owner. Time zones are kept in a
+ * {@link CoalescingCache} keyed by device identifier: concurrent misses for the same device are coalesced into a single
+ * lookup, callers wait for it at most for a given timeout before falling back, and failed lookups cache the fallback
+ * time zone for a shorter time.
+ *
+ * The fallback time zone is returned straight away for requests that do not specify a device, an API endpoint or an
+ * API access token, such as requests made from simulators or replayed from captures.
+ *
+ * @author Pyves
+ *
+ */
+public class DeviceTimeZoneResolver implements TimeZoneResolver {
+
+	private final TimeZoneLookup lookup;
+	private final ZoneId fallback;
+	private final CoalescingCache<ZoneId> cache;
+	// Requests that cannot be looked up, on top of the ones falling back after a failed or slow lookup.
+	private final LongAdder unresolvable = new LongAdder();
+
+	private DeviceTimeZoneResolver(Builder builder) {
+		this.lookup = builder.lookup;
+		this.fallback = builder.fallback;
+		this.cache = builder.cache.withFallback(builder.fallback).build();
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	@Override
+	public ZoneId resolve(RequestEnvelope envelope) {
+		Context context = envelope.getContext();
+		SystemState system = context == null ? null : context.getSystem();
+		if (system == null || system.getDevice() == null || system.getDevice().getDeviceId() == null
+				|| system.getApiEndpoint() == null || system.getApiAccessToken() == null) {
+			unresolvable.increment();
+			return fallback;
+		}
+		return resolve(system.getDevice().getDeviceId(), system.getApiEndpoint(), system.getApiAccessToken());
+	}
+
+	/**
+	 * Resolves the time zone of a device.
+	 *
+	 * @param deviceId the identifier of the device.
+	 * @param apiEndpoint the base URL of the Alexa APIs.
+	 * @param apiAccessToken the token authorising calls to the Alexa APIs.
+	 * @return the time zone of the device, or the fallback time zone if it could not be retrieved in time.
+	 */
+	public ZoneId resolve(String deviceId, String apiEndpoint, String apiAccessToken) {
+		return cache.get(deviceId, () -> lookup.lookUp(apiEndpoint, deviceId, apiAccessToken));
+	}
+
+	public long getHitCount() {
+		return cache.getHitCount();
+	}
+
+	public long getMissCount() {
+		return cache.getMissCount();
+	}
+
+	/**
+	 * Returns the number of lookups performed, which is lower than the number of misses when some were coalesced.
+	 *
+	 * @return the number of lookups.
+	 */
+	public long getLookupCount() {
+		return cache.getLoadCount();
+	}
+
+	public long getFallbackCount() {
+		return cache.getFallbackCount() + unresolvable.sum();
+	}
+
+	public static class Builder {
+
+		private final CoalescingCache.Builder<ZoneId> cache = CoalescingCache.<ZoneId> builder().withName("time zone")
+				.withTimeToLive(Duration.ofHours(1));
+		private TimeZoneLookup lookup;
+		private ZoneId fallback;
+
+		private Builder() {
+			// Use DeviceTimeZoneResolver.builder().
+		}
+
+		public Builder withLookup(TimeZoneLookup lookup) {
+			this.lookup = lookup;
+			return this;
+		}
+
+		public Builder withFallback(ZoneId fallback) {
+			this.fallback = fallback;
+			return this;
+		}
+
+		public Builder withMaximumSize(int maximumSize) {
+			cache.withMaximumSize(maximumSize);
+			return this;
+		}
+
+		public Builder withTimeToLive(Duration timeToLive) {
+			cache.withTimeToLive(timeToLive);
+			return this;
+		}
+
+		public Builder withFailureTimeToLive(Duration failureTimeToLive) {
+			cache.withFailureTimeToLive(failureTimeToLive);
+			return this;
+		}
+
+		public Builder withTimeout(Duration timeout) {
+			cache.withTimeout(timeout);
+			return this;
+		}
+
+		public Builder withLookupThreads(int lookupThreads) {
+			cache.withLoadThreads(lookupThreads);
+			return this;
+		}
+
+		Builder withExecutor(Executor executor) {
+			cache.withExecutor(executor);
+			return this;
+		}
+
+		Builder withNanoTime(LongSupplier nanoTime) {
+			cache.withNanoTime(nanoTime);
+			return this;
+		}
+
+		public DeviceTimeZoneResolver build() {
+			if (lookup == null || fallback == null) {
+				throw new IllegalStateException("A lookup and a fallback time zone are required");
+			}
+			return new DeviceTimeZoneResolver(this);
+		}
+	}
+
+}
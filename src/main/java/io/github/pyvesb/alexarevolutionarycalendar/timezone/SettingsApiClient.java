@@ -0,0 +1,75 @@
+package io.github.pyvesb.alexarevolutionarycalendar.timezone;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Client of the Alexa Settings API, retrieving the time zone of a device with a
+ * GET {apiEndpoint}/v2/devices/{deviceId}/settings/System.timeZone call. The response body is a JSON string, e.g.
+ * "Europe/Paris".
+ *
+ * @author Pyves
+ *
+ */
+public class SettingsApiClient implements TimeZoneLookup {
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	private final String endpointOverride;
+	private final int timeoutMillis;
+
+	/**
+	 * Creates a client.
+	 *
+	 * @param endpointOverride the base URL to call instead of the one specified in requests, for instance a local
+	 *            stand-in of the Settings API, or null to use the one specified in requests.
+	 * @param timeoutMillis the connect and read timeouts, in milliseconds.
+	 */
+	public SettingsApiClient(String endpointOverride, int timeoutMillis) {
+		this.endpointOverride = endpointOverride;
+		this.timeoutMillis = timeoutMillis;
+	}
+
+	@Override
+	public ZoneId lookUp(String apiEndpoint, String deviceId, String apiAccessToken) throws IOException {
+		String endpoint = endpointOverride == null ? apiEndpoint : endpointOverride;
+		URL url = new URL(endpoint + "/v2/devices/" + URLEncoder.encode(deviceId, StandardCharsets.UTF_8.name())
+				+ "/settings/System.timeZone");
+		HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+		connection.setConnectTimeout(timeoutMillis);
+		connection.setReadTimeout(timeoutMillis);
+		connection.setRequestProperty("Authorization", "Bearer " + apiAccessToken);
+		connection.setRequestProperty("Accept", "application/json");
+		int status = connection.getResponseCode();
+		if (status != HttpURLConnection.HTTP_OK) {
+			// Reading the error body allows the underlying connection to be reused.
+			try (InputStream error = connection.getErrorStream()) {
+				if (error != null) {
+					while (error.read() != -1) {
+						// Discard.
+					}
+				}
+			}
+			throw new IOException("Settings API responded with status " + status + " for device " + deviceId);
+		}
+		try (InputStream body = connection.getInputStream(); JsonParser parser = JSON_FACTORY.createParser(body)) {
+			if (parser.nextToken() != JsonToken.VALUE_STRING) {
+				throw new IOException("Settings API responded with an unexpected body for device " + deviceId);
+			}
+			return ZoneId.of(parser.getText());
+		} catch (DateTimeException e) {
+			throw new IOException("Settings API responded with an invalid time zone for device " + deviceId, e);
+		}
+	}
+
+}
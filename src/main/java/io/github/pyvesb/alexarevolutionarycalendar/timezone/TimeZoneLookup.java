@@ -0,0 +1,26 @@
+package io.github.pyvesb.alexarevolutionarycalendar.timezone;
+
+import java.io.IOException;
+import java.time.ZoneId;
+
+/**
+ * Looks up the time zone configured on a device, typically through a remote call.
+ *
+ * @author Pyves
+ *
+ */
+@FunctionalInterface
+public interface TimeZoneLookup {
+
+	/**
+	 * Looks up the time zone of a device. Implementations may block, but must time out on their own.
+	 *
+	 * @param apiEndpoint the base URL of the Alexa APIs, as specified in the request.
+	 * @param deviceId the identifier of the device.
+	 * @param apiAccessToken the token authorising calls to the Alexa APIs, as specified in the request.
+	 * @return the time zone of the device.
+	 * @throws IOException if the time zone could not be retrieved.
+	 */
+	ZoneId lookUp(String apiEndpoint, String deviceId, String apiAccessToken) throws IOException;
+
+}
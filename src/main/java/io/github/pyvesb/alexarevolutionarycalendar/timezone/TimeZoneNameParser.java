@@ -0,0 +1,59 @@
+package io.github.pyvesb.alexarevolutionarycalendar.timezone;
+
+import java.text.Normalizer;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Parser for time zone names, as transcribed by Alexa. Accepts region identifiers, e.g. "Europe/Paris", as well as the
+ * cities they are named after, e.g. "new york" for America/New_York. Matching ignores case, accents, spaces, hyphens,
+ * underscores and apostrophes.
+ *
+ * @author Pyves
+ *
+ */
+public class TimeZoneNameParser {
+
+	private static final Map<String, ZoneId> ZONES_BY_NAME = new HashMap<>();
+
+	static {
+		List<String> zoneIds = new ArrayList<>(ZoneId.getAvailableZoneIds());
+		// Cities shared by several identifiers resolve to the shortest one, e.g. America/Indianapolis rather than
+		// America/Indiana/Indianapolis.
+		zoneIds.sort(Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder()));
+		for (String zoneId : zoneIds) {
+			ZoneId zone = ZoneId.of(zoneId);
+			ZONES_BY_NAME.putIfAbsent(normalise(zoneId), zone);
+			int separator = zoneId.lastIndexOf('/');
+			if (separator >= 0) {
+				ZONES_BY_NAME.putIfAbsent(normalise(zoneId.substring(separator + 1)), zone);
+			}
+		}
+	}
+
+	/**
+	 * Parses a time zone name.
+	 *
+	 * @param value the string to parse.
+	 * @return the time zone wrapped in an optional or an empty optional if the string could not be parsed.
+	 */
+	public static Optional<ZoneId> parse(String value) {
+		return value == null ? Optional.empty() : Optional.ofNullable(ZONES_BY_NAME.get(normalise(value)));
+	}
+
+	private static String normalise(String name) {
+		String withoutAccents = Normalizer.normalize(name, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+		return withoutAccents.replaceAll("[\\s_'-]", "").toLowerCase(Locale.ROOT);
+	}
+
+	private TimeZoneNameParser() {
+		// Not used.
+	}
+
+}
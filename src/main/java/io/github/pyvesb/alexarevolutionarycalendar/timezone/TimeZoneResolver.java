@@ -0,0 +1,35 @@
+package io.github.pyvesb.alexarevolutionarycalendar.timezone;
+
+import java.time.ZoneId;
+
+import com.amazon.ask.model.RequestEnvelope;
+
+/**
+ * Resolves the time zone in which the date of the day should be computed for a request.
+ *
+ * @author Pyves
+ *
+ */
+@FunctionalInterface
+public interface TimeZoneResolver {
+
+	/**
+	 * Resolves the time zone of a request. Implementations must not throw and must return in a bounded amount of time,
+	 * falling back to a default time zone if needed.
+	 *
+	 * @param envelope the envelope of the request.
+	 * @return the time zone.
+	 */
+	ZoneId resolve(RequestEnvelope envelope);
+
+	/**
+	 * Creates a resolver ignoring requests and always returning the same time zone.
+	 *
+	 * @param zone the time zone.
+	 * @return the resolver.
+	 */
+	static TimeZoneResolver fixed(ZoneId zone) {
+		return envelope -> zone;
+	}
+
+}
@@ -0,0 +1,55 @@
+package io.github.pyvesb.alexarevolutionarycalendar.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Class used to read request and response bodies.
+ *
+ * @author Pyves
+ *
+ */
+public class Streams {
+
+	private static final int BUFFER_SIZE = 4096;
+
+	/**
+	 * Reads a stream until its end.
+	 *
+	 * @param input the stream to read.
+	 * @return the bytes of the stream.
+	 * @throws IOException if the stream could not be read.
+	 */
+	public static byte[] readFully(InputStream input) throws IOException {
+		return readFully(input, Integer.MAX_VALUE).get();
+	}
+
+	/**
+	 * Reads a stream until its end, unless it turns out to be larger than the given limit.
+	 *
+	 * @param input the stream to read.
+	 * @param maxBytes the maximum number of bytes to read.
+	 * @return the bytes of the stream, or an empty optional if it exceeds the limit, in which case it is only read up
+	 *         to the limit.
+	 * @throws IOException if the stream could not be read.
+	 */
+	public static Optional<byte[]> readFully(InputStream input, int maxBytes) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(BUFFER_SIZE);
+		byte[] buffer = new byte[BUFFER_SIZE];
+		int read;
+		while ((read = input.read(buffer)) != -1) {
+			if (read > maxBytes - bytes.size()) {
+				return Optional.empty();
+			}
+			bytes.write(buffer, 0, read);
+		}
+		return Optional.of(bytes.toByteArray());
+	}
+
+	private Streams() {
+		// Not used.
+	}
+
+}
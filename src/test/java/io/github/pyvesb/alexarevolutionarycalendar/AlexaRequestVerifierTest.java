@@ -0,0 +1,273 @@
+package io.github.pyvesb.alexarevolutionarycalendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509TrustManager;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.sun.net.httpserver.Headers;
+
+class AlexaRequestVerifierTest {
+
+	private static final String CERT_CHAIN_URL = "https://s3.amazonaws.com/echo.api/echo-api-cert.pem";
+	private static final Instant NOW = Instant.parse("2030-01-01T12:00:00Z");
+	private static final byte[] BODY = ("{\"version\":\"1.0\",\"request\":{\"type\":\"LaunchRequest\","
+			+ "\"locale\":\"en-GB\",\"timestamp\":\"2030-01-01T12:01:00Z\"}}").getBytes(StandardCharsets.UTF_8);
+
+	// Self-signed test certificates, one issued to echo-api.amazon.com and the other to example.com.
+	private static KeyStore keyStore;
+	private static X509TrustManager trustManager;
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@BeforeAll
+	static void setUpKeyStore() throws Exception {
+		keyStore = KeyStore.getInstance("PKCS12");
+		try (InputStream input = AlexaRequestVerifierTest.class.getResourceAsStream("/alexa-signing-test.p12")) {
+			keyStore.load(input, "password".toCharArray());
+		}
+		trustManager = buildTrustManager("alexa", "other");
+	}
+
+	@Nested
+	class SignatureTest {
+
+		@Test
+		void shouldAcceptRequestSignedByAlexa() throws Exception {
+			AlexaRequestVerifier underTest = buildVerifier("alexa");
+
+			underTest.verify(buildHeaders("Signature-256", sign("alexa", "SHA256withRSA", BODY)), BODY);
+			underTest.verify(buildHeaders("Signature", sign("alexa", "SHA1withRSA", BODY)), BODY);
+		}
+
+		@Test
+		void shouldLoadCertificateChainOnlyOnce() throws Exception {
+			AlexaRequestVerifier underTest = buildVerifier("alexa");
+			Headers headers = buildHeaders("Signature-256", sign("alexa", "SHA256withRSA", BODY));
+
+			underTest.verify(headers, BODY);
+			underTest.verify(headers, BODY);
+
+			assertEquals(1, loads.get());
+		}
+
+		@Test
+		void shouldCacheCertificateChainsByPath() throws Exception {
+			AlexaRequestVerifier underTest = buildVerifier("alexa");
+			Headers headers = buildHeaders("Signature-256", sign("alexa", "SHA256withRSA", BODY));
+			Headers equivalentHeaders = buildHeaders("Signature-256", sign("alexa", "SHA256withRSA", BODY));
+			equivalentHeaders.set(AlexaRequestVerifier.CERT_CHAIN_URL_HEADER,
+					"https://s3.amazonaws.com:443/echo.api/../echo.api/echo-api-cert.pem");
+
+			underTest.verify(headers, BODY);
+			underTest.verify(equivalentHeaders, BODY);
+
+			assertEquals(1, loads.get());
+		}
+
+		@Test
+		void shouldBoundNumberOfCachedCertificateChains() throws Exception {
+			AlexaRequestVerifier underTest = new AlexaRequestVerifier(Clock.fixed(NOW, ZoneId.of("UTC")),
+					AlexaRequestVerifier.DEFAULT_TOLERANCE, url -> {
+						loads.incrementAndGet();
+						return getChain("alexa");
+					}, trustManager);
+			Headers headers = buildHeaders("Signature-256", sign("alexa", "SHA256withRSA", BODY));
+
+			for (int i = 0; i <= AlexaRequestVerifier.MAX_CACHED_CERTIFICATES; ++i) {
+				headers.set(AlexaRequestVerifier.CERT_CHAIN_URL_HEADER, CERT_CHAIN_URL.replace(".pem", i + ".pem"));
+				underTest.verify(headers, BODY);
+				underTest.verify(headers, BODY);
+			}
+
+			// Every chain was loaded once, except the one exceeding the bound, which was loaded each time.
+			assertEquals(AlexaRequestVerifier.MAX_CACHED_CERTIFICATES + 2, loads.get());
+		}
+
+		@Test
+		void shouldRejectTamperedBody() throws Exception {
+			AlexaRequestVerifier underTest = buildVerifier("alexa");
+			byte[] tamperedBody = new String(BODY, StandardCharsets.UTF_8).replace("en-GB", "en-US")
+					.getBytes(StandardCharsets.UTF_8);
+
+			assertThrows(SecurityException.class, () -> underTest
+					.verify(buildHeaders("Signature-256", sign("alexa", "SHA256withRSA", BODY)), tamperedBody));
+		}
+
+		@Test
+		void shouldRejectMissingOrMalformedSignature() {
+			AlexaRequestVerifier underTest = buildVerifier("alexa");
+			Headers headers = new Headers();
+			headers.add(AlexaRequestVerifier.CERT_CHAIN_URL_HEADER, CERT_CHAIN_URL);
+
+			assertThrows(SecurityException.class, () -> underTest.verify(headers, BODY));
+			assertThrows(SecurityException.class,
+					() -> underTest.verify(buildHeaders("Signature-256", "not base 64!"), BODY));
+		}
+
+		@Test
+		void shouldRejectCertificateNotIssuedToAlexa() throws Exception {
+			AlexaRequestVerifier underTest = buildVerifier("other");
+
+			assertThrows(SecurityException.class, () -> underTest
+					.verify(buildHeaders("Signature-256", sign("other", "SHA256withRSA", BODY)), BODY));
+		}
+
+		@Test
+		void shouldRejectUntrustedCertificate() throws Exception {
+			AlexaRequestVerifier underTest = new AlexaRequestVerifier(Clock.fixed(NOW, ZoneId.of("UTC")),
+					AlexaRequestVerifier.DEFAULT_TOLERANCE, url -> getChain("alexa"), buildTrustManager("other"));
+
+			assertThrows(SecurityException.class, () -> underTest
+					.verify(buildHeaders("Signature-256", sign("alexa", "SHA256withRSA", BODY)), BODY));
+		}
+
+		@Test
+		void shouldRejectExpiredCertificate() throws Exception {
+			Clock afterExpiry = Clock.fixed(Instant.parse("2200-01-01T12:00:00Z"), ZoneId.of("UTC"));
+			AlexaRequestVerifier underTest = new AlexaRequestVerifier(afterExpiry,
+					AlexaRequestVerifier.DEFAULT_TOLERANCE, url -> getChain("alexa"), trustManager);
+			byte[] body = new String(BODY, StandardCharsets.UTF_8).replace("2030", "2200")
+					.getBytes(StandardCharsets.UTF_8);
+
+			assertThrows(SecurityException.class, () -> underTest
+					.verify(buildHeaders("Signature-256", sign("alexa", "SHA256withRSA", body)), body));
+		}
+	}
+
+	@Nested
+	class CertChainUrlTest {
+
+		@ParameterizedTest
+		@ValueSource(strings = { "https://s3.amazonaws.com/echo.api/echo-api-cert.pem",
+				"https://s3.amazonaws.com:443/echo.api/echo-api-cert.pem",
+				"https://s3.amazonaws.com/echo.api/../echo.api/echo-api-cert.pem",
+				"HTTPS://s3.AmazonAWS.com/echo.api/echo-api-cert.pem" })
+		void shouldAcceptAmazonUrls(String certChainUrl) {
+			assertEquals("/echo.api/echo-api-cert.pem", AlexaRequestVerifier.parseCertChainUrl(certChainUrl).getPath());
+		}
+
+		@ParameterizedTest
+		@ValueSource(strings = { "http://s3.amazonaws.com/echo.api/echo-api-cert.pem",
+				"https://notamazon.com/echo.api/echo-api-cert.pem",
+				"https://s3.amazonaws.com/EcHo.aPi/echo-api-cert.pem",
+				"https://s3.amazonaws.com/invalid.path/echo-api-cert.pem",
+				"https://s3.amazonaws.com:563/echo.api/echo-api-cert.pem",
+				"https://s3.amazonaws.com/echo.api/../invalid.path/echo-api-cert.pem",
+				"https://s3.amazonaws.com/echo.api/echo-api-cert.pem?1",
+				"https://s3.amazonaws.com/echo.api/echo-api-cert.pem#1", "not a url" })
+		void shouldRejectOtherUrls(String certChainUrl) {
+			assertThrows(SecurityException.class, () -> AlexaRequestVerifier.parseCertChainUrl(certChainUrl));
+		}
+
+		@Test
+		void shouldRejectMissingUrl() {
+			assertThrows(SecurityException.class, () -> AlexaRequestVerifier.parseCertChainUrl(null));
+		}
+	}
+
+	@Nested
+	class TimestampTest {
+
+		@ParameterizedTest
+		@ValueSource(strings = { "\"2030-01-01T12:02:30Z\"", "\"2030-01-01T11:57:30Z\"",
+				"\"2030-01-01T13:00:00+01:00\"", "1893499200000" })
+		void shouldAcceptTimestampsWithinTolerance(String timestamp) throws Exception {
+			byte[] body = buildBody(timestamp);
+
+			buildVerifier("alexa").verify(buildHeaders("Signature-256", sign("alexa", "SHA256withRSA", body)), body);
+		}
+
+		@ParameterizedTest
+		@ValueSource(strings = { "\"2030-01-01T12:02:31Z\"", "\"2030-01-01T11:57:29Z\"", "\"yesterday\"", "true" })
+		void shouldRejectTimestampsOutsideToleranceOrInvalid(String timestamp) throws Exception {
+			byte[] body = buildBody(timestamp);
+			Headers headers = buildHeaders("Signature-256", sign("alexa", "SHA256withRSA", body));
+
+			assertThrows(SecurityException.class, () -> buildVerifier("alexa").verify(headers, body));
+		}
+
+		@ParameterizedTest
+		@ValueSource(strings = { "{\"version\":\"1.0\"}", "{\"request\":{\"type\":\"LaunchRequest\"}}", "[]", "{" })
+		void shouldRejectRequestsWithoutTimestamp(String envelope) throws Exception {
+			byte[] body = envelope.getBytes(StandardCharsets.UTF_8);
+			Headers headers = buildHeaders("Signature-256", sign("alexa", "SHA256withRSA", body));
+
+			assertThrows(SecurityException.class, () -> buildVerifier("alexa").verify(headers, body));
+		}
+
+		private byte[] buildBody(String timestamp) {
+			return ("{\"session\":{\"new\":true},\"request\":{\"type\":\"LaunchRequest\",\"timestamp\":" + timestamp
+					+ "}}").getBytes(StandardCharsets.UTF_8);
+		}
+	}
+
+	private AlexaRequestVerifier buildVerifier(String alias) {
+		return new AlexaRequestVerifier(Clock.fixed(NOW, ZoneId.of("UTC")), AlexaRequestVerifier.DEFAULT_TOLERANCE,
+				url -> {
+					loads.incrementAndGet();
+					assertEquals(new URL(CERT_CHAIN_URL).toString(), url.toString());
+					return getChain(alias);
+				}, trustManager);
+	}
+
+	private static List<X509Certificate> getChain(String alias) throws CertificateException {
+		try {
+			return Collections.singletonList((X509Certificate) keyStore.getCertificate(alias));
+		} catch (KeyStoreException e) {
+			throw new CertificateException(e);
+		}
+	}
+
+	private static String sign(String alias, String algorithm, byte[] body) throws GeneralSecurityException {
+		Signature signature = Signature.getInstance(algorithm);
+		signature.initSign((PrivateKey) keyStore.getKey(alias, "password".toCharArray()));
+		signature.update(body);
+		return Base64.getEncoder().encodeToString(signature.sign());
+	}
+
+	private static Headers buildHeaders(String signatureHeader, String signature) {
+		Headers headers = new Headers();
+		headers.add(AlexaRequestVerifier.CERT_CHAIN_URL_HEADER, CERT_CHAIN_URL);
+		headers.add(signatureHeader, signature);
+		return headers;
+	}
+
+	private static X509TrustManager buildTrustManager(String... trustedAliases) throws Exception {
+		KeyStore trustStore = KeyStore.getInstance("PKCS12");
+		trustStore.load(null, null);
+		for (String alias : trustedAliases) {
+			trustStore.setCertificateEntry(alias, keyStore.getCertificate(alias));
+		}
+		TrustManagerFactory trustManagerFactory = TrustManagerFactory
+				.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+		trustManagerFactory.init(trustStore);
+		return (X509TrustManager) trustManagerFactory.getTrustManagers()[0];
+	}
+
+}
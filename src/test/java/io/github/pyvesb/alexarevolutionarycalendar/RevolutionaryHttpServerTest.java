@@ -0,0 +1,229 @@
+package io.github.pyvesb.alexarevolutionarycalendar;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.sun.net.httpserver.HttpServer;
+
+class RevolutionaryHttpServerTest {
+
+	private static final byte[] REQUEST = "{\"version\":\"1.0\"}".getBytes(StandardCharsets.UTF_8);
+	private static final int MAX_REQUEST_BYTES = 1024;
+
+	private RevolutionaryHttpServer underTest;
+
+	@AfterEach
+	void tearDown() {
+		underTest.stop(0);
+	}
+
+	@Test
+	void shouldReturnStreamHandlerOutput() throws Exception {
+		startServer(4, (input, output, context) -> copy(input, output));
+
+		HttpURLConnection connection = post(REQUEST);
+
+		assertEquals(200, connection.getResponseCode());
+		assertEquals("application/json;charset=UTF-8", connection.getContentType());
+		assertArrayEquals(REQUEST, read(connection.getInputStream()));
+	}
+
+	@Test
+	void shouldRejectOtherMethods() throws Exception {
+		startServer(4, (input, output, context) -> copy(input, output));
+
+		HttpURLConnection connection = (HttpURLConnection) getUrl().openConnection();
+
+		assertEquals(405, connection.getResponseCode());
+	}
+
+	@Test
+	void shouldRejectRequestsAboveConcurrencyLimit() throws Exception {
+		startServer(0, (input, output, context) -> copy(input, output));
+
+		assertEquals(503, post(REQUEST).getResponseCode());
+	}
+
+	@Test
+	void shouldVerifyRequestsBeforeHandlingThem() throws Exception {
+		List<String> signatures = new CopyOnWriteArrayList<>();
+		List<byte[]> bodies = new CopyOnWriteArrayList<>();
+		startServer(4, (headers, body) -> {
+			signatures.add(headers.getFirst("Signature"));
+			bodies.add(body);
+		}, (input, output, context) -> copy(input, output));
+
+		HttpURLConnection connection = post(REQUEST, "signature");
+
+		assertEquals(200, connection.getResponseCode());
+		assertArrayEquals(REQUEST, read(connection.getInputStream()));
+		assertEquals(Collections.singletonList("signature"), signatures);
+		assertArrayEquals(REQUEST, bodies.get(0));
+	}
+
+	@Test
+	void shouldRejectUnverifiedRequests() throws Exception {
+		AtomicBoolean handled = new AtomicBoolean();
+		startServer(4, (headers, body) -> {
+			throw new SecurityException("Simulated forged request");
+		}, (input, output, context) -> handled.set(true));
+
+		assertEquals(400, post(REQUEST).getResponseCode());
+		assertFalse(handled.get());
+	}
+
+	@Test
+	void shouldReturnServerErrorIfStreamHandlerFails() throws Exception {
+		startServer(4, (input, output, context) -> {
+			throw new IllegalStateException("Simulated failure");
+		});
+
+		assertEquals(500, post(REQUEST).getResponseCode());
+	}
+
+	@Test
+	void shouldReturnServerErrorIfStreamHandlerFailsToWrite() throws Exception {
+		startServer(4, (input, output, context) -> {
+			throw new IOException("Simulated failure");
+		});
+
+		assertEquals(500, post(REQUEST).getResponseCode());
+	}
+
+	@Test
+	void shouldAcceptRequestsUpToSizeLimit() throws Exception {
+		startServer(4, (input, output, context) -> copy(input, output));
+
+		assertEquals(200, post(new byte[MAX_REQUEST_BYTES]).getResponseCode());
+	}
+
+	@Test
+	void shouldRejectRequestsAboveSizeLimit() throws Exception {
+		AtomicBoolean verified = new AtomicBoolean();
+		startServer(4, (headers, body) -> verified.set(true), (input, output, context) -> copy(input, output));
+
+		assertEquals(413, post(new byte[MAX_REQUEST_BYTES + 1]).getResponseCode());
+		assertFalse(verified.get());
+	}
+
+	@Test
+	void shouldRejectChunkedRequestsAboveSizeLimit() throws Exception {
+		AtomicBoolean verified = new AtomicBoolean();
+		startServer(4, (headers, body) -> verified.set(true), (input, output, context) -> copy(input, output));
+
+		HttpURLConnection connection = (HttpURLConnection) getUrl().openConnection();
+		connection.setRequestMethod("POST");
+		connection.setChunkedStreamingMode(256);
+		connection.setDoOutput(true);
+		try (OutputStream output = connection.getOutputStream()) {
+			output.write(new byte[MAX_REQUEST_BYTES * 4]);
+		}
+
+		assertEquals(413, connection.getResponseCode());
+		assertFalse(verified.get());
+	}
+
+	@Test
+	void shouldProcessRequestsConcurrently() throws Exception {
+		int requests = 32;
+		CyclicBarrier barrier = new CyclicBarrier(requests);
+		// Every request blocks until all of them are being processed at the same time.
+		startServer(requests, (input, output, context) -> {
+			try {
+				barrier.await(10, TimeUnit.SECONDS);
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+			copy(input, output);
+		});
+
+		ExecutorService clients = Executors.newFixedThreadPool(requests);
+		List<CompletableFuture<Integer>> responseCodes = new ArrayList<>();
+		for (int i = 0; i < requests; ++i) {
+			responseCodes.add(CompletableFuture.supplyAsync(() -> {
+				try {
+					return post(REQUEST).getResponseCode();
+				} catch (IOException e) {
+					throw new IllegalStateException(e);
+				}
+			}, clients));
+		}
+		for (CompletableFuture<Integer> responseCode : responseCodes) {
+			assertEquals(200, responseCode.get(20, TimeUnit.SECONDS).intValue());
+		}
+		clients.shutdown();
+	}
+
+	private void startServer(int maxConcurrentRequests, RequestStreamHandler streamHandler) throws IOException {
+		startServer(maxConcurrentRequests, RequestVerifier.none(), streamHandler);
+	}
+
+	private void startServer(int maxConcurrentRequests, RequestVerifier requestVerifier,
+			RequestStreamHandler streamHandler) throws IOException {
+		InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+		underTest = new RevolutionaryHttpServer(HttpServer.create(), address, 64, maxConcurrentRequests,
+				MAX_REQUEST_BYTES, RevolutionaryHttpServer.newExecutor(true, 64), requestVerifier, streamHandler);
+		underTest.start();
+	}
+
+	private HttpURLConnection post(byte[] body) throws IOException {
+		return post(body, null);
+	}
+
+	private HttpURLConnection post(byte[] body, String signature) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) getUrl().openConnection();
+		connection.setRequestMethod("POST");
+		if (signature != null) {
+			connection.setRequestProperty("Signature", signature);
+		}
+		connection.setDoOutput(true);
+		try (OutputStream output = connection.getOutputStream()) {
+			output.write(body);
+		}
+		return connection;
+	}
+
+	private URL getUrl() throws IOException {
+		return new URL("http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + underTest.getPort() + "/");
+	}
+
+	private static void copy(InputStream input, OutputStream output) throws IOException {
+		byte[] buffer = new byte[1024];
+		int read;
+		while ((read = input.read(buffer)) != -1) {
+			output.write(buffer, 0, read);
+		}
+	}
+
+	private static byte[] read(InputStream input) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		copy(input, output);
+		return output.toByteArray();
+	}
+
+}
@@ -0,0 +1,119 @@
+package io.github.pyvesb.alexarevolutionarycalendar;
+
+import static io.github.pyvesb.alexarevolutionarycalendar.RevolutionaryStreamHandler.SKILL_ID;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class RevolutionaryStreamHandlerTest {
+
+	private static final String ENVELOPE = "{\"version\":\"1.0\",\"session\":{\"new\":false,"
+			+ "\"sessionId\":\"amzn1.echo-api.session.test\",%s\"application\":{\"applicationId\":\"%s\"},"
+			+ "\"user\":{\"userId\":\"amzn1.ask.account.test\"}},"
+			+ "\"context\":{\"AudioPlayer\":{\"playerActivity\":\"IDLE\"},"
+			+ "\"System\":{\"application\":{\"applicationId\":\"%2$s\"},"
+			+ "\"user\":{\"userId\":\"amzn1.ask.account.test\"},"
+			+ "\"device\":{\"deviceId\":\"amzn1.ask.device.test\",\"supportedInterfaces\":{}},"
+			+ "\"apiEndpoint\":\"https://api.eu.amazonalexa.com\",\"apiAccessToken\":\"token\"}},\"request\":%s}";
+	private static final String DATE_WITH_SLOT = "{\"type\":\"IntentRequest\","
+			+ "\"requestId\":\"amzn1.echo-api.request.test\",\"timestamp\":\"2018-03-29T21:19:29Z\","
+			+ "\"locale\":\"%s\",\"dialogState\":\"COMPLETED\",\"intent\":{\"name\":\"RevolutionaryDateWithSlot\","
+			+ "\"confirmationStatus\":\"NONE\",\"slots\":{\"date\":{\"name\":\"date\",\"value\":%s,"
+			+ "\"resolutions\":{\"resolutionsPerAuthority\":[]},\"confirmationStatus\":\"NONE\"}}}}";
+
+	private final RevolutionaryStreamHandler sdkStreamHandler = new RevolutionaryStreamHandler(false);
+	private final RevolutionaryStreamHandler streamingStreamHandler = new RevolutionaryStreamHandler(true);
+
+	static Stream<String> envelopes() {
+		Stream<String> primingEnvelopes = SkillPrimer.getEnvelopes(SKILL_ID).stream()
+				.map(envelope -> new String(envelope, StandardCharsets.UTF_8));
+		Stream<String> otherEnvelopes = Stream.of(
+				buildEnvelope("", SKILL_ID, String.format(DATE_WITH_SLOT, "fr-CA", "\"2018-03-05\"")),
+				buildEnvelope("", SKILL_ID, String.format(DATE_WITH_SLOT, "en-CA", "\"2018-SP\"")),
+				buildEnvelope("", SKILL_ID, String.format(DATE_WITH_SLOT, "en-GB", "\"2018-W54\"")),
+				buildEnvelope("", SKILL_ID, String.format(DATE_WITH_SLOT, "en-IN", "null")),
+				buildEnvelope("", SKILL_ID, String.format(DATE_WITH_SLOT, "de-DE", "\"\\u00e9t\\u00e9\"")),
+				buildEnvelope("\"attributes\":{\"key\":\"value\"},", SKILL_ID,
+						String.format(DATE_WITH_SLOT, "en-US", "\"2018-03-05\"")),
+				buildEnvelope("", SKILL_ID, "{\"type\":\"SessionEndedRequest\",\"requestId\":\"id\","
+						+ "\"timestamp\":\"2018-03-29T21:19:29Z\",\"locale\":\"en-GB\",\"reason\":\"USER_INITIATED\"}"));
+		return Stream.concat(primingEnvelopes, otherEnvelopes);
+	}
+
+	@ParameterizedTest
+	@MethodSource("envelopes")
+	void shouldProduceSameResponsesAsSdk(String envelope) throws IOException {
+		byte[] request = envelope.getBytes(StandardCharsets.UTF_8);
+
+		assertArrayEquals(handle(sdkStreamHandler, request), handle(streamingStreamHandler, request), envelope);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "{\"type\":\"AudioPlayer.PlaybackStarted\",\"requestId\":\"id\",\"locale\":\"en-GB\"}",
+			"{\"type\":\"IntentRequest\",\"requestId\":\"id\",\"locale\":\"en-GB\",\"intent\":{\"name\":\"Unknown\"}}" })
+	void shouldFailLikeSdkForUnhandledRequests(String request) {
+		byte[] envelope = buildEnvelope("", SKILL_ID, request).getBytes(StandardCharsets.UTF_8);
+
+		assertEquals(assertThrows(RuntimeException.class, () -> handle(sdkStreamHandler, envelope)).getClass(),
+				assertThrows(RuntimeException.class, () -> handle(streamingStreamHandler, envelope)).getClass());
+	}
+
+	@Test
+	void shouldFailLikeSdkForOtherSkills() {
+		String request = String.format(DATE_WITH_SLOT, "en-GB", "\"2018-03-05\"");
+		byte[] envelope = buildEnvelope("", "amzn1.ask.skill.other", request).getBytes(StandardCharsets.UTF_8);
+
+		assertEquals(assertThrows(RuntimeException.class, () -> handle(sdkStreamHandler, envelope)).getMessage(),
+				assertThrows(RuntimeException.class, () -> handle(streamingStreamHandler, envelope)).getMessage());
+	}
+
+	@Test
+	void shouldRecordMetricsWithoutAlteringResponses() throws IOException {
+		RevolutionaryStreamHandler meteredStreamHandler = new RevolutionaryStreamHandler(true, true);
+		String request = String.format(DATE_WITH_SLOT, "en-GB", "\"2018-W54\"");
+		byte[] envelope = buildEnvelope("", SKILL_ID, request).getBytes(StandardCharsets.UTF_8);
+
+		assertArrayEquals(handle(streamingStreamHandler, envelope), handle(meteredStreamHandler, envelope));
+		List<String> documents = meteredStreamHandler.getMetrics().drain(0L);
+		assertEquals(3, documents.size());
+		assertTrue(documents.get(0).contains("\"Handler\":\"DateIntentHandler\""));
+		assertTrue(documents.get(0).endsWith("\"ParseFailures\":1}"));
+		assertTrue(documents.get(1).contains("\"Handler\":\"Skill\""));
+		assertTrue(documents.get(2).endsWith("\"Request\":\"RevolutionaryDateWithSlot\",\"Locale\":\"en-GB\","
+				+ "\"Requests\":1}"));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "false", "true" })
+	void shouldCaptureRequestsWithoutAlteringResponses(boolean streamingCodec) throws IOException {
+		RevolutionaryStreamHandler capturingStreamHandler = new RevolutionaryStreamHandler(streamingCodec, false, true);
+		String request = String.format(DATE_WITH_SLOT, "fr-FR", "\"2018-03-05\"");
+		byte[] envelope = buildEnvelope("", SKILL_ID, request).getBytes(StandardCharsets.UTF_8);
+
+		assertArrayEquals(handle(sdkStreamHandler, envelope), handle(capturingStreamHandler, envelope));
+	}
+
+	private static String buildEnvelope(String sessionAttributes, String applicationId, String request) {
+		return String.format(ENVELOPE, sessionAttributes, applicationId, request);
+	}
+
+	private static byte[] handle(RevolutionaryStreamHandler streamHandler, byte[] request) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		streamHandler.handleRequest(new ByteArrayInputStream(request), output, null);
+		return output.toByteArray();
+	}
+
+}
@@ -0,0 +1,66 @@
+package io.github.pyvesb.alexarevolutionarycalendar;
+
+import static io.github.pyvesb.alexarevolutionarycalendar.RevolutionaryStreamHandler.SKILL_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.apache.logging.log4j.ThreadContext;
+import org.junit.jupiter.api.Test;
+
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+
+import io.github.pyvesb.alexarevolutionarycalendar.json.RequestEnvelopeReader;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.PreferenceRepository;
+
+class SkillPrimerTest {
+
+	@Test
+	void shouldGenerateEnvelopesForEverySupportedLocale() {
+		List<byte[]> envelopes = SkillPrimer.getEnvelopes(SKILL_ID);
+
+		assertEquals(49, envelopes.size());
+		assertTrue(new String(envelopes.get(48), StandardCharsets.UTF_8).contains("\"locale\":\"fr-CA\""));
+	}
+
+	@Test
+	void shouldNotSpecifyUserSoThatPreferencesAreNotLoaded() {
+		for (byte[] envelope : SkillPrimer.getEnvelopes(SKILL_ID)) {
+			assertFalse(PreferenceRepository.getUserId(RequestEnvelopeReader.read(envelope).get()).isPresent());
+		}
+	}
+
+	@Test
+	void shouldSuccessfullyHandleAllEnvelopes() throws IOException {
+		RevolutionaryStreamHandler streamHandler = new RevolutionaryStreamHandler();
+		for (byte[] envelope : SkillPrimer.getEnvelopes(SKILL_ID)) {
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			streamHandler.handleRequest(new ByteArrayInputStream(envelope), output, null);
+
+			assertTrue(new String(output.toByteArray(), StandardCharsets.UTF_8).contains("\"outputSpeech\""));
+		}
+		assertEquals(49, SkillPrimer.prime(streamHandler, SKILL_ID));
+		assertNull(ThreadContext.get(SkillPrimer.PRIMING_KEY));
+	}
+
+	@Test
+	void shouldStopPrimingOnFailure() {
+		int[] calls = { 0 };
+		RequestStreamHandler failingStreamHandler = (input, output, context) -> {
+			if (++calls[0] > 3) {
+				throw new IOException("Simulated failure");
+			}
+		};
+
+		assertEquals(3, SkillPrimer.prime(failingStreamHandler, SKILL_ID));
+		assertNull(ThreadContext.get(SkillPrimer.PRIMING_KEY));
+	}
+
+}
@@ -0,0 +1,59 @@
+package io.github.pyvesb.alexarevolutionarycalendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+class StartupProfilerTest {
+
+	private final long[] nanoTime = { 5_000_000 };
+	private final long[] loadedClassCount = { 1200 };
+	private final StartupProfiler profiler = new StartupProfiler(() -> nanoTime[0], () -> loadedClassCount[0], 250);
+
+	@Test
+	void shouldReportDurationAndLoadedClassesOfEachPhase() {
+		advance(42_000_000, 800);
+		profiler.endPhase("log4j2");
+		advance(1_500, 0);
+		profiler.endPhase("jackson");
+		advance(310_250_000, 2500);
+
+		Optional<String> report = profiler.report("first-request");
+
+		assertEquals(Optional.of("{\"type\":\"StartupProfile\",\"phases\":["
+				+ "{\"name\":\"jvm\",\"micros\":250000,\"loadedClasses\":1200},"
+				+ "{\"name\":\"log4j2\",\"micros\":42000,\"loadedClasses\":800},"
+				+ "{\"name\":\"jackson\",\"micros\":1,\"loadedClasses\":0},"
+				+ "{\"name\":\"first-request\",\"micros\":310250,\"loadedClasses\":2500}],"
+				+ "\"totalMicros\":602251,\"totalLoadedClasses\":4500}"), report);
+	}
+
+	@Test
+	void shouldOnlyReportOnce() {
+		assertTrue(profiler.isRecording());
+		assertTrue(profiler.report("first-request").isPresent());
+
+		assertFalse(profiler.isRecording());
+		profiler.endPhase("second-request");
+		assertEquals(Optional.empty(), profiler.report("second-request"));
+	}
+
+	@Test
+	void shouldNotRecordIfNotEnabled() {
+		StartupProfiler disabledProfiler = StartupProfiler.start();
+		disabledProfiler.endPhase("log4j2");
+
+		assertFalse(disabledProfiler.isRecording());
+		assertEquals(Optional.empty(), disabledProfiler.report("first-request"));
+	}
+
+	private void advance(long nanos, long classCount) {
+		nanoTime[0] += nanos;
+		loadedClassCount[0] += classCount;
+	}
+
+}
@@ -0,0 +1,97 @@
+package io.github.pyvesb.alexarevolutionarycalendar.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class CoalescingCacheTest {
+
+	private final AtomicInteger loads = new AtomicInteger();
+	private final AtomicLong nanoTime = new AtomicLong();
+
+	@Test
+	void shouldLoadOnlyOncePerKey() {
+		CoalescingCache<String> underTest = builder().build();
+
+		assertEquals("loaded", underTest.get("key", this::load));
+		assertEquals("loaded", underTest.get("key", this::load));
+
+		assertEquals(1, loads.get());
+		assertEquals(1, underTest.getHitCount());
+		assertEquals(1, underTest.getMissCount());
+		assertEquals(1, underTest.getLoadCount());
+	}
+
+	@Test
+	void shouldCacheFallbackForFailureTimeToLive() {
+		CoalescingCache<String> underTest = builder().withFailureTimeToLive(Duration.ofMinutes(1)).build();
+
+		assertEquals("fallback", underTest.get("key", this::fail));
+		assertEquals("fallback", underTest.get("key", this::load));
+
+		nanoTime.addAndGet(TimeUnit.MINUTES.toNanos(1));
+		assertEquals("loaded", underTest.get("key", this::load));
+	}
+
+	@Test
+	void shouldNotReplacePutValueWithValueLoadedInTheMeantime() {
+		List<Runnable> tasks = new ArrayList<>();
+		CoalescingCache<String> underTest = builder().withTimeout(Duration.ofMillis(10)).withExecutor(tasks::add)
+				.build();
+
+		assertEquals("fallback", underTest.get("key", this::load));
+		underTest.put("key", "put");
+		tasks.forEach(Runnable::run);
+
+		assertEquals("put", underTest.get("key", this::load));
+	}
+
+	@Test
+	void shouldLoadAgainWithoutFallbackInsteadOfUsingCachedFailure() throws IOException {
+		CoalescingCache<String> underTest = builder().build();
+		underTest.get("key", this::fail);
+
+		assertEquals("loaded", underTest.getWithoutFallback("key", this::load));
+		assertEquals("loaded", underTest.get("key", this::load));
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void shouldPropagateFailuresWithoutFallback() {
+		CoalescingCache<String> underTest = builder().build();
+
+		assertThrows(IOException.class, () -> underTest.getWithoutFallback("key", this::fail));
+	}
+
+	@Test
+	void shouldRequireFallback() {
+		assertThrows(IllegalStateException.class, () -> CoalescingCache.<String> builder().build());
+	}
+
+	private String load() {
+		loads.incrementAndGet();
+		return "loaded";
+	}
+
+	private String fail() throws IOException {
+		loads.incrementAndGet();
+		throw new IOException("Backend unavailable");
+	}
+
+	private CoalescingCache.Builder<String> builder() {
+		return CoalescingCache.<String> builder()
+				.withFallback("fallback")
+				.withExecutor(Runnable::run)
+				.withNanoTime(nanoTime::get);
+	}
+
+}
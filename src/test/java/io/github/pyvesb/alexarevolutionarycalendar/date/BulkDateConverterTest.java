@@ -0,0 +1,114 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+import static java.util.Locale.ENGLISH;
+import static java.util.Locale.FRENCH;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import ca.rmen.lfrc.FrenchRevolutionaryCalendarDate;
+
+class BulkDateConverterTest {
+
+	private static final int CHUNK_SIZE = 7;
+	private static final long FIRST_DAY = LocalDate.of(1792, 9, 22).toEpochDay();
+	private static final long LAST_DAY = LocalDate.of(5000, 12, 31).toEpochDay();
+
+	private final RevolutionaryDateProvider provider = new RevolutionaryDateProvider(null);
+
+	private ForkJoinPool pool;
+	private BulkDateConverter underTest;
+
+	@BeforeEach
+	void setUp() {
+		pool = new ForkJoinPool(3);
+		underTest = new BulkDateConverter(provider, pool, CHUNK_SIZE);
+	}
+
+	@AfterEach
+	void tearDown() {
+		pool.shutdownNow();
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 0, 1, CHUNK_SIZE, CHUNK_SIZE + 1, 1000 })
+	void shouldConvertStreamInOrder(int count) {
+		long[] epochDays = getEpochDays(count);
+
+		List<FrenchRevolutionaryCalendarDate> actualDates = underTest.convert(LongStream.of(epochDays).parallel(), FRENCH)
+				.collect(toList());
+
+		assertEquals(getExpectedDates(epochDays, FRENCH), actualDates);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 0, 1, CHUNK_SIZE, CHUNK_SIZE + 1, 1000 })
+	void shouldConvertIteratorInOrder(int count) {
+		long[] epochDays = getEpochDays(count);
+
+		List<FrenchRevolutionaryCalendarDate> actualDates = new ArrayList<>();
+		underTest.convert(LongStream.of(epochDays).iterator(), ENGLISH, actualDates::add);
+
+		assertEquals(getExpectedDates(epochDays, ENGLISH), actualDates);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 0, 1, CHUNK_SIZE, CHUNK_SIZE + 1, 1000 })
+	void shouldConvertArrayInOrder(int count) {
+		long[] epochDays = getEpochDays(count);
+
+		FrenchRevolutionaryCalendarDate[] actualDates = underTest.convert(epochDays, FRENCH);
+
+		assertArrayEquals(getExpectedDates(epochDays, FRENCH).toArray(), actualDates);
+	}
+
+	@Test
+	void shouldOnlyConsumeChunksPrecedingUnsupportedDay() {
+		long[] epochDays = LongStream.concat(LongStream.of(getEpochDays(100)), LongStream.of(LAST_DAY + 1, FIRST_DAY))
+				.toArray();
+
+		List<FrenchRevolutionaryCalendarDate> actualDates = new ArrayList<>();
+		assertThrows(IllegalArgumentException.class,
+				() -> underTest.convert(LongStream.of(epochDays).iterator(), FRENCH, actualDates::add));
+		assertEquals(100 / CHUNK_SIZE * CHUNK_SIZE, actualDates.size());
+	}
+
+	@Test
+	void shouldThrowExceptionWhenConvertingUnsupportedDays() {
+		long[] epochDays = { FIRST_DAY, FIRST_DAY - 1 };
+
+		assertThrows(IllegalArgumentException.class,
+				() -> underTest.convert(LongStream.of(epochDays), FRENCH).collect(toList()));
+		assertThrows(IllegalArgumentException.class, () -> underTest.convert(epochDays, FRENCH));
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 0, -1 })
+	void shouldRejectInvalidChunkSizes(int chunkSize) {
+		assertThrows(IllegalArgumentException.class, () -> new BulkDateConverter(provider, pool, chunkSize));
+	}
+
+	private static long[] getEpochDays(int count) {
+		// Spreads the days over the whole calendar, using a prime stride to cover all months and day positions.
+		return LongStream.range(0, count).map(i -> FIRST_DAY + (i * 4099) % (LAST_DAY - FIRST_DAY + 1)).toArray();
+	}
+
+	private List<FrenchRevolutionaryCalendarDate> getExpectedDates(long[] epochDays, Locale locale) {
+		return LongStream.of(epochDays).mapToObj(epochDay -> provider.getDate(epochDay, locale)).collect(toList());
+	}
+
+}
@@ -0,0 +1,36 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import ca.rmen.lfrc.FrenchRevolutionaryCalendar.CalculationMethod;
+
+class CalculationMethodParserTest {
+
+	@ParameterizedTest
+	@CsvSource({ "equinox, EQUINOX", "Équinoxe, EQUINOX", "Romme, ROMME", "romme's, ROMME", "continuous, CONTINUOUS",
+			"continu, CONTINUOUS", "von Mädler, VON_MADLER", "Madler, VON_MADLER", "128 years, VON_MADLER",
+			"von_madler, VON_MADLER" })
+	void shouldParseMethodNames(String value, CalculationMethod expectedMethod) {
+		assertEquals(Optional.of(expectedMethod), CalculationMethodParser.parse(value));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", "Gregorian", "Rome", "1" })
+	void shouldNotParseOtherValues(String value) {
+		assertFalse(CalculationMethodParser.parse(value).isPresent());
+	}
+
+	@Test
+	void shouldNotParseNullValue() {
+		assertFalse(CalculationMethodParser.parse(null).isPresent());
+	}
+
+}
@@ -0,0 +1,180 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+import static java.util.Locale.ENGLISH;
+import static java.util.Locale.FRENCH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import ca.rmen.lfrc.FrenchRevolutionaryCalendarDate;
+
+class CurrentDateCacheTest {
+
+	private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+	private static final ZoneId SAO_PAULO = ZoneId.of("America/Sao_Paulo");
+
+	private final List<Long> convertedDays = new CopyOnWriteArrayList<>();
+	private final MovingClock clock = new MovingClock(Instant.parse("2018-03-29T12:00:00Z"));
+	private final CurrentDateCache underTest = new CurrentDateCache(clock, this::convert);
+
+	@Test
+	void shouldConvertOnlyOncePerZoneLocaleAndDay() {
+		FrenchRevolutionaryCalendarDate first = underTest.getDate(PARIS, ENGLISH);
+		clock.advance(Duration.ofHours(6));
+		FrenchRevolutionaryCalendarDate second = underTest.getDate(PARIS, ENGLISH);
+
+		assertSame(first, second);
+		assertEquals(1, convertedDays.size());
+	}
+
+	@Test
+	void shouldConvertSeparatelyForEachLocale() {
+		FrenchRevolutionaryCalendarDate english = underTest.getDate(PARIS, ENGLISH);
+		FrenchRevolutionaryCalendarDate french = underTest.getDate(PARIS, FRENCH);
+
+		assertNotSame(english, french);
+		assertEquals(2, convertedDays.size());
+	}
+
+	@Test
+	void shouldTrackEachZoneSeparately() {
+		clock.set(Instant.parse("2018-03-29T23:30:00Z"));
+
+		assertEquals(LocalDate.parse("2018-03-30").toEpochDay(), underTest.getEpochDay(PARIS));
+		assertEquals(LocalDate.parse("2018-03-29").toEpochDay(), underTest.getEpochDay(ZoneOffset.UTC));
+	}
+
+	@Test
+	void shouldRollOverAtLocalMidnight() {
+		clock.set(Instant.parse("2018-03-29T21:59:59.999Z"));
+		FrenchRevolutionaryCalendarDate beforeMidnight = underTest.getDate(PARIS, ENGLISH);
+		clock.advance(Duration.ofMillis(1));
+		FrenchRevolutionaryCalendarDate afterMidnight = underTest.getDate(PARIS, ENGLISH);
+
+		assertNotSame(beforeMidnight, afterMidnight);
+		assertEquals(Arrays.asList(LocalDate.parse("2018-03-29").toEpochDay(),
+				LocalDate.parse("2018-03-30").toEpochDay()), convertedDays);
+	}
+
+	@Test
+	void shouldRecomputeIfClockMovesBackwards() {
+		underTest.getEpochDay(PARIS);
+		clock.advance(Duration.ofDays(-1));
+
+		assertEquals(LocalDate.parse("2018-03-28").toEpochDay(), underTest.getEpochDay(PARIS));
+	}
+
+	@ParameterizedTest
+	@CsvSource({
+			// Spring forward in Paris, the 25th lasts 23 hours.
+			"Europe/Paris, 2018-03-24T22:59:59Z, 2018-03-24",
+			"Europe/Paris, 2018-03-24T23:00:00Z, 2018-03-25",
+			"Europe/Paris, 2018-03-25T21:59:59Z, 2018-03-25",
+			"Europe/Paris, 2018-03-25T22:00:00Z, 2018-03-26",
+			// Fall back in Paris, the 28th lasts 25 hours.
+			"Europe/Paris, 2018-10-28T22:59:59Z, 2018-10-28",
+			"Europe/Paris, 2018-10-28T23:00:00Z, 2018-10-29",
+			// Midnight skipped in Sao Paulo, the 4th starts at 1 AM.
+			"America/Sao_Paulo, 2018-11-04T02:59:59Z, 2018-11-03",
+			"America/Sao_Paulo, 2018-11-04T03:00:00Z, 2018-11-04",
+			// Back to 11 PM at midnight in Sao Paulo, the 16th lasts 25 hours.
+			"America/Sao_Paulo, 2019-02-17T02:30:00Z, 2019-02-16",
+			"America/Sao_Paulo, 2019-02-17T03:00:00Z, 2019-02-17" })
+	void shouldRollOverAcrossDaylightSavingTimeTransitions(String zone, String instant, String expectedDate) {
+		// Start from the previous day so that the transition is crossed by a cached day.
+		clock.set(Instant.parse(instant).minus(Duration.ofHours(20)));
+		underTest.getEpochDay(ZoneId.of(zone));
+		clock.set(Instant.parse(instant));
+
+		assertEquals(LocalDate.parse(expectedDate).toEpochDay(), underTest.getEpochDay(ZoneId.of(zone)));
+	}
+
+	@Test
+	void shouldConvertOnceWhenThreadsRollOverConcurrently() throws Exception {
+		int threads = 8;
+		clock.set(Instant.parse("2018-11-04T02:59:59Z"));
+		underTest.getDate(SAO_PAULO, ENGLISH);
+		clock.set(Instant.parse("2018-11-04T03:00:00Z"));
+		CyclicBarrier barrier = new CyclicBarrier(threads);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Callable<FrenchRevolutionaryCalendarDate>> tasks = new ArrayList<>();
+			for (int i = 0; i < threads; ++i) {
+				tasks.add(() -> {
+					barrier.await();
+					return underTest.getDate(SAO_PAULO, ENGLISH);
+				});
+			}
+			List<Future<FrenchRevolutionaryCalendarDate>> results = executor.invokeAll(tasks);
+
+			for (Future<FrenchRevolutionaryCalendarDate> result : results) {
+				assertSame(results.get(0).get(), result.get());
+			}
+			assertEquals(2, convertedDays.size());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private FrenchRevolutionaryCalendarDate convert(long epochDay, Locale locale) {
+		convertedDays.add(epochDay);
+		return new FrenchRevolutionaryCalendarDate(locale, 226, 7, 9, 0, 0, 0);
+	}
+
+	/**
+	 * Clock whose instant is set by the tests, in the spirit of Clock.fixed and Clock.offset.
+	 */
+	private static final class MovingClock extends Clock {
+
+		private volatile Instant instant;
+
+		private MovingClock(Instant instant) {
+			this.instant = instant;
+		}
+
+		private void set(Instant newInstant) {
+			instant = newInstant;
+		}
+
+		private void advance(Duration duration) {
+			instant = instant.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Instant instant() {
+			return instant;
+		}
+	}
+
+}
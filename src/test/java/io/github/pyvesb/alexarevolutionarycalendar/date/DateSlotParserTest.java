@@ -0,0 +1,49 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class DateSlotParserTest {
+
+	// 2018-03-29 in UTC.
+	private static final Clock CLOCK = Clock.fixed(Instant.ofEpochMilli(1522358369934L), ZoneId.of("UTC"));
+
+	// See https://developer.amazon.com/docs/custom-skills/slot-type-reference.html#date for input examples.
+	@ParameterizedTest
+	@CsvSource({ "2018-03-05, 2018-03-05, 2018-03-05", "PRESENT_REF, 2018-03-29, 2018-03-29",
+			"XXXX-02-14, 2018-02-14, 2018-02-14", "2018-W01, 2018-01-01, 2018-01-07", "2015-W53, 2015-12-28, 2016-01-03",
+			"2018-W12, 2018-03-19, 2018-03-25", "2018-W12-WE, 2018-03-24, 2018-03-25", "2018-02, 2018-02-01, 2018-02-28",
+			"2016-02, 2016-02-01, 2016-02-29", "XXXX-12, 2018-12-01, 2018-12-31", "1999, 1999-01-01, 1999-12-31",
+			"201X, 2010-01-01, 2019-12-31", "20XX, 2000-01-01, 2099-12-31", "2018-SP, 2018-03-20, 2018-06-20",
+			"2018-SU, 2018-06-21, 2018-09-22", "2018-FA, 2018-09-23, 2018-12-20", "2018-WI, 2018-12-21, 2019-03-19" })
+	void shouldParseSlotValuesIntoDateRanges(String value, String first, String last) {
+		Optional<DateRange> range = DateSlotParser.parse(value, CLOCK);
+
+		assertEquals(Optional.of(new DateRange(LocalDate.parse(first).toEpochDay(), LocalDate.parse(last).toEpochDay())),
+				range);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", "2018-02-30", "XXXX-02-29", "2018-W00", "2018-W53", "2018-W54", "2018-W12-WD", "2018-13",
+			"XXXX", "0200X", "2018-XP", "2018-SPRING", "T10:00", "MO", "EV", "NI" })
+	void shouldNotParseUnsupportedSlotValues(String value) {
+		assertFalse(DateSlotParser.parse(value, CLOCK).isPresent());
+	}
+
+	@Test
+	void shouldNotParseNullSlotValue() {
+		assertFalse(DateSlotParser.parse(null, CLOCK).isPresent());
+	}
+
+}
@@ -0,0 +1,79 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class DateStepTest {
+
+	@Nested
+	class ParseTest {
+
+		@ParameterizedTest
+		@CsvSource({ "day, DAY", "jour, DAY", "Journée, DAY", "décade, DECADE", "decade, DECADE", "dix jours, DECADE", "month, MONTH", "Mois, MONTH", "primidi, PRIMIDI", "Décadi, DECADI",
+				"decadi, DECADI", "quintidi, QUINTIDI" })
+		void shouldParseStepNames(String value, DateStep expectedStep) {
+			assertEquals(Optional.of(expectedStep), DateStep.parse(value));
+		}
+
+		@ParameterizedTest
+		@ValueSource(strings = { "", "year", "Monday", "1", "week", "semaine", "lendemain", "veille" })
+		void shouldNotParseOtherValues(String value) {
+			assertFalse(DateStep.parse(value).isPresent());
+		}
+
+		@Test
+		void shouldNotParseNullValue() {
+			assertFalse(DateStep.parse(null).isPresent());
+		}
+	}
+
+	@Nested
+	class MoveTest {
+
+		private final RevolutionaryDateProvider provider = new RevolutionaryDateProvider(
+				Clock.fixed(Instant.ofEpochMilli(1522358369934L), ZoneId.of("UTC")));
+
+		@ParameterizedTest
+		@CsvSource({ "DAY, true, 226-07-10", "DAY, false, 226-07-08", "DECADE, true, 226-07-19",
+				"DECADE, false, 226-06-29", "MONTH, true, 226-08-09", "MONTH, false, 226-06-09",
+				"DECADI, true, 226-07-10", "DECADI, false, 226-06-30", "NONIDI, true, 226-07-19",
+				"NONIDI, false, 226-06-29", "PRIMIDI, false, 226-07-01" })
+		void shouldMoveDateByStep(DateStep step, boolean forward, String expectedDate) {
+			int date = PackedRevolutionaryDate.of(226, 7, 9);
+
+			assertEquals(expectedDate, PackedRevolutionaryDate.toString(step.move(provider, date, forward)));
+		}
+
+		@Test
+		void shouldSkipComplementaryDaysWhenMovingToDayOfDecade() {
+			int lastDecadiOfYear = PackedRevolutionaryDate.of(225, 12, 30);
+			int firstPrimidiOfYear = PackedRevolutionaryDate.of(226, 1, 1);
+
+			assertEquals(firstPrimidiOfYear, DateStep.PRIMIDI.move(provider, lastDecadiOfYear, true));
+			assertEquals(lastDecadiOfYear, DateStep.DECADI.move(provider, firstPrimidiOfYear, false));
+			assertEquals(firstPrimidiOfYear, DateStep.PRIMIDI.move(provider, PackedRevolutionaryDate.of(225, 13, 2),
+					true));
+		}
+
+		@Test
+		void shouldNotMoveOutsideSupportedDates() {
+			int firstDay = PackedRevolutionaryDate.of(1, 1, 1);
+
+			assertEquals(PackedRevolutionaryDate.INVALID, DateStep.DAY.move(provider, firstDay, false));
+			assertEquals(PackedRevolutionaryDate.INVALID, DateStep.MONTH.move(provider, firstDay, false));
+			assertEquals(PackedRevolutionaryDate.INVALID, DateStep.DECADI.move(provider, firstDay, false));
+		}
+	}
+
+}
@@ -0,0 +1,52 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+import static ca.rmen.lfrc.FrenchRevolutionaryCalendar.CalculationMethod.EQUINOX;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class EquinoxCalculatorTest {
+
+	// Published instants, rounded to the second.
+	@ParameterizedTest
+	@CsvSource({ "2000, 2000-09-22T17:27:40Z", "2017, 2017-09-22T20:01:48Z", "2018, 2018-09-23T01:54:05Z",
+			"2019, 2019-09-23T07:50:10Z", "2024, 2024-09-22T12:43:40Z" })
+	void shouldComputeAutumnEquinoxWithinAMinute(int gregorianYear, String expectedInstant) {
+		Duration error = Duration.between(Instant.parse(expectedInstant),
+				EquinoxCalculator.getAutumnEquinox(gregorianYear));
+
+		assertTrue(error.abs().getSeconds() < 60, error.toString());
+	}
+
+	@ParameterizedTest
+	@CsvSource({ "1, 1792-09-22", "4, 1795-09-23", "12, 1803-09-24", "13, 1804-09-23", "14, 1805-09-23",
+			"226, 2017-09-22", "227, 2018-09-23", "228, 2019-09-23" })
+	void shouldStartRevolutionaryYearsOnDayOfEquinoxInParis(int year, String expectedDate) {
+		assertEquals(LocalDate.parse(expectedDate).toEpochDay(), EquinoxCalculator.getYearStart(year));
+	}
+
+	@Test
+	void shouldComputeSameYearStartsAsLibrary() {
+		RevolutionaryDateTable libraryTable = new RevolutionaryDateTable(EQUINOX, LocalDate.of(1792, 9, 22),
+				LocalDate.of(3000, 12, 31));
+		for (int year = 1; year <= libraryTable.getLastYear(); ++year) {
+			assertEquals(libraryTable.getYearStart(year), EquinoxCalculator.getYearStart(year), "Year " + year);
+		}
+	}
+
+	@Test
+	void shouldComputeYearsOfThreeHundredAndSixtyFiveOrSixDaysUntilYear5000() {
+		for (int year = 1; year <= 3210; ++year) {
+			long length = EquinoxCalculator.getYearStart(year + 1) - EquinoxCalculator.getYearStart(year);
+			assertTrue(length == 365 || length == 366, "Year " + year + " has " + length + " days.");
+		}
+	}
+
+}
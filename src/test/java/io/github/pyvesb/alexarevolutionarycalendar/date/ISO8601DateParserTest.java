@@ -0,0 +1,46 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+import static io.github.pyvesb.alexarevolutionarycalendar.date.ISO8601DateParser.INVALID_DATE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ISO8601DateParserTest {
+
+	@Test
+	void shouldParseEveryValidDateInRevolutionaryCalendarRange() {
+		LocalDate end = LocalDate.of(3000, 12, 31);
+		for (LocalDate date = LocalDate.of(1792, 9, 22); !date.isAfter(end); date = date.plusDays(1)) {
+			assertEquals(date.toEpochDay(), ISO8601DateParser.parseCalendarDate(date.toString()), date::toString);
+		}
+	}
+
+	@ParameterizedTest
+	@CsvSource({ "1-01-01, 1, 1, 1", "999-12-31, 999, 12, 31", "1600-02-29, 1600, 2, 29", "2000-02-29, 2000, 2, 29",
+			"10000-01-01, 10000, 1, 1", "999999999-12-31, 999999999, 12, 31" })
+	void shouldParseValidDatesOutsideRevolutionaryCalendarRange(String date, int year, int month, int day) {
+		assertEquals(LocalDate.of(year, month, day).toEpochDay(), ISO8601DateParser.parseCalendarDate(date));
+	}
+
+	// See https://developer.amazon.com/docs/custom-skills/slot-type-reference.html#date for other Alexa date formats.
+	@ParameterizedTest
+	@ValueSource(strings = { "", "-", "--", "2018", "2018-03", "2018-03-", "2018-3-05", "2018-03-5", "2018-03-051",
+			"2018/03/05", "2018-03/05", "2018_03-05", " 2018-03-05", "2018-03-05 ", "+2018-03-05", "-2018-03-05",
+			"0018-03-05", "0-03-05", "2018-00-05", "2018-13-05", "2018-1a-05", "2018-03-00", "2018-03-32", "2018-03-3a",
+			"2018-02-29", "1900-02-29", "2018-04-31", "2018-06-31", "2018-09-31", "2018-11-31", "1234567890-01-01",
+			"2018-W48", "2018-W12-WE", "2018-SP", "200X", "XXXX-03-05", "２０１８-03-05" })
+	void shouldNotParseMalformedDates(String date) {
+		assertEquals(INVALID_DATE, ISO8601DateParser.parseCalendarDate(date));
+	}
+
+	@Test
+	void shouldNotParseNullDate() {
+		assertEquals(INVALID_DATE, ISO8601DateParser.parseCalendarDate(null));
+	}
+
+}
@@ -0,0 +1,63 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+import static java.util.Locale.CANADA_FRENCH;
+import static java.util.Locale.ENGLISH;
+import static java.util.Locale.FRENCH;
+import static java.util.Locale.GERMAN;
+import static java.util.Locale.US;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import ca.rmen.lfrc.FrenchRevolutionaryCalendarDate;
+
+class ObjectOfTheDayTableTest {
+
+	@ParameterizedTest
+	@CsvSource({ "1, 1, 1, 'le '", "3, 1, 3, 'la '", "8, 1, 8, 'l'''", "101, 4, 11, 'le '", "365, 13, 5, 'les '",
+			"366, 13, 6, 'la '" })
+	void shouldPrependFrenchArticles(int dayInYear, int month, int dayOfMonth, String article) {
+		String expected = article + getObjectOfTheDay(FRENCH, month, dayOfMonth);
+
+		assertEquals(expected, ObjectOfTheDayTable.getReadableName(FRENCH, dayInYear));
+		assertEquals(expected, ObjectOfTheDayTable.getReadableName(CANADA_FRENCH, dayInYear));
+	}
+
+	@ParameterizedTest
+	@CsvSource({ "1, 1, 1, 'the '", "190, 7, 10, 'the '", "360, 12, 30, 'the '", "361, 13, 1, ''", "365, 13, 5, ''",
+			"366, 13, 6, 'the '" })
+	void shouldPrependEnglishArticles(int dayInYear, int month, int dayOfMonth, String article) {
+		String expected = article + getObjectOfTheDay(ENGLISH, month, dayOfMonth);
+
+		assertEquals(expected, ObjectOfTheDayTable.getReadableName(ENGLISH, dayInYear));
+		assertEquals(expected, ObjectOfTheDayTable.getReadableName(US, dayInYear));
+	}
+
+	@Test
+	void shouldFallBackToEnglishForOtherLanguages() {
+		assertEquals(ObjectOfTheDayTable.getReadableName(ENGLISH, 42), ObjectOfTheDayTable.getReadableName(GERMAN, 42));
+	}
+
+	@Test
+	void shouldReturnPrecomputedStrings() {
+		assertSame(ObjectOfTheDayTable.getReadableName(FRENCH, 42), ObjectOfTheDayTable.getReadableName(FRENCH, 42));
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 0, 367, -1 })
+	void shouldRejectDaysOutsideYear(int dayInYear) {
+		assertThrows(IllegalArgumentException.class, () -> ObjectOfTheDayTable.getReadableName(FRENCH, dayInYear));
+	}
+
+	private static String getObjectOfTheDay(Locale locale, int month, int dayOfMonth) {
+		return new FrenchRevolutionaryCalendarDate(locale, 1, month, dayOfMonth, 0, 0, 0).getObjectOfTheDay();
+	}
+
+}
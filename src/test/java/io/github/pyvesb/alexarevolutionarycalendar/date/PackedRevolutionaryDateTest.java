@@ -0,0 +1,64 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+import static java.util.Locale.FRENCH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import ca.rmen.lfrc.FrenchRevolutionaryCalendarDate;
+
+class PackedRevolutionaryDateTest {
+
+	@ParameterizedTest
+	@CsvSource({ "1, 1, 1, 1, 1", "226, 7, 9, 189, 9", "226, 7, 10, 190, 10", "1209, 12, 30, 360, 10",
+			"3, 13, 6, 366, 6", "4194303, 13, 5, 365, 5" })
+	void shouldPackAndUnpackDates(int year, int month, int dayOfMonth, int dayInYear, int dayOfDecade) {
+		int date = PackedRevolutionaryDate.of(year, month, dayOfMonth);
+
+		assertNotEquals(PackedRevolutionaryDate.INVALID, date);
+		assertEquals(year, PackedRevolutionaryDate.getYear(date));
+		assertEquals(month, PackedRevolutionaryDate.getMonth(date));
+		assertEquals(dayOfMonth, PackedRevolutionaryDate.getDayOfMonth(date));
+		assertEquals(dayInYear, PackedRevolutionaryDate.getDayInYear(date));
+		assertEquals(dayOfDecade, PackedRevolutionaryDate.getDayOfDecade(date));
+		assertEquals(date, PackedRevolutionaryDate.ofDayInYear(year, dayInYear));
+	}
+
+	@ParameterizedTest
+	@CsvSource({ "0, 1, 1", "4194304, 1, 1", "1, 0, 1", "1, 14, 1", "1, 1, 0", "1, 1, 31" })
+	void shouldThrowExceptionForInvalidDates(int year, int month, int dayOfMonth) {
+		assertThrows(IllegalArgumentException.class, () -> PackedRevolutionaryDate.of(year, month, dayOfMonth));
+	}
+
+	@ParameterizedTest
+	@CsvSource({ "226, 7, 9, 226, 7, 10", "226, 7, 30, 226, 8, 1", "226, 13, 5, 227, 1, 1", "1, 1, 1, 1209, 1, 1" })
+	void shouldCompareDatesChronologically(int year1, int month1, int day1, int year2, int month2, int day2) {
+		int earlier = PackedRevolutionaryDate.of(year1, month1, day1);
+		int later = PackedRevolutionaryDate.of(year2, month2, day2);
+
+		assertTrue(PackedRevolutionaryDate.compare(earlier, later) < 0);
+		assertTrue(PackedRevolutionaryDate.compare(later, earlier) > 0);
+		assertEquals(0, PackedRevolutionaryDate.compare(earlier, PackedRevolutionaryDate.of(year1, month1, day1)));
+	}
+
+	@Test
+	void shouldConvertToAndFromLibraryDates() {
+		FrenchRevolutionaryCalendarDate libraryDate = new FrenchRevolutionaryCalendarDate(FRENCH, 226, 7, 9, 0, 0, 0);
+
+		int date = PackedRevolutionaryDate.of(libraryDate);
+
+		assertEquals(PackedRevolutionaryDate.of(226, 7, 9), date);
+		assertEquals(libraryDate, PackedRevolutionaryDate.toLibraryDate(date, FRENCH));
+	}
+
+	@Test
+	void shouldFormatDates() {
+		assertEquals("226-07-09", PackedRevolutionaryDate.toString(PackedRevolutionaryDate.of(226, 7, 9)));
+	}
+
+}
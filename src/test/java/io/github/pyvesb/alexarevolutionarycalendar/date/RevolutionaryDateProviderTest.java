@@ -1,23 +1,38 @@
 package io.github.pyvesb.alexarevolutionarycalendar.date;
 
+import static ca.rmen.lfrc.FrenchRevolutionaryCalendar.CalculationMethod.EQUINOX;
+import static ca.rmen.lfrc.FrenchRevolutionaryCalendar.CalculationMethod.ROMME;
 import static java.util.Locale.ENGLISH;
 import static java.util.Locale.FRENCH;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.Clock;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.GregorianCalendar;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import ca.rmen.lfrc.FrenchRevolutionaryCalendar;
+import ca.rmen.lfrc.FrenchRevolutionaryCalendar.CalculationMethod;
 import ca.rmen.lfrc.FrenchRevolutionaryCalendarDate;
 
 class RevolutionaryDateProviderTest {
@@ -45,6 +60,14 @@ class RevolutionaryDateProviderTest {
 			assertEquals(new FrenchRevolutionaryCalendarDate(Locale.FRENCH, 1, 1, 1, 0, 0, 0), actualDate2.get());
 		}
 
+		@Test
+		void shouldProvideRevolutionaryDateForLeapDay() {
+			Optional<FrenchRevolutionaryCalendarDate> actualDate = underTest.parseISO8601CalendarDate("2016-02-29", FRENCH);
+
+			assertTrue(actualDate.isPresent());
+			assertEquals(new FrenchRevolutionaryCalendarDate(Locale.FRENCH, 224, 6, 10, 0, 0, 0), actualDate.get());
+		}
+
 		@Test
 		void shouldNotProvideRevolutionaryDateIfISO8601CalendarDateBeforeRevolutionaryCalendarStart() {
 			assertFalse(underTest.parseISO8601CalendarDate("1792-09-21", FRENCH).isPresent());
@@ -52,11 +75,12 @@ class RevolutionaryDateProviderTest {
 
 		@Test
 		void shouldNotProvideRevolutionaryDateIfISO8601CalendarDateAfterRevolutionaryCalendarEnd() {
-			assertFalse(underTest.parseISO8601CalendarDate("3001-01-01", FRENCH).isPresent());
+			assertFalse(underTest.parseISO8601CalendarDate("5001-01-01", FRENCH).isPresent());
 		}
 
 		@ParameterizedTest
-		@ValueSource(strings = { "2018-13-24", "2018-06-35", "2018-06-00", "2018-00-35", "0018-00-35", "2018-010-35" })
+		@ValueSource(strings = { "2018-13-24", "2018-06-35", "2018-06-00", "2018-00-35", "0018-00-35", "2018-010-35",
+				"2018-02-29", "2018-02-31", "2018-04-31", "1900-02-29" })
 		void shouldNotProvideRevolutionaryDateForInvalidCalendarDates(String date) {
 			assertFalse(underTest.parseISO8601CalendarDate(date, FRENCH).isPresent());
 		}
@@ -74,6 +98,82 @@ class RevolutionaryDateProviderTest {
 		}
 	}
 
+	@Nested
+	class ParseDateSlotTest {
+
+		@BeforeEach
+		void setUp() {
+			underTest = new RevolutionaryDateProvider(Clock.fixed(Instant.ofEpochMilli(1522358369934L), ZoneId.of("UTC")));
+		}
+
+		@Test
+		void shouldProvideDateRangeForSlotValue() {
+			Optional<DateRange> actualRange = underTest.parseDateSlot("2018-W12");
+
+			assertEquals(Optional.of(new DateRange(LocalDate.of(2018, 3, 19).toEpochDay(),
+					LocalDate.of(2018, 3, 25).toEpochDay())), actualRange);
+		}
+
+		@Test
+		void shouldRestrictDateRangeToRevolutionaryCalendarBounds() {
+			Optional<DateRange> actualRange = underTest.parseDateSlot("179X");
+
+			assertEquals(Optional.of(new DateRange(LocalDate.of(1792, 9, 22).toEpochDay(),
+					LocalDate.of(1799, 12, 31).toEpochDay())), actualRange);
+			assertEquals(new FrenchRevolutionaryCalendarDate(Locale.FRENCH, 8, 4, 10, 0, 0, 0),
+					underTest.getDate(actualRange.get().getLastEpochDay(), FRENCH));
+		}
+
+		@ParameterizedTest
+		@ValueSource(strings = { "1791", "178X", "5001-SP", "5001" })
+		void shouldNotProvideDateRangeOutsideRevolutionaryCalendar(String value) {
+			assertFalse(underTest.parseDateSlot(value).isPresent());
+		}
+	}
+
+	@Nested
+	class IsSupportedTest {
+
+		@BeforeEach
+		void setUp() {
+			underTest = new RevolutionaryDateProvider(null);
+		}
+
+		@ParameterizedTest
+		@ValueSource(strings = { "1792-09-22", "2018-03-29", "3001-01-01", "5000-12-31" })
+		void shouldSupportDaysWithinRevolutionaryCalendar(String date) {
+			assertTrue(underTest.isSupported(LocalDate.parse(date).toEpochDay()));
+		}
+
+		@ParameterizedTest
+		@ValueSource(strings = { "1792-09-21", "5001-01-01" })
+		void shouldNotSupportDaysOutsideRevolutionaryCalendar(String date) {
+			assertFalse(underTest.isSupported(LocalDate.parse(date).toEpochDay()));
+		}
+	}
+
+	@Nested
+	class GetGregorianDateTest {
+
+		@BeforeEach
+		void setUp() {
+			underTest = new RevolutionaryDateProvider(null);
+		}
+
+		@ParameterizedTest
+		@CsvSource({ "1, 1, 1, 1792-09-22", "8, 2, 18, 1799-11-09", "226, 7, 9, 2018-03-29", "3, 13, 6, 1795-09-22" })
+		void shouldProvideGregorianDate(int year, int month, int dayOfMonth, String expectedDate) {
+			assertEquals(Optional.of(LocalDate.parse(expectedDate)),
+					underTest.getGregorianDate(year, month, dayOfMonth));
+		}
+
+		@ParameterizedTest
+		@CsvSource({ "2, 13, 6", "3210, 1, 1", "8, 2, 31" })
+		void shouldNotProvideGregorianDateForInvalidOrUnsupportedDates(int year, int month, int dayOfMonth) {
+			assertFalse(underTest.getGregorianDate(year, month, dayOfMonth).isPresent());
+		}
+	}
+
 	@Nested
 	class ProvideCurrentDateTest {
 
@@ -90,6 +190,195 @@ class RevolutionaryDateProviderTest {
 			assertEquals(7, actualDate.month);
 			assertEquals(9, actualDate.dayOfMonth);
 		}
+
+		@ParameterizedTest
+		@CsvSource({ "UTC, 2018-03-29", "America/Los_Angeles, 2018-03-29", "Pacific/Kiritimati, 2018-03-30" })
+		void shouldProvideCurrentDayInGivenTimeZone(String zone, String expectedDate) {
+			long actualEpochDay = underTest.getCurrentEpochDay(ZoneId.of(zone));
+
+			assertEquals(LocalDate.parse(expectedDate).toEpochDay(), actualEpochDay);
+		}
+	}
+
+	@Nested
+	class PackedDateTest {
+
+		@BeforeEach
+		void setUp() {
+			underTest = new RevolutionaryDateProvider(Clock.fixed(Instant.ofEpochMilli(1522358369934L), ZoneId.of("UTC")));
+		}
+
+		@Test
+		void shouldConvertGregorianDatesToPackedDatesAndBack() {
+			int date = underTest.getPackedDate(LocalDate.of(2018, 3, 29));
+
+			assertEquals(PackedRevolutionaryDate.of(226, 7, 9), date);
+			assertEquals(Optional.of(LocalDate.of(2018, 3, 29)), underTest.toLocalDate(date));
+		}
+
+		@ParameterizedTest
+		@ValueSource(strings = { "1792-09-21", "5001-01-01" })
+		void shouldNotConvertUnsupportedGregorianDatesToPackedDates(String date) {
+			assertEquals(PackedRevolutionaryDate.INVALID, underTest.getPackedDate(LocalDate.parse(date)));
+		}
+
+		@Test
+		void shouldProvideCurrentPackedDate() {
+			assertEquals(PackedRevolutionaryDate.of(226, 7, 9), underTest.getCurrentPackedDate(ZoneId.of("UTC")));
+			assertEquals(PackedRevolutionaryDate.of(226, 7, 10),
+					underTest.getCurrentPackedDate(ZoneId.of("Pacific/Kiritimati")));
+		}
+
+		@Test
+		void shouldAddAndSubtractDays() {
+			int date = PackedRevolutionaryDate.of(226, 7, 9);
+
+			assertEquals(PackedRevolutionaryDate.of(226, 8, 9), underTest.plusDays(date, 30));
+			assertEquals(PackedRevolutionaryDate.of(225, 13, 5), underTest.minusDays(date, 189));
+		}
+
+		@Test
+		void shouldAddMonths() {
+			int date = PackedRevolutionaryDate.of(226, 7, 9);
+
+			assertEquals(PackedRevolutionaryDate.of(226, 8, 9), underTest.plusMonths(date, 1));
+			assertEquals(PackedRevolutionaryDate.of(225, 13, 5), underTest.plusMonths(date, -7));
+		}
+	}
+
+	@Nested
+	class EquinoxSourceTest {
+
+		private final RevolutionaryDateProvider libraryProvider = new RevolutionaryDateProvider(null,
+				EquinoxSource.LIBRARY);
+
+		@BeforeEach
+		void setUp() {
+			underTest = new RevolutionaryDateProvider(null, EquinoxSource.CALCULATOR);
+		}
+
+		@Test
+		void shouldSupportMoreYearsWithCalculator() {
+			assertEquals(1209, libraryProvider.getLastYear());
+			assertEquals(3209, underTest.getLastYear());
+			assertEquals(1208, libraryProvider.getLastFullYear());
+			assertEquals(3208, underTest.getLastFullYear());
+			assertFalse(libraryProvider.isSupported(LocalDate.of(3001, 1, 1).toEpochDay()));
+			assertTrue(underTest.isSupported(LocalDate.of(3001, 1, 1).toEpochDay()));
+		}
+
+		@Test
+		void shouldRestrictDateRangesToLibraryRange() {
+			assertFalse(libraryProvider.parseDateSlot("3001").isPresent());
+			assertTrue(underTest.parseDateSlot("3001").isPresent());
+		}
+
+		@ParameterizedTest
+		@ValueSource(strings = { "1792-09-22", "1795-09-23", "1803-09-24", "2018-03-29", "2018-09-23", "3000-12-31" })
+		void shouldConvertDatesIdenticallyWithBothSources(String date) {
+			long epochDay = LocalDate.parse(date).toEpochDay();
+
+			assertEquals(libraryProvider.getPackedDate(epochDay), underTest.getPackedDate(epochDay));
+		}
+
+		@Test
+		void shouldCombineLibraryAndCalculatorByDefault() {
+			RevolutionaryDateProvider combinedProvider = new RevolutionaryDateProvider(null);
+
+			assertEquals(3209, combinedProvider.getLastYear());
+			for (int year = 1; year <= combinedProvider.getLastYear(); ++year) {
+				RevolutionaryDateProvider expectedProvider = year <= libraryProvider.getLastYear() ? libraryProvider
+						: underTest;
+				assertEquals(expectedProvider.getGregorianDate(year, 1, 1),
+						combinedProvider.getGregorianDate(year, 1, 1), "Year " + year);
+			}
+		}
+	}
+
+	@Nested
+	class CalculationMethodTest {
+
+		@BeforeEach
+		void setUp() {
+			underTest = new RevolutionaryDateProvider(null);
+		}
+
+		@Test
+		void shouldUseEquinoxMethodByDefault() {
+			assertEquals(EQUINOX, underTest.getCalculationMethod());
+			assertSame(underTest, underTest.withCalculationMethod(EQUINOX));
+		}
+
+		@Test
+		void shouldReuseProvidersOfEachMethod() {
+			RevolutionaryDateProvider rommeProvider = underTest.withCalculationMethod(ROMME);
+
+			assertEquals(ROMME, rommeProvider.getCalculationMethod());
+			assertSame(rommeProvider, underTest.withCalculationMethod(ROMME));
+			assertSame(underTest, rommeProvider.withCalculationMethod(EQUINOX));
+		}
+
+		@ParameterizedTest
+		@EnumSource(value = CalculationMethod.class, names = { "ROMME", "CONTINUOUS", "VON_MADLER" })
+		void shouldConvertDatesIdenticallyToLibrary(CalculationMethod method) {
+			RevolutionaryDateProvider methodProvider = underTest.withCalculationMethod(method);
+			FrenchRevolutionaryCalendar calendar = new FrenchRevolutionaryCalendar(FRENCH, method);
+
+			assertEquals(1209, methodProvider.getLastYear());
+			assertFalse(methodProvider.isSupported(LocalDate.of(3001, 1, 1).toEpochDay()));
+			for (LocalDate date : new LocalDate[] { LocalDate.of(1811, 9, 23), LocalDate.of(2018, 3, 29),
+					LocalDate.of(2999, 9, 22) }) {
+				GregorianCalendar gregorianDate = new GregorianCalendar(date.getYear(), date.getMonthValue() - 1,
+						date.getDayOfMonth());
+
+				assertEquals(calendar.getDate(gregorianDate), methodProvider.getDate(date.toEpochDay(), FRENCH));
+			}
+		}
+	}
+
+	@Nested
+	class ConcurrencyTest {
+
+		private static final int THREADS = 16;
+		private static final int DATES_PER_TASK = 2000;
+
+		private final Locale[] locales = { ENGLISH, FRENCH, Locale.US, Locale.CANADA, Locale.CANADA_FRENCH };
+
+		@BeforeEach
+		void setUp() {
+			underTest = new RevolutionaryDateProvider(Clock.fixed(Instant.ofEpochMilli(1522358369934L), ZoneId.of("UTC")));
+		}
+
+		@Test
+		void shouldProvideSameDatesWhenCalledConcurrently() throws Exception {
+			List<Callable<List<Optional<FrenchRevolutionaryCalendarDate>>>> tasks = new ArrayList<>();
+			for (int task = 0; task < THREADS * 4; ++task) {
+				int seed = task;
+				tasks.add(() -> convertDates(seed));
+			}
+
+			ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+			try {
+				List<Future<List<Optional<FrenchRevolutionaryCalendarDate>>>> results = executor.invokeAll(tasks);
+				for (int task = 0; task < results.size(); ++task) {
+					assertEquals(convertDates(task), results.get(task).get());
+				}
+			} finally {
+				executor.shutdownNow();
+			}
+		}
+
+		private List<Optional<FrenchRevolutionaryCalendarDate>> convertDates(int seed) {
+			List<Optional<FrenchRevolutionaryCalendarDate>> dates = new ArrayList<>();
+			Locale locale = locales[seed % locales.length];
+			// Each task walks a different part of the calendar so that lazily loaded centuries are raced for.
+			LocalDate date = LocalDate.of(1792 + seed * 18, 9, 22);
+			for (int i = 0; i < DATES_PER_TASK; ++i) {
+				dates.add(underTest.parseISO8601CalendarDate(date.plusDays(i * 7L).toString(), locale));
+			}
+			dates.add(Optional.of(underTest.provideCurrentDate(locale)));
+			return dates;
+		}
 	}
 
 }
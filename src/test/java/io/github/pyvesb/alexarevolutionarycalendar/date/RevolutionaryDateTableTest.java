@@ -0,0 +1,216 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+import static ca.rmen.lfrc.FrenchRevolutionaryCalendar.CalculationMethod.EQUINOX;
+import static java.util.Locale.FRENCH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.GregorianCalendar;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import ca.rmen.lfrc.FrenchRevolutionaryCalendar;
+import ca.rmen.lfrc.FrenchRevolutionaryCalendar.CalculationMethod;
+import ca.rmen.lfrc.FrenchRevolutionaryCalendarDate;
+
+class RevolutionaryDateTableTest {
+
+	private static final LocalDate FIRST = LocalDate.of(1792, 9, 22);
+	private static final LocalDate LAST = LocalDate.of(3000, 12, 31);
+
+	private final RevolutionaryDateTable underTest = new RevolutionaryDateTable(EQUINOX, FIRST, LAST);
+	private final FrenchRevolutionaryCalendar revolutionaryCalendar = new FrenchRevolutionaryCalendar(FRENCH, EQUINOX);
+
+	@Test
+	void shouldCoverRevolutionaryCalendarRange() {
+		assertTrue(underTest.contains(FIRST.toEpochDay()));
+		assertTrue(underTest.contains(LAST.toEpochDay()));
+		assertFalse(underTest.contains(FIRST.toEpochDay() - 1));
+		assertFalse(underTest.contains(LAST.toEpochDay() + 1));
+		assertEquals(1209, underTest.getLastYear());
+	}
+
+	@Test
+	void shouldFindLastYearUsingYearStartCalculator() {
+		LocalDate last = LocalDate.of(5000, 12, 31);
+		RevolutionaryDateTable calculatorTable = new RevolutionaryDateTable(EquinoxCalculator::getYearStart, FIRST,
+				last);
+
+		assertEquals(3209, calculatorTable.getLastYear());
+		assertEquals(LocalDate.of(5000, 9, 20).toEpochDay(), calculatorTable.getYearStart(3209));
+		assertEquals(PackedRevolutionaryDate.of(3209, 4, 13), calculatorTable.getPackedDate(last.toEpochDay()));
+	}
+
+	@Test
+	void shouldConvertDatesIdenticallyToLibraryAroundEachYearStart() {
+		for (int year = 1; year <= underTest.getLastYear(); ++year) {
+			long yearStart = underTest.getYearStart(year);
+			for (long epochDay = yearStart - 1; epochDay <= yearStart + 1; ++epochDay) {
+				if (underTest.contains(epochDay)) {
+					assertLibraryParity(epochDay);
+				}
+			}
+		}
+	}
+
+	@Test
+	void shouldConvertDatesIdenticallyToLibraryAcrossWholeRange() {
+		// A prime stride spreads the checks over all months and day positions without converting every single day.
+		for (long epochDay = FIRST.toEpochDay(); epochDay <= LAST.toEpochDay(); epochDay += 13) {
+			assertLibraryParity(epochDay);
+		}
+		assertLibraryParity(LAST.toEpochDay());
+	}
+
+	@ParameterizedTest
+	@EnumSource(CalculationMethod.class)
+	void shouldConvertDatesIdenticallyToLibraryWithEachCalculationMethod(CalculationMethod method) {
+		RevolutionaryDateTable methodTable = new RevolutionaryDateTable(method, FIRST, LAST);
+		FrenchRevolutionaryCalendar methodCalendar = new FrenchRevolutionaryCalendar(FRENCH, method);
+		for (long epochDay = FIRST.toEpochDay(); epochDay <= LAST.toEpochDay(); epochDay += 97) {
+			LocalDate date = LocalDate.ofEpochDay(epochDay);
+			GregorianCalendar gregorianDate = new GregorianCalendar(date.getYear(), date.getMonthValue() - 1,
+					date.getDayOfMonth());
+
+			assertEquals(methodCalendar.getDate(gregorianDate), methodTable.getDate(epochDay, FRENCH), date.toString());
+		}
+		assertTrue(methodTable.getFootprintInBytes() < 5 * 1024);
+	}
+
+	@Test
+	void shouldThrowExceptionForDaysNotCovered() {
+		assertThrows(IllegalArgumentException.class, () -> underTest.getDate(FIRST.toEpochDay() - 1, FRENCH));
+	}
+
+	@Test
+	void shouldConvertRevolutionaryDatesBackToDays() {
+		for (long epochDay = FIRST.toEpochDay(); epochDay <= LAST.toEpochDay(); epochDay += 13) {
+			FrenchRevolutionaryCalendarDate date = underTest.getDate(epochDay, FRENCH);
+			assertEquals(epochDay, underTest.getEpochDay(date.year, date.month, date.dayOfMonth));
+		}
+	}
+
+	@Test
+	void shouldConvertComplementaryDaysBackToDays() {
+		assertEquals(LocalDate.of(1795, 9, 22).toEpochDay(), underTest.getEpochDay(3, 13, 6));
+		assertEquals(underTest.getYearStart(2) - 1, underTest.getEpochDay(1, 13, 5));
+	}
+
+	@ParameterizedTest
+	@CsvSource({ "0, 1, 1", "1210, 1, 1", "1209, 13, 1", "1, 0, 1", "1, 14, 1", "1, 1, 0", "1, 1, 31", "1, 13, 6" })
+	void shouldNotConvertInvalidOrUncoveredRevolutionaryDates(int year, int month, int dayOfMonth) {
+		assertEquals(RevolutionaryDateTable.NOT_COVERED, underTest.getEpochDay(year, month, dayOfMonth));
+	}
+
+	@Test
+	void shouldConvertPackedDatesBackToDays() {
+		for (long epochDay = FIRST.toEpochDay(); epochDay <= LAST.toEpochDay(); epochDay += 13) {
+			int date = underTest.getPackedDate(epochDay);
+			assertEquals(PackedRevolutionaryDate.of(underTest.getDate(epochDay, FRENCH)), date);
+			assertEquals(epochDay, underTest.getEpochDay(date));
+		}
+	}
+
+	@Test
+	void shouldAddDaysToPackedDatesAcrossYearStarts() {
+		int lastDayOfYear1 = PackedRevolutionaryDate.of(1, 13, 5);
+		int firstDayOfYear2 = PackedRevolutionaryDate.of(2, 1, 1);
+
+		assertEquals(firstDayOfYear2, underTest.plusDays(lastDayOfYear1, 1));
+		assertEquals(lastDayOfYear1, underTest.plusDays(firstDayOfYear2, -1));
+		assertEquals(PackedRevolutionaryDate.of(4, 1, 1), underTest.plusDays(PackedRevolutionaryDate.of(3, 13, 6), 1));
+		assertEquals(firstDayOfYear2, underTest.plusDays(PackedRevolutionaryDate.of(1, 1, 1), 365));
+	}
+
+	@Test
+	void shouldNotAddDaysOutsideTableOrToInvalidDates() {
+		int lastDay = underTest.getPackedDate(LAST.toEpochDay());
+
+		assertEquals(PackedRevolutionaryDate.INVALID, underTest.plusDays(PackedRevolutionaryDate.of(1, 1, 1), -1));
+		assertEquals(PackedRevolutionaryDate.INVALID, underTest.plusDays(lastDay, 1));
+		assertEquals(PackedRevolutionaryDate.INVALID, underTest.plusDays(PackedRevolutionaryDate.of(1, 13, 6), 1));
+	}
+
+	@Test
+	void shouldAddMonthsToPackedDatesKeepingDayOfMonth() {
+		assertEquals(PackedRevolutionaryDate.of(2, 1, 15),
+				underTest.plusMonths(PackedRevolutionaryDate.of(1, 12, 15), 2));
+		assertEquals(PackedRevolutionaryDate.of(1, 12, 5),
+				underTest.plusMonths(PackedRevolutionaryDate.of(1, 13, 5), -1));
+		assertEquals(PackedRevolutionaryDate.of(227, 7, 9),
+				underTest.plusMonths(PackedRevolutionaryDate.of(226, 7, 9), 13));
+	}
+
+	@Test
+	void shouldCapDayOfMonthWhenAddingMonthsToComplementaryDays() {
+		assertEquals(PackedRevolutionaryDate.of(1, 13, 5),
+				underTest.plusMonths(PackedRevolutionaryDate.of(1, 12, 30), 1));
+		assertEquals(PackedRevolutionaryDate.of(3, 13, 6),
+				underTest.plusMonths(PackedRevolutionaryDate.of(4, 1, 30), -1));
+	}
+
+	@Test
+	void shouldNotAddMonthsOutsideTableOrToInvalidDates() {
+		int lastDay = underTest.getPackedDate(LAST.toEpochDay());
+
+		assertEquals(PackedRevolutionaryDate.INVALID, underTest.plusMonths(PackedRevolutionaryDate.of(1, 1, 1), -1));
+		assertEquals(PackedRevolutionaryDate.INVALID, underTest.plusMonths(lastDay, 1));
+		assertEquals(PackedRevolutionaryDate.INVALID, underTest.plusMonths(PackedRevolutionaryDate.of(1, 13, 6), 1));
+	}
+
+	@Test
+	void shouldNotAllocateWhenConvertingToPackedDates() {
+		java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+		long threadId = Thread.currentThread().getId();
+		// Loads all centuries and warms up the conversion.
+		long checksum = convertAll();
+
+		long allocatedBefore = allocations.getThreadAllocatedBytes(threadId);
+		checksum += convertAll();
+		long allocated = allocations.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+		assertTrue(checksum != 0);
+		// Tolerates the few bytes allocated by the measurement itself.
+		assertTrue(allocated < 1024, () -> allocated + " bytes allocated");
+	}
+
+	@Test
+	void shouldReportFootprintGrowingWithLoadedCenturies() {
+		long initialFootprint = underTest.getFootprintInBytes();
+		underTest.getYearStart(1);
+		long oneCenturyFootprint = underTest.getFootprintInBytes();
+		for (int year = 1; year <= underTest.getLastYear(); ++year) {
+			underTest.getYearStart(year);
+		}
+
+		assertTrue(oneCenturyFootprint > initialFootprint);
+		assertTrue(underTest.getFootprintInBytes() < 5 * 1024);
+	}
+
+	private long convertAll() {
+		long checksum = 0;
+		for (long epochDay = FIRST.toEpochDay(); epochDay <= LAST.toEpochDay(); ++epochDay) {
+			checksum += PackedRevolutionaryDate.getDayOfDecade(underTest.getPackedDate(epochDay));
+		}
+		return checksum;
+	}
+
+	private void assertLibraryParity(long epochDay) {
+		LocalDate date = LocalDate.ofEpochDay(epochDay);
+		GregorianCalendar gregorianCalendar = new GregorianCalendar(date.getYear(), date.getMonthValue() - 1,
+				date.getDayOfMonth());
+		FrenchRevolutionaryCalendarDate expected = revolutionaryCalendar.getDate(gregorianCalendar);
+		assertEquals(expected, underTest.getDate(epochDay, FRENCH), date::toString);
+	}
+
+}
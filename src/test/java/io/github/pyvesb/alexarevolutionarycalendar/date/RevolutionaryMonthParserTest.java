@@ -0,0 +1,32 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+import static io.github.pyvesb.alexarevolutionarycalendar.date.RevolutionaryMonthParser.INVALID_MONTH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class RevolutionaryMonthParserTest {
+
+	@ParameterizedTest
+	@CsvSource({ "Vendémiaire, 1", "vendemiaire, 1", "BRUMAIRE, 2", "Nivôse, 4", "nivose, 4", "Floréal, 8",
+			"Fructidor, 12", "Sansculottides, 13", "sans-culottides, 13", "Jours complémentaires, 13",
+			"complementary days, 13", "3, 3", "13, 13" })
+	void shouldParseMonthNamesAndNumbers(String value, int expectedMonth) {
+		assertEquals(expectedMonth, RevolutionaryMonthParser.parse(value));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", "Mai", "March", "Brumair", "0", "14", "-1" })
+	void shouldNotParseOtherValues(String value) {
+		assertEquals(INVALID_MONTH, RevolutionaryMonthParser.parse(value));
+	}
+
+	@Test
+	void shouldNotParseNullValue() {
+		assertEquals(INVALID_MONTH, RevolutionaryMonthParser.parse(null));
+	}
+
+}
@@ -0,0 +1,42 @@
+package io.github.pyvesb.alexarevolutionarycalendar.date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import ca.rmen.lfrc.FrenchRevolutionaryCalendarDate;
+
+class RevolutionaryNameTableTest {
+
+	@ParameterizedTest
+	@ValueSource(strings = { "fr", "en" })
+	void shouldProvideSameNamesAsLibraryForEveryDay(String language) {
+		Locale locale = new Locale(language);
+		for (int dayInYear = 1; dayInYear <= 366; ++dayInYear) {
+			int date = PackedRevolutionaryDate.ofDayInYear(226, dayInYear);
+			FrenchRevolutionaryCalendarDate expected = PackedRevolutionaryDate.toLibraryDate(date, locale);
+			String day = Integer.toString(dayInYear);
+
+			assertEquals(expected.getWeekdayName(), RevolutionaryNameTable.getWeekdayName(locale, date), day);
+			assertEquals(expected.getMonthName(), RevolutionaryNameTable.getMonthName(locale, date), day);
+			assertEquals(expected.getObjectTypeName(), RevolutionaryNameTable.getObjectTypeName(locale, date), day);
+			assertEquals(expected.getObjectOfTheDay(), RevolutionaryNameTable.getObjectOfTheDay(locale, date), day);
+		}
+	}
+
+	@Test
+	void shouldUseLanguageOfRegionalLocales() {
+		int date = PackedRevolutionaryDate.of(226, 7, 9);
+
+		assertSame(RevolutionaryNameTable.getMonthName(Locale.FRENCH, date),
+				RevolutionaryNameTable.getMonthName(Locale.CANADA_FRENCH, date));
+		assertSame(RevolutionaryNameTable.getMonthName(Locale.ENGLISH, date),
+				RevolutionaryNameTable.getMonthName(Locale.forLanguageTag("en-IN"), date));
+	}
+
+}
@@ -1,13 +1,16 @@
 package io.github.pyvesb.alexarevolutionarycalendar.handlers;
 
+import static ca.rmen.lfrc.FrenchRevolutionaryCalendar.CalculationMethod.ROMME;
 import static java.util.Locale.CANADA;
 import static java.util.Locale.CANADA_FRENCH;
 import static java.util.Locale.FRENCH;
 import static java.util.Locale.UK;
 import static java.util.Locale.US;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static utils.InputBuilder.buildIntentInput;
+import static utils.InputBuilder.buildIntentInputWithSlots;
 import static utils.InputBuilder.buildLaunchInput;
 import static utils.ResponseAssertions.assertSimpleCard;
 import static utils.ResponseAssertions.assertSpeech;
@@ -16,13 +19,24 @@ import static utils.ResponseAssertions.assertStandardCard;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.Collections;
 
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import com.amazon.ask.dispatcher.request.handler.HandlerInput;
 import com.amazon.ask.model.Response;
 import com.amazon.ask.model.Slot;
+import com.amazon.ask.model.ui.SsmlOutputSpeech;
 
+import io.github.pyvesb.alexarevolutionarycalendar.date.PackedRevolutionaryDate;
+import io.github.pyvesb.alexarevolutionarycalendar.date.RevolutionaryDateProvider;
+import io.github.pyvesb.alexarevolutionarycalendar.metrics.SkillMetrics;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.CachingPreferenceRepository;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.LocalPreferenceStore;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.PreferenceRepository;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.UserPreferences;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.Verbosity;
 import utils.UnexpectedEmptyOptional;
 
 class DateIntentHandlerTest {
@@ -52,7 +66,7 @@ class DateIntentHandlerTest {
 		Response response = underTest.handle(buildIntentInput("RevolutionaryDateOfTheDay", UK, null))
 				.orElseThrow(UnexpectedEmptyOptional::new);
 
-		assertTrue(response.getShouldEndSession());
+		assertFalse(response.getShouldEndSession());
 		assertSpeech(response, "Today is Décadi the 10th of Germinal 226. The tool of the day is the Hatchery.");
 		assertStandardCard(response, "Revolutionary Calendar", "Décadi, 10 Germinal 226\nHatchery");
 	}
@@ -63,11 +77,63 @@ class DateIntentHandlerTest {
 		Response response = underTest.handle(buildIntentInput("RevolutionaryDateOfTheDay", FRENCH, null))
 				.orElseThrow(UnexpectedEmptyOptional::new);
 
-		assertTrue(response.getShouldEndSession());
+		assertFalse(response.getShouldEndSession());
 		assertSpeech(response, "Nous sommes Décadi, le 10 Germinal 226. L'outil du jour est le Couvoir.");
 		assertStandardCard(response, "Calendrier Révolutionnaire", "Décadi, 10 Germinal 226\nCouvoir");
 	}
 
+	@Test
+	@Tag("en_GB-locale")
+	void shouldReuseRenderedDateOfTheDayForSubsequentRequests() {
+		DateIntentHandler handler = new DateIntentHandler(CLOCK);
+		handler.handle(buildIntentInput("RevolutionaryDateOfTheDay", UK, null));
+		Response response = handler.handle(buildIntentInput("RevolutionaryDateOfTheDay", UK, null))
+				.orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertEquals(1, handler.getDateOfTheDayCache().getHitCount());
+		assertEquals(1, handler.getDateOfTheDayCache().getMissCount());
+		assertSpeech(response, "Today is Décadi the 10th of Germinal 226. The tool of the day is the Hatchery.");
+		assertStandardCard(response, "Revolutionary Calendar", "Décadi, 10 Germinal 226\nHatchery");
+	}
+
+	@Test
+	@Tag("en_GB-locale")
+	void shouldNotCacheDateOfTheDayOfOtherCalculationMethods() {
+		DateIntentHandler handler = new DateIntentHandler(CLOCK);
+		Slot slot = Slot.builder().withName("method").withValue("Romme").build();
+		Response response = handler.handle(buildIntentInputWithSlots("RevolutionaryDateOfTheDay", UK,
+				Collections.singletonMap("method", slot))).orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertFalse(response.getShouldEndSession());
+		assertEquals(0, handler.getDateOfTheDayCache().getHitCount());
+		assertEquals(0, handler.getDateOfTheDayCache().getMissCount());
+	}
+
+	@Test
+	@Tag("en_GB-locale")
+	void shouldUsePreferredTimeZoneAndVerbosityForDateOfTheDay() {
+		DateIntentHandler handler = buildHandlerWithPreferences(UserPreferences.NONE
+				.withTimeZone(ZoneId.of("Pacific/Kiritimati")).withVerbosity(Verbosity.BRIEF));
+		Response response = handler.handle(buildIntentInputWithSlots("RevolutionaryDateOfTheDay", UK, null, "user"))
+				.orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertFalse(response.getShouldEndSession());
+		assertSpeech(response, "Today is Primidi the 11th of Germinal 226.");
+		// Brief dates of the day are cached separately.
+		assertEquals(0, handler.getDateOfTheDayCache().getMissCount());
+	}
+
+	@Test
+	@Tag("en_GB-locale")
+	void shouldNotCacheDateOfTheDayOfPreferredCalculationMethod() {
+		DateIntentHandler handler = buildHandlerWithPreferences(UserPreferences.NONE.withCalculationMethod(ROMME));
+		Response response = handler.handle(buildIntentInputWithSlots("RevolutionaryDateOfTheDay", UK, null, "user"))
+				.orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertFalse(response.getShouldEndSession());
+		assertEquals(0, handler.getDateOfTheDayCache().getMissCount());
+	}
+
 	@Test
 	@Tag("en_GB-locale")
 	void shouldReturnDateResponseIfDateProvidedViaSlot() {
@@ -75,12 +141,25 @@ class DateIntentHandlerTest {
 		Response response = underTest.handle(buildIntentInput("RevolutionaryDateWithSlot", UK, slot))
 				.orElseThrow(UnexpectedEmptyOptional::new);
 
-		assertTrue(response.getShouldEndSession());
+		assertFalse(response.getShouldEndSession());
 		assertSpeech(response, "The revolutionary date is Nonidi the 9th of Germinal 226. The plant of the day is the "
 				+ "Alder.");
 		assertStandardCard(response, "Revolutionary Calendar", "Nonidi, 9 Germinal 226\nAlder");
 	}
 
+	@Test
+	@Tag("fr_CA-locale")
+	void shouldReturnBriefDateResponseIfPreferred() {
+		DateIntentHandler handler = buildHandlerWithPreferences(UserPreferences.NONE.withVerbosity(Verbosity.BRIEF));
+		Slot slot = Slot.builder().withName("date").withValue("2018-02-19").build();
+		Response response = handler.handle(buildIntentInputWithSlots("RevolutionaryDateWithSlot", CANADA_FRENCH,
+				Collections.singletonMap("date", slot), "user")).orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertFalse(response.getShouldEndSession());
+		assertSpeech(response, "Il s'agit de Primidi, le premier Ventôse 226.");
+		assertStandardCard(response, "Calendrier Révolutionnaire", "Primidi, 1 Ventôse 226\nTussilage");
+	}
+
 	@Test
 	@Tag("fr_CA-locale")
 	void shouldReturnDateResponseIfDateProvidedViaSlotWithDifferentLocale() {
@@ -88,11 +167,71 @@ class DateIntentHandlerTest {
 		Response response = underTest.handle(buildIntentInput("RevolutionaryDateWithSlot", CANADA_FRENCH, slot))
 				.orElseThrow(UnexpectedEmptyOptional::new);
 
-		assertTrue(response.getShouldEndSession());
+		assertFalse(response.getShouldEndSession());
 		assertSpeech(response, "Il s'agit de Primidi, le premier Ventôse 226. La plante de ce jour est le Tussilage.");
 		assertStandardCard(response, "Calendrier Révolutionnaire", "Primidi, 1 Ventôse 226\nTussilage");
 	}
 
+	@Test
+	@Tag("en_GB-locale")
+	void shouldRememberSingleDateInSessionForNavigation() {
+		Slot slot = Slot.builder().withName("date").withValue("2018-03-29").build();
+		HandlerInput input = buildIntentInput("RevolutionaryDateWithSlot", UK, slot);
+		Response response = underTest.handle(input).orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertEquals("<speak>You can ask for the day after, the previous décade or the next month, or say "
+				+ "stop.</speak>", ((SsmlOutputSpeech) response.getReprompt().getOutputSpeech()).getSsml());
+		long cursor = DateCursor.load(input);
+		assertEquals(PackedRevolutionaryDate.of(226, 7, 9), DateCursor.getDate(cursor));
+		assertEquals(new RevolutionaryDateProvider(CLOCK).getCalculationMethod(), DateCursor.getMethod(cursor));
+	}
+
+	@Test
+	@Tag("en_GB-locale")
+	void shouldRememberCalculationMethodOfDateInSession() {
+		Slot slot = Slot.builder().withName("method").withValue("Romme").build();
+		HandlerInput input = buildIntentInputWithSlots("RevolutionaryDateOfTheDay", UK,
+				Collections.singletonMap("method", slot));
+		underTest.handle(input);
+
+		assertEquals(ROMME, DateCursor.getMethod(DateCursor.load(input)));
+	}
+
+	@Test
+	@Tag("en_GB-locale")
+	void shouldNotRememberRangesInSession() {
+		Slot slot = Slot.builder().withName("date").withValue("2018-W26").build();
+		HandlerInput input = buildIntentInput("RevolutionaryDateWithSlot", UK, slot);
+		underTest.handle(input);
+
+		assertEquals(DateCursor.NONE, DateCursor.load(input));
+	}
+
+	@Test
+	@Tag("en_CA-locale")
+	void shouldReturnRangeResponseIfWeekProvidedViaSlot() {
+		Slot slot = Slot.builder().withName("date").withValue("2018-W26").build();
+		Response response = underTest.handle(buildIntentInput("RevolutionaryDateWithSlot", CANADA, slot))
+				.orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertTrue(response.getShouldEndSession());
+		assertSpeech(response, "This period runs from Messidor 7th to Messidor 13th 226 in the revolutionary calendar.");
+		assertStandardCard(response, "Revolutionary Calendar", "Septidi, 7 Messidor 226 - Tridi, 13 Messidor 226");
+	}
+
+	@Test
+	@Tag("fr_FR-locale")
+	void shouldReturnRangeResponseIfMonthProvidedViaSlot() {
+		Slot slot = Slot.builder().withName("date").withValue("2018-03").build();
+		Response response = underTest.handle(buildIntentInput("RevolutionaryDateWithSlot", FRENCH, slot))
+				.orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertTrue(response.getShouldEndSession());
+		assertSpeech(response, "Cette période s'étend du 11 Ventôse 226 au 11 Germinal 226 du calendrier "
+				+ "révolutionnaire, soit 2 mois révolutionnaires.");
+		assertStandardCard(response, "Calendrier Révolutionnaire", "Primidi, 11 Ventôse 226 - Primidi, 11 Germinal 226");
+	}
+
 	@Test
 	@Tag("en_US-locale")
 	void shouldReturnErrorResponseIfSlotEmpty() {
@@ -109,7 +248,7 @@ class DateIntentHandlerTest {
 	@Test
 	@Tag("en_CA-locale")
 	void shouldReturnErrorResponseIfDateUnparsable() {
-		Slot slot = Slot.builder().withName("date").withValue("2018-W26").build();
+		Slot slot = Slot.builder().withName("date").withValue("2018-W54").build();
 		Response response = underTest.handle(buildIntentInput("RevolutionaryDateWithSlot", CANADA, slot))
 				.orElseThrow(UnexpectedEmptyOptional::new);
 
@@ -119,5 +258,13 @@ class DateIntentHandlerTest {
 		assertSimpleCard(response, "Revolutionary Calendar",
 				"Examples:\n\"what's today's date\"\n\"convert March 5th 2018\"");
 	}
-	
+
+	private DateIntentHandler buildHandlerWithPreferences(UserPreferences preferences) {
+		PreferenceRepository preferenceRepository = CachingPreferenceRepository.builder()
+				.withStore(LocalPreferenceStore.inMemory()).build();
+		preferenceRepository.put("user", preferences);
+		RevolutionaryDateProvider provider = new RevolutionaryDateProvider(CLOCK);
+		return new DateIntentHandler(provider, new SkillMetrics(), envelope -> CLOCK.getZone(), preferenceRepository);
+	}
+
 }
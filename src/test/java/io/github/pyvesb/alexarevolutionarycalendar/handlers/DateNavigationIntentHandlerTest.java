@@ -0,0 +1,190 @@
+package io.github.pyvesb.alexarevolutionarycalendar.handlers;
+
+import static ca.rmen.lfrc.FrenchRevolutionaryCalendar.CalculationMethod.ROMME;
+import static java.util.Locale.CANADA_FRENCH;
+import static java.util.Locale.UK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static utils.InputBuilder.buildIntentInput;
+import static utils.InputBuilder.buildIntentInputWithSessionAttributes;
+import static utils.InputBuilder.buildLaunchInput;
+import static utils.ResponseAssertions.assertSimpleCard;
+import static utils.ResponseAssertions.assertSpeech;
+import static utils.ResponseAssertions.assertStandardCard;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.amazon.ask.dispatcher.request.handler.HandlerInput;
+import com.amazon.ask.model.Response;
+import com.amazon.ask.model.Slot;
+
+import ca.rmen.lfrc.FrenchRevolutionaryCalendar.CalculationMethod;
+import io.github.pyvesb.alexarevolutionarycalendar.date.PackedRevolutionaryDate;
+import io.github.pyvesb.alexarevolutionarycalendar.date.RevolutionaryDateProvider;
+import io.github.pyvesb.alexarevolutionarycalendar.metrics.SkillMetrics;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.CachingPreferenceRepository;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.LocalPreferenceStore;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.PreferenceRepository;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.UserPreferences;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.Verbosity;
+import utils.UnexpectedEmptyOptional;
+
+class DateNavigationIntentHandlerTest {
+
+	private static final Clock CLOCK = Clock.fixed(Instant.ofEpochMilli(1522426160067L), ZoneId.of("UTC"));
+	private static final RevolutionaryDateProvider PROVIDER = new RevolutionaryDateProvider(CLOCK);
+	private static final int NONIDI_9_GERMINAL_226 = PackedRevolutionaryDate.of(226, 7, 9);
+	private static final String NAVIGATION_ERROR = "Please first ask for a date, then for the day, décade or month "
+			+ "after or before it. For example: \"convert 2018-03-05\", then \"and the day after?\".";
+
+	private final DateNavigationIntentHandler underTest = new DateNavigationIntentHandler(PROVIDER);
+
+	@ParameterizedTest
+	@ValueSource(strings = { "NextRevolutionaryDate", "PreviousRevolutionaryDate" })
+	void shouldHandleIntentRequestsWithNavigationIntentNames(String intentName) {
+		assertTrue(underTest.canHandle(buildIntentInput(intentName)));
+	}
+
+	@Test
+	void shouldNotHandleIntentRequestsWithDifferentName() {
+		assertFalse(underTest.canHandle(buildIntentInput("RevolutionaryDateOfTheDay")));
+	}
+
+	@Test
+	void shouldNotHandleOtherRequests() {
+		assertFalse(underTest.canHandle(buildLaunchInput()));
+	}
+
+	@Test
+	@Tag("en_GB-locale")
+	void shouldReturnNextDayByDefault() {
+		HandlerInput input = buildInputWithCursor("NextRevolutionaryDate", UK, null, null,
+				DateCursor.of(NONIDI_9_GERMINAL_226, PROVIDER.getCalculationMethod()));
+		Response response = underTest.handle(input).orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertFalse(response.getShouldEndSession());
+		assertSpeech(response, "The revolutionary date is Décadi the 10th of Germinal 226. The tool of the day is the "
+				+ "Hatchery.");
+		assertStandardCard(response, "Revolutionary Calendar", "Décadi, 10 Germinal 226\nHatchery");
+		assertEquals(PackedRevolutionaryDate.of(226, 7, 10), DateCursor.getDate(DateCursor.load(input)));
+	}
+
+	@Test
+	@Tag("en_GB-locale")
+	void shouldReturnPreviousDayOfDecadeProvidedViaSlot() {
+		HandlerInput input = buildInputWithCursor("PreviousRevolutionaryDate", UK, "décadi", null,
+				DateCursor.of(NONIDI_9_GERMINAL_226, PROVIDER.getCalculationMethod()));
+		Response response = underTest.handle(input).orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertFalse(response.getShouldEndSession());
+		assertEquals(PackedRevolutionaryDate.of(226, 6, 30), DateCursor.getDate(DateCursor.load(input)));
+	}
+
+	@Test
+	@Tag("fr_CA-locale")
+	void shouldReturnBriefDateResponseIfPreferred() {
+		DateNavigationIntentHandler handler = buildHandlerWithPreferences(UserPreferences.NONE
+				.withVerbosity(Verbosity.BRIEF));
+		HandlerInput input = buildInputWithCursor("PreviousRevolutionaryDate", CANADA_FRENCH, "décade", "user",
+				DateCursor.of(PackedRevolutionaryDate.of(226, 6, 11), PROVIDER.getCalculationMethod()));
+		Response response = handler.handle(input).orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertFalse(response.getShouldEndSession());
+		assertSpeech(response, "Il s'agit de Primidi, le premier Ventôse 226.");
+		assertStandardCard(response, "Calendrier Révolutionnaire", "Primidi, 1 Ventôse 226\nTussilage");
+	}
+
+	@Test
+	@Tag("en_GB-locale")
+	void shouldKeepCalculationMethodOfCursor() {
+		HandlerInput input = buildInputWithCursor("NextRevolutionaryDate", UK, "month", null,
+				DateCursor.of(NONIDI_9_GERMINAL_226, ROMME));
+		underTest.handle(input);
+
+		long cursor = DateCursor.load(input);
+		assertEquals(ROMME, DateCursor.getMethod(cursor));
+		assertEquals(PackedRevolutionaryDate.of(226, 8, 9), DateCursor.getDate(cursor));
+	}
+
+	@Test
+	@Tag("en_GB-locale")
+	void shouldReturnErrorResponseIfNoCursorInSession() {
+		Response response = underTest.handle(buildIntentInput("NextRevolutionaryDate", UK))
+				.orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertFalse(response.getShouldEndSession());
+		assertSpeech(response, NAVIGATION_ERROR);
+		assertSimpleCard(response, "Revolutionary Calendar",
+				"Examples:\n\"what's today's date\"\n\"convert the 5th of March 2018\"");
+	}
+
+	@Test
+	@Tag("en_GB-locale")
+	void shouldReturnErrorResponseAndKeepCursorIfStepUnknown() {
+		long cursor = DateCursor.of(NONIDI_9_GERMINAL_226, PROVIDER.getCalculationMethod());
+		HandlerInput input = buildInputWithCursor("NextRevolutionaryDate", UK, "year", null, cursor);
+		Response response = underTest.handle(input).orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertFalse(response.getShouldEndSession());
+		assertSpeech(response, NAVIGATION_ERROR);
+		assertEquals(cursor, DateCursor.load(input));
+	}
+
+	@Test
+	@Tag("en_GB-locale")
+	void shouldReturnErrorResponseIfMovingBeforeFirstSupportedDate() {
+		long cursor = DateCursor.of(PackedRevolutionaryDate.of(1, 1, 1), PROVIDER.getCalculationMethod());
+		HandlerInput input = buildInputWithCursor("PreviousRevolutionaryDate", UK, null, null, cursor);
+		Response response = underTest.handle(input).orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertSpeech(response, NAVIGATION_ERROR);
+		assertEquals(cursor, DateCursor.load(input));
+	}
+
+	@ParameterizedTest
+	@ValueSource(longs = { -1L, 0L, 1L << 40 })
+	void shouldIgnoreInvalidCursors(long cursor) {
+		HandlerInput input = buildInputWithCursor("NextRevolutionaryDate", UK, null, null, cursor);
+
+		assertEquals(DateCursor.NONE, DateCursor.load(input));
+	}
+
+	@Test
+	void shouldLoadCursorsDeserialisedAsIntegers() {
+		int date = NONIDI_9_GERMINAL_226;
+		Map<String, Object> attributes = new HashMap<>(Collections.singletonMap(DateCursor.ATTRIBUTE, date));
+		HandlerInput input = buildIntentInputWithSessionAttributes("NextRevolutionaryDate", UK, null, null,
+				attributes);
+
+		assertEquals(date, DateCursor.getDate(DateCursor.load(input)));
+		assertEquals(CalculationMethod.values()[0], DateCursor.getMethod(DateCursor.load(input)));
+	}
+
+	private static HandlerInput buildInputWithCursor(String intentName, Locale locale, String step,
+			String userId, long cursor) {
+		Map<String, Slot> slots = step == null ? null
+				: Collections.singletonMap("step", Slot.builder().withName("step").withValue(step).build());
+		Map<String, Object> attributes = new HashMap<>(Collections.singletonMap(DateCursor.ATTRIBUTE, cursor));
+		return buildIntentInputWithSessionAttributes(intentName, locale, slots, userId, attributes);
+	}
+
+	private DateNavigationIntentHandler buildHandlerWithPreferences(UserPreferences preferences) {
+		PreferenceRepository preferenceRepository = CachingPreferenceRepository.builder()
+				.withStore(LocalPreferenceStore.inMemory()).build();
+		preferenceRepository.put("user", preferences);
+		return new DateNavigationIntentHandler(PROVIDER, new SkillMetrics(), preferenceRepository);
+	}
+
+}
@@ -0,0 +1,85 @@
+package io.github.pyvesb.alexarevolutionarycalendar.handlers;
+
+import static java.util.Locale.FRENCH;
+import static java.util.Locale.UK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class DateOfTheDayCacheTest {
+
+	private static final long TODAY = 17619L;
+
+	private final DateOfTheDayCache underTest = new DateOfTheDayCache();
+	private final AtomicInteger renderings = new AtomicInteger();
+
+	@Test
+	void shouldRenderOnlyOncePerLocaleAndDay() {
+		RenderedDate first = underTest.get(UK, TODAY, this::render);
+		RenderedDate second = underTest.get(UK, TODAY, this::render);
+
+		assertSame(first, second);
+		assertEquals(1, renderings.get());
+		assertEquals(1, underTest.getHitCount());
+		assertEquals(1, underTest.getMissCount());
+	}
+
+	@Test
+	void shouldRenderSeparatelyForEachLocale() {
+		RenderedDate english = underTest.get(UK, TODAY, this::render);
+		RenderedDate french = underTest.get(FRENCH, TODAY, this::render);
+
+		assertNotSame(english, french);
+		assertEquals(2, underTest.getMissCount());
+	}
+
+	@Test
+	void shouldRenderAgainAfterMidnight() {
+		RenderedDate today = underTest.get(UK, TODAY, this::render);
+		RenderedDate tomorrow = underTest.get(UK, TODAY + 1, this::render);
+
+		assertNotSame(today, tomorrow);
+		assertEquals("Day " + (TODAY + 1), tomorrow.getSpeech());
+		assertSame(tomorrow, underTest.get(UK, TODAY + 1, this::render));
+		assertEquals(2, renderings.get());
+	}
+
+	@Test
+	void shouldNotReplaceMoreRecentDayWithOlderOne() {
+		RenderedDate tomorrow = underTest.get(UK, TODAY + 1, this::render);
+		underTest.get(UK, TODAY, this::render);
+
+		assertSame(tomorrow, underTest.get(UK, TODAY + 1, this::render));
+	}
+
+	@Test
+	void shouldKeepConsecutiveDaysOfDevicesInDifferentTimeZones() {
+		RenderedDate yesterday = underTest.get(UK, TODAY - 1, this::render);
+		RenderedDate today = underTest.get(UK, TODAY, this::render);
+		RenderedDate tomorrow = underTest.get(UK, TODAY + 1, this::render);
+
+		assertSame(yesterday, underTest.get(UK, TODAY - 1, this::render));
+		assertSame(today, underTest.get(UK, TODAY, this::render));
+		assertSame(tomorrow, underTest.get(UK, TODAY + 1, this::render));
+		assertEquals(3, renderings.get());
+	}
+
+	@Test
+	void shouldReplaceOldestDayWhenFourthDayIsRequested() {
+		underTest.get(UK, TODAY, this::render);
+		underTest.get(UK, TODAY + 3, this::render);
+		underTest.get(UK, TODAY, this::render);
+
+		assertEquals(3, renderings.get());
+	}
+
+	private RenderedDate render(long epochDay) {
+		renderings.incrementAndGet();
+		return new RenderedDate((int) epochDay, "Day " + epochDay, "Card " + epochDay);
+	}
+
+}
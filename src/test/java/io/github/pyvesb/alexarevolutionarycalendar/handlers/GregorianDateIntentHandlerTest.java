@@ -0,0 +1,125 @@
+package io.github.pyvesb.alexarevolutionarycalendar.handlers;
+
+import static java.util.Locale.CANADA_FRENCH;
+import static java.util.Locale.FRENCH;
+import static java.util.Locale.UK;
+import static java.util.Locale.US;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static utils.InputBuilder.buildIntentInput;
+import static utils.InputBuilder.buildIntentInputWithSlots;
+import static utils.InputBuilder.buildLaunchInput;
+import static utils.ResponseAssertions.assertSimpleCard;
+import static utils.ResponseAssertions.assertSpeech;
+import static utils.ResponseAssertions.assertStandardCard;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.amazon.ask.dispatcher.request.handler.HandlerInput;
+import com.amazon.ask.model.Response;
+import com.amazon.ask.model.Slot;
+
+import io.github.pyvesb.alexarevolutionarycalendar.date.RevolutionaryDateProvider;
+import utils.UnexpectedEmptyOptional;
+
+class GregorianDateIntentHandlerTest {
+
+	private final GregorianDateIntentHandler underTest = new GregorianDateIntentHandler(
+			new RevolutionaryDateProvider(null));
+
+	@Test
+	void shouldHandleIntentRequestsWithGregorianDateIntentName() {
+		assertTrue(underTest.canHandle(buildIntentInput("GregorianDateWithSlots")));
+	}
+
+	@Test
+	void shouldNotHandleIntentRequestsWithDifferentName() {
+		assertFalse(underTest.canHandle(buildIntentInput("RevolutionaryDateWithSlot")));
+	}
+
+	@Test
+	void shouldNotHandleOtherRequests() {
+		assertFalse(underTest.canHandle(buildLaunchInput()));
+	}
+
+	@Test
+	@Tag("en_GB-locale")
+	void shouldReturnGregorianDateResponse() {
+		Response response = underTest.handle(buildInput(UK, "18", "Brumaire", "8"))
+				.orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertTrue(response.getShouldEndSession());
+		assertSpeech(response, "The 18th of Brumaire 8 corresponds to Saturday the 9th of November 1799.");
+		assertStandardCard(response, "Revolutionary Calendar", "Octidi, 18 Brumaire 8\nSaturday, 9 November 1799");
+	}
+
+	@Test
+	@Tag("en_US-locale")
+	void shouldReturnGregorianDateResponseWithOtherLocale() {
+		Response response = underTest.handle(buildInput(US, "9", "thermidor", "2"))
+				.orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertTrue(response.getShouldEndSession());
+		assertSpeech(response, "Thermidor 9th 2 corresponds to Sunday, July 27th, 1794.");
+		assertStandardCard(response, "Revolutionary Calendar", "Nonidi, 9 Thermidor 2\nSunday, 27 July 1794");
+	}
+
+	@Test
+	@Tag("fr_FR-locale")
+	void shouldReturnGregorianDateResponseForComplementaryDay() {
+		Response response = underTest.handle(buildInput(FRENCH, "1", "Sans-culottides", "226"))
+				.orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertTrue(response.getShouldEndSession());
+		assertSpeech(response, "Le premier Sansculottides 226 correspond au lundi 17 septembre 2018.");
+	}
+
+	@ParameterizedTest
+	@CsvSource({ "31, Brumaire, 8", "6, Sansculottides, 1", "1, Vendémiaire, 0", "1, Vendémiaire, 3210",
+			"1, Mai, 8", "premier, Brumaire, 8", ", Brumaire, 8" })
+	@Tag("fr_CA-locale")
+	void shouldReturnErrorResponseIfDateInvalid(String day, String month, String year) {
+		Response response = underTest.handle(buildInput(CANADA_FRENCH, day, month, year))
+				.orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertFalse(response.getShouldEndSession());
+		assertSpeech(response, "Veuillez réessayer en énonçant clairement une date révolutionnaire entre les ans 1 et "
+				+ "3208. Par exemple : \"convertis le 18 Brumaire an 8\".");
+		assertSimpleCard(response, "Calendrier Révolutionnaire",
+				"Exemples:\n\"donne la date\"\n\"donne la date du 3 Mai 2018\"");
+	}
+
+	@Test
+	@Tag("fr_CA-locale")
+	void shouldRestrictYearsToRangeOfRequestedCalculationMethod() {
+		Response response = underTest.handle(buildInput(CANADA_FRENCH, "1", "Vendémiaire", "1210", "Romme"))
+				.orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertFalse(response.getShouldEndSession());
+		assertSpeech(response, "Veuillez réessayer en énonçant clairement une date révolutionnaire entre les ans 1 et "
+				+ "1208. Par exemple : \"convertis le 18 Brumaire an 8\".");
+	}
+
+	private static HandlerInput buildInput(Locale locale, String day, String month, String year) {
+		return buildInput(locale, day, month, year, null);
+	}
+
+	private static HandlerInput buildInput(Locale locale, String day, String month, String year, String method) {
+		Map<String, Slot> slots = new HashMap<>();
+		slots.put("day", Slot.builder().withName("day").withValue(day).build());
+		slots.put("month", Slot.builder().withName("month").withValue(month).build());
+		slots.put("year", Slot.builder().withName("year").withValue(year).build());
+		if (method != null) {
+			slots.put("method", Slot.builder().withName("method").withValue(method).build());
+		}
+		return buildIntentInputWithSlots("GregorianDateWithSlots", locale, slots);
+	}
+
+}
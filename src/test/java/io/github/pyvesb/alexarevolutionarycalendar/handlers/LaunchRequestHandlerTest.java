@@ -1,5 +1,6 @@
 package io.github.pyvesb.alexarevolutionarycalendar.handlers;
 
+import static java.util.Locale.FRENCH;
 import static java.util.Locale.UK;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -12,6 +13,11 @@ import org.junit.jupiter.api.Test;
 
 import com.amazon.ask.model.Response;
 
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.CachingPreferenceRepository;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.LocalPreferenceStore;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.PreferenceRepository;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.UserPreferences;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.Verbosity;
 import utils.InputBuilder;
 import utils.UnexpectedEmptyOptional;
 
@@ -41,4 +47,17 @@ class LaunchRequestHandlerTest {
 				+ "Officially used from 1793 to 1805, as well as in 1871 during the Paris Commune.");
 	}
 
+	@Test
+	@Tag("fr_FR-locale")
+	void shouldReturnBriefLaunchResponseIfPreferred() {
+		PreferenceRepository preferenceRepository = CachingPreferenceRepository.builder()
+				.withStore(LocalPreferenceStore.inMemory()).build();
+		preferenceRepository.put("user", UserPreferences.NONE.withVerbosity(Verbosity.BRIEF));
+		Response response = new LaunchRequestHandler(preferenceRepository).handle(buildLaunchInput(FRENCH, "user"))
+				.orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertFalse(response.getShouldEndSession());
+		assertSpeech(response, "Quelle date voulez-vous convertir ?");
+	}
+
 }
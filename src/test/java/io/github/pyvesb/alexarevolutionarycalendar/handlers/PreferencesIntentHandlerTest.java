@@ -0,0 +1,177 @@
+package io.github.pyvesb.alexarevolutionarycalendar.handlers;
+
+import static ca.rmen.lfrc.FrenchRevolutionaryCalendar.CalculationMethod.ROMME;
+import static java.util.Locale.FRENCH;
+import static java.util.Locale.UK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static utils.InputBuilder.buildIntentInput;
+import static utils.InputBuilder.buildIntentInputWithSlots;
+import static utils.ResponseAssertions.assertSpeech;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.amazon.ask.dispatcher.request.handler.HandlerInput;
+import com.amazon.ask.model.Response;
+import com.amazon.ask.model.Slot;
+
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.CachingPreferenceRepository;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.LocalPreferenceStore;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.PreferenceRepository;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.PreferenceStore;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.UserPreferences;
+import io.github.pyvesb.alexarevolutionarycalendar.preferences.Verbosity;
+import utils.UnexpectedEmptyOptional;
+
+class PreferencesIntentHandlerTest {
+
+	private static final UserPreferences TOKYO = UserPreferences.NONE.withTimeZone(ZoneId.of("Asia/Tokyo"));
+
+	private final PreferenceRepository preferenceRepository = CachingPreferenceRepository.builder()
+			.withStore(LocalPreferenceStore.inMemory()).build();
+	private final PreferencesIntentHandler underTest = new PreferencesIntentHandler(preferenceRepository);
+
+	@Test
+	void shouldHandleIntentRequestsWithPreferencesIntentName() {
+		assertTrue(underTest.canHandle(buildIntentInput("SetPreferences")));
+	}
+
+	@Test
+	void shouldNotHandleIntentRequestsWithDifferentName() {
+		assertFalse(underTest.canHandle(buildIntentInput("RevolutionaryDateOfTheDay")));
+	}
+
+	@Test
+	@Tag("en_GB-locale")
+	void shouldSavePreferencesProvidedViaSlots() {
+		Response response = underTest.handle(buildInput(UK, "timeZone", "new york", "method", "Romme", "verbosity",
+				"brief")).orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertTrue(response.getShouldEndSession());
+		assertSpeech(response, "Your preferences have been saved.");
+		assertEquals(UserPreferences.NONE.withTimeZone(ZoneId.of("America/New_York")).withCalculationMethod(ROMME)
+				.withVerbosity(Verbosity.BRIEF), preferenceRepository.get("user"));
+	}
+
+	@Test
+	@Tag("fr_FR-locale")
+	void shouldKeepPreferencesMissingFromIntent() {
+		preferenceRepository.put("user", UserPreferences.NONE.withTimeZone(ZoneId.of("Europe/Paris")));
+		Response response = underTest.handle(buildInput(FRENCH, "verbosity", "détaillé"))
+				.orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertSpeech(response, "Vos préférences ont été enregistrées.");
+		assertEquals(UserPreferences.NONE.withTimeZone(ZoneId.of("Europe/Paris")).withVerbosity(Verbosity.FULL),
+				preferenceRepository.get("user"));
+	}
+
+	@Test
+	@Tag("en_GB-locale")
+	void shouldReturnErrorResponseIfNoPreferenceParsable() {
+		Response response = underTest.handle(buildInput(UK, "timeZone", "Atlantis"))
+				.orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertFalse(response.getShouldEndSession());
+		assertSpeech(response, "Please try again by clearly stating a time zone, a calculation method or a verbosity. "
+				+ "For example: \"use the Romme method\" or \"be brief\".");
+		assertEquals(UserPreferences.NONE, preferenceRepository.get("user"));
+	}
+
+	@Test
+	@Tag("en_GB-locale")
+	void shouldReturnUnavailableResponseIfPreferencesDisabled() {
+		Response response = new PreferencesIntentHandler(PreferenceRepository.disabled())
+				.handle(buildInput(UK, "verbosity", "brief")).orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertTrue(response.getShouldEndSession());
+		assertSpeech(response, "Sorry, I cannot remember preferences at the moment.");
+	}
+
+	@Test
+	@Tag("en_GB-locale")
+	void shouldWaitForSlowStoreBeforeUpdatingPreferences() throws IOException {
+		LocalPreferenceStore store = LocalPreferenceStore.inMemory();
+		store.saveAll(Collections.singletonMap("user", TOKYO));
+		PreferenceRepository slowRepository = CachingPreferenceRepository.builder()
+				.withStore(new PreferenceStore() {
+
+					@Override
+					public Optional<UserPreferences> load(String userId) throws IOException {
+						try {
+							Thread.sleep(50);
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+						return store.load(userId);
+					}
+
+					@Override
+					public void saveAll(Map<String, UserPreferences> preferencesByUserId) throws IOException {
+						store.saveAll(preferencesByUserId);
+					}
+				})
+				.withTimeout(Duration.ofMillis(1))
+				.build();
+		// A cold container times out and falls back to no preferences while the load carries on.
+		assertEquals(UserPreferences.NONE, slowRepository.get("user"));
+
+		Response response = new PreferencesIntentHandler(slowRepository).handle(buildInput(UK, "verbosity", "brief"))
+				.orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertSpeech(response, "Your preferences have been saved.");
+		slowRepository.flush();
+		assertEquals(Optional.of(TOKYO.withVerbosity(Verbosity.BRIEF)), store.load("user"));
+	}
+
+	@Test
+	@Tag("en_GB-locale")
+	void shouldNotOverwritePreferencesIfStoreFails() throws IOException {
+		LocalPreferenceStore store = LocalPreferenceStore.inMemory();
+		store.saveAll(Collections.singletonMap("user", TOKYO));
+		PreferenceRepository failingRepository = CachingPreferenceRepository.builder()
+				.withStore(new PreferenceStore() {
+
+					@Override
+					public Optional<UserPreferences> load(String userId) throws IOException {
+						throw new IOException("Store unavailable");
+					}
+
+					@Override
+					public void saveAll(Map<String, UserPreferences> preferencesByUserId) throws IOException {
+						store.saveAll(preferencesByUserId);
+					}
+				})
+				.build();
+		// The failure is cached, subsequent requests get no preferences for a while.
+		assertEquals(UserPreferences.NONE, failingRepository.get("user"));
+
+		Response response = new PreferencesIntentHandler(failingRepository)
+				.handle(buildInput(UK, "verbosity", "brief")).orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertTrue(response.getShouldEndSession());
+		assertSpeech(response, "Sorry, I cannot remember preferences at the moment.");
+		assertEquals(0, failingRepository.flush());
+		assertEquals(Optional.of(TOKYO), store.load("user"));
+	}
+
+	private static HandlerInput buildInput(Locale locale, String... slotNamesAndValues) {
+		Map<String, Slot> slots = new HashMap<>();
+		for (int i = 0; i < slotNamesAndValues.length; i += 2) {
+			String name = slotNamesAndValues[i];
+			slots.put(name, Slot.builder().withName(name).withValue(slotNamesAndValues[i + 1]).build());
+		}
+		return buildIntentInputWithSlots("SetPreferences", locale, slots, "user");
+	}
+
+}
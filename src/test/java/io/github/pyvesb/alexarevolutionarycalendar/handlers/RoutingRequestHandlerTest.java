@@ -0,0 +1,111 @@
+package io.github.pyvesb.alexarevolutionarycalendar.handlers;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static utils.InputBuilder.buildEndedInput;
+import static utils.InputBuilder.buildIntentInput;
+import static utils.InputBuilder.buildLaunchInput;
+import static utils.ResponseAssertions.assertSpeech;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.amazon.ask.dispatcher.request.handler.HandlerInput;
+import com.amazon.ask.dispatcher.request.handler.RequestHandler;
+import com.amazon.ask.model.IntentRequest;
+import com.amazon.ask.model.LaunchRequest;
+import com.amazon.ask.model.Response;
+
+import utils.UnexpectedEmptyOptional;
+
+class RoutingRequestHandlerTest {
+
+	private final RoutingRequestHandler underTest = RoutingRequestHandler.builder()
+			.withRequestType(LaunchRequest.class, new NamedHandler("launch"))
+			.withIntents(new NamedHandler("help"), "AMAZON.HelpIntent")
+			.withIntents(new NamedHandler("cancel-stop"), "AMAZON.CancelIntent", "AMAZON.StopIntent")
+			.build();
+
+	@Test
+	void shouldRouteRequestsByType() {
+		HandlerInput input = buildLaunchInput();
+
+		assertTrue(underTest.canHandle(input));
+		assertSpeech(underTest.handle(input).orElseThrow(UnexpectedEmptyOptional::new), "launch");
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "AMAZON.CancelIntent", "AMAZON.StopIntent" })
+	void shouldRouteIntentRequestsByName(String intentName) {
+		HandlerInput input = buildIntentInput(intentName);
+
+		assertTrue(underTest.canHandle(input));
+		assertSpeech(underTest.handle(input).orElseThrow(UnexpectedEmptyOptional::new), "cancel-stop");
+	}
+
+	@Test
+	void shouldNotHandleUnroutedRequests() {
+		assertFalse(underTest.canHandle(buildEndedInput()));
+		assertFalse(underTest.canHandle(buildIntentInput("RevolutionaryDateWithSlot")));
+		assertThrows(IllegalStateException.class, () -> underTest.handle(buildEndedInput()));
+	}
+
+	@Test
+	void shouldRejectDuplicateRoutes() {
+		RoutingRequestHandler.Builder builder = RoutingRequestHandler.builder()
+				.withRequestType(LaunchRequest.class, new NamedHandler("launch"))
+				.withIntents(new NamedHandler("help"), "AMAZON.HelpIntent");
+
+		assertThrows(IllegalArgumentException.class,
+				() -> builder.withRequestType(LaunchRequest.class, new NamedHandler("other")));
+		assertThrows(IllegalArgumentException.class, () -> builder.withIntents(new NamedHandler("other"),
+				"AMAZON.StopIntent", "AMAZON.HelpIntent"));
+		assertThrows(IllegalArgumentException.class,
+				() -> builder.withRequestType(IntentRequest.class, new NamedHandler("other")));
+	}
+
+	@Test
+	void shouldNotRoutePartOfIntentsIfOneIsRejected() {
+		RoutingRequestHandler.Builder builder = RoutingRequestHandler.builder()
+				.withIntents(new NamedHandler("help"), "AMAZON.HelpIntent");
+
+		assertThrows(IllegalArgumentException.class, () -> builder.withIntents(new NamedHandler("other"),
+				"AMAZON.StopIntent", "AMAZON.HelpIntent", "AMAZON.CancelIntent"));
+		assertThrows(IllegalArgumentException.class, () -> builder.withIntents(new NamedHandler("other"),
+				"AMAZON.CancelIntent", "AMAZON.CancelIntent"));
+		RoutingRequestHandler handler = builder.build();
+
+		assertFalse(handler.canHandle(buildIntentInput("AMAZON.StopIntent")));
+		assertFalse(handler.canHandle(buildIntentInput("AMAZON.CancelIntent")));
+		assertSpeech(handler.handle(buildIntentInput("AMAZON.HelpIntent")).orElseThrow(UnexpectedEmptyOptional::new),
+				"help");
+	}
+
+	/**
+	 * Handler returning its name in the response, and which would never be selected by a linear dispatcher.
+	 */
+	private static class NamedHandler implements RequestHandler {
+
+		private final String name;
+
+		NamedHandler(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public boolean canHandle(HandlerInput input) {
+			return false;
+		}
+
+		@Override
+		public Optional<Response> handle(HandlerInput input) {
+			return input.getResponseBuilder().withSpeech(name).build();
+		}
+
+	}
+
+}
@@ -0,0 +1,74 @@
+package io.github.pyvesb.alexarevolutionarycalendar.i18n;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class LocalisedMessagesTest {
+
+	@ParameterizedTest
+	@ValueSource(strings = { "en-GB", "en-US", "en-CA", "en-AU", "en-IN", "fr-FR", "fr-CA", "de-DE", "es" })
+	void shouldResolveSameMessagesAsResourceBundle(String languageTag) {
+		ResourceBundle expected = ResourceBundle.getBundle("messages", Locale.forLanguageTag(languageTag));
+		LocalisedMessages actual = LocalisedMessages.forLanguageTag(languageTag);
+
+		assertEquals(expected.getLocale(), actual.getLocale());
+		for (String key : expected.keySet()) {
+			assertEquals(expected.getString(key), actual.getString(key), key);
+		}
+	}
+
+	@Test
+	void shouldShareMessagesBetweenLocalesUsingSameFile() {
+		assertSame(LocalisedMessages.forLanguageTag("en-GB"), LocalisedMessages.forLanguageTag("en-AU"));
+		assertSame(LocalisedMessages.forLanguageTag("fr-FR"), LocalisedMessages.forLanguageTag("fr-CA"));
+	}
+
+	@Test
+	void shouldCacheFallbackForUnknownLocales() {
+		assertSame(LocalisedMessages.forLanguageTag("xx-XX"), LocalisedMessages.forLanguageTag("xx-XX"));
+		assertSame(LocalisedMessages.forLanguageTag(null), LocalisedMessages.forLanguageTag(null));
+	}
+
+	@Test
+	void shouldInheritMessagesFromLessSpecificFile() {
+		LocalisedMessages messages = LocalisedMessages.forLanguageTag("en-US");
+
+		assertEquals("Revolutionary Calendar", messages.getString("card-title"));
+		assertEquals("Examples:\n\"what's today's date\"\n\"convert March 5th 2018\"", messages.getString("card-examples"));
+	}
+
+	@Test
+	void shouldDetectFrenchMessages() {
+		assertTrue(LocalisedMessages.forLanguageTag("fr-CA").isFrench());
+		assertFalse(LocalisedMessages.forLanguageTag("en-CA").isFrench());
+	}
+
+	@Test
+	void shouldFormatMessagesIdenticallyToStringFormat() {
+		LocalisedMessages messages = LocalisedMessages.forLanguageTag("fr-FR");
+		Object[] arguments = { "Décadi", "10", "Germinal", 226, "L'outil", "le Couvoir" };
+
+		assertEquals(String.format(messages.getString("date-of-the-day"), arguments),
+				messages.format("date-of-the-day", arguments));
+	}
+
+	@Test
+	void shouldThrowExceptionForMissingMessages() {
+		LocalisedMessages messages = LocalisedMessages.forLanguageTag("en-GB");
+
+		assertThrows(MissingResourceException.class, () -> messages.getString("unknown"));
+		assertThrows(MissingResourceException.class, () -> messages.format("launch"));
+	}
+
+}
@@ -0,0 +1,30 @@
+package io.github.pyvesb.alexarevolutionarycalendar.i18n;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class MessageTemplateTest {
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", "No placeholders.", "%1$s the %2$s of %3$s %4$d.", "%3$s %2$s, %1$s", "%s and %s",
+			"100%% %1$s", "%1$s%1$s", "Trailing %2$d" })
+	void shouldFormatIdenticallyToStringFormat(String pattern) {
+		Object[] arguments = { "Décadi", "10th", "Germinal", 226 };
+		if (pattern.startsWith("Trailing")) {
+			arguments = new Object[] { "unused", 42 };
+		}
+
+		assertEquals(String.format(pattern, arguments), MessageTemplate.compile(pattern).format(arguments));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "%", "%0$s", "%1s", "%1$", "%1$x", "%.2f", "%n" })
+	void shouldRejectUnsupportedPlaceholders(String pattern) {
+		assertThrows(IllegalArgumentException.class, () -> MessageTemplate.compile(pattern));
+	}
+
+}
@@ -0,0 +1,96 @@
+package io.github.pyvesb.alexarevolutionarycalendar.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import utils.UnexpectedEmptyOptional;
+
+class EnvelopeAnonymiserTest {
+
+	private static final String ENVELOPE = "{\n  \"version\": \"1.0\",\n  \"session\": {\"new\": true, "
+			+ "\"sessionId\": \"amzn1.echo-api.session.%s\", \"attributes\": {}, "
+			+ "\"user\": {\"userId\": \"amzn1.ask.account.%s\", \"accessToken\": \"secret\"}},\n"
+			+ "  \"context\": {\"System\": {\"device\": {\"deviceId\": \"amzn1.ask.device.%s\"}, "
+			+ "\"user\": {\"userId\": \"amzn1.ask.account.%2$s\", \"permissions\": {\"consentToken\": \"secret\"}}, "
+			+ "\"person\": {\"personId\": \"amzn1.ask.person.%3$s\"}, \"unit\": {\"unitId\": \"amzn1.ask.unit.%3$s\", "
+			+ "\"persistentUnitId\": \"amzn1.alexa.unit.did.%3$s\"}, \"apiAccessToken\": \"secret\"}, "
+			+ "\"Geolocation\": {\"coordinate\": {\"latitudeInDegrees\": 48.8566, \"longitudeInDegrees\": 2.3522}}},\n"
+			+ "  \"request\": {\"type\": \"IntentRequest\", \"requestId\": \"amzn1.echo-api.request.%1$s\", "
+			+ "\"locale\": \"fr-FR\", \"intent\": {\"name\": \"RevolutionaryDateWithSlot\", \"slots\": {\"date\": "
+			+ "{\"name\": \"date\", \"value\": \"2018-03-05\"}}}, \"userId\": 42}\n}";
+	private static final Pattern PSEUDONYM = Pattern.compile("amzn1\\.ask\\.account\\.([0-9a-f]{32})\"");
+
+	private final EnvelopeAnonymiser underTest = new EnvelopeAnonymiser(new byte[] { 1, 7, 9, 3 });
+
+	@Test
+	void shouldPseudonymiseIdentifiersAndRemoveTokens() {
+		String anonymised = anonymise(String.format(ENVELOPE, "S3SS10N", "US3R", "D3V1C3"));
+
+		assertFalse(anonymised.contains("S3SS10N"));
+		assertFalse(anonymised.contains("US3R"));
+		assertFalse(anonymised.contains("D3V1C3"));
+		assertFalse(anonymised.contains("secret"));
+		assertFalse(anonymised.contains("Geolocation"));
+		assertFalse(anonymised.contains("48.8566"));
+		assertTrue(anonymised.matches("\\{\"version\":\"1\\.0\",\"session\":\\{\"new\":true,"
+				+ "\"sessionId\":\"amzn1\\.echo-api\\.session\\.[0-9a-f]{32}\",\"attributes\":\\{},"
+				+ "\"user\":\\{\"userId\":\"amzn1\\.ask\\.account\\.[0-9a-f]{32}\",\"accessToken\":\"ANONYMISED\"}},"
+				+ ".*\"unit\":\\{\"unitId\":\"amzn1\\.ask\\.unit\\.[0-9a-f]{32}\","
+				+ "\"persistentUnitId\":\"amzn1\\.alexa\\.unit\\.did\\.[0-9a-f]{32}\"},"
+				+ "\"apiAccessToken\":\"ANONYMISED\"}},\"request\":\\{\"type\":\"IntentRequest\","
+				+ "\"requestId\":\"amzn1\\.echo-api\\.request\\.[0-9a-f]{32}\",\"locale\":\"fr-FR\",\"intent\":"
+				+ "\\{\"name\":\"RevolutionaryDateWithSlot\",\"slots\":\\{\"date\":\\{\"name\":\"date\","
+				+ "\"value\":\"2018-03-05\"}}},\"userId\":42}}"), anonymised);
+	}
+
+	@Test
+	void shouldUseSamePseudonymForSameIdentifier() {
+		String anonymised = anonymise(String.format(ENVELOPE, "S3SS10N", "US3R", "D3V1C3"));
+
+		Matcher matcher = PSEUDONYM.matcher(anonymised);
+		assertTrue(matcher.find());
+		String first = matcher.group(1);
+		assertTrue(matcher.find());
+		assertEquals(first, matcher.group(1));
+		assertEquals(anonymised, anonymise(String.format(ENVELOPE, "S3SS10N", "US3R", "D3V1C3")));
+	}
+
+	@Test
+	void shouldUseDifferentPseudonymsForDifferentIdentifiersOrSalts() {
+		String anonymised = anonymise(String.format(ENVELOPE, "S3SS10N", "US3R", "D3V1C3"));
+		String otherUser = anonymise(String.format(ENVELOPE, "S3SS10N", "0TH3R", "D3V1C3"));
+		String otherSalt = new EnvelopeAnonymiser().anonymise(String.format(ENVELOPE, "S3SS10N", "US3R", "D3V1C3")
+				.getBytes(StandardCharsets.UTF_8)).orElseThrow(UnexpectedEmptyOptional::new);
+
+		assertNotEquals(getPseudonym(anonymised), getPseudonym(otherUser));
+		assertNotEquals(getPseudonym(anonymised), getPseudonym(otherSalt));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", "{\"version\":", "{\"version\":\"1.0\"}}" })
+	void shouldRejectMalformedEnvelopes(String envelope) {
+		assertFalse(underTest.anonymise(envelope.getBytes(StandardCharsets.UTF_8)).isPresent());
+	}
+
+	private String anonymise(String envelope) {
+		return underTest.anonymise(envelope.getBytes(StandardCharsets.UTF_8))
+				.orElseThrow(UnexpectedEmptyOptional::new);
+	}
+
+	private static String getPseudonym(String anonymised) {
+		Matcher matcher = PSEUDONYM.matcher(anonymised);
+		assertTrue(matcher.find());
+		return matcher.group(1);
+	}
+
+}
@@ -0,0 +1,70 @@
+package io.github.pyvesb.alexarevolutionarycalendar.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Collections;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.Filter.Result;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.util.KeyValuePair;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class SamplingFilterTest {
+
+	@Test
+	void shouldKeepEventsWithRateBelowRandomValue() {
+		SamplingFilter underTest = new SamplingFilter(Collections.singletonMap("PARSED_DATE", 0.25), 1.0, () -> 0.2);
+
+		assertEquals(Result.NEUTRAL, underTest.filter(null, Level.INFO, LogMarkers.PARSED_DATE, "Parsed", "date"));
+	}
+
+	@Test
+	void shouldDenyEventsWithRateAboveRandomValue() {
+		SamplingFilter underTest = new SamplingFilter(Collections.singletonMap("PARSED_DATE", 0.25), 1.0, () -> 0.3);
+
+		assertEquals(Result.DENY, underTest.filter(null, Level.INFO, LogMarkers.PARSED_DATE, "Parsed", "date"));
+		assertEquals(Result.DENY, underTest.filter(null, Level.INFO, LogMarkers.PARSED_DATE, "Parsed", 1, 2, 3, 4));
+		assertEquals(Result.DENY, underTest.filter(Log4jLogEvent.newBuilder().setMarker(LogMarkers.PARSED_DATE)
+				.build()));
+	}
+
+	@Test
+	void shouldUseDefaultRateForEventsWithoutConfiguredMarker() {
+		SamplingFilter underTest = new SamplingFilter(Collections.singletonMap("PARSED_DATE", 1.0), 0.5, () -> 0.7);
+
+		assertEquals(Result.DENY, underTest.filter(null, Level.INFO, LogMarkers.REQUEST, "Request", "help"));
+		assertEquals(Result.DENY, underTest.filter(null, Level.INFO, null, "Request", "help"));
+		assertEquals(Result.NEUTRAL, underTest.filter(null, Level.INFO, LogMarkers.PARSED_DATE, "Parsed", "date"));
+	}
+
+	@Test
+	void shouldNeverKeepEventsWithZeroRate() {
+		SamplingFilter underTest = new SamplingFilter(Collections.singletonMap("REQUEST", 0.0), 1.0, () -> 0.0);
+
+		assertEquals(Result.DENY, underTest.filter(null, Level.INFO, MarkerManager.getMarker("REQUEST"), "Request"));
+	}
+
+	@Test
+	void shouldCreateFilterFromConfiguration() {
+		KeyValuePair[] rates = { new KeyValuePair("REQUEST", "0"), new KeyValuePair("PARSED_DATE", "1") };
+		SamplingFilter underTest = SamplingFilter.createFilter(0.0, rates);
+
+		assertEquals(Result.DENY, underTest.filter(null, Level.INFO, LogMarkers.REQUEST, "Request", "help"));
+		assertEquals(Result.NEUTRAL, underTest.filter(null, Level.INFO, LogMarkers.PARSED_DATE, "Parsed", "date"));
+		assertEquals(Result.DENY, underTest.filter(null, Level.WARN, LogMarkers.UNPARSABLE_DATE, "Unparsable", "x"));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "-0.1", "1.5", "often" })
+	void shouldRejectInvalidRates(String rate) {
+		KeyValuePair[] rates = { new KeyValuePair("REQUEST", rate) };
+
+		assertThrows(IllegalArgumentException.class, () -> SamplingFilter.createFilter(1.0, rates));
+	}
+
+}
@@ -0,0 +1,94 @@
+package io.github.pyvesb.alexarevolutionarycalendar.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class LatencyHistogramTest {
+
+	private final LatencyHistogram underTest = new LatencyHistogram();
+
+	@Test
+	void shouldCountSmallLatenciesExactly() {
+		for (int micros = 0; micros < 16; ++micros) {
+			assertEquals(micros, LatencyHistogram.getBucketValue(LatencyHistogram.getBucket(micros)));
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(longs = { 16, 17, 100, 1_000, 12_345, 999_999, 1L << 30, (1L << 36) - 1 })
+	void shouldBoundRelativeErrorOfLargeLatencies(long micros) {
+		double value = LatencyHistogram.getBucketValue(LatencyHistogram.getBucket(micros));
+
+		assertTrue(Math.abs(value - micros) / micros <= 0.125, () -> micros + " -> " + value);
+	}
+
+	@Test
+	void shouldMapBucketsMonotonically() {
+		int previousBucket = 0;
+		for (long micros = 1; micros < 1L << 40; micros = micros * 3 / 2 + 1) {
+			int bucket = LatencyHistogram.getBucket(micros);
+			assertTrue(bucket >= previousBucket && bucket < LatencyHistogram.BUCKET_COUNT);
+			previousBucket = bucket;
+		}
+		assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.getBucket(Long.MAX_VALUE));
+	}
+
+	@Test
+	void shouldComputeStatisticsAndResetWhenDrained() {
+		underTest.record(3_000);
+		underTest.record(5_999);
+		underTest.record(2_000_000);
+		underTest.record(-1);
+
+		LatencyHistogram.Snapshot snapshot = underTest.drain();
+
+		assertEquals(4, snapshot.getCount());
+		assertEquals(2008, snapshot.getSum());
+		assertEquals(0, snapshot.getMin());
+		assertEquals(2000, snapshot.getMax());
+		assertEquals(3.0, snapshot.getPercentile(0.5));
+		assertEquals(5.0, snapshot.getPercentile(0.75));
+		assertEquals(0, underTest.drain().getCount());
+	}
+
+	@Test
+	void shouldNotLoseLatenciesRecordedConcurrently() throws Exception {
+		int threads = 8;
+		int latenciesPerThread = 100_000;
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (int thread = 0; thread < threads; ++thread) {
+			tasks.add(() -> {
+				for (int i = 0; i < latenciesPerThread; ++i) {
+					underTest.record(i * 1000L);
+				}
+				return null;
+			});
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			for (Future<Void> result : executor.invokeAll(tasks)) {
+				result.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		LatencyHistogram.Snapshot snapshot = underTest.drain();
+		assertEquals((long) threads * latenciesPerThread, snapshot.getCount());
+		assertEquals(threads * (latenciesPerThread - 1L) * latenciesPerThread / 2, snapshot.getSum());
+		assertEquals(latenciesPerThread - 1, snapshot.getMax());
+	}
+
+}
@@ -0,0 +1,84 @@
+package io.github.pyvesb.alexarevolutionarycalendar.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SkillMetricsTest {
+
+	private static final long INTERVAL = 60_000_000_000L;
+
+	private final SkillMetrics underTest = new SkillMetrics(INTERVAL, 0L);
+
+	@Test
+	void shouldDrainHandlerMetricsAsEmbeddedMetricFormat() {
+		underTest.recordLatency("DateIntentHandler", 1_500_000);
+		underTest.recordLatency("DateIntentHandler", 12_000);
+		underTest.recordParseFailure("DateIntentHandler");
+
+		List<String> documents = underTest.drain(1_538_000_000_000L);
+
+		assertEquals(1, documents.size());
+		assertEquals("{\"_aws\":{\"Timestamp\":1538000000000,\"CloudWatchMetrics\":[{\"Namespace\":"
+				+ "\"RevolutionaryCalendar\",\"Dimensions\":[[\"Handler\"]],\"Metrics\":[{\"Name\":\"Latency\","
+				+ "\"Unit\":\"Microseconds\"},{\"Name\":\"ParseFailures\",\"Unit\":\"Count\"}]}]},"
+				+ "\"Handler\":\"DateIntentHandler\",\"Latency\":{\"Values\":[12.0,1471.5],\"Counts\":[1,1],"
+				+ "\"Max\":1500,\"Min\":12,\"Sum\":1512,\"Count\":2},\"ParseFailures\":1}", documents.get(0));
+	}
+
+	@Test
+	void shouldOnlyDeclarePresentMetrics() {
+		underTest.recordParseFailure("GregorianDateIntentHandler");
+
+		List<String> documents = underTest.drain(0L);
+
+		assertEquals(1, documents.size());
+		assertTrue(documents.get(0).contains("\"Metrics\":[{\"Name\":\"ParseFailures\",\"Unit\":\"Count\"}]"));
+		assertFalse(documents.get(0).contains("\"Latency\""));
+	}
+
+	@Test
+	void shouldCountRequestsPerIntentAndLocale() {
+		underTest.recordRequest("RevolutionaryDateOfTheDay", "fr-FR");
+		underTest.recordRequest("RevolutionaryDateOfTheDay", "fr-FR");
+		underTest.recordRequest("RevolutionaryDateOfTheDay", "xx-YY");
+		underTest.recordRequest("LaunchRequest", null);
+
+		List<String> documents = underTest.drain(0L);
+
+		assertEquals(3, documents.size());
+		assertTrue(documents.get(0).endsWith("\"Request\":\"LaunchRequest\",\"Locale\":\"other\",\"Requests\":1}"));
+		assertTrue(documents.get(1).endsWith("\"Request\":\"RevolutionaryDateOfTheDay\",\"Locale\":\"fr-FR\","
+				+ "\"Requests\":2}"));
+		assertTrue(documents.get(2).endsWith("\"Request\":\"RevolutionaryDateOfTheDay\",\"Locale\":\"other\","
+				+ "\"Requests\":1}"));
+		assertTrue(documents.get(0).contains("\"Dimensions\":[[\"Request\",\"Locale\"]]"));
+	}
+
+	@Test
+	void shouldOmitMetricsWithoutNewValues() {
+		underTest.recordLatency("LaunchRequestHandler", 1_000);
+		underTest.recordRequest("LaunchRequest", "en-GB");
+		underTest.drain(0L);
+
+		assertTrue(underTest.drain(0L).isEmpty());
+	}
+
+	@Test
+	void shouldOnlyFlushOncePerInterval() {
+		assertFalse(underTest.flushIfDue(INTERVAL - 1));
+		assertTrue(underTest.flushIfDue(INTERVAL));
+		assertFalse(underTest.flushIfDue(INTERVAL + 1));
+		assertTrue(underTest.flushIfDue(3 * INTERVAL));
+	}
+
+	@Test
+	void shouldNeverFlushWithoutInterval() {
+		assertFalse(new SkillMetrics().flushIfDue(Long.MAX_VALUE));
+	}
+
+}
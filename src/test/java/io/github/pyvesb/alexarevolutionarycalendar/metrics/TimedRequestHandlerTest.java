@@ -0,0 +1,80 @@
+package io.github.pyvesb.alexarevolutionarycalendar.metrics;
+
+import static java.util.Locale.FRENCH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static utils.InputBuilder.buildIntentInput;
+import static utils.InputBuilder.buildLaunchInput;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.amazon.ask.dispatcher.request.handler.HandlerInput;
+import com.amazon.ask.dispatcher.request.handler.RequestHandler;
+import com.amazon.ask.model.Response;
+
+class TimedRequestHandlerTest {
+
+	private final SkillMetrics metrics = new SkillMetrics();
+
+	@Test
+	void shouldDelegateAndRecordIntentRequests() {
+		Optional<Response> response = Optional.of(Response.builder().build());
+		TimedRequestHandler underTest = new TimedRequestHandler("Help", new StubHandler(response), metrics);
+
+		assertTrue(underTest.canHandle(buildIntentInput("AMAZON.HelpIntent")));
+		assertSame(response, underTest.handle(buildIntentInput("AMAZON.HelpIntent", FRENCH)));
+
+		List<String> documents = metrics.drain(0L);
+		assertEquals(2, documents.size());
+		assertTrue(documents.get(0).contains("\"Handler\":\"Help\",\"Latency\":{"));
+		assertTrue(documents.get(0).contains("\"Count\":1}"));
+		assertTrue(documents.get(1).endsWith("\"Request\":\"AMAZON.HelpIntent\",\"Locale\":\"other\","
+				+ "\"Requests\":1}"));
+	}
+
+	@Test
+	void shouldRecordRequestTypeAndFailures() {
+		TimedRequestHandler underTest = new TimedRequestHandler("Launch", new StubHandler(null), metrics);
+
+		assertFalse(underTest.canHandle(buildIntentInput("AMAZON.HelpIntent")));
+		assertThrows(IllegalStateException.class, () -> underTest.handle(buildLaunchInput()));
+
+		List<String> documents = metrics.drain(0L);
+		assertEquals(2, documents.size());
+		assertTrue(documents.get(0).contains("\"Handler\":\"Launch\",\"Latency\":{"));
+		assertTrue(documents.get(1).endsWith("\"Request\":\"LaunchRequest\",\"Locale\":\"en-GB\",\"Requests\":1}"));
+	}
+
+	/**
+	 * Handles help intents, failing if no response is provided.
+	 */
+	private static class StubHandler implements RequestHandler {
+
+		private final Optional<Response> response;
+
+		StubHandler(Optional<Response> response) {
+			this.response = response;
+		}
+
+		@Override
+		public boolean canHandle(HandlerInput input) {
+			return response != null;
+		}
+
+		@Override
+		public Optional<Response> handle(HandlerInput input) {
+			if (response == null) {
+				throw new IllegalStateException("Simulated failure");
+			}
+			return response;
+		}
+
+	}
+
+}
@@ -0,0 +1,349 @@
+package io.github.pyvesb.alexarevolutionarycalendar.preferences;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.amazon.ask.model.RequestEnvelope;
+import com.amazon.ask.model.Session;
+import com.amazon.ask.model.User;
+
+class CachingPreferenceRepositoryTest {
+
+	private static final UserPreferences TOKYO = UserPreferences.NONE.withTimeZone(ZoneId.of("Asia/Tokyo"));
+	private static final UserPreferences BRIEF = UserPreferences.NONE.withVerbosity(Verbosity.BRIEF);
+
+	private final AtomicInteger loads = new AtomicInteger();
+	private final AtomicBoolean failing = new AtomicBoolean();
+	private final AtomicLong nanoTime = new AtomicLong();
+	private final List<Map<String, UserPreferences>> batches = new CopyOnWriteArrayList<>();
+	private final LocalPreferenceStore store = LocalPreferenceStore.inMemory();
+	private final ScheduledExecutorService writeScheduler = Executors.newSingleThreadScheduledExecutor();
+
+	@AfterEach
+	void tearDown() {
+		writeScheduler.shutdownNow();
+	}
+
+	@Nested
+	class ReadCacheTest {
+
+		@Test
+		void shouldLoadOnlyOncePerUser() throws IOException {
+			store.saveAll(Collections.singletonMap("user", TOKYO));
+			CachingPreferenceRepository underTest = builder().build();
+
+			assertEquals(TOKYO, underTest.get("user"));
+			assertEquals(TOKYO, underTest.get("user"));
+
+			assertEquals(1, loads.get());
+			assertEquals(1, underTest.getHitCount());
+			assertEquals(1, underTest.getMissCount());
+		}
+
+		@Test
+		void shouldCacheUsersWithoutPreferences() {
+			CachingPreferenceRepository underTest = builder().build();
+
+			assertEquals(UserPreferences.NONE, underTest.get("user"));
+			assertEquals(UserPreferences.NONE, underTest.get("user"));
+
+			assertEquals(1, loads.get());
+		}
+
+		@Test
+		void shouldLoadAgainOnceTimeToLiveElapsed() {
+			CachingPreferenceRepository underTest = builder().withTimeToLive(Duration.ofMinutes(10)).build();
+
+			underTest.get("user");
+			nanoTime.addAndGet(TimeUnit.MINUTES.toNanos(9));
+			underTest.get("user");
+			nanoTime.addAndGet(TimeUnit.MINUTES.toNanos(1));
+			underTest.get("user");
+
+			assertEquals(2, loads.get());
+		}
+
+		@Test
+		void shouldEvictLeastRecentlyUsedUser() {
+			CachingPreferenceRepository underTest = builder().withMaximumSize(2).build();
+
+			underTest.get("user1");
+			underTest.get("user2");
+			underTest.get("user1");
+			underTest.get("user3");
+			underTest.get("user1");
+			assertEquals(3, loads.get());
+
+			underTest.get("user2");
+			assertEquals(4, loads.get());
+		}
+
+		@Test
+		void shouldCacheNoPreferencesForFailureTimeToLive() {
+			failing.set(true);
+			CachingPreferenceRepository underTest = builder().withFailureTimeToLive(Duration.ofMinutes(1)).build();
+
+			assertEquals(UserPreferences.NONE, underTest.get("user"));
+			assertEquals(UserPreferences.NONE, underTest.get("user"));
+			assertEquals(1, loads.get());
+
+			nanoTime.addAndGet(TimeUnit.MINUTES.toNanos(1));
+			underTest.get("user");
+			assertEquals(2, loads.get());
+		}
+
+		@Test
+		void shouldReturnNoPreferencesIfLoadTakesLongerThanTimeout() throws IOException {
+			store.saveAll(Collections.singletonMap("user", TOKYO));
+			List<Runnable> tasks = new ArrayList<>();
+			CachingPreferenceRepository underTest = builder().withTimeout(Duration.ofMillis(10))
+					.withExecutor(tasks::add).build();
+
+			assertEquals(UserPreferences.NONE, underTest.get("user"));
+			assertEquals(1, underTest.getFallbackCount());
+
+			// The load completes in the background and populates the cache.
+			tasks.forEach(Runnable::run);
+			assertEquals(TOKYO, underTest.get("user"));
+			assertEquals(1, underTest.getHitCount());
+		}
+
+		@Test
+		void shouldNotOverwritePreferencesUpdatedWhileLoading() throws IOException {
+			store.saveAll(Collections.singletonMap("user", TOKYO));
+			List<Runnable> tasks = new ArrayList<>();
+			CachingPreferenceRepository underTest = builder().withTimeout(Duration.ofMillis(10))
+					.withExecutor(tasks::add).build();
+
+			underTest.get("user");
+			underTest.put("user", BRIEF);
+			tasks.forEach(Runnable::run);
+
+			assertEquals(BRIEF, underTest.get("user"));
+		}
+
+		@Test
+		void shouldGetPreferencesOfUserMakingRequest() throws IOException {
+			store.saveAll(Collections.singletonMap("user", TOKYO));
+			CachingPreferenceRepository underTest = builder().build();
+			Session session = Session.builder().withUser(User.builder().withUserId("user").build()).build();
+
+			assertEquals(TOKYO, underTest.get(RequestEnvelope.builder().withSession(session).build()));
+			assertEquals(UserPreferences.NONE, underTest.get(RequestEnvelope.builder().build()));
+			assertEquals(1, loads.get());
+		}
+	}
+
+	@Nested
+	class ReadForUpdateTest {
+
+		@Test
+		void shouldReuseSuccessfullyLoadedPreferences() throws IOException {
+			store.saveAll(Collections.singletonMap("user", TOKYO));
+			CachingPreferenceRepository underTest = builder().build();
+
+			underTest.get("user");
+
+			assertEquals(Optional.of(TOKYO), underTest.getForUpdate("user"));
+			assertEquals(1, loads.get());
+		}
+
+		@Test
+		void shouldLoadAgainInsteadOfUsingCachedFailure() throws IOException {
+			store.saveAll(Collections.singletonMap("user", TOKYO));
+			CachingPreferenceRepository underTest = builder().build();
+			failing.set(true);
+			assertEquals(UserPreferences.NONE, underTest.get("user"));
+			failing.set(false);
+
+			assertEquals(Optional.of(TOKYO), underTest.getForUpdate("user"));
+			assertEquals(TOKYO, underTest.get("user"));
+			assertEquals(2, loads.get());
+		}
+
+		@Test
+		void shouldNotFallBackIfLoadFails() {
+			failing.set(true);
+			CachingPreferenceRepository underTest = builder().build();
+
+			assertEquals(Optional.empty(), underTest.getForUpdate("user"));
+		}
+
+		@Test
+		void shouldWaitForLoadTakingLongerThanTimeout() throws IOException {
+			store.saveAll(Collections.singletonMap("user", TOKYO));
+			List<Runnable> tasks = new ArrayList<>();
+			CachingPreferenceRepository underTest = builder().withTimeout(Duration.ofMillis(10))
+					.withExecutor(tasks::add).build();
+
+			assertEquals(UserPreferences.NONE, underTest.get("user"));
+			assertEquals(Optional.of(TOKYO), underTest.getForUpdate("user"));
+
+			// The original load completing afterwards does not replace the preferences.
+			underTest.put("user", BRIEF);
+			tasks.forEach(Runnable::run);
+			assertEquals(BRIEF, underTest.get("user"));
+		}
+
+		@Test
+		void shouldReturnQueuedPreferencesOfEvictedUser() {
+			CachingPreferenceRepository underTest = builder().withMaximumSize(1).build();
+
+			underTest.put("user1", BRIEF);
+			underTest.get("user2");
+
+			assertEquals(Optional.of(BRIEF), underTest.getForUpdate("user1"));
+			assertEquals(1, loads.get());
+		}
+	}
+
+	@Nested
+	class WriteBehindTest {
+
+		@Test
+		void shouldServeUpdatedPreferencesBeforeSavingThem() {
+			CachingPreferenceRepository underTest = builder().build();
+
+			underTest.put("user", BRIEF);
+
+			assertEquals(BRIEF, underTest.get("user"));
+			assertEquals(0, loads.get());
+			assertEquals(1, underTest.getPendingWriteCount());
+			assertTrue(batches.isEmpty());
+		}
+
+		@Test
+		void shouldCoalesceSuccessiveUpdatesOfSameUser() throws IOException {
+			CachingPreferenceRepository underTest = builder().build();
+
+			underTest.put("user1", TOKYO);
+			underTest.put("user1", BRIEF);
+			underTest.put("user2", TOKYO);
+
+			assertEquals(2, underTest.flush());
+			assertEquals(1, batches.size());
+			assertEquals(Optional.of(BRIEF), store.load("user1"));
+			assertEquals(Optional.of(TOKYO), store.load("user2"));
+			assertEquals(2, underTest.getWriteCount());
+		}
+
+		@Test
+		void shouldSaveInBatchesOfMaximumSize() {
+			CachingPreferenceRepository underTest = builder().withMaximumBatchSize(3).build();
+			for (int i = 0; i < 7; ++i) {
+				underTest.put("user" + i, BRIEF);
+			}
+			underTest.flush();
+
+			int saved = 0;
+			for (Map<String, UserPreferences> batch : batches) {
+				assertTrue(batch.size() <= 3);
+				saved += batch.size();
+			}
+			assertEquals(7, saved);
+		}
+
+		@Test
+		void shouldSaveInBackgroundAfterWriteDelay() throws Exception {
+			CachingPreferenceRepository underTest = builder().withWriteDelay(Duration.ofMillis(10)).build();
+
+			underTest.put("user", BRIEF);
+
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while (underTest.getWriteCount() == 0 && System.nanoTime() < deadline) {
+				Thread.sleep(1);
+			}
+			assertEquals(Optional.of(BRIEF), store.load("user"));
+			assertEquals(0, underTest.getPendingWriteCount());
+		}
+
+		@Test
+		void shouldRequeueFailedBatches() throws IOException {
+			CachingPreferenceRepository underTest = builder().build();
+			underTest.put("user", TOKYO);
+			failing.set(true);
+
+			assertEquals(0, underTest.flush());
+			assertEquals(1, underTest.getWriteFailureCount());
+			assertEquals(1, underTest.getPendingWriteCount());
+
+			failing.set(false);
+			assertEquals(1, underTest.flush());
+			assertEquals(Optional.of(TOKYO), store.load("user"));
+		}
+
+		@Test
+		void shouldNotCallStoreWhenFlushingWithoutQueuedPreferences() {
+			failing.set(true);
+			CachingPreferenceRepository underTest = builder().build();
+
+			assertEquals(0, underTest.flush());
+			assertEquals(0, underTest.getWriteFailureCount());
+		}
+
+		@Test
+		void shouldServeQueuedPreferencesOfEvictedUser() {
+			CachingPreferenceRepository underTest = builder().withMaximumSize(1).build();
+
+			underTest.put("user1", BRIEF);
+			underTest.get("user2");
+
+			assertEquals(BRIEF, underTest.get("user1"));
+		}
+	}
+
+	@Test
+	void shouldRequireStore() {
+		assertThrows(IllegalStateException.class, () -> CachingPreferenceRepository.builder().build());
+	}
+
+	private CachingPreferenceRepository.Builder builder() {
+		return CachingPreferenceRepository.builder()
+				.withStore(new PreferenceStore() {
+
+					@Override
+					public Optional<UserPreferences> load(String userId) throws IOException {
+						loads.incrementAndGet();
+						if (failing.get()) {
+							throw new IOException("Store unavailable");
+						}
+						return store.load(userId);
+					}
+
+					@Override
+					public void saveAll(Map<String, UserPreferences> preferencesByUserId) throws IOException {
+						if (failing.get()) {
+							throw new IOException("Store unavailable");
+						}
+						batches.add(preferencesByUserId);
+						store.saveAll(preferencesByUserId);
+					}
+				})
+				.withExecutor(Runnable::run)
+				.withWriteScheduler(writeScheduler)
+				.withWriteDelay(Duration.ofHours(1))
+				.withNanoTime(nanoTime::get);
+	}
+
+}
@@ -0,0 +1,218 @@
+package io.github.pyvesb.alexarevolutionarycalendar.preferences;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+class DynamoDbPreferenceStoreTest {
+
+	private static final Clock CLOCK = Clock.fixed(Instant.parse("2018-03-30T16:09:20Z"), ZoneOffset.UTC);
+
+	private final AtomicReference<String> authorization = new AtomicReference<>();
+	private final AtomicReference<String> securityToken = new AtomicReference<>();
+	private final List<String> targets = new CopyOnWriteArrayList<>();
+	private final List<String> requests = new CopyOnWriteArrayList<>();
+
+	private HttpServer server;
+	private String endpoint;
+	private int status;
+	private String body;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/", exchange -> {
+			authorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+			securityToken.set(exchange.getRequestHeaders().getFirst("X-Amz-Security-Token"));
+			targets.add(exchange.getRequestHeaders().getFirst("X-Amz-Target"));
+			requests.add(read(exchange.getRequestBody()));
+			byte[] response = body.getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(status, response.length);
+			try (OutputStream output = exchange.getResponseBody()) {
+				output.write(response);
+			}
+		});
+		server.start();
+		endpoint = "http://localhost:" + server.getAddress().getPort();
+	}
+
+	@AfterEach
+	void tearDown() {
+		server.stop(0);
+	}
+
+	@Test
+	void shouldLoadPreferencesOfUser() throws IOException {
+		respond(200, "{\"Item\":{\"userId\":{\"S\":\"user\"},\"timeZone\":{\"S\":\"Asia/Tokyo\"},"
+				+ "\"version\":{\"N\":\"3\"},\"verbosity\":{\"S\":\"BRIEF\"}}}");
+
+		Optional<UserPreferences> preferences = builder().build().load("user");
+
+		assertEquals(Optional.of(UserPreferences.NONE.withTimeZone(ZoneId.of("Asia/Tokyo"))
+				.withVerbosity(Verbosity.BRIEF)), preferences);
+		assertEquals(Collections.singletonList("DynamoDB_20120810.GetItem"), targets);
+		assertEquals("{\"TableName\":\"preferences\",\"Key\":{\"userId\":{\"S\":\"user\"}}}", requests.get(0));
+	}
+
+	@Test
+	void shouldNotLoadAnyPreferencesIfUserHasNoItem() throws IOException {
+		respond(200, "{}");
+
+		assertEquals(Optional.empty(), builder().build().load("user"));
+	}
+
+	@Test
+	void shouldSavePreferencesInBatchesOfTwentyFive() throws IOException {
+		respond(200, "{\"UnprocessedItems\":{}}");
+		Map<String, UserPreferences> preferences = new LinkedHashMap<>();
+		for (int i = 0; i < 30; ++i) {
+			preferences.put("user" + i, UserPreferences.NONE.withVerbosity(Verbosity.BRIEF));
+		}
+
+		builder().build().saveAll(preferences);
+
+		assertEquals(2, targets.size());
+		assertEquals("DynamoDB_20120810.BatchWriteItem", targets.get(1));
+		assertTrue(requests.get(0).startsWith("{\"RequestItems\":{\"preferences\":[{\"PutRequest\":{\"Item\":"
+				+ "{\"userId\":{\"S\":\"user0\"},\"verbosity\":{\"S\":\"BRIEF\"}}}},"), requests.get(0));
+		assertTrue(requests.get(1).contains("\"user29\""));
+		assertEquals(25, requests.get(0).split("PutRequest").length - 1);
+		assertEquals(5, requests.get(1).split("PutRequest").length - 1);
+	}
+
+	@Test
+	void shouldFailToSaveIfItemsUnprocessed() {
+		respond(200, "{\"UnprocessedItems\":{\"preferences\":[{\"PutRequest\":{\"Item\":"
+				+ "{\"userId\":{\"S\":\"user\"}}}}]}}");
+
+		assertThrows(IOException.class, () -> builder().build().saveAll(Collections.singletonMap("user",
+				UserPreferences.NONE)));
+	}
+
+	@Test
+	void shouldFailForUnexpectedStatus() {
+		respond(400, "{\"__type\":\"com.amazonaws.dynamodb.v20120810#ResourceNotFoundException\"}");
+
+		IOException exception = assertThrows(IOException.class, () -> builder().build().load("user"));
+		assertTrue(exception.getMessage().contains("ResourceNotFoundException"), exception.getMessage());
+	}
+
+	@Test
+	void shouldSignRequests() throws IOException {
+		respond(200, "{}");
+
+		builder().build().load("user");
+
+		assertTrue(authorization.get().matches("AWS4-HMAC-SHA256 Credential=AKIDEXAMPLE/20180330/eu-west-1/dynamodb/"
+				+ "aws4_request, SignedHeaders=content-type;host;x-amz-date;x-amz-target, Signature=[0-9a-f]{64}"),
+				authorization.get());
+	}
+
+	@Test
+	void shouldSignSessionToken() throws IOException {
+		respond(200, "{}");
+
+		builder().withCredentials("AKIDEXAMPLE", "secret", "session").build().load("user");
+
+		assertEquals("session", securityToken.get());
+		assertTrue(authorization.get().contains("SignedHeaders=content-type;host;x-amz-date;x-amz-security-token;"
+				+ "x-amz-target,"), authorization.get());
+	}
+
+	@Test
+	void shouldComputeAuthorizationOfRequest() throws IOException {
+		DynamoDbPreferenceStore underTest = builder().withEndpoint(null)
+				.withCredentials("AKIDEXAMPLE", "wJalrXUtnFEMI/K7MDENG+bPxRfiCYEXAMPLEKEY", null).build();
+		byte[] body = "{\"TableName\":\"preferences\",\"Key\":{\"userId\":{\"S\":\"user\"}}}"
+				.getBytes(StandardCharsets.UTF_8);
+
+		assertEquals("AWS4-HMAC-SHA256 Credential=AKIDEXAMPLE/20180330/eu-west-1/dynamodb/aws4_request, "
+				+ "SignedHeaders=content-type;host;x-amz-date;x-amz-target, "
+				+ "Signature=61f966b59f3d8bdf8b076fe880087de4063040bf7f37b15ff0e432843055e118",
+				underTest.getAuthorization("DynamoDB_20120810.GetItem", "20180330T160920Z", body));
+	}
+
+	@Test
+	void shouldComputeAuthorizationOfTestSuiteRequest() {
+		// post-x-www-form-urlencoded case of the Signature Version 4 test suite.
+		SortedMap<String, String> headers = new TreeMap<>();
+		headers.put("content-type", "application/x-www-form-urlencoded");
+		headers.put("host", "example.amazonaws.com");
+		headers.put("x-amz-date", "20150830T123600Z");
+
+		assertEquals("AWS4-HMAC-SHA256 Credential=AKIDEXAMPLE/20150830/us-east-1/service/aws4_request, "
+				+ "SignedHeaders=content-type;host;x-amz-date, "
+				+ "Signature=ff11897932ad3f4e8b18135d722051e5ac45fc38421b1da7b9d196a0fe09473a",
+				DynamoDbPreferenceStore.getAuthorization(headers, "Param1=value1".getBytes(StandardCharsets.UTF_8),
+						"20150830T123600Z", "us-east-1", "service", "AKIDEXAMPLE",
+						"wJalrXUtnFEMI/K7MDENG+bPxRfiCYEXAMPLEKEY"));
+	}
+
+	@Test
+	void shouldDeriveSigningKey() {
+		// Example of the Signature Version 4 documentation.
+		byte[] signingKey = DynamoDbPreferenceStore.getSigningKey("wJalrXUtnFEMI/K7MDENG+bPxRfiCYEXAMPLEKEY",
+				"20120215", "us-east-1", "iam");
+
+		assertEquals("f4780e2d9f65fa895f9c67b32ce1baf0b0d8a43505a000a1a9e090d414db404d",
+				DynamoDbPreferenceStore.toHex(signingKey));
+	}
+
+	@Test
+	void shouldRequireTableNameRegionAndCredentials() {
+		assertThrows(IllegalStateException.class, () -> DynamoDbPreferenceStore.builder().withRegion("eu-west-1")
+				.withCredentials("AKIDEXAMPLE", "secret", null).build());
+	}
+
+	private DynamoDbPreferenceStore.Builder builder() {
+		return DynamoDbPreferenceStore.builder()
+				.withTableName("preferences")
+				.withEndpoint(endpoint)
+				.withRegion("eu-west-1")
+				.withCredentials("AKIDEXAMPLE", "secret", null)
+				.withClock(CLOCK);
+	}
+
+	private void respond(int status, String body) {
+		this.status = status;
+		this.body = body;
+	}
+
+	private static String read(InputStream input) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] buffer = new byte[1024];
+		int read;
+		while ((read = input.read(buffer)) != -1) {
+			bytes.write(buffer, 0, read);
+		}
+		return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+}
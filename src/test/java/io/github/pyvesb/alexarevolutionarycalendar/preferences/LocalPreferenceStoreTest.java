@@ -0,0 +1,71 @@
+package io.github.pyvesb.alexarevolutionarycalendar.preferences;
+
+import static ca.rmen.lfrc.FrenchRevolutionaryCalendar.CalculationMethod.ROMME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LocalPreferenceStoreTest {
+
+	private static final UserPreferences PARIS = UserPreferences.NONE.withTimeZone(ZoneId.of("Europe/Paris"));
+	private static final UserPreferences BRIEF_ROMME = UserPreferences.NONE.withCalculationMethod(ROMME)
+			.withVerbosity(Verbosity.BRIEF);
+
+	private Path file;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		file = Files.createTempFile("preferences", ".json");
+		Files.delete(file);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Test
+	void shouldLoadSavedPreferencesFromMemory() throws IOException {
+		LocalPreferenceStore underTest = LocalPreferenceStore.inMemory();
+		underTest.saveAll(Collections.singletonMap("user1", PARIS));
+
+		assertEquals(Optional.of(PARIS), underTest.load("user1"));
+		assertEquals(Optional.empty(), underTest.load("user2"));
+	}
+
+	@Test
+	void shouldPersistPreferencesToFile() throws IOException {
+		Map<String, UserPreferences> preferences = new HashMap<>();
+		preferences.put("user2", BRIEF_ROMME);
+		preferences.put("user1", PARIS);
+		LocalPreferenceStore.file(file).saveAll(preferences);
+
+		assertEquals("{\"user1\":{\"timeZone\":\"Europe/Paris\"},"
+				+ "\"user2\":{\"calculationMethod\":\"ROMME\",\"verbosity\":\"BRIEF\"}}",
+				new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+		LocalPreferenceStore reloaded = LocalPreferenceStore.file(file);
+		assertEquals(Optional.of(PARIS), reloaded.load("user1"));
+		assertEquals(Optional.of(BRIEF_ROMME), reloaded.load("user2"));
+	}
+
+	@Test
+	void shouldFailToReadMalformedFile() throws IOException {
+		Files.write(file, "[\"user1\"]".getBytes(StandardCharsets.UTF_8));
+
+		assertThrows(IOException.class, () -> LocalPreferenceStore.file(file));
+	}
+
+}
@@ -0,0 +1,72 @@
+package io.github.pyvesb.alexarevolutionarycalendar.preferences;
+
+import static ca.rmen.lfrc.FrenchRevolutionaryCalendar.CalculationMethod.VON_MADLER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class UserPreferencesTest {
+
+	@Test
+	void shouldConvertPreferencesToAttributesAndBack() {
+		UserPreferences preferences = UserPreferences.NONE.withTimeZone(ZoneId.of("Asia/Tokyo"))
+				.withCalculationMethod(VON_MADLER).withVerbosity(Verbosity.BRIEF);
+
+		Map<String, String> attributes = preferences.toAttributes();
+
+		assertEquals("{timeZone=Asia/Tokyo, calculationMethod=VON_MADLER, verbosity=BRIEF}", attributes.toString());
+		assertEquals(preferences, UserPreferences.fromAttributes(attributes));
+		assertTrue(preferences.isBrief());
+	}
+
+	@Test
+	void shouldNotHaveAttributesIfNoPreferences() {
+		assertTrue(UserPreferences.NONE.toAttributes().isEmpty());
+		assertFalse(UserPreferences.NONE.isBrief());
+	}
+
+	@Test
+	void shouldIgnoreInvalidAndUnknownAttributes() {
+		Map<String, String> attributes = new HashMap<>();
+		attributes.put("timeZone", "Mars/Olympus_Mons");
+		attributes.put("calculationMethod", "LUNAR");
+		attributes.put("verbosity", "BRIEF");
+		attributes.put("colour", "red");
+
+		assertEquals(UserPreferences.NONE.withVerbosity(Verbosity.BRIEF), UserPreferences.fromAttributes(attributes));
+	}
+
+	@Nested
+	class VerbosityTest {
+
+		@ParameterizedTest
+		@CsvSource({ "brief, BRIEF", "Short, BRIEF", "brève, BRIEF", "court, BRIEF", "full, FULL", "détaillé, FULL",
+				"Complète, FULL", "FULL, FULL" })
+		void shouldParseVerbosityNames(String value, Verbosity expectedVerbosity) {
+			assertEquals(Optional.of(expectedVerbosity), Verbosity.parse(value));
+		}
+
+		@ParameterizedTest
+		@ValueSource(strings = { "", "loud", "brief please" })
+		void shouldNotParseUnknownVerbosityNames(String value) {
+			assertEquals(Optional.empty(), Verbosity.parse(value));
+		}
+
+		@Test
+		void shouldNotParseNull() {
+			assertEquals(Optional.empty(), Verbosity.parse(null));
+		}
+	}
+
+}
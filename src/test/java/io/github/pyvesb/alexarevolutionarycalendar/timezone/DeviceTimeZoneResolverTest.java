@@ -0,0 +1,211 @@
+package io.github.pyvesb.alexarevolutionarycalendar.timezone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.amazon.ask.model.Context;
+import com.amazon.ask.model.Device;
+import com.amazon.ask.model.RequestEnvelope;
+import com.amazon.ask.model.interfaces.system.SystemState;
+
+class DeviceTimeZoneResolverTest {
+
+	private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+	private static final ZoneId TOKYO = ZoneId.of("Asia/Tokyo");
+	private static final String ENDPOINT = "https://api.eu.amazonalexa.com";
+	private static final String TOKEN = "token";
+
+	private final AtomicInteger lookups = new AtomicInteger();
+	private final AtomicLong nanoTime = new AtomicLong();
+
+	@Nested
+	class ResolveEnvelopeTest {
+
+		private final DeviceTimeZoneResolver underTest = builder((endpoint, deviceId, token) -> TOKYO).build();
+
+		@Test
+		void shouldResolveTimeZoneOfDevice() {
+			assertEquals(TOKYO, underTest.resolve(buildEnvelope(SystemState.builder().withApiEndpoint(ENDPOINT)
+					.withApiAccessToken(TOKEN).withDevice(Device.builder().withDeviceId("device").build()))));
+		}
+
+		@Test
+		void shouldFallBackWithoutLookupIfContextMissing() {
+			assertEquals(PARIS, underTest.resolve(RequestEnvelope.builder().build()));
+			assertEquals(1, underTest.getFallbackCount());
+			assertEquals(0, lookups.get());
+		}
+
+		@Test
+		void shouldFallBackWithoutLookupIfApiAccessTokenMissing() {
+			assertEquals(PARIS, underTest.resolve(buildEnvelope(SystemState.builder().withApiEndpoint(ENDPOINT)
+					.withDevice(Device.builder().withDeviceId("device").build()))));
+			assertEquals(0, lookups.get());
+		}
+
+		private RequestEnvelope buildEnvelope(SystemState.Builder system) {
+			return RequestEnvelope.builder().withContext(Context.builder().withSystem(system.build()).build()).build();
+		}
+	}
+
+	@Nested
+	class CacheTest {
+
+		@Test
+		void shouldLookUpOnlyOncePerDevice() {
+			DeviceTimeZoneResolver underTest = builder((endpoint, deviceId, token) -> TOKYO).build();
+
+			assertEquals(TOKYO, underTest.resolve("device", ENDPOINT, TOKEN));
+			assertEquals(TOKYO, underTest.resolve("device", ENDPOINT, TOKEN));
+
+			assertEquals(1, lookups.get());
+			assertEquals(1, underTest.getHitCount());
+			assertEquals(1, underTest.getMissCount());
+		}
+
+		@Test
+		void shouldLookUpAgainOnceTimeToLiveElapsed() {
+			DeviceTimeZoneResolver underTest = builder((endpoint, deviceId, token) -> TOKYO)
+					.withTimeToLive(Duration.ofMinutes(10)).build();
+
+			underTest.resolve("device", ENDPOINT, TOKEN);
+			nanoTime.addAndGet(TimeUnit.MINUTES.toNanos(9));
+			underTest.resolve("device", ENDPOINT, TOKEN);
+			nanoTime.addAndGet(TimeUnit.MINUTES.toNanos(1));
+			underTest.resolve("device", ENDPOINT, TOKEN);
+
+			assertEquals(2, lookups.get());
+		}
+
+		@Test
+		void shouldEvictLeastRecentlyUsedDevice() {
+			DeviceTimeZoneResolver underTest = builder((endpoint, deviceId, token) -> TOKYO).withMaximumSize(2)
+					.build();
+
+			underTest.resolve("device1", ENDPOINT, TOKEN);
+			underTest.resolve("device2", ENDPOINT, TOKEN);
+			underTest.resolve("device1", ENDPOINT, TOKEN);
+			underTest.resolve("device3", ENDPOINT, TOKEN);
+			underTest.resolve("device1", ENDPOINT, TOKEN);
+			assertEquals(3, lookups.get());
+
+			underTest.resolve("device2", ENDPOINT, TOKEN);
+			assertEquals(4, lookups.get());
+		}
+
+		@Test
+		void shouldCacheFallbackForFailureTimeToLive() {
+			DeviceTimeZoneResolver underTest = builder((endpoint, deviceId, token) -> {
+				throw new IOException("Settings API unavailable");
+			}).withFailureTimeToLive(Duration.ofMinutes(1)).build();
+
+			assertEquals(PARIS, underTest.resolve("device", ENDPOINT, TOKEN));
+			assertEquals(PARIS, underTest.resolve("device", ENDPOINT, TOKEN));
+			assertEquals(1, lookups.get());
+
+			nanoTime.addAndGet(TimeUnit.MINUTES.toNanos(1));
+			underTest.resolve("device", ENDPOINT, TOKEN);
+			assertEquals(2, lookups.get());
+		}
+	}
+
+	@Nested
+	class TimeoutTest {
+
+		@Test
+		void shouldFallBackIfLookupTakesLongerThanTimeout() {
+			List<Runnable> tasks = new ArrayList<>();
+			DeviceTimeZoneResolver underTest = builder((endpoint, deviceId, token) -> TOKYO)
+					.withTimeout(Duration.ofMillis(10)).withExecutor(tasks::add).build();
+
+			assertEquals(PARIS, underTest.resolve("device", ENDPOINT, TOKEN));
+			assertEquals(1, underTest.getFallbackCount());
+
+			// The lookup completes in the background and populates the cache.
+			tasks.forEach(Runnable::run);
+			assertEquals(TOKYO, underTest.resolve("device", ENDPOINT, TOKEN));
+			assertEquals(1, underTest.getHitCount());
+		}
+	}
+
+	@Nested
+	class ConcurrencyTest {
+
+		private static final int THREADS = 8;
+
+		@Test
+		void shouldCoalesceConcurrentLookupsForSameDevice() throws Exception {
+			CountDownLatch release = new CountDownLatch(1);
+			ExecutorService lookupExecutor = Executors.newSingleThreadExecutor();
+			ExecutorService requestExecutor = Executors.newFixedThreadPool(THREADS);
+			DeviceTimeZoneResolver underTest = builder((endpoint, deviceId, token) -> {
+				release.await();
+				return TOKYO;
+			}).withTimeout(Duration.ofSeconds(10)).withExecutor(lookupExecutor).build();
+			try {
+				List<Future<ZoneId>> results = new ArrayList<>();
+				for (int i = 0; i < THREADS; ++i) {
+					results.add(requestExecutor.submit(() -> underTest.resolve("device", ENDPOINT, TOKEN)));
+				}
+				while (underTest.getMissCount() < THREADS) {
+					Thread.yield();
+				}
+				release.countDown();
+
+				for (Future<ZoneId> result : results) {
+					assertEquals(TOKYO, result.get());
+				}
+				assertEquals(1, lookups.get());
+				assertEquals(1, underTest.getLookupCount());
+			} finally {
+				lookupExecutor.shutdownNow();
+				requestExecutor.shutdownNow();
+			}
+		}
+	}
+
+	@Test
+	void shouldRequireLookupAndFallback() {
+		assertThrows(IllegalStateException.class, () -> DeviceTimeZoneResolver.builder().withFallback(PARIS).build());
+	}
+
+	private DeviceTimeZoneResolver.Builder builder(InterruptibleLookup lookup) {
+		return DeviceTimeZoneResolver.builder()
+				.withLookup((endpoint, deviceId, token) -> {
+					lookups.incrementAndGet();
+					try {
+						return lookup.lookUp(endpoint, deviceId, token);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new IOException(e);
+					}
+				})
+				.withFallback(PARIS)
+				.withExecutor(Runnable::run)
+				.withNanoTime(nanoTime::get);
+	}
+
+	@FunctionalInterface
+	private interface InterruptibleLookup {
+
+		ZoneId lookUp(String apiEndpoint, String deviceId, String apiAccessToken)
+				throws IOException, InterruptedException;
+	}
+
+}
@@ -0,0 +1,94 @@
+package io.github.pyvesb.alexarevolutionarycalendar.timezone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.sun.net.httpserver.HttpServer;
+
+class SettingsApiClientTest {
+
+	private final AtomicReference<String> authorization = new AtomicReference<>();
+	private final AtomicReference<String> path = new AtomicReference<>();
+
+	private HttpServer server;
+	private String endpoint;
+	private int status;
+	private String body;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/", exchange -> {
+			authorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+			path.set(exchange.getRequestURI().getRawPath());
+			byte[] response = body.getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(status, response.length);
+			try (OutputStream output = exchange.getResponseBody()) {
+				output.write(response);
+			}
+		});
+		server.start();
+		endpoint = "http://localhost:" + server.getAddress().getPort();
+	}
+
+	@AfterEach
+	void tearDown() {
+		server.stop(0);
+	}
+
+	@Test
+	void shouldRetrieveTimeZoneOfDevice() throws IOException {
+		respond(200, "\"America/New_York\"");
+
+		ZoneId zone = new SettingsApiClient(null, 1000).lookUp(endpoint, "amzn1.ask.device.ABC", "token");
+
+		assertEquals(ZoneId.of("America/New_York"), zone);
+		assertEquals("Bearer token", authorization.get());
+		assertEquals("/v2/devices/amzn1.ask.device.ABC/settings/System.timeZone", path.get());
+	}
+
+	@Test
+	void shouldCallEndpointOverrideInsteadOfRequestEndpoint() throws IOException {
+		respond(200, "\"Asia/Tokyo\"");
+
+		ZoneId zone = new SettingsApiClient(endpoint, 1000).lookUp("https://unreachable.invalid", "device", "token");
+
+		assertEquals(ZoneId.of("Asia/Tokyo"), zone);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 204, 403, 500 })
+	void shouldFailForUnexpectedStatus(int unexpectedStatus) {
+		respond(unexpectedStatus, "");
+
+		assertThrows(IOException.class, () -> new SettingsApiClient(null, 1000).lookUp(endpoint, "device", "token"));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "{}", "\"Mars/Olympus_Mons\"", "" })
+	void shouldFailForUnexpectedBody(String unexpectedBody) {
+		respond(200, unexpectedBody);
+
+		assertThrows(IOException.class, () -> new SettingsApiClient(null, 1000).lookUp(endpoint, "device", "token"));
+	}
+
+	private void respond(int status, String body) {
+		this.status = status;
+		this.body = body;
+	}
+
+}
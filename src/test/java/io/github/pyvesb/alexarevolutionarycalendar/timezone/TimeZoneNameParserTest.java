@@ -0,0 +1,34 @@
+package io.github.pyvesb.alexarevolutionarycalendar.timezone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.ZoneId;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class TimeZoneNameParserTest {
+
+	@ParameterizedTest
+	@CsvSource({ "Europe/Paris, Europe/Paris", "paris, Europe/Paris", "new york, America/New_York",
+			"Port-au-Prince, America/Port-au-Prince", "port au prince, America/Port-au-Prince",
+			"Indianapolis, America/Indianapolis", "São Paulo, America/Sao_Paulo", "UTC, UTC" })
+	void shouldParseTimeZoneNames(String value, String expectedZoneId) {
+		assertEquals(Optional.of(ZoneId.of(expectedZoneId)), TimeZoneNameParser.parse(value));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", "Atlantis", "Europe/Atlantis" })
+	void shouldNotParseUnknownTimeZoneNames(String value) {
+		assertEquals(Optional.empty(), TimeZoneNameParser.parse(value));
+	}
+
+	@Test
+	void shouldNotParseNull() {
+		assertEquals(Optional.empty(), TimeZoneNameParser.parse(null));
+	}
+
+}
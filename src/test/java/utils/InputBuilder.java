@@ -4,6 +4,7 @@ import static java.util.Locale.UK;
 
 import java.util.Collections;
 import java.util.Locale;
+import java.util.Map;
 
 import com.amazon.ask.dispatcher.request.handler.HandlerInput;
 import com.amazon.ask.model.Intent;
@@ -14,6 +15,7 @@ import com.amazon.ask.model.RequestEnvelope;
 import com.amazon.ask.model.Session;
 import com.amazon.ask.model.SessionEndedRequest;
 import com.amazon.ask.model.Slot;
+import com.amazon.ask.model.User;
 
 public class InputBuilder {
 
@@ -24,8 +26,12 @@ public class InputBuilder {
 	}
 
 	public static HandlerInput buildLaunchInput(Locale locale) {
+		return buildLaunchInput(locale, null);
+	}
+
+	public static HandlerInput buildLaunchInput(Locale locale, String userId) {
 		LaunchRequest launchRequest = LaunchRequest.builder().withLocale(locale.toLanguageTag()).build();
-		return buildInput(launchRequest);
+		return buildInput(launchRequest, userId);
 	}
 
 	public static HandlerInput buildEndedInput() {
@@ -46,13 +52,45 @@ public class InputBuilder {
 		return buildIntentInput(intent, locale);
 	}
 
+	public static HandlerInput buildIntentInputWithSlots(String intentName, Locale locale,
+			Map<String, Slot> slots) {
+		return buildIntentInputWithSlots(intentName, locale, slots, null);
+	}
+
+	public static HandlerInput buildIntentInputWithSlots(String intentName, Locale locale,
+			Map<String, Slot> slots, String userId) {
+		Intent intent = Intent.builder().withName(intentName).withSlots(slots).build();
+		IntentRequest intentRequest = IntentRequest.builder().withIntent(intent).withLocale(locale.toLanguageTag())
+				.build();
+		return buildInput(intentRequest, userId);
+	}
+
+	public static HandlerInput buildIntentInputWithSessionAttributes(String intentName, Locale locale,
+			Map<String, Slot> slots, String userId, Map<String, Object> sessionAttributes) {
+		Intent intent = Intent.builder().withName(intentName).withSlots(slots).build();
+		IntentRequest intentRequest = IntentRequest.builder().withIntent(intent).withLocale(locale.toLanguageTag())
+				.build();
+		return buildInput(intentRequest, userId, sessionAttributes);
+	}
+
 	private static HandlerInput buildIntentInput(Intent intent, Locale locale) {
 		IntentRequest intentRequest = IntentRequest.builder().withIntent(intent).withLocale(locale.toLanguageTag()).build();
 		return buildInput(intentRequest);
 	}
 
 	private static HandlerInput buildInput(Request speechletRequest) {
-		Session session = Session.builder().withSessionId(SESSION_ID).build();
+		return buildInput(speechletRequest, null);
+	}
+
+	private static HandlerInput buildInput(Request speechletRequest, String userId) {
+		return buildInput(speechletRequest, userId, null);
+	}
+
+	private static HandlerInput buildInput(Request speechletRequest, String userId,
+			Map<String, Object> sessionAttributes) {
+		User user = userId == null ? null : User.builder().withUserId(userId).build();
+		Session session = Session.builder().withSessionId(SESSION_ID).withUser(user).withAttributes(sessionAttributes)
+				.build();
 		RequestEnvelope envelope = RequestEnvelope.builder().withRequest(speechletRequest).withSession(session).build();
 		return HandlerInput.builder().withRequestEnvelope(envelope).build();
 	}